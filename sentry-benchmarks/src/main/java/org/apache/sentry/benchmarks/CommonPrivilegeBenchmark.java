@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.model.db.HivePrivilegeModel;
+import org.apache.sentry.policy.common.CommonPrivilege;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of privilege strings and {@link CommonPrivilege#implies} of a request
+ * privilege against policy privileges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommonPrivilegeBenchmark {
+  private static final String REQUEST =
+      "server=server1->db=db1->table=tbl1->action=select->grantoption=false";
+
+  private final Model model = HivePrivilegeModel.getInstance();
+  private CommonPrivilege request;
+  private CommonPrivilege tablePrivilege;
+  private CommonPrivilege dbPrivilege;
+  private CommonPrivilege otherTablePrivilege;
+
+  @Setup
+  public void setup() {
+    request = new CommonPrivilege(REQUEST);
+    tablePrivilege = new CommonPrivilege("server=server1->db=db1->table=tbl1->action=select");
+    dbPrivilege = new CommonPrivilege("server=server1->db=db1->action=all");
+    otherTablePrivilege = new CommonPrivilege("server=server1->db=db1->table=tbl2->action=select");
+  }
+
+  @Benchmark
+  public CommonPrivilege parse() {
+    return new CommonPrivilege(REQUEST);
+  }
+
+  @Benchmark
+  public boolean impliesTable() {
+    return tablePrivilege.implies(request, model);
+  }
+
+  @Benchmark
+  public boolean impliesDatabase() {
+    return dbPrivilege.implies(request, model);
+  }
+
+  @Benchmark
+  public boolean impliesOtherTable() {
+    return otherTablePrivilege.implies(request, model);
+  }
+
+  /**
+   * A fresh request privilege checked against one policy privilege, as done once per
+   * request by the authorization provider.
+   */
+  @Benchmark
+  public boolean parseAndImply() {
+    return tablePrivilege.implies(new CommonPrivilege(REQUEST), model);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.model.db.Database;
+import org.apache.sentry.core.model.db.Server;
+import org.apache.sentry.core.model.db.Table;
+
+/**
+ * Generates synthetic Hive policies of a given number of privileges. Privilege i is
+ * granted on table {@link #table(int)} of database {@link #db(int)}, databases hold
+ * {@link #TABLES_PER_DB} tables. Every tenth database is granted all actions by its
+ * first privilege, the other privileges alternate between select and insert on the table.
+ */
+public final class PolicyGenerator {
+  public static final String SERVER = "server1";
+  public static final int TABLES_PER_DB = 100;
+  /** The sizes the benchmarks are run with: 1K, 100K and 1M privileges */
+  public static final String SIZE_1K = "1000";
+  public static final String SIZE_100K = "100000";
+  public static final String SIZE_1M = "1000000";
+
+  private PolicyGenerator() {
+  }
+
+  public static String db(int i) {
+    return "db" + (i / TABLES_PER_DB);
+  }
+
+  public static String table(int i) {
+    return "tbl" + (i % TABLES_PER_DB);
+  }
+
+  public static String privilege(int i) {
+    if (i % (TABLES_PER_DB * 10) == 0) {
+      return "server=" + SERVER + "->db=" + db(i) + "->action=all";
+    }
+    return "server=" + SERVER + "->db=" + db(i) + "->table=" + table(i)
+        + "->action=" + (i % 2 == 0 ? "select" : "insert");
+  }
+
+  public static Set<String> privileges(int count) {
+    Set<String> privileges = new HashSet<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      privileges.add(privilege(i));
+    }
+    return privileges;
+  }
+
+  /**
+   * @return the index of a select privilege in the middle of a policy of the given size,
+   *         on a database which is not granted all actions
+   */
+  public static int selectIndex(int count) {
+    return count / 2 + TABLES_PER_DB + 2;
+  }
+
+  /**
+   * @return the hierarchy of the table of privilege i
+   */
+  public static Authorizable[] hierarchy(int i) {
+    return new Authorizable[] {new Server(SERVER), new Database(db(i)), new Table(table(i))};
+  }
+
+  /**
+   * @return the hierarchy of a table no privilege is granted on
+   */
+  public static Authorizable[] missingHierarchy() {
+    return new Authorizable[] {new Server(SERVER), new Database("missing"),
+        new Table("missing")};
+  }
+}
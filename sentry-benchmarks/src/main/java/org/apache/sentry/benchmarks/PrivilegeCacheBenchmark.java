@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.benchmarks;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.policy.common.Privilege;
+import org.apache.sentry.policy.engine.common.CommonPrivilegeFactory;
+import org.apache.sentry.provider.cache.FilteredPrivilegeCache;
+import org.apache.sentry.provider.cache.SimpleFilteredPrivilegeCache;
+import org.apache.sentry.provider.cache.TreePrivilegeCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction and lookup of the {@link TreePrivilegeCache} and the
+ * {@link SimpleFilteredPrivilegeCache} for policies of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PrivilegeCacheBenchmark {
+  private static final Set<String> GROUPS = Collections.singleton("group1");
+  private static final Set<String> USERS = Collections.singleton("user1");
+
+  @Param({PolicyGenerator.SIZE_1K, PolicyGenerator.SIZE_100K, PolicyGenerator.SIZE_1M})
+  public int privileges;
+
+  @Param({"tree", "simple"})
+  public String cache;
+
+  private Set<String> policy;
+  private FilteredPrivilegeCache privilegeCache;
+  private Authorizable[] hierarchy;
+  private Authorizable[] missingHierarchy;
+
+  @Setup
+  public void setup() {
+    policy = PolicyGenerator.privileges(privileges);
+    privilegeCache = createCache();
+    hierarchy = PolicyGenerator.hierarchy(PolicyGenerator.selectIndex(privileges));
+    missingHierarchy = PolicyGenerator.missingHierarchy();
+  }
+
+  private FilteredPrivilegeCache createCache() {
+    if ("tree".equals(cache)) {
+      return new TreePrivilegeCache(policy, new CommonPrivilegeFactory());
+    }
+    return new SimpleFilteredPrivilegeCache(policy, new CommonPrivilegeFactory());
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public FilteredPrivilegeCache construct() {
+    return createCache();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Set<Privilege> lookup() {
+    return privilegeCache.listPrivilegeObjects(GROUPS, USERS, ActiveRoleSet.ALL, hierarchy);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Set<Privilege> lookupMissing() {
+    return privilegeCache.listPrivilegeObjects(GROUPS, USERS, ActiveRoleSet.ALL,
+        missingHierarchy);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.core.model.db.DBModelAction;
+import org.apache.sentry.core.model.db.HivePrivilegeModel;
+import org.apache.sentry.policy.engine.common.CommonPolicyEngine;
+import org.apache.sentry.policy.engine.common.CommonPrivilegeFactory;
+import org.apache.sentry.provider.cache.SimpleCacheProviderBackend;
+import org.apache.sentry.provider.cache.TreePrivilegeCache;
+import org.apache.sentry.provider.common.DecisionCache;
+import org.apache.sentry.provider.common.GroupMappingService;
+import org.apache.sentry.provider.common.ProviderBackendContext;
+import org.apache.sentry.provider.common.ResourceAuthorizationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end {@link ResourceAuthorizationProvider#hasAccess} over a
+ * {@link TreePrivilegeCache} backed policy engine, with and without the
+ * {@link DecisionCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResourceAuthorizationProviderBenchmark {
+  private static final Subject USER = new Subject("user1");
+  private static final Set<DBModelAction> SELECT = EnumSet.of(DBModelAction.SELECT);
+
+  @Param({PolicyGenerator.SIZE_1K, PolicyGenerator.SIZE_100K, PolicyGenerator.SIZE_1M})
+  public int privileges;
+
+  @Param({"false", "true"})
+  public boolean decisionCache;
+
+  private ResourceAuthorizationProvider authProvider;
+  private List<Authorizable> allowed;
+  private List<Authorizable> denied;
+
+  @Setup
+  public void setup() {
+    ProviderBackendContext context = new ProviderBackendContext();
+    context.setBindingHandle(new TreePrivilegeCache(PolicyGenerator.privileges(privileges),
+        new CommonPrivilegeFactory()));
+    SimpleCacheProviderBackend backend =
+        new SimpleCacheProviderBackend(new Configuration(false), null);
+    backend.initialize(context);
+
+    GroupMappingService groupMapping = new GroupMappingService() {
+      @Override
+      public Set<String> getGroups(String user) {
+        return Collections.singleton("group1");
+      }
+    };
+    authProvider = new ResourceAuthorizationProvider(new CommonPolicyEngine(backend),
+        groupMapping, HivePrivilegeModel.getInstance(),
+        decisionCache ? new DecisionCache(10000, 60000) : null) {
+    };
+    int index = PolicyGenerator.selectIndex(privileges);
+    allowed = Arrays.asList(PolicyGenerator.hierarchy(index));
+    // Odd privileges grant insert only
+    denied = Arrays.asList(PolicyGenerator.hierarchy(index + 1));
+  }
+
+  @TearDown
+  public void tearDown() {
+    authProvider.close();
+  }
+
+  @Benchmark
+  public boolean hasAccessAllowed() {
+    return authProvider.hasAccess(USER, allowed, SELECT, ActiveRoleSet.ALL);
+  }
+
+  @Benchmark
+  public boolean hasAccessDenied() {
+    return authProvider.hasAccess(USER, denied, SELECT, ActiveRoleSet.ALL);
+  }
+}
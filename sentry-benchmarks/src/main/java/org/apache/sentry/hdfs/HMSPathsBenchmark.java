@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.benchmarks.PolicyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Path to authorizable object resolution of {@link HMSPaths} and {@link CompactHMSPaths},
+ * which the NameNode plugin runs for every permission check, for warehouses of different
+ * numbers of tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HMSPathsBenchmark {
+  private static final String WAREHOUSE = "/user/hive/warehouse";
+
+  @Param({PolicyGenerator.SIZE_1K, PolicyGenerator.SIZE_100K, PolicyGenerator.SIZE_1M})
+  public int tables;
+
+  @Param({"hms", "compact"})
+  public String impl;
+
+  private MutableAuthzPaths paths;
+  private String[] tablePath;
+  private String[] filePath;
+  private String[] missingPath;
+
+  @Setup
+  public void setup() {
+    String[] prefixes = {WAREHOUSE};
+    paths = "compact".equals(impl) ? new CompactHMSPaths(prefixes) : new HMSPaths(prefixes);
+    for (int i = 0; i < tables; i++) {
+      String db = PolicyGenerator.db(i);
+      String table = PolicyGenerator.table(i);
+      List<List<String>> location = Collections.singletonList(
+          HMSPaths.getPathElements(WAREHOUSE + "/" + db + ".db/" + table));
+      paths.addPathsToAuthzObject(db + "." + table, location, true);
+    }
+    String table = WAREHOUSE + "/" + PolicyGenerator.db(tables / 2) + ".db/"
+        + PolicyGenerator.table(1);
+    tablePath = toElements(table);
+    filePath = toElements(table + "/part=1/000000_0");
+    missingPath = toElements(WAREHOUSE + "/missing.db/tbl1");
+  }
+
+  private static String[] toElements(String path) {
+    return HMSPaths.getPathElements(path).toArray(new String[0]);
+  }
+
+  @Benchmark
+  public Set<String> findTable() {
+    return paths.findAuthzObject(tablePath);
+  }
+
+  @Benchmark
+  public Set<String> findFileUnderTable() {
+    return paths.findAuthzObject(filePath);
+  }
+
+  @Benchmark
+  public Set<String> findMissing() {
+    return paths.findAuthzObject(missingPath);
+  }
+}
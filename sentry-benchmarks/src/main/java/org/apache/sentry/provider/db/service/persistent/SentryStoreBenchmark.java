@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db.service.persistent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.benchmarks.PolicyGenerator;
+import org.apache.sentry.provider.db.service.model.MSentryPrivilege;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Conversion of persisted privileges to privilege strings, which
+ * {@link SentryStore#listSentryPrivilegesForProvider} does for every privilege of the
+ * requesting groups and users once they are fetched from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SentryStoreBenchmark {
+  @Param({PolicyGenerator.SIZE_1K, PolicyGenerator.SIZE_100K, PolicyGenerator.SIZE_1M})
+  public int privileges;
+
+  private MSentryPrivilege[] mPrivileges;
+
+  @Setup
+  public void setup() {
+    mPrivileges = new MSentryPrivilege[privileges];
+    for (int i = 0; i < privileges; i++) {
+      mPrivileges[i] = new MSentryPrivilege("TABLE", PolicyGenerator.SERVER,
+          PolicyGenerator.db(i), PolicyGenerator.table(i), "", "", "select", false);
+    }
+  }
+
+  @Benchmark
+  public void toAuthorizable(Blackhole blackhole) {
+    for (MSentryPrivilege mPrivilege : mPrivileges) {
+      blackhole.consume(SentryStore.toAuthorizable(mPrivilege));
+    }
+  }
+}
@@ -109,6 +109,14 @@ public class HiveAuthzConf extends Configuration {
         AUTHZ_ALLOW_HIVE_IMPERSONATION("sentry.hive.allow.hive.impersonation", "false"),
         AUTHZ_ONFAILURE_HOOKS("sentry.hive.failure.hooks", ""),
         AUTHZ_METASTORE_SERVICE_USERS("sentry.metastore.service.users", null),
+        // Authorize the objects filtered by the metastore with a single request to the Sentry server
+        AUTHZ_METASTORE_FILTER_BULK_ENABLED("sentry.metastore.filter.bulk.enabled", "true"),
+        // Privileges of the users filtering metastore objects, shared by the filter calls and
+        // fetched again once a Sentry server returned a newer policy version with privileges
+        // or authorized objects, at the latest after the TTL. The servers only return a
+        // policy version with HDFS sync. 0 disables it, the default.
+        AUTHZ_METASTORE_PRIVILEGE_CACHE_MAX_ENTRIES("sentry.metastore.privilege.cache.max.entries", "0"),
+        AUTHZ_METASTORE_PRIVILEGE_CACHE_TTL_SECONDS("sentry.metastore.privilege.cache.ttl.seconds", "60"),
         AUTHZ_SYNC_ALTER_WITH_POLICY_STORE("sentry.hive.sync.alter", "true"),
         AUTHZ_SYNC_CREATE_WITH_POLICY_STORE("sentry.hive.sync.create", "false"),
         AUTHZ_SYNC_DROP_WITH_POLICY_STORE("sentry.hive.sync.drop", "true"),
@@ -20,18 +20,24 @@ package org.apache.sentry.binding.hive.authz;
 import static org.apache.hadoop.hive.metastore.MetaStoreUtils.DEFAULT_DATABASE_NAME;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.hadoop.hbase.util.Strings;
 import org.apache.hadoop.hive.ql.metadata.AuthorizationException;
 import org.apache.hadoop.hive.ql.plan.HiveOperation;
+import org.apache.sentry.api.service.thrift.SentryPolicyServiceClient;
+import org.apache.sentry.api.service.thrift.TFilterAuthorizablesResponse;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationScope;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationType;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars;
 import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.model.db.Column;
 import org.apache.sentry.core.model.db.DBModelAction;
 import org.apache.sentry.core.model.db.DBModelAuthorizable;
@@ -103,6 +109,7 @@ public class MetastoreAuthzObjectFilter<T> {
   private final DBModelAuthorizable AUTH_SERVER;
   private HiveAuthzBinding authzBinding;
   private ObjectExtractor extractor;
+  private long policyVersion;
 
   public MetastoreAuthzObjectFilter(HiveAuthzBinding authzBinding, ObjectExtractor extractor) {
     this.authzBinding = authzBinding;
@@ -187,12 +194,110 @@ public class MetastoreAuthzObjectFilter<T> {
     return filteredTables;
   }
 
+  /**
+   * @return the policy version returned by the Sentry server with the objects it last
+   * authorized, or 0 if it did not return one.
+   */
+  public long getPolicyVersion() {
+    return policyVersion;
+  }
+
+  /**
+   * Filter a list of {@code dbNames} objects like {@link #filterDatabases(String, List)}, but
+   * authorizes all the databases with a single request to the Sentry server.
+   *
+   * @param client The client of the Sentry server used to authorize the databases.
+   * @throws SentryUserException If the Sentry server could not authorize the databases.
+   */
+  public List<T> filterDatabases(String username, List<T> dbNames,
+      SentryPolicyServiceClient client) throws SentryUserException {
+    HiveAuthzPrivileges privileges = SHOWDATABASES_ON_SELECT_ONLY ?
+        LIST_DATABASES_PRIVILEGES_ON_SELECT : LIST_DATABASES_PRIVILEGES;
+    return filter(username, dbNames, privileges, false, client);
+  }
+
+  /**
+   * Filter a list of {@code tables} objects like {@link #filterTables(String, List)}, but
+   * authorizes all the tables with a single request to the Sentry server.
+   *
+   * @param client The client of the Sentry server used to authorize the tables.
+   * @throws SentryUserException If the Sentry server could not authorize the tables.
+   */
+  public List<T> filterTables(String username, List<T> tables,
+      SentryPolicyServiceClient client) throws SentryUserException {
+    return filter(username, tables, getListTablePrivileges(), true, client);
+  }
+
+  private List<T> filter(String username, List<T> objects, HiveAuthzPrivileges privileges,
+      boolean tables, SentryPolicyServiceClient client) throws SentryUserException {
+    if (objects == null) {
+      return Collections.emptyList();
+    }
+
+    // Objects without a database, or the unrestricted 'default' database, are always returned
+    boolean[] authorized = new boolean[objects.size()];
+    List<Integer> requested = Lists.newArrayList();
+    List<List<DBModelAuthorizable>> hierarchies = Lists.newArrayList();
+    for (int i = 0; i < objects.size(); i++) {
+      T object = objects.get(i);
+      String dbName = extractor.getDatabaseName(object);
+      if (Strings.isEmpty(dbName) || (!tables && isDefaultDatabaseAllowed(dbName))) {
+        authorized[i] = true;
+      } else if (tables) {
+        requested.add(i);
+        hierarchies.add(Arrays.asList(AUTH_SERVER, new Database(dbName),
+          new Table(extractor.getTableName(object))));
+      } else {
+        requested.add(i);
+        hierarchies.add(Arrays.asList(AUTH_SERVER, new Database(dbName)));
+      }
+    }
+
+    if (!hierarchies.isEmpty()) {
+      Set<String> groups;
+      try {
+        groups = authzBinding.getGroups(new Subject(username));
+      } catch (SentryGroupNotFoundException e) {
+        groups = Collections.emptySet();
+      }
+      Set<String> actions = Sets.newHashSet();
+      for (DBModelAction action : privileges.getInputPrivileges().get(AuthorizableType.Column)) {
+        actions.add(action.getValue());
+      }
+
+      TFilterAuthorizablesResponse response = client.filterAuthorizables(groups,
+        Collections.singleton(username), authzBinding.getActiveRoleSet(), hierarchies, actions);
+      policyVersion = response.getPolicyVersion();
+      List<Boolean> result = response.getAuthorized();
+      if (result == null || result.size() != hierarchies.size()) {
+        throw new SentryUserException("Unexpected authorization result for "
+          + hierarchies.size() + " objects");
+      }
+      for (int i = 0; i < result.size(); i++) {
+        authorized[requested.get(i)] = result.get(i);
+      }
+    }
+
+    List<T> filteredObjects = Lists.newArrayList();
+    for (int i = 0; i < objects.size(); i++) {
+      if (authorized[i]) {
+        filteredObjects.add(objects.get(i));
+      }
+    }
+
+    return filteredObjects;
+  }
+
+  private boolean isDefaultDatabaseAllowed(String dbName) {
+    return !DEFAULT_DATABASE_RESTRICTED && dbName.equalsIgnoreCase(DEFAULT_DATABASE_NAME);
+  }
+
   /**
    * Checks if a database is authorized to be accessed by the specific user.
    * @return True if it is authorized, false otherwise.
    */
   private boolean authorizeDatabase(String username, String dbName) {
-    if (!DEFAULT_DATABASE_RESTRICTED && dbName.equalsIgnoreCase(DEFAULT_DATABASE_NAME)) {
+    if (isDefaultDatabaseAllowed(dbName)) {
       return true;
     }
 
@@ -18,8 +18,10 @@
 package org.apache.sentry.binding.metastore;
 
 import org.apache.hadoop.hive.conf.HiveConf;
+import org.apache.sentry.api.service.thrift.SentryPolicyServiceClient;
 import org.apache.sentry.binding.hive.authz.HiveAuthzBinding;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
+import org.apache.sentry.service.thrift.SentryServiceClientFactory;
 
 /**
  * Factory class that creates a new HiveAuthzBinding.
@@ -27,4 +29,11 @@ import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
 public interface HiveAuthzBindingFactory {
   HiveAuthzBinding fromMetaStoreConf(HiveConf hiveConf, HiveAuthzConf authzConf) throws Exception;
   String getUserName();
+
+  /**
+   * Creates a client of the Sentry server, used to authorize a list of objects at once.
+   */
+  default SentryPolicyServiceClient createSentryClient(HiveAuthzConf authzConf) throws Exception {
+    return SentryServiceClientFactory.create(authzConf);
+  }
 }
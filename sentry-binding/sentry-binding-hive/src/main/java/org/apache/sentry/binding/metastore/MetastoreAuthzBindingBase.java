@@ -65,6 +65,9 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import org.apache.sentry.api.service.thrift.SentryPolicyServiceClient;
+import org.apache.sentry.api.service.thrift.TListSentryPrivilegesForProviderResponse;
 import org.apache.sentry.policy.common.PrivilegeFactory;
 import org.apache.sentry.provider.cache.PrivilegeCache;
 import org.apache.sentry.provider.common.AuthorizationProvider;
@@ -489,19 +492,10 @@ public abstract class MetastoreAuthzBindingBase extends MetaStorePreEventListene
     }
 
     try {
-      Set<String> groups;
-      try {
-        groups = authProvider.getGroupMapping().getGroups(userName);
-      } catch (SentryGroupNotFoundException e) {
-        groups = Collections.emptySet();
-        LOG.debug("Could not find groups for user: " + userName);
-      }
-      Set<String> userPrivileges =
-          authProvider.getPolicyEngine().getPrivileges(groups, Sets.newHashSet(userName),
-              hiveAuthzBinding.getActiveRoleSet(), hiveAuthzBinding.getAuthServer());
-
+      Set<String> groups = getGroups(authProvider, userName);
       // create PrivilegeCache using user's privileges
-      PrivilegeCache privilegeCache = getPrivilegeCache(userPrivileges, hiveAuthzBinding.getPrivilegeFactory());
+      PrivilegeCache privilegeCache = loadPrivilegeCache(hiveAuthzBinding, authProvider, groups,
+          userName);
       // create new instance of HiveAuthzBinding whose backend provider should be SimpleCacheProviderBackend
       return new HiveAuthzBinding(HiveAuthzBinding.HiveHook.HiveMetaStore, hiveAuthzBinding.getHiveConf(),
           hiveAuthzBinding.getAuthzConf(), privilegeCache);
@@ -511,6 +505,59 @@ public abstract class MetastoreAuthzBindingBase extends MetaStorePreEventListene
     }
   }
 
+  /**
+   * Creates a HiveAuthzBinding with the privileges of the user kept in the shared cache.
+   * The privileges are only fetched when they are not cached for the current groups of the
+   * user and the policy version last returned by the Sentry server. They are fetched with
+   * the policy version, through a single client created by {@code clients}.
+   */
+  public static HiveAuthzBinding getHiveBindingWithPrivilegeCache(
+      final HiveAuthzBinding hiveAuthzBinding, final String userName,
+      MetastorePrivilegeCache sharedCache,
+      final Callable<SentryPolicyServiceClient> clients) throws SemanticException {
+    final AuthorizationProvider authProvider = hiveAuthzBinding.getCurrentAuthProvider();
+
+    if (authProvider == null) {
+      LOG.warn("authProvider is null. Can not create HiveAuthzBinding with privilege cache for Metastore.");
+      return hiveAuthzBinding;
+    }
+
+    try {
+      final Set<String> groups = getGroups(authProvider, userName);
+      PrivilegeCache privilegeCache = sharedCache.get(userName, groups, () -> {
+        try (SentryPolicyServiceClient client = clients.call()) {
+          TListSentryPrivilegesForProviderResponse response =
+              client.listPrivilegesForProviderWithVersion(groups, Sets.newHashSet(userName),
+                  hiveAuthzBinding.getActiveRoleSet(), hiveAuthzBinding.getAuthServer());
+          return new MetastorePrivilegeCache.Loaded(getPrivilegeCache(response.getPrivileges(),
+              hiveAuthzBinding.getPrivilegeFactory()), response.getPolicyVersion());
+        }
+      });
+      return new HiveAuthzBinding(HiveAuthzBinding.HiveHook.HiveMetaStore, hiveAuthzBinding.getHiveConf(),
+          hiveAuthzBinding.getAuthzConf(), privilegeCache);
+    } catch (Exception e) {
+      LOG.error("Can not create HiveAuthzBinding with privilege cache for Metastore.");
+      throw new SemanticException(e);
+    }
+  }
+
+  private static Set<String> getGroups(AuthorizationProvider authProvider, String userName) {
+    try {
+      return authProvider.getGroupMapping().getGroups(userName);
+    } catch (SentryGroupNotFoundException e) {
+      LOG.debug("Could not find groups for user: " + userName);
+      return Collections.emptySet();
+    }
+  }
+
+  private static PrivilegeCache loadPrivilegeCache(HiveAuthzBinding hiveAuthzBinding,
+      AuthorizationProvider authProvider, Set<String> groups, String userName) throws Exception {
+    Set<String> userPrivileges =
+        authProvider.getPolicyEngine().getPrivileges(groups, Sets.newHashSet(userName),
+            hiveAuthzBinding.getActiveRoleSet(), hiveAuthzBinding.getAuthServer());
+    return getPrivilegeCache(userPrivileges, hiveAuthzBinding.getPrivilegeFactory());
+  }
+
   protected String getUserName() throws MetaException {
     try {
       return Utils.getUGI().getShortUserName();
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.binding.metastore;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
+import org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.policy.common.Privilege;
+import org.apache.sentry.provider.cache.FilteredPrivilegeCache;
+import org.apache.sentry.provider.cache.PrivilegeCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Privileges of the users filtering metastore objects, shared by all the filter calls of
+ * the metastore, so that listing databases and tables does not fetch all the privileges
+ * of the user from the Sentry server on every call.
+ * <p>
+ * The privileges of a user are kept with the groups of the user and the policy version
+ * of the Sentry server they were fetched at. The Sentry server returns its policy version
+ * with the privileges and with the objects it authorizes, no request is sent only to read
+ * it. The version is read from the database shared by the Sentry servers and only
+ * increases, so a server lagging behind may return an older version, which does not
+ * invalidate newer privileges. The privileges are fetched again when the groups of the
+ * user changed, when a server returned a newer policy version since they were fetched,
+ * and at the latest after {@link AuthzConfVars#AUTHZ_METASTORE_PRIVILEGE_CACHE_TTL_SECONDS}.
+ * <p>
+ * The servers only track the policy changes with HDFS sync, otherwise they return no
+ * version and nothing is cached. The cache is disabled by default.
+ */
+public final class MetastorePrivilegeCache {
+  private static final Logger LOG = LoggerFactory.getLogger(MetastorePrivilegeCache.class);
+
+  private static MetastorePrivilegeCache instance;
+
+  private static final class Entry {
+    private final Set<String> groups;
+    private final long version;
+    private final PrivilegeCache privileges;
+
+    private Entry(Set<String> groups, long version, PrivilegeCache privileges) {
+      this.groups = groups;
+      this.version = version;
+      this.privileges = privileges;
+    }
+  }
+
+  /**
+   * Privileges loaded from the Sentry server, with the policy version they were read at
+   */
+  public static final class Loaded {
+    private final PrivilegeCache privileges;
+    private final long version;
+
+    /**
+     * @param version the policy version returned with the privileges, 0 if the server
+     *                does not return it (e.g. an older server)
+     */
+    public Loaded(PrivilegeCache privileges, long version) {
+      this.privileges = privileges;
+      this.version = version;
+    }
+  }
+
+  /**
+   * Loads the privileges of a user from the Sentry server
+   */
+  public interface Loader {
+    Loaded load() throws Exception;
+  }
+
+  private final Cache<String, Entry> cache;
+
+  // The newest policy version returned by the Sentry servers, 0 until they returned one
+  private final AtomicLong policyVersion = new AtomicLong();
+
+  @VisibleForTesting
+  MetastorePrivilegeCache(long maxEntries, long ttlSeconds, Ticker ticker) {
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .ticker(ticker)
+        .build();
+  }
+
+  /**
+   * Returns the cache shared by the metastore, which is created on the first call.
+   * @return the shared cache, or null if the cache is disabled
+   */
+  public static synchronized MetastorePrivilegeCache get(HiveAuthzConf authzConf) {
+    long maxEntries = authzConf.getLong(
+        AuthzConfVars.AUTHZ_METASTORE_PRIVILEGE_CACHE_MAX_ENTRIES.getVar(),
+        Long.parseLong(AuthzConfVars.AUTHZ_METASTORE_PRIVILEGE_CACHE_MAX_ENTRIES.getDefault()));
+    if (maxEntries <= 0) {
+      return null;
+    }
+    if (instance == null) {
+      long ttlSeconds = authzConf.getLong(
+          AuthzConfVars.AUTHZ_METASTORE_PRIVILEGE_CACHE_TTL_SECONDS.getVar(),
+          Long.parseLong(AuthzConfVars.AUTHZ_METASTORE_PRIVILEGE_CACHE_TTL_SECONDS.getDefault()));
+      LOG.info("Caching the privileges of up to {} users for {} seconds", maxEntries,
+          ttlSeconds);
+      instance = new MetastorePrivilegeCache(maxEntries, ttlSeconds, Ticker.systemTicker());
+    }
+    return instance;
+  }
+
+  /**
+   * Records the policy version returned by the Sentry server, the privileges fetched at
+   * an older version are fetched again.
+   *
+   * @param version the policy version, ignored if older than the newest one returned
+   *                or 0 (the server does not return it)
+   */
+  public void setPolicyVersion(long version) {
+    policyVersion.accumulateAndGet(version, Math::max);
+  }
+
+  /**
+   * Returns the cached privileges of the user, or the ones created by the loader if they
+   * are not cached for these groups at the newest policy version returned by the servers.
+   * Privileges loaded without a policy version are not cached.
+   * <p>
+   * The returned cache is shared, closing it has no effect.
+   */
+  public PrivilegeCache get(String userName, Set<String> groups, Loader loader)
+      throws Exception {
+    Entry entry = cache.getIfPresent(userName);
+    if (entry != null && entry.version >= policyVersion.get() && entry.groups.equals(groups)) {
+      return entry.privileges;
+    }
+    Loaded loaded = loader.load();
+    if (loaded.version == 0) {
+      return loaded.privileges;
+    }
+    setPolicyVersion(loaded.version);
+    PrivilegeCache privileges = loaded.privileges instanceof FilteredPrivilegeCache
+        ? new SharedFilteredPrivilegeCache((FilteredPrivilegeCache) loaded.privileges)
+        : new SharedPrivilegeCache(loaded.privileges);
+    // Concurrent loads for the same user may overwrite each other, any of them is current
+    cache.put(userName, new Entry(ImmutableSet.copyOf(groups), loaded.version, privileges));
+    return privileges;
+  }
+
+  @VisibleForTesting
+  long size() {
+    cache.cleanUp();
+    return cache.size();
+  }
+
+  /**
+   * Privilege cache which outlives the authorization bindings it is used by
+   */
+  private static class SharedPrivilegeCache implements PrivilegeCache {
+    private final PrivilegeCache privileges;
+
+    private SharedPrivilegeCache(PrivilegeCache privileges) {
+      this.privileges = privileges;
+    }
+
+    @Override
+    public Set<String> listPrivileges(Set<String> groups, ActiveRoleSet roleSet) {
+      return privileges.listPrivileges(groups, roleSet);
+    }
+
+    @Override
+    @Deprecated
+    public Set<String> listPrivileges(Set<String> groups, Set<String> users,
+        ActiveRoleSet roleSet) {
+      return privileges.listPrivileges(groups, users, roleSet);
+    }
+
+    @Override
+    public void close() {
+      // The privileges stay cached for the next bindings
+    }
+  }
+
+  private static final class SharedFilteredPrivilegeCache extends SharedPrivilegeCache
+      implements FilteredPrivilegeCache {
+    private final FilteredPrivilegeCache privileges;
+
+    private SharedFilteredPrivilegeCache(FilteredPrivilegeCache privileges) {
+      super(privileges);
+      this.privileges = privileges;
+    }
+
+    @Override
+    public Set<String> listPrivileges(Set<String> groups, Set<String> users,
+        ActiveRoleSet roleSet, Authorizable... authorizationhierarchy) {
+      return privileges.listPrivileges(groups, users, roleSet, authorizationhierarchy);
+    }
+
+    @Override
+    public Set<Privilege> listPrivilegeObjects(Set<String> groups, Set<String> users,
+        ActiveRoleSet roleSet, Authorizable... authorizationhierarchy) {
+      return privileges.listPrivilegeObjects(groups, users, roleSet, authorizationhierarchy);
+    }
+  }
+}
@@ -17,9 +17,12 @@
  */
 package org.apache.sentry.binding.metastore;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Sets;
 import java.util.Collections;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.hive.conf.HiveConf;
@@ -32,6 +35,8 @@ import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.PartitionSpec;
 import org.apache.hadoop.hive.metastore.api.Table;
 import org.apache.hadoop.hive.shims.Utils;
+import org.apache.sentry.api.common.ApiConstants;
+import org.apache.sentry.api.service.thrift.SentryPolicyServiceClient;
 import org.apache.sentry.binding.hive.authz.HiveAuthzBinding;
 import org.apache.sentry.binding.hive.authz.HiveAuthzBinding.HiveHook;
 import org.apache.sentry.binding.hive.authz.MetastoreAuthzObjectFilter;
@@ -39,6 +44,8 @@ import org.apache.sentry.binding.hive.authz.MetastoreAuthzObjectFilter;
 import java.util.List;
 import org.apache.sentry.binding.hive.authz.MetastoreAuthzObjectFilter.ObjectExtractor;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
+import org.apache.sentry.provider.db.SimpleDBProviderBackend;
+import org.apache.thrift.TApplicationException;
 
 /**
  * {@code} SentryMetaStoreFilterHook} may be used by the HMS server to filter databases, tables
@@ -56,10 +63,18 @@ public class SentryMetaStoreFilterHook implements MetaStoreFilterHook {
   static final protected Log LOG = LogFactory.getLog(SentryMetaStoreFilterHook.class);
 
   private final HiveConf hiveConf;
-  private HiveAuthzBinding hiveAuthzBinding;
   private HiveAuthzBindingFactory authzBindingFactory;
   private HiveAuthzConf authzConf;
   private Set<String> serviceUsers;
+  // Disabled once the Sentry server is known not to support it
+  private volatile boolean bulkAuthorization;
+  // Privileges shared by the filter calls, null if they are fetched on every call
+  private final MetastorePrivilegeCache privilegeCache;
+  // Binding shared by the filter calls authorizing the objects at once, created on first use
+  private volatile HiveAuthzBinding bulkAuthzBinding;
+  // Clients of the Sentry server not used by a filter call, kept connected for the next ones
+  private final Queue<SentryPolicyServiceClient> idleClients = new ConcurrentLinkedQueue<>();
+  private final int maxIdleClients;
 
   /**
    * Instatiates a new {@code SentryMetaStoreFilterHook} object with a default
@@ -110,6 +125,17 @@ public class SentryMetaStoreFilterHook implements MetaStoreFilterHook {
     this.serviceUsers = Sets.newHashSet(authzConf.getTrimmedStringCollection(
       HiveAuthzConf.AuthzConfVars.AUTHZ_METASTORE_SERVICE_USERS.getVar()));
 
+    // Only the Sentry server can authorize a list of objects at once
+    boolean sentryServerBackend = SimpleDBProviderBackend.class.getName().equals(
+      authzConf.get(HiveAuthzConf.AuthzConfVars.AUTHZ_PROVIDER_BACKEND.getVar()));
+    this.bulkAuthorization = authzConf.getBoolean(
+      HiveAuthzConf.AuthzConfVars.AUTHZ_METASTORE_FILTER_BULK_ENABLED.getVar(), true)
+      && sentryServerBackend;
+    // Only the Sentry server tells when cached privileges have changed
+    this.privilegeCache = sentryServerBackend ? MetastorePrivilegeCache.get(authzConf) : null;
+    this.maxIdleClients = authzConf.getInt(ApiConstants.ClientConfig.SENTRY_POOL_MAX_IDLE,
+      ApiConstants.ClientConfig.SENTRY_POOL_MAX_IDLE_DEFAULT);
+
     LOG.info("SentryMetaStoreFilterHook initialized with service users: " + this.serviceUsers);
   }
 
@@ -212,28 +238,31 @@ public class SentryMetaStoreFilterHook implements MetaStoreFilterHook {
       return dbList;
     }
 
+    ObjectExtractor<String> extractor = new ObjectExtractor<String>() {
+      @Override
+      public String getDatabaseName(String o) {
+        return o;
+      }
+
+      @Override
+      public String getTableName(String s) {
+        return null;
+      }
+    };
+
+    List<String> filteredDbList = filterWithSentryServer(userName, dbList, extractor, false);
+    if (filteredDbList != null) {
+      return filteredDbList;
+    }
+
     try (HiveAuthzBinding authzBinding = getHiveAuthzBinding(userName)) {
       MetastoreAuthzObjectFilter<String> filter = new MetastoreAuthzObjectFilter<>(authzBinding,
-        new ObjectExtractor<String>() {
-          @Override
-          public String getDatabaseName(String o) {
-            return o;
-          }
-
-          @Override
-          public String getTableName(String s) {
-            return null;
-          }
-        });
+        extractor);
 
       return filter.filterDatabases(authzBindingFactory.getUserName(), dbList);
     } catch (Exception e) {
       LOG.warn("Error getting DB list ", e);
       return Collections.emptyList();
-    } finally {
-      // authzBinding.close() is called at end of this block. And privilege cache will be reset.
-      // Clear this field to make sure getting a new binding with cache for next filtering
-      hiveAuthzBinding = null;
     }
   }
 
@@ -252,28 +281,31 @@ public class SentryMetaStoreFilterHook implements MetaStoreFilterHook {
       return tabList;
     }
 
+    ObjectExtractor<String> extractor = new ObjectExtractor<String>() {
+      @Override
+      public String getDatabaseName(String o) {
+        return dbName;
+      }
+
+      @Override
+      public String getTableName(String o) {
+        return o;
+      }
+    };
+
+    List<String> filteredTabList = filterWithSentryServer(userName, tabList, extractor, true);
+    if (filteredTabList != null) {
+      return filteredTabList;
+    }
+
     try (HiveAuthzBinding authzBinding = getHiveAuthzBinding(userName)) {
       MetastoreAuthzObjectFilter<String> filter = new MetastoreAuthzObjectFilter<>(authzBinding,
-        new ObjectExtractor<String>() {
-          @Override
-          public String getDatabaseName(String o) {
-            return dbName;
-          }
-
-          @Override
-          public String getTableName(String o) {
-            return o;
-          }
-        });
+        extractor);
 
       return filter.filterTables(authzBindingFactory.getUserName(), tabList);
     } catch (Exception e) {
       LOG.warn("Error getting Table list ", e);
       return Collections.emptyList();
-    } finally {
-      // authzBinding.close() is called at end of this block. And privilege cache will be reset.
-      // Clear this field to make sure getting a new binding with cache for next filtering
-      hiveAuthzBinding = null;
     }
   }
 
@@ -292,19 +324,26 @@ public class SentryMetaStoreFilterHook implements MetaStoreFilterHook {
       return tabList;
     }
 
+    ObjectExtractor<Table> extractor = new ObjectExtractor<Table>() {
+      @Override
+      public String getDatabaseName(Table o) {
+        return (o != null) ? o.getDbName() : null;
+      }
+
+      @Override
+      public String getTableName(Table o) {
+        return (o != null) ? o.getTableName() : null;
+      }
+    };
+
+    List<Table> filteredTabList = filterWithSentryServer(userName, tabList, extractor, true);
+    if (filteredTabList != null) {
+      return filteredTabList;
+    }
+
     try (HiveAuthzBinding authzBinding = getHiveAuthzBinding(userName)) {
       MetastoreAuthzObjectFilter<Table> filter = new MetastoreAuthzObjectFilter<>(authzBinding,
-        new ObjectExtractor<Table>() {
-          @Override
-          public String getDatabaseName(Table o) {
-            return (o != null) ? o.getDbName() : null;
-          }
-
-          @Override
-          public String getTableName(Table o) {
-            return (o != null) ? o.getTableName() : null;
-          }
-        });
+        extractor);
 
       return filter.filterTables(authzBindingFactory.getUserName(), tabList);
     } catch (Exception e) {
@@ -314,23 +353,112 @@ public class SentryMetaStoreFilterHook implements MetaStoreFilterHook {
   }
 
   /**
-   * load Hive auth provider with cache
+   * Authorizes the objects with a single request to the Sentry server, instead of fetching
+   * all the privileges of the user to authorize the objects one by one.
+   * @return the authorized objects, or null if the Sentry server could not authorize them
+   * at once (e.g. an older server) and they must be authorized one by one.
+   */
+  private <T> List<T> filterWithSentryServer(String userName, List<T> objects,
+      ObjectExtractor<T> extractor, boolean tables) {
+    if (!bulkAuthorization || objects == null) {
+      return null;
+    }
+
+    SentryPolicyServiceClient client = null;
+    try {
+      MetastoreAuthzObjectFilter<T> filter = new MetastoreAuthzObjectFilter<>(
+        getBulkAuthzBinding(), extractor);
+
+      client = idleClients.poll();
+      if (client == null) {
+        client = authzBindingFactory.createSentryClient(authzConf);
+      }
+      List<T> filteredObjects = tables ? filter.filterTables(userName, objects, client)
+        : filter.filterDatabases(userName, objects, client);
+      if (idleClients.size() < maxIdleClients) {
+        idleClients.offer(client);
+        client = null;
+      }
+      if (privilegeCache != null) {
+        privilegeCache.setPolicyVersion(filter.getPolicyVersion());
+      }
+      return filteredObjects;
+    } catch (Exception e) {
+      if (isUnsupportedBySentry(e)) {
+        bulkAuthorization = false;
+        LOG.info("The Sentry server cannot authorize the objects with a single request, "
+          + "authorizing them one by one from now on");
+      } else {
+        LOG.warn("Unable to authorize the " + objects.size() + " objects with a single request "
+          + "to Sentry, authorizing them one by one: " + e.getMessage());
+      }
+      return null;
+    } finally {
+      // a client which failed is not reused
+      if (client != null) {
+        closeClient(client);
+      }
+    }
+  }
+
+  /**
+   * @return the binding used to authorize the objects at once. It only provides the groups
+   * of the user and the settings, so it is created once instead of on every call.
+   */
+  private HiveAuthzBinding getBulkAuthzBinding() throws Exception {
+    HiveAuthzBinding authzBinding = bulkAuthzBinding;
+    if (authzBinding == null) {
+      synchronized (this) {
+        authzBinding = bulkAuthzBinding;
+        if (authzBinding == null) {
+          authzBinding = authzBindingFactory.fromMetaStoreConf(hiveConf, authzConf);
+          bulkAuthzBinding = authzBinding;
+        }
+      }
+    }
+    return authzBinding;
+  }
+
+  private static void closeClient(SentryPolicyServiceClient client) {
+    try {
+      client.close();
+    } catch (Exception e) {
+      LOG.warn("Unable to close the Sentry client: " + e.getMessage());
+    }
+  }
+
+  /**
+   * @return true if the request failed because the Sentry server does not know it, e.g. an
+   * older server, so that it is not sent again.
+   */
+  private static boolean isUnsupportedBySentry(Exception e) {
+    for (Throwable cause : Throwables.getCausalChain(e)) {
+      if (cause instanceof TApplicationException
+        && ((TApplicationException) cause).getType() == TApplicationException.UNKNOWN_METHOD) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * load Hive auth provider with the privileges of the user. The privileges are taken from
+   * the shared privilege cache until a Sentry server returns a newer policy version.
    * @return
    * @throws MetaException
    */
   private HiveAuthzBinding getHiveAuthzBinding(String userName) throws MetaException {
-    if (hiveAuthzBinding == null) {
-      try {
-        hiveAuthzBinding = authzBindingFactory.fromMetaStoreConf(hiveConf, authzConf);
-        hiveAuthzBinding = MetastoreAuthzBindingBase
-            .getHiveBindingWithPrivilegeCache(hiveAuthzBinding, userName);
-      } catch (Exception e) {
-        throw new MetaException("The Sentry/Hive authz binding could not be created: "
-          + e.getMessage());
+    try {
+      HiveAuthzBinding authzBinding = authzBindingFactory.fromMetaStoreConf(hiveConf, authzConf);
+      if (privilegeCache == null) {
+        return MetastoreAuthzBindingBase.getHiveBindingWithPrivilegeCache(authzBinding, userName);
       }
+      return MetastoreAuthzBindingBase.getHiveBindingWithPrivilegeCache(authzBinding, userName,
+        privilegeCache, () -> authzBindingFactory.createSentryClient(authzConf));
+    } catch (Exception e) {
+      throw new MetaException("The Sentry/Hive authz binding could not be created: "
+        + e.getMessage());
     }
-
-    return hiveAuthzBinding;
   }
 
   private boolean needsAuthorization(String username) {
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.binding.metastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.binding.metastore.MetastorePrivilegeCache.Loaded;
+import org.apache.sentry.binding.metastore.MetastorePrivilegeCache.Loader;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.provider.cache.FilteredPrivilegeCache;
+import org.apache.sentry.provider.cache.PrivilegeCache;
+import org.apache.sentry.provider.cache.SimplePrivilegeCache;
+import org.apache.sentry.provider.cache.TreePrivilegeCache;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.Sets;
+
+public class TestMetastorePrivilegeCache {
+  private static final Set<String> GROUPS = Sets.newHashSet("group1");
+  private static final Set<String> PRIVILEGES =
+      Sets.newHashSet("server=server1->db=db1->table=t1->action=select");
+
+  private int loads;
+  private long now;
+  // The policy version the server returns with the privileges
+  private long version = 1;
+  private MetastorePrivilegeCache cache;
+
+  private final Loader loader = new Loader() {
+    @Override
+    public Loaded load() {
+      loads++;
+      return new Loaded(new SimplePrivilegeCache(Sets.newHashSet(PRIVILEGES)), version);
+    }
+  };
+
+  @Before
+  public void setup() {
+    Ticker ticker = new Ticker() {
+      @Override
+      public long read() {
+        return now;
+      }
+    };
+    // 2 users for 10 minutes
+    cache = new MetastorePrivilegeCache(2, 600, ticker);
+  }
+
+  @Test
+  public void testPrivilegesAreCachedForTheVersion() throws Exception {
+    PrivilegeCache privileges = cache.get("user1", GROUPS, loader);
+    assertSame(privileges, cache.get("user1", Sets.newHashSet("group1"), loader));
+    assertEquals(1, loads);
+
+    // Changed groups
+    cache.get("user1", Sets.newHashSet("group1", "group2"), loader);
+    assertEquals(2, loads);
+
+    // The privileges of another user are loaded at a new version, the cached privileges
+    // were read at an older one
+    version = 2;
+    cache.get("user2", GROUPS, loader);
+    assertEquals(3, loads);
+    cache.get("user1", Sets.newHashSet("group1", "group2"), loader);
+    assertEquals(4, loads);
+
+    // A new version returned when authorizing objects
+    version = 3;
+    cache.setPolicyVersion(3);
+    cache.get("user1", Sets.newHashSet("group1", "group2"), loader);
+    assertEquals(5, loads);
+    // The server does not return a version
+    cache.setPolicyVersion(0);
+    cache.get("user1", Sets.newHashSet("group1", "group2"), loader);
+    assertEquals(5, loads);
+  }
+
+  @Test
+  public void testOlderVersionsDoNotReload() throws Exception {
+    version = 5;
+    PrivilegeCache privileges = cache.get("user1", GROUPS, loader);
+    assertEquals(1, loads);
+
+    // Another server lagging behind returns an older version
+    cache.setPolicyVersion(4);
+    assertSame(privileges, cache.get("user1", GROUPS, loader));
+    version = 3;
+    cache.get("user2", GROUPS, loader);
+    assertEquals(2, loads);
+    assertSame(privileges, cache.get("user1", GROUPS, loader));
+    cache.get("user2", GROUPS, loader);
+    assertEquals(3, loads);
+
+    // The newest version returned by any server
+    cache.setPolicyVersion(6);
+    version = 6;
+    cache.get("user1", GROUPS, loader);
+    assertEquals(4, loads);
+  }
+
+  @Test
+  public void testPrivilegesWithoutVersionAreNotCached() throws Exception {
+    version = 0;
+    PrivilegeCache privileges = cache.get("user1", GROUPS, loader);
+    assertNotSame(privileges, cache.get("user1", GROUPS, loader));
+    assertEquals(2, loads);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testClosingDoesNotClearThePrivileges() throws Exception {
+    cache.get("user1", GROUPS, loader).close();
+    PrivilegeCache privileges = cache.get("user1", GROUPS, loader);
+    assertEquals(PRIVILEGES, privileges.listPrivileges(GROUPS, ActiveRoleSet.ALL));
+    assertEquals(1, loads);
+
+    // The privileges can still be filtered by the authorizable hierarchy
+    privileges = cache.get("user2", GROUPS, new Loader() {
+      @Override
+      public Loaded load() {
+        return new Loaded(new TreePrivilegeCache(PRIVILEGES, null), version);
+      }
+    });
+    assertTrue(privileges instanceof FilteredPrivilegeCache);
+  }
+
+  @Test
+  public void testCacheIsBounded() throws Exception {
+    cache.get("user1", GROUPS, loader);
+    cache.get("user2", GROUPS, loader);
+    cache.get("user3", GROUPS, loader);
+    assertEquals(2, cache.size());
+
+    now += TimeUnit.SECONDS.toNanos(601);
+    cache.get("user3", GROUPS, loader);
+    assertEquals(4, loads);
+    assertEquals(1, cache.size());
+  }
+}
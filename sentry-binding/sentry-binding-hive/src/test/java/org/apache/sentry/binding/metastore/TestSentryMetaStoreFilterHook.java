@@ -28,12 +28,17 @@ import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
 import org.apache.hadoop.hive.ql.metadata.AuthorizationException;
 import org.apache.hadoop.hive.ql.plan.HiveOperation;
+import org.apache.sentry.api.common.Status;
+import org.apache.sentry.api.service.thrift.SentryPolicyServiceClient;
+import org.apache.sentry.api.service.thrift.TFilterAuthorizablesResponse;
 import org.apache.sentry.binding.hive.authz.HiveAuthzBinding;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationScope;
 import org.apache.sentry.binding.hive.authz.HiveAuthzPrivileges.HiveOperationType;
 import org.apache.sentry.binding.hive.conf.HiveAuthzConf;
+import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.model.db.Column;
 import org.apache.sentry.core.model.db.DBModelAction;
 import org.apache.sentry.core.model.db.DBModelAuthorizable;
@@ -41,6 +46,8 @@ import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
 import org.apache.sentry.core.model.db.Database;
 import org.apache.sentry.core.model.db.Server;
 import org.apache.sentry.core.model.db.Table;
+import org.apache.sentry.provider.db.SimpleDBProviderBackend;
+import org.apache.thrift.TApplicationException;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -107,6 +114,27 @@ public class TestSentryMetaStoreFilterHook {
     }
   }
 
+  // Returns a mock of the HiveAuthzBindingFactory which authorizes the objects with the client.
+  private HiveAuthzBindingFactory getMockBinding(String userName,
+      SentryPolicyServiceClient client) {
+    return new HiveAuthzBindingFactory() {
+      @Override
+      public HiveAuthzBinding fromMetaStoreConf(HiveConf hiveConf, HiveAuthzConf authzConf) throws Exception {
+        return mockBinding;
+      }
+
+      @Override
+      public String getUserName() {
+        return userName;
+      }
+
+      @Override
+      public SentryPolicyServiceClient createSentryClient(HiveAuthzConf authzConf) {
+        return client;
+      }
+    };
+  }
+
   // Returns a mock of the HiveAuthzBindingFactory with the userName wrapped inside.
   private HiveAuthzBindingFactory getMockBinding(String userName) {
     return new HiveAuthzBindingFactory() {
@@ -214,4 +242,54 @@ public class TestSentryMetaStoreFilterHook {
     assertThat(filterHook.filterTable(newHmsTable(DB1, "t2")))
       .isEqualTo(newHmsTable(DB1, "t2"));
   }
+
+  @Test
+  public void testFilterWithSentryServer() throws Exception {
+    final String USER1 = "user1";
+    final String DB1 = "db1";
+    HiveAuthzConf serverAuthzConf = new HiveAuthzConf();
+    serverAuthzConf.set(HiveAuthzConf.AuthzConfVars.AUTHZ_PROVIDER_BACKEND.getVar(),
+      SimpleDBProviderBackend.class.getName());
+    Mockito.when(mockBinding.getGroups(new Subject(USER1))).thenReturn(Collections.singleton("group1"));
+    Mockito.when(mockBinding.getActiveRoleSet()).thenReturn(ActiveRoleSet.ALL);
+
+    SentryPolicyServiceClient client = Mockito.mock(SentryPolicyServiceClient.class);
+    Mockito.when(client.filterAuthorizables(Mockito.eq(Collections.singleton("group1")),
+      Mockito.eq(Collections.singleton(USER1)), Mockito.eq(ActiveRoleSet.ALL), Mockito.anyList(),
+      Mockito.anySet())).thenReturn(new TFilterAuthorizablesResponse(Status.OK(),
+      Arrays.asList(false, true, false)));
+    SentryMetaStoreFilterHook filterHook = new SentryMetaStoreFilterHook(null, serverAuthzConf,
+      getMockBinding(USER1, client));
+
+    // The objects are authorized with a single request, 'default' is not sent to the server
+    assertThat(filterHook.filterDatabases(Arrays.asList("db1", "default", "db2", "db3")))
+      .containsExactly("default", "db2");
+    assertThat(filterHook.filterTableNames(DB1, Arrays.asList("t1", "t2", "t3")))
+      .containsExactly("t2");
+    Mockito.verify(mockBinding, Mockito.never()).authorize(Mockito.any(HiveOperation.class),
+      Mockito.any(HiveAuthzPrivileges.class), Mockito.any(Subject.class), Mockito.anySet(),
+      Mockito.anySet());
+
+    // The objects are authorized one by one if the server cannot authorize them at once
+    Mockito.when(client.filterAuthorizables(Mockito.anySet(), Mockito.anySet(),
+      Mockito.any(ActiveRoleSet.class), Mockito.anyList(), Mockito.anySet()))
+      .thenThrow(new SentryUserException("Invalid method name: 'filter_authorizables'"));
+    restrictTablesNamesOnBinding(USER1, DB1, Arrays.asList("t1", "t3"));
+    assertThat(filterHook.filterTableNames(DB1, Arrays.asList("t1", "t2", "t3")))
+      .containsExactly("t2");
+
+    // A server which does not know the request is not sent it again
+    Mockito.reset(client);
+    Mockito.when(client.filterAuthorizables(Mockito.anySet(), Mockito.anySet(),
+      Mockito.any(ActiveRoleSet.class), Mockito.anyList(), Mockito.anySet()))
+      .thenThrow(new SentryUserException("Thrift exception occurred ",
+        new TApplicationException(TApplicationException.UNKNOWN_METHOD,
+          "Invalid method name: 'filter_authorizables'")));
+    for (int i = 0; i < 2; i++) {
+      assertThat(filterHook.filterTableNames(DB1, Arrays.asList("t1", "t2", "t3")))
+        .containsExactly("t2");
+    }
+    Mockito.verify(client, Mockito.times(1)).filterAuthorizables(Mockito.anySet(),
+      Mockito.anySet(), Mockito.any(ActiveRoleSet.class), Mockito.anyList(), Mockito.anySet());
+  }
 }
@@ -57,6 +57,7 @@ import org.apache.sentry.provider.db.generic.SentryGenericProviderBackend;
 import org.apache.sentry.api.generic.thrift.SentryGenericServiceClient;
 import org.apache.sentry.api.generic.thrift.SentryGenericServiceClientFactory;
 import org.apache.sentry.api.generic.thrift.TAuthorizable;
+import org.apache.sentry.api.generic.thrift.TListSentryRolePrivilegesResponse;
 import org.apache.sentry.api.generic.thrift.TSentryPrivilege;
 import org.apache.sentry.api.generic.thrift.TSentryRole;
 import org.apache.sentry.api.common.ApiConstants;
@@ -331,8 +332,10 @@ public class KafkaAuthBinding {
 
   public boolean removeAcls(final Resource resource) {
     LOG.info("Removing Acls for Resource: resource->" + resource);
-    List<String> roles = getAllRoles();
-    final List<TSentryPrivilege> tSentryPrivileges = getAllPrivileges(roles);
+    final List<TSentryPrivilege> tSentryPrivileges = new ArrayList<>();
+    for (Set<TSentryPrivilege> rolePrivileges : getAllRolePrivileges().values()) {
+      tSentryPrivileges.addAll(rolePrivileges);
+    }
     try {
       execute(new Command<Void>() {
         @Override
@@ -373,8 +376,12 @@ public class KafkaAuthBinding {
   }
 
   public Map<Resource, scala.collection.immutable.Set<Acl>> getAcls() {
-    final List<String> roles = getAllRoles();
-    return getAclsForRoles(roles);
+    final java.util.Map<String, scala.collection.immutable.Set<TSentryPrivilege>> rolePrivilegesMap = new HashMap<>();
+    for (java.util.Map.Entry<String, Set<TSentryPrivilege>> rolePrivileges : getAllRolePrivileges().entrySet()) {
+      rolePrivilegesMap.put(rolePrivileges.getKey(),
+          scala.collection.JavaConverters.asScalaSetConverter(rolePrivileges.getValue()).asScala().toSet());
+    }
+    return toScalaMap(rolePrivilegesToResourceAcls(rolePrivilegesMap));
   }
 
   /**
@@ -425,20 +432,32 @@ public class KafkaAuthBinding {
     return false;
   }
 
-  private List<TSentryPrivilege> getAllPrivileges(final List<String> roles) {
-    final List<TSentryPrivilege> tSentryPrivileges = new ArrayList<>();
+  /**
+   * Get the privileges of all roles with as few requests as possible. Servers which can
+   * not list all role privileges at once are asked for the privileges of each role.
+   */
+  private java.util.Map<String, Set<TSentryPrivilege>> getAllRolePrivileges() {
+    final java.util.Map<String, Set<TSentryPrivilege>> rolePrivilegesMap = new HashMap<>();
     execute(new Command<Void>() {
       @Override
       public Void run(SentryGenericServiceClient client) throws Exception {
-        for (String role : roles) {
-          tSentryPrivileges.addAll(client.listAllPrivilegesByRoleName(
-                requestorName, role, COMPONENT_NAME, instanceName));
+        TListSentryRolePrivilegesResponse response;
+        try {
+          response = client.listAllRolePrivileges(requestorName, COMPONENT_NAME, instanceName);
+        } catch (SentryUserException e) {
+          LOG.debug("Unable to list all role privileges at once, listing them per role", e);
+          for (TSentryRole tSentryRole : client.listAllRoles(requestorName, COMPONENT_NAME)) {
+            rolePrivilegesMap.put(tSentryRole.getRoleName(), client.listAllPrivilegesByRoleName(
+                requestorName, tSentryRole.getRoleName(), COMPONENT_NAME, instanceName));
+          }
+          return null;
         }
+        rolePrivilegesMap.putAll(response.getPrivilegesMapByRole());
         return null;
       }
     });
 
-    return tSentryPrivileges;
+    return rolePrivilegesMap;
   }
 
   private List<String> getAllRoles() {
@@ -457,8 +476,11 @@ public class KafkaAuthBinding {
   }
 
   private Map<Resource, scala.collection.immutable.Set<Acl>> getAclsForRoles(final List<String> roles) {
-    return scala.collection.JavaConverters.mapAsScalaMapConverter(
-              rolePrivilegesToResourceAcls(getRoleToPrivileges(roles)))
+    return toScalaMap(rolePrivilegesToResourceAcls(getRoleToPrivileges(roles)));
+  }
+
+  private Map<Resource, scala.collection.immutable.Set<Acl>> toScalaMap(java.util.Map<Resource, scala.collection.immutable.Set<Acl>> resourceAclsMap) {
+    return scala.collection.JavaConverters.mapAsScalaMapConverter(resourceAclsMap)
               .asScala().toMap(Predef.<Tuple2<Resource, scala.collection.immutable.Set<Acl>>>conforms());
   }
 
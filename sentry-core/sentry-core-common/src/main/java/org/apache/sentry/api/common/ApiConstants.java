@@ -60,6 +60,10 @@ public class ApiConstants {
     public static final String SENTRY_POLICY_CLIENT_THRIFT_MAX_MESSAGE_SIZE = "sentry.policy.client.thrift.max.message.size";
     public static final long SENTRY_POLICY_CLIENT_THRIFT_MAX_MESSAGE_SIZE_DEFAULT = 100 * 1024 * 1024;
 
+    // number of roles fetched per call when listing all roles and privileges of a component
+    public static final String LIST_ROLE_PRIVILEGES_PAGE_SIZE = "sentry.service.client.list.role.privileges.page.size";
+    public static final int LIST_ROLE_PRIVILEGES_PAGE_SIZE_DEFAULT = 1000;
+
     // client retry settings
     public static final String RETRY_COUNT_CONF = "sentry.provider.backend.db.retry.count";
     public static final int RETRY_COUNT_DEFAULT = 3;
@@ -73,6 +77,14 @@ public class ApiConstants {
     public static final long CACHING_TTL_MS_DEFAULT = 30000;
     public static final String CACHE_UPDATE_FAILURES_BEFORE_PRIV_REVOKE = "sentry.provider.backend.generic.cache.update.failures.count";
     public static final int CACHE_UPDATE_FAILURES_BEFORE_PRIV_REVOKE_DEFAULT = 3;
+
+    // authorization decision cache of the authorization provider
+    public static final String DECISION_CACHE_ENABLED = "sentry.provider.decision.cache.enabled";
+    public static final boolean DECISION_CACHE_ENABLED_DEFAULT = false;
+    public static final String DECISION_CACHE_MAX_ENTRIES = "sentry.provider.decision.cache.max.entries";
+    public static final long DECISION_CACHE_MAX_ENTRIES_DEFAULT = 10000;
+    public static final String DECISION_CACHE_TTL_MS = "sentry.provider.decision.cache.ttl.ms";
+    public static final long DECISION_CACHE_TTL_MS_DEFAULT = 30000;
     public static final String PRIVILEGE_CONVERTER = "sentry.provider.backend.generic.privilege.converter";
 
     public static final String COMPONENT_TYPE = "sentry.provider.backend.generic.component-type";
@@ -66,6 +66,25 @@ public class ServiceConstants {
     public static final int RPC_MAX_THREADS_DEFAULT = 500;
     public static final String RPC_MIN_THREADS = "sentry.service.server-min-threads";
     public static final int RPC_MIN_THREADS_DEFAULT = 10;
+    /**
+     * Thrift server serving the clients: "thread-pool" holds a worker thread per connection,
+     * "threaded-selector" parks the idle connections on a few selector threads and runs the
+     * requests on up to {@link #RPC_MAX_THREADS} workers, queueing up to
+     * {@link #RPC_WORKER_QUEUE_SIZE} requests. Both serve the same clients, with or without
+     * kerberos.
+     */
+    public static final String RPC_SERVER_TYPE = "sentry.service.server.type";
+    public static final String RPC_SERVER_TYPE_THREAD_POOL = "thread-pool";
+    public static final String RPC_SERVER_TYPE_THREADED_SELECTOR = "threaded-selector";
+    public static final String RPC_SERVER_TYPE_DEFAULT = RPC_SERVER_TYPE_THREAD_POOL;
+    public static final String RPC_SELECTOR_THREADS = "sentry.service.server-selector-threads";
+    public static final int RPC_SELECTOR_THREADS_DEFAULT = 2;
+    public static final String RPC_WORKER_QUEUE_SIZE = "sentry.service.server-worker-queue-size";
+    public static final int RPC_WORKER_QUEUE_SIZE_DEFAULT = 500;
+    // How long a worker of the threaded selector server waits for the rest of the handshake
+    // or request of a client which started sending it, 0 waits forever
+    public static final String RPC_CLIENT_TIMEOUT_MS = "sentry.service.server-client-timeout-ms";
+    public static final int RPC_CLIENT_TIMEOUT_MS_DEFAULT = 60000;
     public static final String ALLOW_CONNECT = "sentry.service.allow.connect";
 
     public static final String SENTRY_POLICY_STORE_PLUGINS = "sentry.policy.store.plugins";
@@ -120,6 +139,58 @@ public class ServiceConstants {
     public static final String SENTRY_STORE_HADOOP_GROUP_MAPPING = "org.apache.sentry.provider.common.HadoopGroupMappingService";
     public static final String SENTRY_STORE_LOCAL_GROUP_MAPPING = "org.apache.sentry.provider.file.LocalGroupMappingService";
     public static final String SENTRY_STORE_GROUP_MAPPING_DEFAULT = SENTRY_STORE_HADOOP_GROUP_MAPPING;
+    // Server side cache of user to groups resolution, 0 ttl disables the cache. Group
+    // membership changes, e.g. removing a user from an admin group, are only seen by the
+    // server once the cached groups expire, so the cache is disabled by default.
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_SECONDS =
+        "sentry.store.group.mapping.cache.ttl.seconds";
+    public static final long SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_SECONDS_DEFAULT = 0;
+    // Entries older than the refresh interval are reloaded in the background on access
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_SECONDS =
+        "sentry.store.group.mapping.cache.refresh.seconds";
+    public static final long SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_SECONDS_DEFAULT = 60;
+    // How long users without groups are remembered
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_SECONDS =
+        "sentry.store.group.mapping.cache.negative.ttl.seconds";
+    public static final long SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_SECONDS_DEFAULT = 30;
+    public static final String SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_ENTRIES =
+        "sentry.store.group.mapping.cache.max.entries";
+    public static final long SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_ENTRIES_DEFAULT = 10000;
+
+    // Serve the privileges of list_sentry_privileges_for_provider and filter_authorizables
+    // from an in-memory image of the policy. The other requests, e.g. listing the roles of
+    // a group or the privileges of an authorizable, still read the database. The image is
+    // loaded again in full after any change made through this server, not updated with
+    // the change.
+    public static final String SENTRY_STORE_POLICY_IMAGE_ENABLED =
+        "sentry.store.policy.image.enabled";
+    public static final boolean SENTRY_STORE_POLICY_IMAGE_ENABLED_DEFAULT = false;
+    // Changes made through other servers sharing the database are not seen by the image
+    // for up to this long, an expired image is not served while it is loaded again
+    public static final String SENTRY_STORE_POLICY_IMAGE_MAX_AGE_MS =
+        "sentry.store.policy.image.max.age.ms";
+    public static final long SENTRY_STORE_POLICY_IMAGE_MAX_AGE_MS_DEFAULT = 5000;
+    // Number of locks the privilege changes of databases are spread over, so that the
+    // changes of different databases run in parallel. 0 serializes all the changes. Has no
+    // effect with HDFS sync: its permission deltas all take the next change ID, so every
+    // change is serialized whatever the number of stripes.
+    public static final String SENTRY_STORE_PRIVILEGE_LOCK_STRIPES =
+        "sentry.store.privilege.lock.stripes";
+    public static final int SENTRY_STORE_PRIVILEGE_LOCK_STRIPES_DEFAULT = 64;
+    // Concurrent grants and revokes within the window are committed in one transaction,
+    // 0 commits each of them on its own
+    public static final String SENTRY_STORE_GROUP_COMMIT_WINDOW_MS =
+        "sentry.store.group.commit.window.ms";
+    public static final long SENTRY_STORE_GROUP_COMMIT_WINDOW_MS_DEFAULT = 0;
+    public static final String SENTRY_STORE_GROUP_COMMIT_MAX_SIZE =
+        "sentry.store.group.commit.max.size";
+    public static final int SENTRY_STORE_GROUP_COMMIT_MAX_SIZE_DEFAULT = 100;
+    // Persist the path and permission deltas compressed instead of in JSON. Servers older
+    // than the compressed format cannot read these deltas, so it must only be enabled once
+    // all the servers sharing the database read it. Both formats are always read.
+    public static final String SENTRY_STORE_DELTA_COMPRESSION_ENABLED =
+        "sentry.store.delta.compression.enabled";
+    public static final boolean SENTRY_STORE_DELTA_COMPRESSION_ENABLED_DEFAULT = false;
 
     public static final String SENTRY_STORE_ORPHANED_PRIVILEGE_REMOVAL = "sentry.store.orphaned.privilege.removal";
     public static final String SENTRY_STORE_ORPHANED_PRIVILEGE_REMOVAL_DEFAULT = "false";
@@ -177,6 +248,11 @@ public class ServiceConstants {
     public static final long SENTRY_HMSFOLLOWER_INIT_DELAY_MILLS_DEFAULT = 0;
     public static final String SENTRY_HMSFOLLOWER_INTERVAL_MILLS = "sentry.hmsfollower.interval.mills";
     public static final long SENTRY_HMSFOLLOWER_INTERVAL_MILLS_DEFAULT = 500;
+    // Longest interval between HMSFollower polls of HMS notifications while none arrive.
+    // The polls back off from sentry.hmsfollower.interval.mills up to this interval.
+    public static final String SENTRY_HMSFOLLOWER_MAX_IDLE_INTERVAL_MILLS =
+        "sentry.hmsfollower.max.idle.interval.mills";
+    public static final long SENTRY_HMSFOLLOWER_MAX_IDLE_INTERVAL_MILLS_DEFAULT = 500;
 
     public static final String SENTRY_WEB_ENABLE = "sentry.service.web.enable";
     public static final Boolean SENTRY_WEB_ENABLE_DEFAULT = false;
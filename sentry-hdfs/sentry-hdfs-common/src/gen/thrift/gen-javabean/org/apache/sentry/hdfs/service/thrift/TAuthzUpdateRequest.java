@@ -41,6 +41,11 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private static final org.apache.thrift.protocol.TField PERM_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("permSeqNum", org.apache.thrift.protocol.TType.I64, (short)1);
   private static final org.apache.thrift.protocol.TField PATH_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathSeqNum", org.apache.thrift.protocol.TType.I64, (short)2);
   private static final org.apache.thrift.protocol.TField PATH_IMG_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathImgNum", org.apache.thrift.protocol.TType.I64, (short)3);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkSize", org.apache.thrift.protocol.TType.I32, (short)4);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_CURSOR_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkCursor", org.apache.thrift.protocol.TType.I32, (short)5);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_SEQ_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkSeqNum", org.apache.thrift.protocol.TType.I64, (short)6);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_IMG_NUM_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkImgNum", org.apache.thrift.protocol.TType.I64, (short)7);
+  private static final org.apache.thrift.protocol.TField PATHS_CHUNK_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("pathsChunkToken", org.apache.thrift.protocol.TType.I64, (short)8);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -51,12 +56,22 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private long permSeqNum; // required
   private long pathSeqNum; // required
   private long pathImgNum; // required
+  private int pathsChunkSize; // optional
+  private int pathsChunkCursor; // optional
+  private long pathsChunkSeqNum; // optional
+  private long pathsChunkImgNum; // optional
+  private long pathsChunkToken; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     PERM_SEQ_NUM((short)1, "permSeqNum"),
     PATH_SEQ_NUM((short)2, "pathSeqNum"),
-    PATH_IMG_NUM((short)3, "pathImgNum");
+    PATH_IMG_NUM((short)3, "pathImgNum"),
+    PATHS_CHUNK_SIZE((short)4, "pathsChunkSize"),
+    PATHS_CHUNK_CURSOR((short)5, "pathsChunkCursor"),
+    PATHS_CHUNK_SEQ_NUM((short)6, "pathsChunkSeqNum"),
+    PATHS_CHUNK_IMG_NUM((short)7, "pathsChunkImgNum"),
+    PATHS_CHUNK_TOKEN((short)8, "pathsChunkToken");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -77,6 +92,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
           return PATH_SEQ_NUM;
         case 3: // PATH_IMG_NUM
           return PATH_IMG_NUM;
+        case 4: // PATHS_CHUNK_SIZE
+          return PATHS_CHUNK_SIZE;
+        case 5: // PATHS_CHUNK_CURSOR
+          return PATHS_CHUNK_CURSOR;
+        case 6: // PATHS_CHUNK_SEQ_NUM
+          return PATHS_CHUNK_SEQ_NUM;
+        case 7: // PATHS_CHUNK_IMG_NUM
+          return PATHS_CHUNK_IMG_NUM;
+        case 8: // PATHS_CHUNK_TOKEN
+          return PATHS_CHUNK_TOKEN;
         default:
           return null;
       }
@@ -120,7 +145,13 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
   private static final int __PERMSEQNUM_ISSET_ID = 0;
   private static final int __PATHSEQNUM_ISSET_ID = 1;
   private static final int __PATHIMGNUM_ISSET_ID = 2;
+  private static final int __PATHSCHUNKSIZE_ISSET_ID = 3;
+  private static final int __PATHSCHUNKCURSOR_ISSET_ID = 4;
+  private static final int __PATHSCHUNKSEQNUM_ISSET_ID = 5;
+  private static final int __PATHSCHUNKIMGNUM_ISSET_ID = 6;
+  private static final int __PATHSCHUNKTOKEN_ISSET_ID = 7;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.PATHS_CHUNK_SIZE, _Fields.PATHS_CHUNK_CURSOR, _Fields.PATHS_CHUNK_SEQ_NUM, _Fields.PATHS_CHUNK_IMG_NUM, _Fields.PATHS_CHUNK_TOKEN};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -130,6 +161,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     tmpMap.put(_Fields.PATH_IMG_NUM, new org.apache.thrift.meta_data.FieldMetaData("pathImgNum", org.apache.thrift.TFieldRequirementType.REQUIRED, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.PATHS_CHUNK_SIZE, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkSize", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.PATHS_CHUNK_CURSOR, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkCursor", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.PATHS_CHUNK_SEQ_NUM, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkSeqNum", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.PATHS_CHUNK_IMG_NUM, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkImgNum", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.PATHS_CHUNK_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("pathsChunkToken", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TAuthzUpdateRequest.class, metaDataMap);
   }
@@ -159,6 +200,11 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     this.permSeqNum = other.permSeqNum;
     this.pathSeqNum = other.pathSeqNum;
     this.pathImgNum = other.pathImgNum;
+    this.pathsChunkSize = other.pathsChunkSize;
+    this.pathsChunkCursor = other.pathsChunkCursor;
+    this.pathsChunkSeqNum = other.pathsChunkSeqNum;
+    this.pathsChunkImgNum = other.pathsChunkImgNum;
+    this.pathsChunkToken = other.pathsChunkToken;
   }
 
   public TAuthzUpdateRequest deepCopy() {
@@ -173,6 +219,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     this.pathSeqNum = 0;
     setPathImgNumIsSet(false);
     this.pathImgNum = 0;
+    setPathsChunkSizeIsSet(false);
+    this.pathsChunkSize = 0;
+    setPathsChunkCursorIsSet(false);
+    this.pathsChunkCursor = 0;
+    setPathsChunkSeqNumIsSet(false);
+    this.pathsChunkSeqNum = 0;
+    setPathsChunkImgNumIsSet(false);
+    this.pathsChunkImgNum = 0;
+    setPathsChunkTokenIsSet(false);
+    this.pathsChunkToken = 0;
   }
 
   public long getPermSeqNum() {
@@ -241,6 +297,116 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHIMGNUM_ISSET_ID, value);
   }
 
+  public int getPathsChunkSize() {
+    return this.pathsChunkSize;
+  }
+
+  public void setPathsChunkSize(int pathsChunkSize) {
+    this.pathsChunkSize = pathsChunkSize;
+    setPathsChunkSizeIsSet(true);
+  }
+
+  public void unsetPathsChunkSize() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKSIZE_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkSize is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkSize() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKSIZE_ISSET_ID);
+  }
+
+  public void setPathsChunkSizeIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKSIZE_ISSET_ID, value);
+  }
+
+  public int getPathsChunkCursor() {
+    return this.pathsChunkCursor;
+  }
+
+  public void setPathsChunkCursor(int pathsChunkCursor) {
+    this.pathsChunkCursor = pathsChunkCursor;
+    setPathsChunkCursorIsSet(true);
+  }
+
+  public void unsetPathsChunkCursor() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKCURSOR_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkCursor is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkCursor() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKCURSOR_ISSET_ID);
+  }
+
+  public void setPathsChunkCursorIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKCURSOR_ISSET_ID, value);
+  }
+
+  public long getPathsChunkSeqNum() {
+    return this.pathsChunkSeqNum;
+  }
+
+  public void setPathsChunkSeqNum(long pathsChunkSeqNum) {
+    this.pathsChunkSeqNum = pathsChunkSeqNum;
+    setPathsChunkSeqNumIsSet(true);
+  }
+
+  public void unsetPathsChunkSeqNum() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKSEQNUM_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkSeqNum is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkSeqNum() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKSEQNUM_ISSET_ID);
+  }
+
+  public void setPathsChunkSeqNumIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKSEQNUM_ISSET_ID, value);
+  }
+
+  public long getPathsChunkImgNum() {
+    return this.pathsChunkImgNum;
+  }
+
+  public void setPathsChunkImgNum(long pathsChunkImgNum) {
+    this.pathsChunkImgNum = pathsChunkImgNum;
+    setPathsChunkImgNumIsSet(true);
+  }
+
+  public void unsetPathsChunkImgNum() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKIMGNUM_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkImgNum is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkImgNum() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKIMGNUM_ISSET_ID);
+  }
+
+  public void setPathsChunkImgNumIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKIMGNUM_ISSET_ID, value);
+  }
+
+  public long getPathsChunkToken() {
+    return this.pathsChunkToken;
+  }
+
+  public void setPathsChunkToken(long pathsChunkToken) {
+    this.pathsChunkToken = pathsChunkToken;
+    setPathsChunkTokenIsSet(true);
+  }
+
+  public void unsetPathsChunkToken() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PATHSCHUNKTOKEN_ISSET_ID);
+  }
+
+  /** Returns true if field pathsChunkToken is set (has been assigned a value) and false otherwise */
+  public boolean isSetPathsChunkToken() {
+    return EncodingUtils.testBit(__isset_bitfield, __PATHSCHUNKTOKEN_ISSET_ID);
+  }
+
+  public void setPathsChunkTokenIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PATHSCHUNKTOKEN_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case PERM_SEQ_NUM:
@@ -267,6 +433,46 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       }
       break;
 
+    case PATHS_CHUNK_SIZE:
+      if (value == null) {
+        unsetPathsChunkSize();
+      } else {
+        setPathsChunkSize((Integer)value);
+      }
+      break;
+
+    case PATHS_CHUNK_CURSOR:
+      if (value == null) {
+        unsetPathsChunkCursor();
+      } else {
+        setPathsChunkCursor((Integer)value);
+      }
+      break;
+
+    case PATHS_CHUNK_SEQ_NUM:
+      if (value == null) {
+        unsetPathsChunkSeqNum();
+      } else {
+        setPathsChunkSeqNum((Long)value);
+      }
+      break;
+
+    case PATHS_CHUNK_IMG_NUM:
+      if (value == null) {
+        unsetPathsChunkImgNum();
+      } else {
+        setPathsChunkImgNum((Long)value);
+      }
+      break;
+
+    case PATHS_CHUNK_TOKEN:
+      if (value == null) {
+        unsetPathsChunkToken();
+      } else {
+        setPathsChunkToken((Long)value);
+      }
+      break;
+
     }
   }
 
@@ -281,6 +487,21 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     case PATH_IMG_NUM:
       return getPathImgNum();
 
+    case PATHS_CHUNK_SIZE:
+      return getPathsChunkSize();
+
+    case PATHS_CHUNK_CURSOR:
+      return getPathsChunkCursor();
+
+    case PATHS_CHUNK_SEQ_NUM:
+      return getPathsChunkSeqNum();
+
+    case PATHS_CHUNK_IMG_NUM:
+      return getPathsChunkImgNum();
+
+    case PATHS_CHUNK_TOKEN:
+      return getPathsChunkToken();
+
     }
     throw new IllegalStateException();
   }
@@ -298,6 +519,16 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       return isSetPathSeqNum();
     case PATH_IMG_NUM:
       return isSetPathImgNum();
+    case PATHS_CHUNK_SIZE:
+      return isSetPathsChunkSize();
+    case PATHS_CHUNK_CURSOR:
+      return isSetPathsChunkCursor();
+    case PATHS_CHUNK_SEQ_NUM:
+      return isSetPathsChunkSeqNum();
+    case PATHS_CHUNK_IMG_NUM:
+      return isSetPathsChunkImgNum();
+    case PATHS_CHUNK_TOKEN:
+      return isSetPathsChunkToken();
     }
     throw new IllegalStateException();
   }
@@ -342,6 +573,51 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         return false;
     }
 
+    boolean this_present_pathsChunkSize = true && this.isSetPathsChunkSize();
+    boolean that_present_pathsChunkSize = true && that.isSetPathsChunkSize();
+    if (this_present_pathsChunkSize || that_present_pathsChunkSize) {
+      if (!(this_present_pathsChunkSize && that_present_pathsChunkSize))
+        return false;
+      if (this.pathsChunkSize != that.pathsChunkSize)
+        return false;
+    }
+
+    boolean this_present_pathsChunkCursor = true && this.isSetPathsChunkCursor();
+    boolean that_present_pathsChunkCursor = true && that.isSetPathsChunkCursor();
+    if (this_present_pathsChunkCursor || that_present_pathsChunkCursor) {
+      if (!(this_present_pathsChunkCursor && that_present_pathsChunkCursor))
+        return false;
+      if (this.pathsChunkCursor != that.pathsChunkCursor)
+        return false;
+    }
+
+    boolean this_present_pathsChunkSeqNum = true && this.isSetPathsChunkSeqNum();
+    boolean that_present_pathsChunkSeqNum = true && that.isSetPathsChunkSeqNum();
+    if (this_present_pathsChunkSeqNum || that_present_pathsChunkSeqNum) {
+      if (!(this_present_pathsChunkSeqNum && that_present_pathsChunkSeqNum))
+        return false;
+      if (this.pathsChunkSeqNum != that.pathsChunkSeqNum)
+        return false;
+    }
+
+    boolean this_present_pathsChunkImgNum = true && this.isSetPathsChunkImgNum();
+    boolean that_present_pathsChunkImgNum = true && that.isSetPathsChunkImgNum();
+    if (this_present_pathsChunkImgNum || that_present_pathsChunkImgNum) {
+      if (!(this_present_pathsChunkImgNum && that_present_pathsChunkImgNum))
+        return false;
+      if (this.pathsChunkImgNum != that.pathsChunkImgNum)
+        return false;
+    }
+
+    boolean this_present_pathsChunkToken = true && this.isSetPathsChunkToken();
+    boolean that_present_pathsChunkToken = true && that.isSetPathsChunkToken();
+    if (this_present_pathsChunkToken || that_present_pathsChunkToken) {
+      if (!(this_present_pathsChunkToken && that_present_pathsChunkToken))
+        return false;
+      if (this.pathsChunkToken != that.pathsChunkToken)
+        return false;
+    }
+
     return true;
   }
 
@@ -364,6 +640,31 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     if (present_pathImgNum)
       list.add(pathImgNum);
 
+    boolean present_pathsChunkSize = true && (isSetPathsChunkSize());
+    list.add(present_pathsChunkSize);
+    if (present_pathsChunkSize)
+      list.add(pathsChunkSize);
+
+    boolean present_pathsChunkCursor = true && (isSetPathsChunkCursor());
+    list.add(present_pathsChunkCursor);
+    if (present_pathsChunkCursor)
+      list.add(pathsChunkCursor);
+
+    boolean present_pathsChunkSeqNum = true && (isSetPathsChunkSeqNum());
+    list.add(present_pathsChunkSeqNum);
+    if (present_pathsChunkSeqNum)
+      list.add(pathsChunkSeqNum);
+
+    boolean present_pathsChunkImgNum = true && (isSetPathsChunkImgNum());
+    list.add(present_pathsChunkImgNum);
+    if (present_pathsChunkImgNum)
+      list.add(pathsChunkImgNum);
+
+    boolean present_pathsChunkToken = true && (isSetPathsChunkToken());
+    list.add(present_pathsChunkToken);
+    if (present_pathsChunkToken)
+      list.add(pathsChunkToken);
+
     return list.hashCode();
   }
 
@@ -405,6 +706,56 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetPathsChunkSize()).compareTo(other.isSetPathsChunkSize());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkSize()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkSize, other.pathsChunkSize);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsChunkCursor()).compareTo(other.isSetPathsChunkCursor());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkCursor()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkCursor, other.pathsChunkCursor);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsChunkSeqNum()).compareTo(other.isSetPathsChunkSeqNum());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkSeqNum()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkSeqNum, other.pathsChunkSeqNum);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsChunkImgNum()).compareTo(other.isSetPathsChunkImgNum());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkImgNum()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkImgNum, other.pathsChunkImgNum);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPathsChunkToken()).compareTo(other.isSetPathsChunkToken());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPathsChunkToken()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.pathsChunkToken, other.pathsChunkToken);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -436,6 +787,36 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
     sb.append("pathImgNum:");
     sb.append(this.pathImgNum);
     first = false;
+    if (isSetPathsChunkSize()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkSize:");
+      sb.append(this.pathsChunkSize);
+      first = false;
+    }
+    if (isSetPathsChunkCursor()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkCursor:");
+      sb.append(this.pathsChunkCursor);
+      first = false;
+    }
+    if (isSetPathsChunkSeqNum()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkSeqNum:");
+      sb.append(this.pathsChunkSeqNum);
+      first = false;
+    }
+    if (isSetPathsChunkImgNum()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkImgNum:");
+      sb.append(this.pathsChunkImgNum);
+      first = false;
+    }
+    if (isSetPathsChunkToken()) {
+      if (!first) sb.append(", ");
+      sb.append("pathsChunkToken:");
+      sb.append(this.pathsChunkToken);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -517,6 +898,46 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 4: // PATHS_CHUNK_SIZE
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.pathsChunkSize = iprot.readI32();
+              struct.setPathsChunkSizeIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // PATHS_CHUNK_CURSOR
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.pathsChunkCursor = iprot.readI32();
+              struct.setPathsChunkCursorIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // PATHS_CHUNK_SEQ_NUM
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.pathsChunkSeqNum = iprot.readI64();
+              struct.setPathsChunkSeqNumIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // PATHS_CHUNK_IMG_NUM
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.pathsChunkImgNum = iprot.readI64();
+              struct.setPathsChunkImgNumIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 8: // PATHS_CHUNK_TOKEN
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.pathsChunkToken = iprot.readI64();
+              struct.setPathsChunkTokenIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -539,6 +960,31 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       oprot.writeFieldBegin(PATH_IMG_NUM_FIELD_DESC);
       oprot.writeI64(struct.pathImgNum);
       oprot.writeFieldEnd();
+      if (struct.isSetPathsChunkSize()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_SIZE_FIELD_DESC);
+        oprot.writeI32(struct.pathsChunkSize);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPathsChunkCursor()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_CURSOR_FIELD_DESC);
+        oprot.writeI32(struct.pathsChunkCursor);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPathsChunkSeqNum()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_SEQ_NUM_FIELD_DESC);
+        oprot.writeI64(struct.pathsChunkSeqNum);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPathsChunkImgNum()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_IMG_NUM_FIELD_DESC);
+        oprot.writeI64(struct.pathsChunkImgNum);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPathsChunkToken()) {
+        oprot.writeFieldBegin(PATHS_CHUNK_TOKEN_FIELD_DESC);
+        oprot.writeI64(struct.pathsChunkToken);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -559,6 +1005,38 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       oprot.writeI64(struct.permSeqNum);
       oprot.writeI64(struct.pathSeqNum);
       oprot.writeI64(struct.pathImgNum);
+      BitSet optionals = new BitSet();
+      if (struct.isSetPathsChunkSize()) {
+        optionals.set(0);
+      }
+      if (struct.isSetPathsChunkCursor()) {
+        optionals.set(1);
+      }
+      if (struct.isSetPathsChunkSeqNum()) {
+        optionals.set(2);
+      }
+      if (struct.isSetPathsChunkImgNum()) {
+        optionals.set(3);
+      }
+      if (struct.isSetPathsChunkToken()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
+      if (struct.isSetPathsChunkSize()) {
+        oprot.writeI32(struct.pathsChunkSize);
+      }
+      if (struct.isSetPathsChunkCursor()) {
+        oprot.writeI32(struct.pathsChunkCursor);
+      }
+      if (struct.isSetPathsChunkSeqNum()) {
+        oprot.writeI64(struct.pathsChunkSeqNum);
+      }
+      if (struct.isSetPathsChunkImgNum()) {
+        oprot.writeI64(struct.pathsChunkImgNum);
+      }
+      if (struct.isSetPathsChunkToken()) {
+        oprot.writeI64(struct.pathsChunkToken);
+      }
     }
 
     @Override
@@ -570,6 +1048,27 @@ public class TAuthzUpdateRequest implements org.apache.thrift.TBase<TAuthzUpdate
       struct.setPathSeqNumIsSet(true);
       struct.pathImgNum = iprot.readI64();
       struct.setPathImgNumIsSet(true);
+      BitSet incoming = iprot.readBitSet(5);
+      if (incoming.get(0)) {
+        struct.pathsChunkSize = iprot.readI32();
+        struct.setPathsChunkSizeIsSet(true);
+      }
+      if (incoming.get(1)) {
+        struct.pathsChunkCursor = iprot.readI32();
+        struct.setPathsChunkCursorIsSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.pathsChunkSeqNum = iprot.readI64();
+        struct.setPathsChunkSeqNumIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.pathsChunkImgNum = iprot.readI64();
+        struct.setPathsChunkImgNumIsSet(true);
+      }
+      if (incoming.get(4)) {
+        struct.pathsChunkToken = iprot.readI64();
+        struct.setPathsChunkTokenIsSet(true);
+      }
     }
   }
 
@@ -41,6 +41,9 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
   private static final org.apache.thrift.protocol.TField ROOT_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("rootId", org.apache.thrift.protocol.TType.I32, (short)1);
   private static final org.apache.thrift.protocol.TField NODE_MAP_FIELD_DESC = new org.apache.thrift.protocol.TField("nodeMap", org.apache.thrift.protocol.TType.MAP, (short)2);
   private static final org.apache.thrift.protocol.TField DUP_STRING_VALUES_FIELD_DESC = new org.apache.thrift.protocol.TField("dupStringValues", org.apache.thrift.protocol.TType.LIST, (short)3);
+  private static final org.apache.thrift.protocol.TField CHUNK_CURSOR_FIELD_DESC = new org.apache.thrift.protocol.TField("chunkCursor", org.apache.thrift.protocol.TType.I32, (short)4);
+  private static final org.apache.thrift.protocol.TField TOTAL_ENTRIES_FIELD_DESC = new org.apache.thrift.protocol.TField("totalEntries", org.apache.thrift.protocol.TType.I32, (short)5);
+  private static final org.apache.thrift.protocol.TField IMAGE_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("imageToken", org.apache.thrift.protocol.TType.I64, (short)6);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -51,12 +54,18 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
   private int rootId; // required
   private Map<Integer,TPathEntry> nodeMap; // required
   private List<String> dupStringValues; // optional
+  private int chunkCursor; // optional
+  private int totalEntries; // optional
+  private long imageToken; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     ROOT_ID((short)1, "rootId"),
     NODE_MAP((short)2, "nodeMap"),
-    DUP_STRING_VALUES((short)3, "dupStringValues");
+    DUP_STRING_VALUES((short)3, "dupStringValues"),
+    CHUNK_CURSOR((short)4, "chunkCursor"),
+    TOTAL_ENTRIES((short)5, "totalEntries"),
+    IMAGE_TOKEN((short)6, "imageToken");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -77,6 +86,12 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
           return NODE_MAP;
         case 3: // DUP_STRING_VALUES
           return DUP_STRING_VALUES;
+        case 4: // CHUNK_CURSOR
+          return CHUNK_CURSOR;
+        case 5: // TOTAL_ENTRIES
+          return TOTAL_ENTRIES;
+        case 6: // IMAGE_TOKEN
+          return IMAGE_TOKEN;
         default:
           return null;
       }
@@ -118,8 +133,11 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
 
   // isset id assignments
   private static final int __ROOTID_ISSET_ID = 0;
+  private static final int __CHUNKCURSOR_ISSET_ID = 1;
+  private static final int __TOTALENTRIES_ISSET_ID = 2;
+  private static final int __IMAGETOKEN_ISSET_ID = 3;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.DUP_STRING_VALUES};
+  private static final _Fields optionals[] = {_Fields.DUP_STRING_VALUES, _Fields.CHUNK_CURSOR, _Fields.TOTAL_ENTRIES, _Fields.IMAGE_TOKEN};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -132,6 +150,12 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
     tmpMap.put(_Fields.DUP_STRING_VALUES, new org.apache.thrift.meta_data.FieldMetaData("dupStringValues", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.CHUNK_CURSOR, new org.apache.thrift.meta_data.FieldMetaData("chunkCursor", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.TOTAL_ENTRIES, new org.apache.thrift.meta_data.FieldMetaData("totalEntries", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.IMAGE_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("imageToken", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TPathsDump.class, metaDataMap);
   }
@@ -174,6 +198,9 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
       List<String> __this__dupStringValues = new ArrayList<String>(other.dupStringValues);
       this.dupStringValues = __this__dupStringValues;
     }
+    this.chunkCursor = other.chunkCursor;
+    this.totalEntries = other.totalEntries;
+    this.imageToken = other.imageToken;
   }
 
   public TPathsDump deepCopy() {
@@ -186,6 +213,12 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
     this.rootId = 0;
     this.nodeMap = null;
     this.dupStringValues = null;
+    setChunkCursorIsSet(false);
+    this.chunkCursor = 0;
+    setTotalEntriesIsSet(false);
+    this.totalEntries = 0;
+    setImageTokenIsSet(false);
+    this.imageToken = 0;
   }
 
   public int getRootId() {
@@ -282,6 +315,72 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
     }
   }
 
+  public int getChunkCursor() {
+    return this.chunkCursor;
+  }
+
+  public void setChunkCursor(int chunkCursor) {
+    this.chunkCursor = chunkCursor;
+    setChunkCursorIsSet(true);
+  }
+
+  public void unsetChunkCursor() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __CHUNKCURSOR_ISSET_ID);
+  }
+
+  /** Returns true if field chunkCursor is set (has been assigned a value) and false otherwise */
+  public boolean isSetChunkCursor() {
+    return EncodingUtils.testBit(__isset_bitfield, __CHUNKCURSOR_ISSET_ID);
+  }
+
+  public void setChunkCursorIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __CHUNKCURSOR_ISSET_ID, value);
+  }
+
+  public int getTotalEntries() {
+    return this.totalEntries;
+  }
+
+  public void setTotalEntries(int totalEntries) {
+    this.totalEntries = totalEntries;
+    setTotalEntriesIsSet(true);
+  }
+
+  public void unsetTotalEntries() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __TOTALENTRIES_ISSET_ID);
+  }
+
+  /** Returns true if field totalEntries is set (has been assigned a value) and false otherwise */
+  public boolean isSetTotalEntries() {
+    return EncodingUtils.testBit(__isset_bitfield, __TOTALENTRIES_ISSET_ID);
+  }
+
+  public void setTotalEntriesIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __TOTALENTRIES_ISSET_ID, value);
+  }
+
+  public long getImageToken() {
+    return this.imageToken;
+  }
+
+  public void setImageToken(long imageToken) {
+    this.imageToken = imageToken;
+    setImageTokenIsSet(true);
+  }
+
+  public void unsetImageToken() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __IMAGETOKEN_ISSET_ID);
+  }
+
+  /** Returns true if field imageToken is set (has been assigned a value) and false otherwise */
+  public boolean isSetImageToken() {
+    return EncodingUtils.testBit(__isset_bitfield, __IMAGETOKEN_ISSET_ID);
+  }
+
+  public void setImageTokenIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __IMAGETOKEN_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case ROOT_ID:
@@ -308,6 +407,30 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
       }
       break;
 
+    case CHUNK_CURSOR:
+      if (value == null) {
+        unsetChunkCursor();
+      } else {
+        setChunkCursor((Integer)value);
+      }
+      break;
+
+    case TOTAL_ENTRIES:
+      if (value == null) {
+        unsetTotalEntries();
+      } else {
+        setTotalEntries((Integer)value);
+      }
+      break;
+
+    case IMAGE_TOKEN:
+      if (value == null) {
+        unsetImageToken();
+      } else {
+        setImageToken((Long)value);
+      }
+      break;
+
     }
   }
 
@@ -322,6 +445,15 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
     case DUP_STRING_VALUES:
       return getDupStringValues();
 
+    case CHUNK_CURSOR:
+      return getChunkCursor();
+
+    case TOTAL_ENTRIES:
+      return getTotalEntries();
+
+    case IMAGE_TOKEN:
+      return getImageToken();
+
     }
     throw new IllegalStateException();
   }
@@ -339,6 +471,12 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
       return isSetNodeMap();
     case DUP_STRING_VALUES:
       return isSetDupStringValues();
+    case CHUNK_CURSOR:
+      return isSetChunkCursor();
+    case TOTAL_ENTRIES:
+      return isSetTotalEntries();
+    case IMAGE_TOKEN:
+      return isSetImageToken();
     }
     throw new IllegalStateException();
   }
@@ -383,6 +521,33 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
         return false;
     }
 
+    boolean this_present_chunkCursor = true && this.isSetChunkCursor();
+    boolean that_present_chunkCursor = true && that.isSetChunkCursor();
+    if (this_present_chunkCursor || that_present_chunkCursor) {
+      if (!(this_present_chunkCursor && that_present_chunkCursor))
+        return false;
+      if (this.chunkCursor != that.chunkCursor)
+        return false;
+    }
+
+    boolean this_present_totalEntries = true && this.isSetTotalEntries();
+    boolean that_present_totalEntries = true && that.isSetTotalEntries();
+    if (this_present_totalEntries || that_present_totalEntries) {
+      if (!(this_present_totalEntries && that_present_totalEntries))
+        return false;
+      if (this.totalEntries != that.totalEntries)
+        return false;
+    }
+
+    boolean this_present_imageToken = true && this.isSetImageToken();
+    boolean that_present_imageToken = true && that.isSetImageToken();
+    if (this_present_imageToken || that_present_imageToken) {
+      if (!(this_present_imageToken && that_present_imageToken))
+        return false;
+      if (this.imageToken != that.imageToken)
+        return false;
+    }
+
     return true;
   }
 
@@ -405,6 +570,21 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
     if (present_dupStringValues)
       list.add(dupStringValues);
 
+    boolean present_chunkCursor = true && (isSetChunkCursor());
+    list.add(present_chunkCursor);
+    if (present_chunkCursor)
+      list.add(chunkCursor);
+
+    boolean present_totalEntries = true && (isSetTotalEntries());
+    list.add(present_totalEntries);
+    if (present_totalEntries)
+      list.add(totalEntries);
+
+    boolean present_imageToken = true && (isSetImageToken());
+    list.add(present_imageToken);
+    if (present_imageToken)
+      list.add(imageToken);
+
     return list.hashCode();
   }
 
@@ -446,6 +626,36 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetChunkCursor()).compareTo(other.isSetChunkCursor());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetChunkCursor()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.chunkCursor, other.chunkCursor);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetTotalEntries()).compareTo(other.isSetTotalEntries());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetTotalEntries()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.totalEntries, other.totalEntries);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetImageToken()).compareTo(other.isSetImageToken());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetImageToken()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.imageToken, other.imageToken);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -487,6 +697,24 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
       }
       first = false;
     }
+    if (isSetChunkCursor()) {
+      if (!first) sb.append(", ");
+      sb.append("chunkCursor:");
+      sb.append(this.chunkCursor);
+      first = false;
+    }
+    if (isSetTotalEntries()) {
+      if (!first) sb.append(", ");
+      sb.append("totalEntries:");
+      sb.append(this.totalEntries);
+      first = false;
+    }
+    if (isSetImageToken()) {
+      if (!first) sb.append(", ");
+      sb.append("imageToken:");
+      sb.append(this.imageToken);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -587,6 +815,30 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 4: // CHUNK_CURSOR
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.chunkCursor = iprot.readI32();
+              struct.setChunkCursorIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // TOTAL_ENTRIES
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.totalEntries = iprot.readI32();
+              struct.setTotalEntriesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // IMAGE_TOKEN
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.imageToken = iprot.readI64();
+              struct.setImageTokenIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -630,6 +882,21 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
           oprot.writeFieldEnd();
         }
       }
+      if (struct.isSetChunkCursor()) {
+        oprot.writeFieldBegin(CHUNK_CURSOR_FIELD_DESC);
+        oprot.writeI32(struct.chunkCursor);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetTotalEntries()) {
+        oprot.writeFieldBegin(TOTAL_ENTRIES_FIELD_DESC);
+        oprot.writeI32(struct.totalEntries);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetImageToken()) {
+        oprot.writeFieldBegin(IMAGE_TOKEN_FIELD_DESC);
+        oprot.writeI64(struct.imageToken);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -660,7 +927,16 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
       if (struct.isSetDupStringValues()) {
         optionals.set(0);
       }
-      oprot.writeBitSet(optionals, 1);
+      if (struct.isSetChunkCursor()) {
+        optionals.set(1);
+      }
+      if (struct.isSetTotalEntries()) {
+        optionals.set(2);
+      }
+      if (struct.isSetImageToken()) {
+        optionals.set(3);
+      }
+      oprot.writeBitSet(optionals, 4);
       if (struct.isSetDupStringValues()) {
         {
           oprot.writeI32(struct.dupStringValues.size());
@@ -670,6 +946,15 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
           }
         }
       }
+      if (struct.isSetChunkCursor()) {
+        oprot.writeI32(struct.chunkCursor);
+      }
+      if (struct.isSetTotalEntries()) {
+        oprot.writeI32(struct.totalEntries);
+      }
+      if (struct.isSetImageToken()) {
+        oprot.writeI64(struct.imageToken);
+      }
     }
 
     @Override
@@ -691,7 +976,7 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
         }
       }
       struct.setNodeMapIsSet(true);
-      BitSet incoming = iprot.readBitSet(1);
+      BitSet incoming = iprot.readBitSet(4);
       if (incoming.get(0)) {
         {
           org.apache.thrift.protocol.TList _list63 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
@@ -705,6 +990,18 @@ public class TPathsDump implements org.apache.thrift.TBase<TPathsDump, TPathsDum
         }
         struct.setDupStringValuesIsSet(true);
       }
+      if (incoming.get(1)) {
+        struct.chunkCursor = iprot.readI32();
+        struct.setChunkCursorIsSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.totalEntries = iprot.readI32();
+        struct.setTotalEntriesIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.imageToken = iprot.readI64();
+        struct.setImageTokenIsSet(true);
+      }
     }
   }
 
@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sentry.hdfs.HMSPathsDumper.DupDetector;
+import org.apache.sentry.hdfs.service.thrift.TPathEntry;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Full paths image received in chunks created by {@link #createChunk}.
+ * <p>
+ * The entries of a dump are numbered in preorder, so a chunk holds a range of entry ids
+ * and the parent of every entry is received before the entry. The entries of each
+ * chunk are added to new paths as soon as the chunk is received, so the NameNode never
+ * holds more than one chunk of the image in a {@link TPathsDump}. The Sentry server
+ * still builds and keeps the whole image to create the chunks from, chunking only
+ * bounds the size of each response.
+ * <p>
+ * Every build of an image gets its own token, carried by all of its chunks, so that
+ * chunks of an image rebuilt with the same sequence and image numbers, e.g. after the
+ * Sentry server restarted, are never mixed with the chunks received before.
+ */
+public class ChunkedPathsImage {
+  private final UpdateableAuthzPaths template;
+  private final MutableAuthzPaths paths;
+  private final long seqNum;
+  private final long imgNum;
+  private final long token;
+  private final int rootId;
+  private final int totalEntries;
+  private final List<String> dupStringValues;
+  // Path of the parent of each entry which has not been received yet, by entry id
+  private final Map<Integer, List<String>> parentPaths = new HashMap<>();
+  private int nextCursor;
+
+  /**
+   * @param template the current paths, the image is built in the same mode
+   * @param firstChunk the chunk starting at the root entry
+   */
+  public ChunkedPathsImage(UpdateableAuthzPaths template, PathsUpdate firstChunk) {
+    Preconditions.checkArgument(isFirstChunk(firstChunk),
+        "Not the first chunk of a full paths image: %s", firstChunk);
+    TPathsDump dump = firstChunk.toThrift().getPathsDump();
+    this.template = template;
+    this.paths = template.newEmptyPaths();
+    this.seqNum = firstChunk.getSeqNum();
+    this.imgNum = firstChunk.getImgNum();
+    this.token = dump.getImageToken();
+    this.rootId = dump.getRootId();
+    this.totalEntries = dump.getTotalEntries();
+    this.dupStringValues = dump.getDupStringValues();
+    this.nextCursor = rootId;
+    add(firstChunk);
+  }
+
+  /**
+   * @return true if the update is a chunk starting at the root entry of a full image
+   */
+  public static boolean isFirstChunk(PathsUpdate update) {
+    if (!update.isFullImageChunk()) {
+      return false;
+    }
+    TPathsDump dump = update.toThrift().getPathsDump();
+    return dump.getChunkCursor() == dump.getRootId();
+  }
+
+  /**
+   * Adds the entries of the next chunk of the image.
+   *
+   * @return false if the update is not the next chunk of this image, in which case
+   *         nothing is added
+   */
+  public boolean add(PathsUpdate chunk) {
+    if (!chunk.isFullImageChunk() || chunk.getSeqNum() != seqNum
+        || chunk.getImgNum() != imgNum || isComplete()) {
+      return false;
+    }
+    TPathsDump dump = chunk.toThrift().getPathsDump();
+    if (dump.getImageToken() != token || dump.getChunkCursor() != nextCursor
+        || dump.getRootId() != rootId || dump.getTotalEntries() != totalEntries) {
+      return false;
+    }
+    Map<Integer, TPathEntry> nodeMap = dump.getNodeMap();
+    int end = nextCursor + nodeMap.size();
+    Preconditions.checkArgument(end <= rootId + totalEntries,
+        "Chunk at %s holds %s entries of %s", nextCursor, nodeMap.size(), totalEntries);
+    for (int id = nextCursor; id < end; id++) {
+      TPathEntry entry = nodeMap.get(id);
+      Preconditions.checkArgument(entry != null, "Entry %s is missing in the chunk", id);
+      addEntry(id, entry);
+    }
+    nextCursor = end;
+    return true;
+  }
+
+  private void addEntry(int id, TPathEntry entry) {
+    List<String> path;
+    if (id == rootId) {
+      path = Collections.emptyList();
+    } else {
+      List<String> parentPath = parentPaths.remove(id);
+      Preconditions.checkArgument(parentPath != null,
+          "Entry %s is not a child of a received entry", id);
+      path = new ArrayList<>(parentPath.size() + 1);
+      path.addAll(parentPath);
+      path.add(DupDetector.getOriginalString(entry.getPathElement(), dupStringValues));
+      if (entry.isSetAuthzObjs()) {
+        List<List<String>> authzObjPaths = Collections.singletonList(path);
+        for (String authzObj : entry.getAuthzObjs()) {
+          paths.addPathsToAuthzObject(authzObj, authzObjPaths, true);
+        }
+      }
+    }
+    for (Integer child : entry.getChildren()) {
+      parentPaths.put(child, path);
+    }
+  }
+
+  public boolean isComplete() {
+    return nextCursor == rootId + totalEntries;
+  }
+
+  /**
+   * @return the id of the first entry of the next chunk
+   */
+  public int getNextCursor() {
+    return nextCursor;
+  }
+
+  public long getSeqNum() {
+    return seqNum;
+  }
+
+  public long getImgNum() {
+    return imgNum;
+  }
+
+  /**
+   * @return the token of the build of the image
+   */
+  public long getToken() {
+    return token;
+  }
+
+  /**
+   * @return the paths of the complete image
+   */
+  public UpdateableAuthzPaths getPaths() {
+    Preconditions.checkState(isComplete(), "Received %s of %s entries",
+        nextCursor - rootId, totalEntries);
+    return template.withPaths(paths, seqNum, imgNum);
+  }
+
+  /**
+   * Creates the chunk of a full image holding at most chunkSize entries, starting at
+   * the entry with the given id.
+   *
+   * @param image a full image as created by {@link AuthzPathsDumper#createPathsDump}
+   * @param token the token of the build of the image
+   */
+  public static PathsUpdate createChunk(PathsUpdate image, long token, int cursor,
+      int chunkSize) {
+    TPathsDump dump = image.toThrift().getPathsDump();
+    Map<Integer, TPathEntry> nodeMap = dump.getNodeMap();
+    int rootId = dump.getRootId();
+    Preconditions.checkArgument(cursor >= rootId && cursor < rootId + nodeMap.size(),
+        "Cursor %s is outside of the image", cursor);
+    Preconditions.checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+    int end = Math.min(rootId + nodeMap.size(), cursor + chunkSize);
+    Map<Integer, TPathEntry> chunkMap = new HashMap<>(2 * (end - cursor));
+    for (int id = cursor; id < end; id++) {
+      chunkMap.put(id, nodeMap.get(id));
+    }
+    TPathsDump chunkDump = new TPathsDump(rootId, chunkMap);
+    chunkDump.setChunkCursor(cursor);
+    chunkDump.setTotalEntries(nodeMap.size());
+    chunkDump.setImageToken(token);
+    // The replaced strings are needed from the start, they are only sent once
+    if (cursor == rootId && dump.isSetDupStringValues()) {
+      chunkDump.setDupStringValues(dump.getDupStringValues());
+    }
+    PathsUpdate chunk = new PathsUpdate(image.getSeqNum(), image.getImgNum(), true);
+    chunk.toThrift().setPathsDump(chunkDump);
+    return chunk;
+  }
+}
@@ -0,0 +1,1043 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.common.base.Preconditions;
+import org.apache.hadoop.fs.Path;
+import org.apache.sentry.hdfs.HMSPaths.EntryType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.sentry.hdfs.HMSPaths.assemblePaths;
+
+/**
+ * A non thread-safe implementation of {@link AuthzPaths} which behaves like
+ * {@link HMSPaths} but needs a fraction of its memory, for namespaces with tens
+ * of millions of partitions. It is dumped to the same {@link
+ * org.apache.sentry.hdfs.service.thrift.TPathsDump} format, so the Sentry server
+ * and the NameNode plugin may use either implementation independently.
+ * <p>
+ * Path elements and authz objects are dictionary encoded: each distinct string is
+ * held once and nodes refer to it by an int id. The children of a node are kept in
+ * an array backed open addressing table keyed by path element id, a node with a
+ * single child refers to it directly. A node is mapped to a single authz object id,
+ * the rare nodes mapped to several authz objects are kept aside. The nodes of an
+ * authz object are kept in identity tables, indexed by authz object id.
+ */
+public class CompactHMSPaths implements MutableAuthzPaths {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CompactHMSPaths.class);
+
+  private static final int NO_AUTHZ_OBJ = -1;
+  // The node is mapped to several authz objects, see multiAuthzObjs
+  private static final int MULTIPLE_AUTHZ_OBJS = -2;
+  // The authz object is known but has no nodes
+  private static final Object NO_NODES = new Object();
+
+  /**
+   * A node of the tree, see {@link HMSPaths.Entry}.
+   */
+  static final class Node {
+    private Node parent;
+    // null, the only child Node or a NodeTable keyed by path element
+    private Object children;
+    // Path element id, NO_AUTHZ_OBJ for the root
+    private int pathElement;
+    // Authz object id, NO_AUTHZ_OBJ or MULTIPLE_AUTHZ_OBJS
+    private int authzObj = NO_AUTHZ_OBJ;
+    private EntryType type;
+
+    private Node(Node parent, int pathElement, EntryType type) {
+      this.parent = parent;
+      this.pathElement = pathElement;
+      this.type = type;
+    }
+
+    EntryType getType() {
+      return type;
+    }
+  }
+
+  private final String[] prefixes;
+  private final Dictionary pathElements = new Dictionary(false);
+  private final Dictionary authzObjs = new Dictionary(true);
+  private final Node root;
+  // Authz object id to null, NO_NODES, a single Node or a NodeTable
+  private Object[] authzObjNodes = new Object[16];
+  // Authz object ids of the nodes mapped to several authz objects
+  private final Map<Node, int[]> multiAuthzObjs = new IdentityHashMap<>();
+
+  public CompactHMSPaths(String[] pathPrefixes) {
+    boolean rootPrefix = false;
+    // Copy the array to avoid external modification
+    this.prefixes = Arrays.copyOf(pathPrefixes, pathPrefixes.length);
+    for (String pathPrefix : pathPrefixes) {
+      rootPrefix = rootPrefix || pathPrefix.equals(Path.SEPARATOR);
+    }
+    if (rootPrefix && pathPrefixes.length > 1) {
+      throw new IllegalArgumentException(
+          "Root is a path prefix, there cannot be other path prefixes");
+    }
+    root = new Node(null, NO_AUTHZ_OBJ, rootPrefix ? EntryType.PREFIX : EntryType.DIR);
+    if (!rootPrefix) {
+      for (String pathPrefix : pathPrefixes) {
+        createPrefix(HMSPaths.getPathElements(pathPrefix));
+      }
+    }
+    LOG.info("Sentry managed prefixes: " + Arrays.toString(prefixes));
+  }
+
+  void _addAuthzObject(String authzObj, List<String> authzObjPaths) {
+    addAuthzObject(authzObj, HMSPaths.getPathsElements(authzObjPaths));
+  }
+
+  void addAuthzObject(String authzObj, List<List<String>> authzObjPathElements) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s addAuthzObject(%s, %s)",
+          this, authzObj, assemblePaths(authzObjPathElements)));
+    }
+    int id = authzObjs.acquire(authzObj);
+    try {
+      Object previousNodes = getNodes(id);
+      Object newNodes = NO_NODES;
+      for (List<String> elements : authzObjPathElements) {
+        Node node = createAuthzObjPath(elements, id);
+        if (node != null) {
+          newNodes = addNode(newNodes, node);
+        } else {
+          LOG.warn(String.format("%s addAuthzObject(%s, %s):" +
+              " Ignoring path %s, no prefix",
+              this, authzObj, assemblePaths(authzObjPathElements), elements));
+        }
+      }
+      setNodes(id, newNodes);
+      if (previousNodes != null) {
+        for (Node node : toArray(previousNodes)) {
+          if (!containsNode(newNodes, node)) {
+            deleteAuthzObj(node, id);
+          }
+        }
+      }
+    } finally {
+      authzObjs.release(id);
+    }
+  }
+
+  @Override
+  public void addPathsToAuthzObject(String authzObj,
+      List<List<String>> authzObjPathElements, boolean createNew) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s addPathsToAuthzObject(%s, %s, %b)",
+          this, authzObj, assemblePaths(authzObjPathElements), createNew));
+    }
+    int id = authzObjs.find(authzObj);
+    Object nodes = getNodes(id);
+    if (nodes != null) {
+      for (List<String> elements : authzObjPathElements) {
+        Node node = createAuthzObjPath(elements, id);
+        if (node != null) {
+          nodes = addNode(nodes, node);
+        } else if (LOG.isDebugEnabled()) {
+          LOG.debug(String.format("%s addPathsToAuthzObject(%s, %s, %b):" +
+              " Cannot create authz obj for path %s because it is outside of prefix",
+              this, authzObj, assemblePaths(authzObjPathElements), createNew, elements));
+        }
+      }
+      setNodes(id, nodes);
+    } else if (createNew) {
+      addAuthzObject(authzObj, authzObjPathElements);
+    } else {
+      LOG.warn(String.format("%s addPathsToAuthzObject(%s, %s, %b):" +
+          " Path was not added to AuthzObject, could not find key in authzObjToPath",
+          this, authzObj, assemblePaths(authzObjPathElements), createNew));
+    }
+  }
+
+  void _addPathsToAuthzObject(String authzObj, List<String> authzObjPaths) {
+    addPathsToAuthzObject(authzObj, HMSPaths.getPathsElements(authzObjPaths), false);
+  }
+
+  @Override
+  public void deletePathsFromAuthzObject(String authzObj,
+      List<List<String>> authzObjPathElements) {
+    int id = authzObjs.find(authzObj);
+    Object nodes = getNodes(id);
+    if (nodes == null) {
+      LOG.warn(String.format("%s deletePathsFromAuthzObject(%s, %s):" +
+          " Path was not deleted from AuthzObject, could not find key in authzObjToPath",
+          this, authzObj, assemblePaths(authzObjPathElements)));
+      return;
+    }
+    for (List<String> elements : authzObjPathElements) {
+      Node node = find(elements.toArray(new String[elements.size()]), false);
+      if (node != null) {
+        nodes = removeNode(nodes, node);
+        setNodes(id, nodes);
+        deleteAuthzObj(node, id);
+      } else {
+        LOG.warn(String.format("%s deletePathsFromAuthzObject(%s, %s):" +
+            " Path %s was not deleted from AuthzObject, path not registered." +
+            " This is possible for implicit partition locations",
+            this, authzObj, assemblePaths(authzObjPathElements), elements));
+      }
+    }
+    if (nodes == NO_NODES) {
+      removeNodes(id);
+    }
+  }
+
+  @Override
+  public void deleteAuthzObject(String authzObj) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s deleteAuthzObject(%s)", this, authzObj));
+    }
+    int id = authzObjs.find(authzObj);
+    Object nodes = getNodes(id);
+    if (nodes != null) {
+      authzObjNodes[id] = NO_NODES;
+      for (Node node : toArray(nodes)) {
+        deleteAuthzObj(node, id);
+      }
+      removeNodes(id);
+    }
+  }
+
+  @Override
+  public Set<String> findAuthzObject(String[] pathElements) {
+    return findAuthzObject(pathElements, true);
+  }
+
+  @Override
+  public Set<String> findAuthzObjectExactMatches(String[] pathElements) {
+    return findAuthzObject(pathElements, false);
+  }
+
+  /**
+   * See {@link HMSPaths#findAuthzObject(String[], boolean)}.
+   */
+  public Set<String> findAuthzObject(String[] pathElements, boolean isPartialOk) {
+    // Handle '/'
+    if (pathElements == null || pathElements.length == 0) {
+      return null;
+    }
+    Node node = find(pathElements, isPartialOk);
+    return node != null ? getAuthzObjs(node) : null;
+  }
+
+  /**
+   * See {@link HMSPaths#renameAuthzObject}.
+   */
+  @Override
+  public void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+      String newName, List<List<String>> newPathElems) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})",
+          this, oldName, assemblePaths(oldPathElems), newName, assemblePaths(newPathElems)));
+    }
+    if (oldPathElems == null || oldPathElems.isEmpty() ||
+        newPathElems == null || newPathElems.isEmpty() ||
+        newName == null || newName.equals(oldName)) {
+      LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})" +
+          ": invalid inputs, skipping",
+          this, oldName, assemblePaths(oldPathElems), newName, assemblePaths(newPathElems)));
+      return;
+    }
+
+    List<String> oldPathElements = oldPathElems.get(0);
+    List<String> newPathElements = newPathElems.get(0);
+    if (!oldPathElements.equals(newPathElements)) {
+      Node oldNode = find(oldPathElements.toArray(new String[0]), false);
+      Node newParent = createParent(newPathElements);
+      if (oldNode == null) {
+        LOG.warn(String.format("%s Moving old paths for renameAuthzObject({%s, %s} -> {%s, %s})" +
+            " is skipped. Cannot find entry for old name",
+            this, oldName, assemblePaths(oldPathElems), newName, assemblePaths(newPathElems)));
+      } else {
+        moveTo(oldNode, newParent, newPathElements.get(newPathElements.size() - 1));
+      }
+    }
+
+    int oldId = authzObjs.find(oldName);
+    Object nodes = getNodes(oldId);
+    if (nodes == null) {
+      LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s}):" +
+          " cannot find oldName %s in authzObjToPath",
+          this, oldName, assemblePaths(oldPathElems), newName, assemblePaths(newPathElems),
+          oldName));
+      return;
+    }
+    int newId = authzObjs.acquire(newName);
+    try {
+      if (newId == oldId) {
+        // Only the case of the name changes
+        authzObjs.setValue(oldId, newName);
+        return;
+      }
+      setNodes(newId, nodes);
+      for (Node node : toArray(nodes)) {
+        addAuthzObj(node, newId);
+        if (hasAuthzObj(node, oldId)) {
+          removeAuthzObj(node, oldId);
+        } else {
+          LOG.warn(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s}):" +
+              " Unexpected state: authzObjToPath has an " +
+              "entry %s where one of the authz objects does not have oldName",
+              this, oldName, assemblePaths(oldPathElems), newName,
+              assemblePaths(newPathElems), toString(node)));
+        }
+      }
+      removeNodes(oldId);
+    } finally {
+      authzObjs.release(newId);
+    }
+  }
+
+  @Override
+  public boolean isUnderPrefix(String[] pathElements) {
+    if (root.type == EntryType.PREFIX) {
+      return true;
+    }
+    Node node = root;
+    for (String element : pathElements) {
+      node = getChild(node, element);
+      if (node == null) {
+        return false;
+      }
+      if (node.type == EntryType.PREFIX) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String[] getPrefixes() {
+    return prefixes;
+  }
+
+  /**
+   * @return the number of distinct path elements held
+   */
+  int getPathElementCount() {
+    return pathElements.size();
+  }
+
+  /**
+   * @return the number of distinct authz objects held
+   */
+  int getAuthzObjCount() {
+    return authzObjs.size();
+  }
+
+  @Override
+  public CompactHMSPathsDumper getPathsDump() {
+    return new CompactHMSPathsDumper(this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(prefixes));
+  }
+
+  @Override
+  public String dumpContent() {
+    List<String> nodes = new ArrayList<>();
+    List<Node> stack = new ArrayList<>();
+    stack.add(root);
+    while (!stack.isEmpty()) {
+      Node node = stack.remove(stack.size() - 1);
+      nodes.add(toString(node));
+      stack.addAll(Arrays.asList(getChildren(node)));
+    }
+    return toString() + ": " + nodes;
+  }
+
+  private String toString(Node node) {
+    Set<String> names = getAuthzObjs(node);
+    return String.format("Entry[%s:%s -> authObj: %s]", node.type, getFullPath(node),
+        names.size() == 1 ? names.iterator().next() : names.isEmpty() ? "" : names);
+  }
+
+  private String getFullPath(Node node) {
+    if (node.parent == null) {
+      return Path.SEPARATOR;
+    }
+    StringBuilder sb = new StringBuilder();
+    for (; node.parent != null; node = node.parent) {
+      sb.insert(0, getPathElement(node)).insert(0, Path.SEPARATOR);
+    }
+    return sb.toString();
+  }
+
+  // Hooks for CompactHMSPathsDumper
+
+  Node getRoot() {
+    return root;
+  }
+
+  String getPathElement(Node node) {
+    return node == root ? Path.SEPARATOR : pathElements.get(node.pathElement);
+  }
+
+  /**
+   * @return the names of the authz objects of the node, or null if it has none
+   */
+  List<String> getAuthzObjList(Node node) {
+    if (node.authzObj == NO_AUTHZ_OBJ) {
+      return null;
+    }
+    return new ArrayList<>(getAuthzObjs(node));
+  }
+
+  Node[] getChildren(Node node) {
+    if (node.children == null) {
+      return new Node[0];
+    } else if (node.children instanceof Node) {
+      return new Node[] {(Node) node.children};
+    }
+    return ((NodeTable) node.children).toArray();
+  }
+
+  Node getChild(Node parent, String pathElement) {
+    int id = pathElements.find(pathElement);
+    return id < 0 ? null : getChild(parent, id);
+  }
+
+  /**
+   * Adds a new child read from a dump, together with its authz objects.
+   */
+  Node addChild(Node parent, String pathElement, EntryType type, List<String> names) {
+    Node child = new Node(parent, pathElements.acquire(pathElement), type);
+    putChild(parent, child);
+    addAuthzObjs(child, names);
+    return child;
+  }
+
+  /**
+   * Adds authz objects read from a dump to a node.
+   */
+  void addAuthzObjs(Node node, List<String> names) {
+    if (names == null) {
+      return;
+    }
+    for (String name : names) {
+      int id = authzObjs.acquire(name);
+      addAuthzObj(node, id);
+      Object nodes = getNodes(id);
+      setNodes(id, addNode(nodes != null ? nodes : NO_NODES, node));
+      authzObjs.release(id);
+    }
+  }
+
+  // Tree operations, see HMSPaths.Entry
+
+  private void createPrefix(List<String> elements) {
+    if (isUnderPrefix(elements)) {
+      throw new IllegalArgumentException(String.format(
+          "%s: createPrefix(%s): cannot add prefix under an existing prefix",
+          this, elements));
+    }
+    createChild(elements, EntryType.PREFIX, NO_AUTHZ_OBJ);
+  }
+
+  private boolean isUnderPrefix(List<String> elements) {
+    return isUnderPrefix(elements.toArray(new String[elements.size()]));
+  }
+
+  private Node createAuthzObjPath(List<String> elements, int authzObj) {
+    if (elements.isEmpty() || !isUnderPrefix(elements)) {
+      return null;
+    }
+    return createChild(elements, EntryType.AUTHZ_OBJECT, authzObj);
+  }
+
+  private Node createParent(List<String> elements) {
+    Node parent = root;
+    for (int i = 0; i < elements.size() - 1; i++) {
+      String element = elements.get(i);
+      Node child = getChild(parent, element);
+      if (child == null) {
+        child = new Node(parent, pathElements.acquire(element), EntryType.DIR);
+        putChild(parent, child);
+      }
+      parent = child;
+    }
+    return parent;
+  }
+
+  private Node createChild(List<String> elements, EntryType type, int authzObj) {
+    Node parent = createParent(elements);
+    String element = elements.get(elements.size() - 1);
+    Node child = getChild(parent, element);
+    if (child == null) {
+      child = new Node(parent, pathElements.acquire(element), type);
+      putChild(parent, child);
+      if (authzObj != NO_AUTHZ_OBJ) {
+        addAuthzObj(child, authzObj);
+      }
+    } else if (type == EntryType.AUTHZ_OBJECT) {
+      if (child.type == EntryType.DIR) {
+        child.type = EntryType.AUTHZ_OBJECT;
+      }
+      addAuthzObj(child, authzObj);
+    }
+    return child;
+  }
+
+  private Node find(String[] elements, boolean isPartialMatchOk) {
+    Preconditions.checkArgument(elements != null && elements.length > 0,
+        "pathElements cannot be NULL or empty");
+    Node node = root;
+    Node lastAuthzObj = null;
+    for (String element : elements) {
+      node = getChild(node, element);
+      if (node == null) {
+        return isPartialMatchOk ? lastAuthzObj : null;
+      }
+      if (node.authzObj != NO_AUTHZ_OBJ) {
+        lastAuthzObj = node;
+      }
+    }
+    return lastAuthzObj;
+  }
+
+  private void deleteAuthzObj(Node node, int authzObj) {
+    if (!hasAuthzObj(node, authzObj) || node.parent == null) {
+      return;
+    }
+    if (node.children == null) {
+      // Remove the node, and recursively the dangling parents, once it no
+      // longer maps to any authz object
+      removeAuthzObj(node, authzObj);
+      if (node.authzObj == NO_AUTHZ_OBJ) {
+        deleteFromParent(node, true);
+      }
+    } else if (node.type == EntryType.AUTHZ_OBJECT) {
+      removeAuthzObj(node, authzObj);
+      if (node.authzObj == NO_AUTHZ_OBJ) {
+        node.type = EntryType.DIR;
+      }
+    }
+  }
+
+  private void moveTo(Node node, Node newParent, String element) {
+    Preconditions.checkNotNull(newParent);
+    Preconditions.checkArgument(!element.isEmpty());
+    if (getChild(newParent, element) != null) {
+      LOG.warn(String.format(
+          "Attempt to move %s to %s: entry with the same name %s already exists",
+          toString(node), toString(newParent), element));
+      return;
+    }
+    int newElement = pathElements.acquire(element);
+    deleteFromParent(node, false);
+    pathElements.release(node.pathElement);
+    node.pathElement = newElement;
+    node.parent = newParent;
+    putChild(newParent, node);
+  }
+
+  /**
+   * Removes the node from its parent and the parent if it is dangling.
+   *
+   * @param release whether the node is dropped, rather than moved
+   */
+  private void deleteFromParent(Node node, boolean release) {
+    Node parent = node.parent;
+    if (parent == null) {
+      LOG.warn("Parent for {} not found", toString(node));
+      return;
+    }
+    removeChild(parent, node);
+    deleteIfDangling(parent);
+    node.parent = null;
+    if (release) {
+      pathElements.release(node.pathElement);
+      clearAuthzObjs(node);
+    }
+  }
+
+  private void deleteIfDangling(Node node) {
+    if (node.children == null && node.type.isRemoveIfDangling() && node.parent != null) {
+      deleteFromParent(node, true);
+    }
+  }
+
+  // Children of a node
+
+  private static Node getChild(Node parent, int pathElement) {
+    Object children = parent.children;
+    if (children == null) {
+      return null;
+    } else if (children instanceof Node) {
+      Node child = (Node) children;
+      return child.pathElement == pathElement ? child : null;
+    }
+    return ((NodeTable) children).get(pathElement);
+  }
+
+  private static void putChild(Node parent, Node child) {
+    Object children = parent.children;
+    if (children == null) {
+      parent.children = child;
+    } else if (children instanceof Node) {
+      NodeTable table = new NodeTable(true);
+      table.add((Node) children);
+      table.add(child);
+      parent.children = table;
+    } else {
+      ((NodeTable) children).add(child);
+    }
+  }
+
+  private static void removeChild(Node parent, Node child) {
+    Object children = parent.children;
+    if (children == child) {
+      parent.children = null;
+    } else if (children instanceof NodeTable) {
+      NodeTable table = (NodeTable) children;
+      table.remove(child);
+      if (table.size() == 1) {
+        parent.children = table.toArray()[0];
+      }
+    }
+  }
+
+  // Authz objects of a node
+
+  private boolean hasAuthzObj(Node node, int authzObj) {
+    if (node.authzObj == MULTIPLE_AUTHZ_OBJS) {
+      for (int id : multiAuthzObjs.get(node)) {
+        if (id == authzObj) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return authzObj >= 0 && node.authzObj == authzObj;
+  }
+
+  private int[] getAuthzObjIds(Node node) {
+    if (node.authzObj == NO_AUTHZ_OBJ) {
+      return new int[0];
+    } else if (node.authzObj == MULTIPLE_AUTHZ_OBJS) {
+      return multiAuthzObjs.get(node);
+    }
+    return new int[] {node.authzObj};
+  }
+
+  private Set<String> getAuthzObjs(Node node) {
+    if (node.authzObj == NO_AUTHZ_OBJ) {
+      return Collections.emptySet();
+    }
+    Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    for (int id : getAuthzObjIds(node)) {
+      names.add(authzObjs.get(id));
+    }
+    return names;
+  }
+
+  private void addAuthzObj(Node node, int authzObj) {
+    if (hasAuthzObj(node, authzObj)) {
+      return;
+    }
+    authzObjs.addRef(authzObj);
+    if (node.authzObj == NO_AUTHZ_OBJ) {
+      node.authzObj = authzObj;
+    } else if (node.authzObj == MULTIPLE_AUTHZ_OBJS) {
+      int[] ids = multiAuthzObjs.get(node);
+      ids = Arrays.copyOf(ids, ids.length + 1);
+      ids[ids.length - 1] = authzObj;
+      multiAuthzObjs.put(node, ids);
+    } else {
+      multiAuthzObjs.put(node, new int[] {node.authzObj, authzObj});
+      node.authzObj = MULTIPLE_AUTHZ_OBJS;
+    }
+  }
+
+  private void removeAuthzObj(Node node, int authzObj) {
+    if (!hasAuthzObj(node, authzObj)) {
+      return;
+    }
+    if (node.authzObj == MULTIPLE_AUTHZ_OBJS) {
+      int[] ids = multiAuthzObjs.get(node);
+      int[] remaining = new int[ids.length - 1];
+      int i = 0;
+      for (int id : ids) {
+        if (id != authzObj) {
+          remaining[i++] = id;
+        }
+      }
+      if (remaining.length == 1) {
+        multiAuthzObjs.remove(node);
+        node.authzObj = remaining[0];
+      } else {
+        multiAuthzObjs.put(node, remaining);
+      }
+    } else {
+      node.authzObj = NO_AUTHZ_OBJ;
+    }
+    authzObjs.release(authzObj);
+  }
+
+  private void clearAuthzObjs(Node node) {
+    for (int id : getAuthzObjIds(node)) {
+      authzObjs.release(id);
+    }
+    multiAuthzObjs.remove(node);
+    node.authzObj = NO_AUTHZ_OBJ;
+  }
+
+  // Nodes of an authz object: null, NO_NODES, a single Node or a NodeTable
+
+  private Object getNodes(int authzObj) {
+    return authzObj >= 0 && authzObj < authzObjNodes.length ? authzObjNodes[authzObj] : null;
+  }
+
+  private void setNodes(int authzObj, Object nodes) {
+    if (authzObj >= authzObjNodes.length) {
+      authzObjNodes = Arrays.copyOf(authzObjNodes,
+          Math.max(authzObj + 1, authzObjNodes.length * 2));
+    }
+    if (authzObjNodes[authzObj] == null) {
+      // The index holds a reference to the authz object
+      authzObjs.addRef(authzObj);
+    }
+    authzObjNodes[authzObj] = nodes;
+  }
+
+  private void removeNodes(int authzObj) {
+    authzObjNodes[authzObj] = null;
+    authzObjs.release(authzObj);
+  }
+
+  private static Object addNode(Object nodes, Node node) {
+    if (nodes == NO_NODES) {
+      return node;
+    } else if (nodes instanceof Node) {
+      if (nodes == node) {
+        return nodes;
+      }
+      NodeTable table = new NodeTable(false);
+      table.add((Node) nodes);
+      table.add(node);
+      return table;
+    }
+    ((NodeTable) nodes).add(node);
+    return nodes;
+  }
+
+  private static Object removeNode(Object nodes, Node node) {
+    if (nodes == node) {
+      return NO_NODES;
+    } else if (nodes instanceof NodeTable) {
+      NodeTable table = (NodeTable) nodes;
+      table.remove(node);
+      if (table.size() == 1) {
+        return table.toArray()[0];
+      }
+    }
+    return nodes;
+  }
+
+  private static boolean containsNode(Object nodes, Node node) {
+    if (nodes instanceof NodeTable) {
+      return ((NodeTable) nodes).contains(node);
+    }
+    return nodes == node;
+  }
+
+  private static Node[] toArray(Object nodes) {
+    if (nodes instanceof Node) {
+      return new Node[] {(Node) nodes};
+    } else if (nodes instanceof NodeTable) {
+      return ((NodeTable) nodes).toArray();
+    }
+    return new Node[0];
+  }
+
+  private static int mix(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Open addressing table of nodes with linear probing, keyed either by path
+   * element id for the children of a node, or by identity.
+   */
+  private static final class NodeTable {
+    private final boolean byPathElement;
+    private Node[] slots = new Node[4];
+    private int size;
+
+    NodeTable(boolean byPathElement) {
+      this.byPathElement = byPathElement;
+    }
+
+    private int slot(Node node) {
+      int hash = byPathElement ? node.pathElement : System.identityHashCode(node);
+      return mix(hash) & (slots.length - 1);
+    }
+
+    Node get(int pathElement) {
+      int mask = slots.length - 1;
+      for (int i = mix(pathElement) & mask; ; i = (i + 1) & mask) {
+        Node node = slots[i];
+        if (node == null || node.pathElement == pathElement) {
+          return node;
+        }
+      }
+    }
+
+    boolean contains(Node node) {
+      int mask = slots.length - 1;
+      for (int i = slot(node); ; i = (i + 1) & mask) {
+        if (slots[i] == null) {
+          return false;
+        } else if (slots[i] == node) {
+          return true;
+        }
+      }
+    }
+
+    void add(Node node) {
+      if (contains(node)) {
+        return;
+      }
+      // Keep the load factor at most 3/4
+      if ((size + 1) * 4 > slots.length * 3) {
+        Node[] old = slots;
+        slots = new Node[old.length * 2];
+        for (Node n : old) {
+          if (n != null) {
+            insert(n);
+          }
+        }
+      }
+      insert(node);
+      size++;
+    }
+
+    private void insert(Node node) {
+      int mask = slots.length - 1;
+      int i = slot(node);
+      while (slots[i] != null) {
+        i = (i + 1) & mask;
+      }
+      slots[i] = node;
+    }
+
+    void remove(Node node) {
+      int mask = slots.length - 1;
+      int i = slot(node);
+      while (slots[i] != node) {
+        if (slots[i] == null) {
+          return;
+        }
+        i = (i + 1) & mask;
+      }
+      slots[i] = null;
+      size--;
+      // Move back the following nodes of the probe sequence which would no
+      // longer be found past the emptied slot
+      for (int j = (i + 1) & mask; slots[j] != null; j = (j + 1) & mask) {
+        int home = slot(slots[j]);
+        boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+        if (!reachable) {
+          slots[i] = slots[j];
+          slots[j] = null;
+          i = j;
+        }
+      }
+    }
+
+    int size() {
+      return size;
+    }
+
+    Node[] toArray() {
+      Node[] nodes = new Node[size];
+      int n = 0;
+      for (Node node : slots) {
+        if (node != null) {
+          nodes[n++] = node;
+        }
+      }
+      return nodes;
+    }
+  }
+
+  /**
+   * Reference counted dictionary giving each distinct string an int id. The id of
+   * a string is reused once the string is no longer referenced.
+   */
+  static final class Dictionary {
+    private final boolean ignoreCase;
+    private String[] values = new String[16];
+    private int[] refCounts = new int[16];
+    // Open addressing table of id + 1, 0 marks an empty slot
+    private int[] slots = new int[32];
+    private int size;
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int nextId;
+
+    Dictionary(boolean ignoreCase) {
+      this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * @return the id of the string, or -1 if it is not in the dictionary
+     */
+    int find(String value) {
+      int mask = slots.length - 1;
+      for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+        int slot = slots[i];
+        if (slot == 0) {
+          return -1;
+        } else if (matches(values[slot - 1], value)) {
+          return slot - 1;
+        }
+      }
+    }
+
+    /**
+     * @return the id of the string, which is added if needed, with one more reference
+     */
+    int acquire(String value) {
+      int id = find(value);
+      if (id < 0) {
+        id = add(value);
+      }
+      refCounts[id]++;
+      return id;
+    }
+
+    void addRef(int id) {
+      refCounts[id]++;
+    }
+
+    void release(int id) {
+      if (--refCounts[id] == 0) {
+        removeSlot(id);
+        values[id] = null;
+        if (freeCount == freeIds.length) {
+          freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        size--;
+      }
+    }
+
+    String get(int id) {
+      return values[id];
+    }
+
+    /**
+     * Replaces the string of an id by an equal one.
+     */
+    void setValue(int id, String value) {
+      Preconditions.checkArgument(matches(values[id], value));
+      values[id] = value;
+    }
+
+    int size() {
+      return size;
+    }
+
+    private int add(String value) {
+      int id;
+      if (freeCount > 0) {
+        id = freeIds[--freeCount];
+      } else {
+        id = nextId++;
+        if (id == values.length) {
+          values = Arrays.copyOf(values, id * 2);
+          refCounts = Arrays.copyOf(refCounts, id * 2);
+        }
+      }
+      values[id] = value;
+      // Keep the load factor at most 1/2
+      if ((size + 1) * 2 > slots.length) {
+        int[] old = slots;
+        slots = new int[old.length * 2];
+        for (int slot : old) {
+          if (slot != 0) {
+            insertSlot(slot - 1);
+          }
+        }
+      }
+      insertSlot(id);
+      size++;
+      return id;
+    }
+
+    private void insertSlot(int id) {
+      int mask = slots.length - 1;
+      int i = hash(values[id]) & mask;
+      while (slots[i] != 0) {
+        i = (i + 1) & mask;
+      }
+      slots[i] = id + 1;
+    }
+
+    private void removeSlot(int id) {
+      int mask = slots.length - 1;
+      int i = hash(values[id]) & mask;
+      while (slots[i] != id + 1) {
+        i = (i + 1) & mask;
+      }
+      slots[i] = 0;
+      // Move back the following ids of the probe sequence which would no
+      // longer be found past the emptied slot
+      for (int j = (i + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+        int home = hash(values[slots[j] - 1]) & mask;
+        boolean reachable = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+        if (!reachable) {
+          slots[i] = slots[j];
+          slots[j] = 0;
+          i = j;
+        }
+      }
+    }
+
+    private boolean matches(String a, String b) {
+      return ignoreCase ? a.equalsIgnoreCase(b) : a.equals(b);
+    }
+
+    private int hash(String value) {
+      if (!ignoreCase) {
+        return mix(value.hashCode());
+      }
+      int h = 0;
+      for (int i = 0; i < value.length(); i++) {
+        h = 31 * h + Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+      }
+      return mix(h);
+    }
+  }
+}
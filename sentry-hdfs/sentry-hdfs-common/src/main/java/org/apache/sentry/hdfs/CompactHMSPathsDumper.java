@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sentry.hdfs.CompactHMSPaths.Node;
+import org.apache.sentry.hdfs.HMSPaths.EntryType;
+import org.apache.sentry.hdfs.HMSPathsDumper.DupDetector;
+import org.apache.sentry.hdfs.service.thrift.TPathEntry;
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dumps {@link CompactHMSPaths} to the same {@link TPathsDump} format as
+ * {@link HMSPathsDumper}.
+ */
+public class CompactHMSPathsDumper implements AuthzPathsDumper<CompactHMSPaths> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CompactHMSPathsDumper.class);
+
+  private final CompactHMSPaths paths;
+
+  public CompactHMSPathsDumper(CompactHMSPaths paths) {
+    this.paths = paths;
+  }
+
+  @Override
+  public TPathsDump createPathsDump(boolean minimizeSize) {
+    DupDetector dups = null;
+    if (minimizeSize) {
+      dups = new DupDetector();
+      inspectNode(paths.getRoot(), dups);
+      dups.findDuplicates();
+    }
+
+    AtomicInteger counter = new AtomicInteger(0);
+    Map<Integer, TPathEntry> idMap = new HashMap<Integer, TPathEntry>();
+    int rootId = counter.incrementAndGet();
+    TPathEntry tRoot = createTPathEntry(paths.getRoot(), dups);
+    idMap.put(rootId, tRoot);
+    cloneToTPathEntry(paths.getRoot(), tRoot, counter, idMap, dups);
+    TPathsDump dump = new TPathsDump(rootId, idMap);
+
+    String stringDupMsg = "";
+    if (minimizeSize) {
+      String[] dupStringValues = dups.getDupStringValues();
+      dump.setDupStringValues(Arrays.asList(dupStringValues));
+      stringDupMsg = String.format(" %d total path strings, %d duplicate strings found, " +
+          "compacted to %d unique strings.", dups.nTotalStrings, dups.nDupStrings,
+          dupStringValues.length);
+    }
+    LOG.info("Paths Dump created." + stringDupMsg);
+
+    return dump;
+  }
+
+  private void inspectNode(Node node, DupDetector dups) {
+    dups.inspectPathElement(paths.getPathElement(node));
+    for (Node child : paths.getChildren(node)) {
+      inspectNode(child, dups);
+    }
+  }
+
+  private void cloneToTPathEntry(Node parent, TPathEntry tParent,
+      AtomicInteger counter, Map<Integer, TPathEntry> idMap, DupDetector dups) {
+    for (Node child : paths.getChildren(parent)) {
+      int childId = counter.incrementAndGet();
+      TPathEntry tChild = createTPathEntry(child, dups);
+      idMap.put(childId, tChild);
+      tParent.addToChildren(childId);
+      cloneToTPathEntry(child, tChild, counter, idMap, dups);
+    }
+  }
+
+  private TPathEntry createTPathEntry(Node node, DupDetector dups) {
+    Node[] children = paths.getChildren(node);
+    String pathElement = paths.getPathElement(node);
+    String sameOrReplacementId =
+        dups != null ? dups.getReplacementString(pathElement) : pathElement;
+    TPathEntry tEntry = new TPathEntry(node.getType().getByte(), sameOrReplacementId,
+        children.length > 0 ?
+            new ArrayList<Integer>(children.length) : Collections.<Integer>emptyList());
+    List<String> authzObjs = paths.getAuthzObjList(node);
+    if (authzObjs != null) {
+      tEntry.setAuthzObjs(authzObjs);
+    }
+    return tEntry;
+  }
+
+  @Override
+  public CompactHMSPaths initializeFromDump(TPathsDump pathDump) {
+    CompactHMSPaths newPaths = new CompactHMSPaths(paths.getPrefixes());
+    TPathEntry tRootEntry = pathDump.getNodeMap().get(pathDump.getRootId());
+    Node root = newPaths.getRoot();
+    cloneToNode(newPaths, tRootEntry, root, pathDump.getNodeMap(),
+        pathDump.getDupStringValues(), root.getType() == EntryType.PREFIX);
+    return newPaths;
+  }
+
+  private void cloneToNode(CompactHMSPaths newPaths, TPathEntry tParent, Node parent,
+      Map<Integer, TPathEntry> idMap, List<String> dupStringValues,
+      boolean hasCrossedPrefix) {
+    for (Integer id : tParent.getChildren()) {
+      TPathEntry tChild = idMap.get(id);
+      String tChildPathElement =
+          DupDetector.getOriginalString(tChild.getPathElement(), dupStringValues);
+
+      Node child;
+      boolean isChildPrefix = hasCrossedPrefix;
+      if (!hasCrossedPrefix) {
+        // If we haven't reached a prefix entry yet, then child should
+        // already exists.. else it is not part of the prefix
+        child = newPaths.getChild(parent, tChildPathElement);
+        if (child == null) {
+          continue;
+        }
+        isChildPrefix = child.getType() == EntryType.PREFIX;
+        // Handle case when prefix entry has an authzObject
+        if (isChildPrefix) {
+          newPaths.addAuthzObjs(child, tChild.getAuthzObjs());
+        }
+      } else {
+        child = newPaths.addChild(parent, tChildPathElement,
+            EntryType.fromByte(tChild.getType()), tChild.getAuthzObjs());
+      }
+      cloneToNode(newPaths, tChild, child, idMap, dupStringValues, isChildPrefix);
+    }
+  }
+}
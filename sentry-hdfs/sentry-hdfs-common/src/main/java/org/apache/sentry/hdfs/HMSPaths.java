@@ -34,7 +34,7 @@ import org.slf4j.LoggerFactory;
  * the {@link AuthzPaths} paths. All updates to this class is handled by the
  * thread safe {@link UpdateableAuthzPaths} class
  */
-public class HMSPaths implements AuthzPaths {
+public class HMSPaths implements MutableAuthzPaths {
 
   private static final Logger LOG = LoggerFactory.getLogger(HMSPaths.class);
 
@@ -804,7 +804,8 @@ public class HMSPaths implements AuthzPaths {
     }
   }
 
-  void addPathsToAuthzObject(String authzObj,
+  @Override
+  public void addPathsToAuthzObject(String authzObj,
       List<List<String>> authzObjPathElements, boolean createNew) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s addPathsToAuthzObject(%s, %s, %b)",
@@ -856,7 +857,8 @@ public class HMSPaths implements AuthzPaths {
   ( which also deletes the entry if no more authObjs to that path and does it recursively upwards)
   2. Removes it from value of authzObjToPath Map for this authzObj key, does not reset entries to null even if entries is empty
    */
-  void deletePathsFromAuthzObject(String authzObj,
+  @Override
+  public void deletePathsFromAuthzObject(String authzObj,
       List<List<String>> authzObjPathElements) {
     Set<Entry> entries = authzObjToEntries.get(authzObj);
     if (entries != null) {
@@ -891,7 +893,8 @@ public class HMSPaths implements AuthzPaths {
     }
   }
 
-    void deleteAuthzObject(String authzObj) {
+  @Override
+  public void deleteAuthzObject(String authzObj) {
       if (LOG.isDebugEnabled()) {
         LOG.debug(String.format("%s deleteAuthzObject(%s)", this, authzObj));
         LOG.debug("Number of Objects: {}", authzObjToEntries.size());
@@ -953,7 +956,8 @@ public class HMSPaths implements AuthzPaths {
   If oldPath != newPath, Example: rename managed table (HMS metadata is updated as well as physical files are moved to new location)
     => new_table.add(new_path), old_table.dropAllPaths.
   */
-  void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+  @Override
+  public void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
       String newName, List<List<String>> newPathElems) {
     if (LOG.isDebugEnabled()) {
       LOG.debug(String.format("%s renameAuthzObject({%s, %s} -> {%s, %s})",
@@ -1015,8 +1019,8 @@ public class HMSPaths implements AuthzPaths {
     return root.findPrefixEntry(Lists.newArrayList(pathElements)) != null;
   }
 
-  // Used by the serializer
-  String[] getPrefixes() {
+  @Override
+  public String[] getPrefixes() {
     return prefixes;
   }
 
@@ -1064,6 +1068,7 @@ public class HMSPaths implements AuthzPaths {
     return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(prefixes));
   }
 
+  @Override
   public String dumpContent() {
     return toString() + ": " + getAllEntries();
   }
@@ -128,12 +128,8 @@ public class HMSPathsDumper implements AuthzPathsDumper<HMSPaths> {
     for (Integer id : tParent.getChildren()) {
       TPathEntry tChild = idMap.get(id);
 
-      String tChildPathElement = tChild.getPathElement();
-      if (!tChildPathElement.isEmpty() &&
-          tChildPathElement.charAt(0) == DupDetector.REPLACEMENT_STRING_PREFIX) {
-        int dupStrIdx = Integer.parseInt(tChildPathElement.substring(1), 16);
-        tChildPathElement = dupStringValues.get(dupStrIdx);
-      }
+      String tChildPathElement =
+          DupDetector.getOriginalString(tChild.getPathElement(), dupStringValues);
 
       Entry child = null;
       boolean isChildPrefix = hasCrossedPrefix;
@@ -188,7 +184,7 @@ public class HMSPathsDumper implements AuthzPathsDumper<HMSPaths> {
    * should be called to obtain the auxiliary string array, which contains
    * the real values of encoded duplicate strings.
    */
-  private static class DupDetector {
+  static class DupDetector {
     // The prefix that we use to distinguish between real path element
     // strings and replacement string IDs used for duplicate strings
     static final char REPLACEMENT_STRING_PREFIX = ':';
@@ -222,7 +218,35 @@ public class HMSPathsDumper implements AuthzPathsDumper<HMSPaths> {
      */
     void detectDupPathElements(Entry root) {
       inspectEntry(root);
+      findDuplicates();
+    }
 
+    /**
+     * Counts one occurrence of the given path element. Once all the path
+     * elements have been inspected, {@link #findDuplicates()} must be called.
+     */
+    void inspectPathElement(String pathElement) {
+      nTotalStrings++;
+      if (pathElement.length() > AVG_ID_LENGTH) {
+        // In the serialized data, it doesn't make sense to replace string origS
+        // with idS if origS is shorter than the average length of idS.
+        int slot = pathElement.hashCode() & (TABLE_SIZE - 1);
+        if (pathElement.equals(keys[slot])) {
+          values[slot]++;
+        } else {
+          // This slot is currently empty, or there is a hash collision.
+          // Either way, put pathElement there and reset the entry.
+          keys[slot] = pathElement;
+          values[slot] = 1;
+        }
+      }
+    }
+
+    /**
+     * Fills the internal hash map from the inspected path elements, for
+     * subsequent use by {@link #getReplacementString(String)}.
+     */
+    void findDuplicates() {
       // Iterate through the table, remove Strings that are not duplicate,
       // and associate each duplicate one with its position in the final
       // serialized auxiliary string array.
@@ -273,22 +297,20 @@ public class HMSPathsDumper implements AuthzPathsDumper<HMSPaths> {
       return auxArray;
     }
 
-    private void inspectEntry(Entry entry) {
-      nTotalStrings++;
-      String pathElement = entry.getPathElement();
-      if (pathElement.length() > AVG_ID_LENGTH) {
-        // In the serialized data, it doesn't make sense to replace string origS
-        // with idS if origS is shorter than the average length of idS.
-        int slot = pathElement.hashCode() & (TABLE_SIZE - 1);
-        if (pathElement.equals(keys[slot])) {
-          values[slot]++;
-        } else {
-          // This slot is currently empty, or there is a hash collision.
-          // Either way, put pathElement there and reset the entry.
-          keys[slot] = pathElement;
-          values[slot] = 1;
-        }
+    /**
+     * Returns the original path element of a path element read from a
+     * TPathsDump, which may be a replacement string ID.
+     */
+    static String getOriginalString(String pathElement, List<String> dupStringValues) {
+      if (!pathElement.isEmpty() && pathElement.charAt(0) == REPLACEMENT_STRING_PREFIX) {
+        int dupStrIdx = Integer.parseInt(pathElement.substring(1), 16);
+        return dupStringValues.get(dupStrIdx);
       }
+      return pathElement;
+    }
+
+    private void inspectEntry(Entry entry) {
+      inspectPathElement(entry.getPathElement());
 
       for (Entry child : entry.childrenValues()) {
         inspectEntry(child);
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.List;
+
+/**
+ * {@link AuthzPaths} which {@link UpdateableAuthzPaths} applies path updates to.
+ * Paths are passed split into path elements.
+ */
+interface MutableAuthzPaths extends AuthzPaths {
+
+  /**
+   * Associates the paths with the authz object. Paths outside of the configured
+   * prefixes are ignored.
+   *
+   * @param createNew if false, nothing is done unless the authz object already has paths
+   */
+  void addPathsToAuthzObject(String authzObj, List<List<String>> authzObjPathElements,
+      boolean createNew);
+
+  /**
+   * Removes the association of the paths with the authz object, deleting path
+   * entries which are no longer needed.
+   */
+  void deletePathsFromAuthzObject(String authzObj, List<List<String>> authzObjPathElements);
+
+  /**
+   * Removes the authz object from all its paths.
+   */
+  void deleteAuthzObject(String authzObj);
+
+  /**
+   * Renames the authz object, moving its first path if it changed.
+   */
+  void renameAuthzObject(String oldName, List<List<String>> oldPathElems,
+      String newName, List<List<String>> newPathElems);
+
+  /**
+   * @return the configured prefixes
+   */
+  String[] getPrefixes();
+
+  @Override
+  AuthzPathsDumper<? extends MutableAuthzPaths> getPathsDump();
+
+  /**
+   * For logging: the configured prefixes and all the path entries.
+   */
+  String dumpContent();
+}
@@ -72,6 +72,14 @@ public class PathsUpdate implements Updateable.Update {
     return tPathsUpdate.isHasFullImage();
   }
 
+  /**
+   * @return true if the update is one chunk of a full image, see {@link ChunkedPathsImage}
+   */
+  public boolean isFullImageChunk() {
+    return hasFullImage() && tPathsUpdate.isSetPathsDump()
+        && tPathsUpdate.getPathsDump().isSetChunkCursor();
+  }
+
   public TPathChanges newPathChange(String authzObject) {
 
     TPathChanges pathChanges = new TPathChanges(authzObject,
@@ -193,6 +201,16 @@ public class PathsUpdate implements Updateable.Update {
     return ThriftSerializer.serializeToJSON(tPathsUpdate);
   }
 
+  @Override
+  public void deserializeFromString(String update) throws TException {
+    ThriftSerializer.deserializeFromString(tPathsUpdate, update);
+  }
+
+  @Override
+  public String serializeToString() throws TException {
+    return ThriftSerializer.serializeToCompressedString(tPathsUpdate);
+  }
+
   @Override
   public int hashCode() {
     return (tPathsUpdate == null) ? 0 : tPathsUpdate.hashCode();
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
 import org.apache.sentry.hdfs.service.thrift.TPermissionsUpdate;
@@ -98,6 +99,87 @@ public class PermissionsUpdate implements Updateable.Update {
     return roleUpdate;
   }
 
+  /**
+   * Adds the changes of another partial update to this one, if applying the merged update
+   * has the same effect as applying both in order.
+   * <p>
+   * This is the case when none of them changes roles, renames objects or drops all the
+   * privileges of a principal or an object, and every principal they share is only
+   * granted privileges by both or only revoked privileges by both. A revoke cascades to
+   * the children of the object, so it does not commute with a grant of the principal.
+   *
+   * @param other the update following this one
+   * @return false if the updates cannot be merged, this update is unchanged then
+   */
+  public boolean merge(PermissionsUpdate other) {
+    if (hasFullImage() || other.hasFullImage()) {
+      return false;
+    }
+    Map<TPrivilegePrincipal, Boolean> grants = getGrantedPrincipals();
+    Map<TPrivilegePrincipal, Boolean> otherGrants = other.getGrantedPrincipals();
+    if (grants == null || otherGrants == null) {
+      return false;
+    }
+    for (Map.Entry<TPrivilegePrincipal, Boolean> entry : otherGrants.entrySet()) {
+      Boolean granted = grants.get(entry.getKey());
+      if (granted != null && !granted.equals(entry.getValue())) {
+        return false;
+      }
+    }
+    for (TPrivilegeChanges changes : other.getPrivilegeUpdates()) {
+      TPrivilegeChanges merged = addPrivilegeUpdate(changes.getAuthzObj());
+      mergeActions(merged.getAddPrivileges(), changes.getAddPrivileges());
+      mergeActions(merged.getDelPrivileges(), changes.getDelPrivileges());
+    }
+    return true;
+  }
+
+  /**
+   * @return whether each principal is granted or revoked privileges, null if a principal
+   *         is both or if the update has changes that cannot be merged
+   */
+  private Map<TPrivilegePrincipal, Boolean> getGrantedPrincipals() {
+    if (!tPermUpdate.getRoleChanges().isEmpty()) {
+      return null;
+    }
+    Map<TPrivilegePrincipal, Boolean> grants = new HashMap<>();
+    for (TPrivilegeChanges changes : getPrivilegeUpdates()) {
+      if (RENAME_PRIVS.equals(changes.getAuthzObj())
+          || ALL_AUTHZ_OBJ.equals(changes.getAuthzObj())) {
+        return null;
+      }
+      if (changes.getAddPrivileges() != null) {
+        for (TPrivilegePrincipal principal : changes.getAddPrivileges().keySet()) {
+          if (Boolean.FALSE.equals(grants.put(principal, Boolean.TRUE))) {
+            return null;
+          }
+        }
+      }
+      if (changes.getDelPrivileges() != null) {
+        for (TPrivilegePrincipal principal : changes.getDelPrivileges().keySet()) {
+          if (ALL_PRIVS.equals(principal.getValue())
+              || Boolean.TRUE.equals(grants.put(principal, Boolean.FALSE))) {
+            return null;
+          }
+        }
+      }
+    }
+    return grants;
+  }
+
+  private static void mergeActions(Map<TPrivilegePrincipal, String> merged,
+      Map<TPrivilegePrincipal, String> actions) {
+    if (actions == null) {
+      return;
+    }
+    for (Map.Entry<TPrivilegePrincipal, String> entry : actions.entrySet()) {
+      String action = merged.get(entry.getKey());
+      // Actions are comma-separated, see UpdateableAuthzPermissions
+      merged.put(entry.getKey(), action == null || action.equals(entry.getValue()) ?
+          entry.getValue() : action + "," + entry.getValue());
+    }
+  }
+
   Collection<TRoleChanges> getRoleUpdates() {
     return tPermUpdate.getRoleChanges().values();
   }
@@ -130,6 +212,16 @@ public class PermissionsUpdate implements Updateable.Update {
     return ThriftSerializer.serializeToJSON(tPermUpdate);
   }
 
+  @Override
+  public void deserializeFromString(String update) throws TException {
+    ThriftSerializer.deserializeFromString(tPermUpdate, update);
+  }
+
+  @Override
+  public String serializeToString() throws TException {
+    return ThriftSerializer.serializeToCompressedString(tPermUpdate);
+  }
+
   @Override
   public int hashCode() {
     return (tPermUpdate == null) ? 0 : tPermUpdate.hashCode();
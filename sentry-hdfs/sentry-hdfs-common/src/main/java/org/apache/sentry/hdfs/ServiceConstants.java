@@ -55,6 +55,45 @@ public class ServiceConstants {
 
     public static final String SENTRY_HMS_FETCH_SIZE = "sentry.hms.fetch.size";
     public static final int SENTRY_HMS_FETCH_SIZE_DEFAULT = -1;
+
+    // Maximum number of HMS notifications processed in one transaction, 1 to process
+    // every notification in its own transactions
+    public static final String SENTRY_HMS_NOTIFICATION_BATCH_SIZE = "sentry.hms.notification.batch.size";
+    public static final int SENTRY_HMS_NOTIFICATION_BATCH_SIZE_DEFAULT = 1;
+
+    // Number of authorization objects of a full HMS snapshot persisted per transaction.
+    // Larger snapshots are persisted in several transactions before becoming the current
+    // snapshot, 0 to always persist them in a single transaction
+    public static final String SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE =
+        "sentry.hms.snapshot.persist.chunk.size";
+    public static final int SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE_DEFAULT = 10000;
+
+    // Number of threads persisting the chunks of a full HMS snapshot
+    public static final String SENTRY_HMS_SNAPSHOT_PERSIST_THREADS =
+        "sentry.hms.snapshot.persist.threads";
+    public static final int SENTRY_HMS_SNAPSHOT_PERSIST_THREADS_DEFAULT = 1;
+
+    // Whether the full path image is assembled in CompactHMSPaths
+    public static final String SENTRY_HDFS_COMPACT_PATHS = "sentry.hdfs.compact.paths";
+    public static final boolean SENTRY_HDFS_COMPACT_PATHS_DEFAULT = false;
+
+    // How long a full path image sent in chunks is kept after its last chunk was requested,
+    // when a NameNode stopped fetching it
+    public static final String SENTRY_HDFS_PATHS_CHUNK_TTL_MS = "sentry.hdfs.paths.chunk.ttl.ms";
+    public static final long SENTRY_HDFS_PATHS_CHUNK_TTL_MS_DEFAULT = 5 * 60 * 1000L;
+    // Number of full path images sent in chunks which are kept at the same time
+    public static final String SENTRY_HDFS_PATHS_CHUNK_MAX_IMAGES =
+        "sentry.hdfs.paths.chunk.max.images";
+    public static final int SENTRY_HDFS_PATHS_CHUNK_MAX_IMAGES_DEFAULT = 1;
+
+    // Whether the last full path and permission images are kept to be sent to all NameNodes
+    public static final String SENTRY_HDFS_FULL_IMAGE_CACHE = "sentry.hdfs.full.image.cache";
+    public static final boolean SENTRY_HDFS_FULL_IMAGE_CACHE_DEFAULT = true;
+
+    // How many deltas may follow a cached full image before a new full image is retrieved
+    public static final String SENTRY_HDFS_FULL_IMAGE_CACHE_MAX_DELTAS =
+        "sentry.hdfs.full.image.cache.max.deltas";
+    public static final long SENTRY_HDFS_FULL_IMAGE_CACHE_MAX_DELTAS_DEFAULT = 1000L;
   }
 
   public static class ClientConfig {
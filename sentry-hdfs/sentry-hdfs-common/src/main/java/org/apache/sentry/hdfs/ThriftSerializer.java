@@ -17,9 +17,16 @@
  */
 package org.apache.sentry.hdfs;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
 import org.apache.thrift.TBase;
 import org.apache.thrift.TDeserializer;
 import org.apache.thrift.TException;
@@ -32,6 +39,9 @@ public class ThriftSerializer {
   final static private TJSONProtocol.Factory tJSONProtocol =
           new TJSONProtocol.Factory();
 
+  // Marks the compressed string format and its version, a JSON string always starts with '{'
+  private static final String COMPRESSED_STRING_PREFIX = "C1:";
+
   // Use default max thrift message size here.
   // TODO: Figure out a way to make maxMessageSize configurable, eg. create a serializer singleton at startup by
   // passing a max_size parameter
@@ -77,4 +87,38 @@ public class ThriftSerializer {
     tDeserializer.fromString(base, dataInJson);
   }
 
+  /**
+   * Serializes to a string holding the compact encoding, compressed and in Base64. The
+   * string is several times smaller than the JSON one.
+   */
+  public static String serializeToCompressedString(TBase base) throws TException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+      out.write(serialize(base));
+    } catch (IOException e) {
+      throw new TException("Error serializing thrift object " + base, e);
+    } finally {
+      deflater.end();
+    }
+    return COMPRESSED_STRING_PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+  }
+
+  /**
+   * Deserializes a string created by {@link #serializeToCompressedString} or
+   * {@link #serializeToJSON}.
+   */
+  public static void deserializeFromString(TBase base, String data) throws TException {
+    if (!data.startsWith(COMPRESSED_STRING_PREFIX)) {
+      deserializeFromJSON(base, data);
+      return;
+    }
+    try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(
+        Base64.getDecoder().decode(data.substring(COMPRESSED_STRING_PREFIX.length()))))) {
+      deserialize(base, ByteStreams.toByteArray(in));
+    } catch (IOException | IllegalArgumentException e) {
+      throw new TException("Error deserializing thrift object " + base, e);
+    }
+  }
+
 }
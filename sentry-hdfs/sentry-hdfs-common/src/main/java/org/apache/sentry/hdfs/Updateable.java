@@ -61,6 +61,24 @@ public interface Updateable<K extends Updateable.Update> {
      * @throws TException
      */
     String JSONSerialize() throws TException;
+
+    /**
+     * Deserialize the update from a string representation created by
+     * {@link #serializeToString()} or {@link #JSONSerialize()}.
+     *
+     * @param update the given string representation
+     * @throws TException
+     */
+    void deserializeFromString(String update) throws TException;
+
+    /**
+     * Serialize the update from the object to a compressed string representation,
+     * much smaller than the JSON one.
+     *
+     * @return the string representation
+     * @throws TException
+     */
+    String serializeToString() throws TException;
   }
 
   /**
@@ -20,9 +20,13 @@ package org.apache.sentry.hdfs;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
 
+import com.google.common.collect.Lists;
 import org.apache.sentry.hdfs.service.thrift.TPathChanges;
 import org.apache.sentry.hdfs.service.thrift.TPathsDump;
 import org.slf4j.Logger;
@@ -31,35 +35,167 @@ import org.slf4j.LoggerFactory;
 import static org.apache.sentry.hdfs.ServiceConstants.IMAGE_NUMBER_UPDATE_UNINITIALIZED;
 import static org.apache.sentry.hdfs.ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED;
 
+/**
+ * Thread safe {@link AuthzPaths} which applies {@link PathsUpdate}s to {@link HMSPaths},
+ * or to {@link CompactHMSPaths} in compact mode.
+ * <p>
+ * By default lookups and updates have to be serialized by the caller with the lock
+ * passed to {@link #updatePartial}. In lock-free mode two copies of the paths are kept
+ * instead: updates are applied to the standby copy, which is then published to lookups
+ * in one step, and applied again to the previous copy once the lookups still running
+ * against it have finished. Lookups never block and always see the paths as of a
+ * complete batch of updates, at the cost of holding the paths twice in memory.
+ */
 public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate> {
   private static final int MAX_UPDATES_PER_LOCK_USE = 99;
   private static final String UPDATABLE_TYPE_NAME = "path_update";
   private static final Logger LOG = LoggerFactory.getLogger(UpdateableAuthzPaths.class);
-  private volatile HMSPaths paths;
+  private final boolean lockFree;
+  private volatile Snapshot active;
+  // Copy the updates are applied to in lock-free mode, guarded by publishLock
+  private Snapshot standby;
+  private final Object publishLock = new Object();
   private final AtomicLong seqNum = new AtomicLong(SEQUENCE_NUMBER_UPDATE_UNINITIALIZED);
   private final AtomicLong imgNum = new AtomicLong(IMAGE_NUMBER_UPDATE_UNINITIALIZED);
 
+  /**
+   * Copy of the paths together with the number of lookups running against it.
+   */
+  private static final class Snapshot {
+    private final MutableAuthzPaths paths;
+    private final AtomicInteger readers = new AtomicInteger();
+
+    Snapshot(MutableAuthzPaths paths) {
+      this.paths = paths;
+    }
+  }
+
   public UpdateableAuthzPaths(String[] pathPrefixes) {
-    this.paths = new HMSPaths(pathPrefixes);
+    this(pathPrefixes, false);
+  }
+
+  public UpdateableAuthzPaths(String[] pathPrefixes, boolean lockFree) {
+    this(pathPrefixes, lockFree, false);
+  }
+
+  /**
+   * @param compact whether to keep the paths in {@link CompactHMSPaths}
+   */
+  public UpdateableAuthzPaths(String[] pathPrefixes, boolean lockFree, boolean compact) {
+    this(newPaths(pathPrefixes, compact), lockFree ? newPaths(pathPrefixes, compact) : null);
+  }
+
+  UpdateableAuthzPaths(MutableAuthzPaths paths) {
+    this(paths, null);
+  }
+
+  /**
+   * @param paths the paths
+   * @param standbyPaths an identical copy of the paths for lock-free mode, or null
+   */
+  private UpdateableAuthzPaths(MutableAuthzPaths paths, MutableAuthzPaths standbyPaths) {
+    this.lockFree = standbyPaths != null;
+    this.active = new Snapshot(paths);
+    this.standby = lockFree ? new Snapshot(standbyPaths) : null;
+  }
+
+  private static MutableAuthzPaths newPaths(String[] pathPrefixes, boolean compact) {
+    return compact ? new CompactHMSPaths(pathPrefixes) : new HMSPaths(pathPrefixes);
+  }
+
+  /**
+   * @return empty paths of the same kind and with the same prefixes as these paths
+   */
+  MutableAuthzPaths newEmptyPaths() {
+    MutableAuthzPaths paths = active.paths;
+    return newPaths(paths.getPrefixes(), paths instanceof CompactHMSPaths);
+  }
+
+  /**
+   * @return paths in the same mode as these paths holding the given paths, which are
+   *         up to date with the given sequence and image numbers
+   */
+  UpdateableAuthzPaths withPaths(MutableAuthzPaths paths, long seqNum, long imgNum) {
+    MutableAuthzPaths standbyPaths = null;
+    if (lockFree) {
+      AuthzPathsDumper<? extends MutableAuthzPaths> dumper = paths.getPathsDump();
+      standbyPaths = dumper.initializeFromDump(dumper.createPathsDump(false));
+    }
+    UpdateableAuthzPaths other = new UpdateableAuthzPaths(paths, standbyPaths);
+    other.seqNum.set(seqNum);
+    other.imgNum.set(imgNum);
+    return other;
+  }
+
+  /**
+   * @return true if lookups do not need to be serialized with updates by the caller
+   */
+  public boolean isLockFree() {
+    return lockFree;
+  }
+
+  private Snapshot enter() {
+    while (true) {
+      Snapshot current = active;
+      if (!lockFree) {
+        return current;
+      }
+      current.readers.incrementAndGet();
+      // A copy which is no longer published may already be modified
+      if (current == active) {
+        return current;
+      }
+      current.readers.decrementAndGet();
+    }
   }
 
-  UpdateableAuthzPaths(HMSPaths paths) {
-    this.paths = paths;
+  private void exit(Snapshot current) {
+    if (lockFree) {
+      current.readers.decrementAndGet();
+    }
   }
 
   @Override
   public boolean isUnderPrefix(String[] pathElements) {
-    return paths.isUnderPrefix(pathElements);
+    Snapshot current = enter();
+    try {
+      return current.paths.isUnderPrefix(pathElements);
+    } finally {
+      exit(current);
+    }
   }
 
   @Override
   public Set<String> findAuthzObject(String[] pathElements) {
-    return paths.findAuthzObject(pathElements);
+    Snapshot current = enter();
+    try {
+      return copyIfLockFree(current.paths.findAuthzObject(pathElements));
+    } finally {
+      exit(current);
+    }
   }
 
   @Override
   public Set<String> findAuthzObjectExactMatches(String[] pathElements) {
-    return paths.findAuthzObjectExactMatches(pathElements);
+    Snapshot current = enter();
+    try {
+      return copyIfLockFree(current.paths.findAuthzObjectExactMatches(pathElements));
+    } finally {
+      exit(current);
+    }
+  }
+
+  /**
+   * The sets of authz objects belong to the path entries, which are modified once the
+   * lookup has finished in lock-free mode.
+   */
+  private Set<String> copyIfLockFree(Set<String> authzObjs) {
+    if (!lockFree || authzObjs == null) {
+      return authzObjs;
+    }
+    Set<String> copy = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    copy.addAll(authzObjs);
+    return copy;
   }
 
   @Override
@@ -73,30 +209,72 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
 
   @Override
   public void updatePartial(Iterable<PathsUpdate> updates, ReadWriteLock lock) {
+    if (lockFree) {
+      List<PathsUpdate> batch = Lists.newArrayList(updates);
+      publish(paths -> {
+        for (PathsUpdate update : batch) {
+          applyPartialUpdate(paths, update);
+        }
+      });
+      for (PathsUpdate update : batch) {
+        updateSequenceNumbers(update);
+      }
+      return;
+    }
     lock.writeLock().lock();
     try {
       int counter = 0;
       for (PathsUpdate update : updates) {
-        applyPartialUpdate(update);
+        applyPartialUpdate(active.paths, update);
         if (++counter > MAX_UPDATES_PER_LOCK_USE) {
           counter = 0;
           lock.writeLock().unlock();
           lock.writeLock().lock();
         }
-        seqNum.set(update.getSeqNum());
-
-        // Update the image ID only if the update has a new one
-        if (imgNum.get() < update.getImgNum()) {
-          imgNum.set(update.getImgNum());
-        }
-        LOG.debug("##### Updated paths seq Num [{}] img Num [{}]", seqNum.get(), imgNum.get());
+        updateSequenceNumbers(update);
       }
     } finally {
       lock.writeLock().unlock();
     }
   }
 
-  private void applyPartialUpdate(PathsUpdate update) {
+  private void updateSequenceNumbers(PathsUpdate update) {
+    seqNum.set(update.getSeqNum());
+
+    // Update the image ID only if the update has a new one
+    if (imgNum.get() < update.getImgNum()) {
+      imgNum.set(update.getImgNum());
+    }
+    LOG.debug("##### Updated paths seq Num [{}] img Num [{}]", seqNum.get(), imgNum.get());
+  }
+
+  /**
+   * Applies the change to the standby copy, publishes it and applies the change to the
+   * previously published copy once no lookup uses it anymore, which then becomes the
+   * standby copy. If the change fails, the standby copy is rebuilt from the published
+   * one so that both copies stay identical.
+   */
+  private void publish(Consumer<MutableAuthzPaths> change) {
+    synchronized (publishLock) {
+      try {
+        change.accept(standby.paths);
+        Snapshot previous = active;
+        active = standby;
+        while (previous.readers.get() != 0) {
+          Thread.yield();
+        }
+        standby = previous;
+        change.accept(previous.paths);
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to apply paths update, rebuilding the standby copy", e);
+        AuthzPathsDumper<? extends MutableAuthzPaths> dumper = active.paths.getPathsDump();
+        standby = new Snapshot(dumper.initializeFromDump(dumper.createPathsDump(false)));
+        throw e;
+      }
+    }
+  }
+
+  private void applyPartialUpdate(MutableAuthzPaths paths, PathsUpdate update) {
     // Handle alter table rename : will have exactly 2 path changes
     // 1 is add path and the other is del path and oldName != newName
     if (update.getPathChanges().size() == 2) {
@@ -150,12 +328,20 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
     for (TPathChanges pathChanges : addPathChanges) {
       LOG.info("Applying Path update. Adding path for authz object {} authz path {}",
           pathChanges.getAuthzObj(), pathChanges.getAddPaths());
-      applyAddChanges(pathChanges.getAuthzObj(), pathChanges.getAddPaths());
+      paths.addPathsToAuthzObject(pathChanges.getAuthzObj(), pathChanges.getAddPaths(), true);
     }
   }
 
+  /**
+   * Adds the paths to the object. In lock-free mode every call is published separately,
+   * prefer {@link #updatePartial} to apply many changes.
+   */
   public void applyAddChanges(String objName, List<List<String>> changes) {
-    paths.addPathsToAuthzObject(objName, changes, true);
+    if (lockFree) {
+      publish(paths -> paths.addPathsToAuthzObject(objName, changes, true));
+    } else {
+      active.paths.addPathsToAuthzObject(objName, changes, true);
+    }
   }
 
   @Override
@@ -181,14 +367,19 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
 
       @Override
       public TPathsDump createPathsDump(boolean minimizeSize) {
-        return UpdateableAuthzPaths.this.paths.getPathsDump().
-            createPathsDump(minimizeSize);
+        Snapshot current = enter();
+        try {
+          return current.paths.getPathsDump().createPathsDump(minimizeSize);
+        } finally {
+          exit(current);
+        }
       }
 
       @Override
       public UpdateableAuthzPaths initializeFromDump(TPathsDump pathsDump) {
-        return new UpdateableAuthzPaths(UpdateableAuthzPaths.this.paths
-            .getPathsDump().initializeFromDump(pathsDump));
+        AuthzPathsDumper<? extends MutableAuthzPaths> dumper = active.paths.getPathsDump();
+        return new UpdateableAuthzPaths(dumper.initializeFromDump(pathsDump),
+            lockFree ? dumper.initializeFromDump(pathsDump) : null);
       }
     };
   }
@@ -200,7 +391,8 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
 
   @Override
   public String toString() {
-    return String.format("%s(%s, %s, %s)", getClass().getSimpleName(), seqNum, imgNum, paths);
+    return String.format("%s(%s, %s, %s)", getClass().getSimpleName(), seqNum, imgNum,
+        active.paths);
   }
 
   @Override
@@ -209,6 +401,7 @@ public class UpdateableAuthzPaths implements AuthzPaths, Updateable<PathsUpdate>
   }
 
   public String dumpContent() {
-    return String.format("%s(%s, %s) ", getClass().getSimpleName(), seqNum, imgNum) + paths.dumpContent();
+    return String.format("%s(%s, %s) ", getClass().getSimpleName(), seqNum, imgNum)
+        + active.paths.dumpContent();
   }
 }
@@ -74,6 +74,18 @@ struct TPathsDump {
 1: required i32 rootId;
 2: required map<i32,TPathEntry> nodeMap;
 3: optional list<string> dupStringValues;
+
+# Set when the dump is one chunk of a full image: the id of the first
+# entry in nodeMap. Entry ids are assigned in preorder starting at rootId,
+# so a chunk holds the entries [chunkCursor, chunkCursor + size(nodeMap)).
+4: optional i32 chunkCursor;
+
+# The number of entries of the complete image the chunk belongs to.
+5: optional i32 totalEntries;
+
+# Identifies the build of the image the chunk belongs to. An image rebuilt
+# with the same sequence and image numbers gets a different token.
+6: optional i64 imageToken;
 }
 
 # Value used to specify that a path image number is not used on a request or response
@@ -129,6 +141,19 @@ struct TAuthzUpdateRequest {
 1: required i64 permSeqNum;
 2: required i64 pathSeqNum;
 3: required i64 pathImgNum;
+
+# The maximum number of path entries the client accepts in a full image.
+# When set, a full image is sent as a sequence of chunks.
+4: optional i32 pathsChunkSize;
+
+# The id of the first entry of the requested chunk of the full image
+# identified by pathsChunkSeqNum and pathsChunkImgNum.
+5: optional i32 pathsChunkCursor;
+6: optional i64 pathsChunkSeqNum;
+7: optional i64 pathsChunkImgNum;
+
+# The imageToken of the chunks of the image received so far.
+8: optional i64 pathsChunkToken;
 }
 
 service SentryHDFSService
@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import static org.junit.Assert.*;
+
+public class TestChunkedPathsImage {
+  private static final String[] PREFIXES = {"/user/hive/warehouse", "/user/hive/w2"};
+  private static final String WAREHOUSE = "/user/hive/warehouse";
+  private static final long TOKEN = 42;
+
+  private static String[] elements(String path) {
+    List<String> elements = HMSPaths.getPathElements(path);
+    return elements.toArray(new String[elements.size()]);
+  }
+
+  private static void assertAuthzObjs(AuthzPaths authzPaths, String path, String... expected) {
+    Set<String> found = authzPaths.findAuthzObjectExactMatches(elements(path));
+    if (expected.length == 0) {
+      assertNull(path, found);
+    } else {
+      assertEquals(path, new HashSet<>(Arrays.asList(expected)), new HashSet<>(found));
+    }
+  }
+
+  private static PathsUpdate createImage() {
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    hmsPaths._addAuthzObject("default", Lists.newArrayList(WAREHOUSE));
+    hmsPaths._addAuthzObject("db1", Lists.newArrayList(WAREHOUSE + "/db1"));
+    hmsPaths._addAuthzObject("db1.tbl11", Lists.newArrayList(WAREHOUSE + "/db1/tbl11"));
+    hmsPaths._addPathsToAuthzObject("db1.tbl11", Lists.newArrayList(
+        WAREHOUSE + "/db1/tbl11/part_duplicate1",
+        WAREHOUSE + "/db1/tbl11/part_duplicate1/part_duplicate2",
+        WAREHOUSE + "/db1/tbl11/part_duplicate2",
+        WAREHOUSE + "/db1/tbl11/part_duplicate2/part_duplicate1"));
+    hmsPaths._addAuthzObject("db1.tbl12", Lists.newArrayList(WAREHOUSE + "/db1/tbl11/a/b"));
+    hmsPaths._addAuthzObject("db2.tbl21", Lists.newArrayList("/user/hive/w2/db2/tbl21"));
+    hmsPaths._addAuthzObject("db2.tbl22", Lists.newArrayList("/user/hive/w2/db2/tbl21"));
+
+    PathsUpdate image = new PathsUpdate(10, 3, true);
+    image.toThrift().setPathsDump(hmsPaths.getPathsDump().createPathsDump(true));
+    return image;
+  }
+
+  private static UpdateableAuthzPaths receive(UpdateableAuthzPaths template,
+      PathsUpdate image, int chunkSize) {
+    int total = image.toThrift().getPathsDump().getNodeMapSize();
+    ChunkedPathsImage chunkedImage = null;
+    int chunks = 0;
+    for (int cursor = 1; cursor <= total; cursor += chunkSize) {
+      PathsUpdate chunk = ChunkedPathsImage.createChunk(image, TOKEN, cursor, chunkSize);
+      assertTrue(chunk.isFullImageChunk());
+      assertEquals(cursor == 1,
+          chunk.toThrift().getPathsDump().isSetDupStringValues());
+      if (chunkedImage == null) {
+        chunkedImage = new ChunkedPathsImage(template, chunk);
+      } else {
+        assertFalse(chunkedImage.isComplete());
+        assertTrue(chunkedImage.add(chunk));
+      }
+      chunks++;
+    }
+    assertEquals((total + chunkSize - 1) / chunkSize, chunks);
+    assertTrue(chunkedImage.isComplete());
+    return chunkedImage.getPaths();
+  }
+
+  @Test
+  public void testChunksRebuildImage() {
+    PathsUpdate image = createImage();
+    UpdateableAuthzPaths[] templates = {new UpdateableAuthzPaths(PREFIXES),
+        new UpdateableAuthzPaths(PREFIXES, true, false),
+        new UpdateableAuthzPaths(PREFIXES, false, true)};
+    for (UpdateableAuthzPaths template : templates) {
+      for (int chunkSize : new int[] {1, 3, 1000}) {
+        UpdateableAuthzPaths paths = receive(template, image, chunkSize);
+        assertEquals(10, paths.getLastUpdatedSeqNum());
+        assertEquals(3, paths.getLastUpdatedImgNum());
+        assertEquals(template.isLockFree(), paths.isLockFree());
+        assertAuthzObjs(paths, WAREHOUSE, "default");
+        assertAuthzObjs(paths, WAREHOUSE + "/db1", "db1");
+        assertAuthzObjs(paths, WAREHOUSE + "/db1/tbl11/part_duplicate2/part_duplicate1",
+            "db1.tbl11");
+        assertAuthzObjs(paths, WAREHOUSE + "/db1/tbl11/a");
+        assertAuthzObjs(paths, WAREHOUSE + "/db1/tbl11/a/b", "db1.tbl12");
+        assertAuthzObjs(paths, "/user/hive/w2/db2/tbl21", "db2.tbl21", "db2.tbl22");
+
+        // Same entries as the full image
+        TPathsDump rebuilt = paths.getPathsDump().createPathsDump(false);
+        assertEquals(image.toThrift().getPathsDump().getNodeMapSize(), rebuilt.getNodeMapSize());
+
+        // Updates are applied to the new paths
+        PathsUpdate update = new PathsUpdate(11, false);
+        update.newPathChange("db1.tbl13").addToAddPaths(
+            HMSPaths.getPathElements(WAREHOUSE + "/db1/tbl13"));
+        paths.updatePartial(Lists.newArrayList(update), new ReentrantReadWriteLock());
+        assertAuthzObjs(paths, WAREHOUSE + "/db1/tbl13", "db1.tbl13");
+        assertAuthzObjs(template, WAREHOUSE + "/db1");
+      }
+    }
+  }
+
+  @Test
+  public void testUnexpectedChunks() {
+    PathsUpdate image = createImage();
+    UpdateableAuthzPaths template = new UpdateableAuthzPaths(PREFIXES);
+    ChunkedPathsImage chunkedImage =
+        new ChunkedPathsImage(template, ChunkedPathsImage.createChunk(image, TOKEN, 1, 4));
+    assertEquals(5, chunkedImage.getNextCursor());
+    assertEquals(10, chunkedImage.getSeqNum());
+    assertEquals(3, chunkedImage.getImgNum());
+    assertEquals(TOKEN, chunkedImage.getToken());
+
+    // Chunks out of order, of other images or not chunks at all are not added
+    assertFalse(chunkedImage.add(ChunkedPathsImage.createChunk(image, TOKEN, 9, 4)));
+    assertFalse(chunkedImage.add(ChunkedPathsImage.createChunk(image, TOKEN, 1, 4)));
+    PathsUpdate otherImage = createImage();
+    otherImage.setSeqNum(11);
+    assertFalse(chunkedImage.add(ChunkedPathsImage.createChunk(otherImage, TOKEN, 5, 4)));
+    // Same image numbers, but another build of the image
+    assertFalse(chunkedImage.add(ChunkedPathsImage.createChunk(image, TOKEN + 1, 5, 4)));
+    assertFalse(chunkedImage.add(new PathsUpdate(11, false)));
+    assertFalse(chunkedImage.add(image));
+    assertEquals(5, chunkedImage.getNextCursor());
+    assertFalse(ChunkedPathsImage.isFirstChunk(ChunkedPathsImage.createChunk(image, TOKEN, 5, 4)));
+    assertFalse(ChunkedPathsImage.isFirstChunk(image));
+
+    try {
+      chunkedImage.getPaths();
+      fail("The image is not complete");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    try {
+      ChunkedPathsImage.createChunk(image, TOKEN,
+          image.toThrift().getPathsDump().getNodeMapSize() + 1, 4);
+      fail("The cursor is outside of the image");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+}
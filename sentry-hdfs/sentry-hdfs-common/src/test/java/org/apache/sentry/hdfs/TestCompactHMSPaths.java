@@ -0,0 +1,258 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import static org.junit.Assert.*;
+
+public class TestCompactHMSPaths {
+  private static final String[] PREFIXES = {"/user/hive/warehouse", "/user/hive/w2"};
+  private static final String WAREHOUSE = "/user/hive/warehouse";
+
+  private static List<List<String>> paths(String... paths) {
+    return HMSPaths.getPathsElements(Arrays.asList(paths));
+  }
+
+  private static String[] elements(String path) {
+    List<String> elements = HMSPaths.getPathElements(path);
+    return elements.toArray(new String[elements.size()]);
+  }
+
+  private static void assertAuthzObjs(AuthzPaths authzPaths, String path, String... expected) {
+    Set<String> found = authzPaths.findAuthzObjectExactMatches(elements(path));
+    if (expected.length == 0) {
+      assertNull(path, found);
+    } else {
+      assertEquals(path, new HashSet<>(Arrays.asList(expected)), new HashSet<>(found));
+    }
+  }
+
+  /**
+   * Applies the same changes to both implementations, including renames with and
+   * without a location change, paths shared by several objects and paths outside
+   * of the prefixes.
+   */
+  private static void applyChanges(MutableAuthzPaths paths) {
+    paths.addPathsToAuthzObject("default", paths(WAREHOUSE), true);
+    paths.addPathsToAuthzObject("db1", paths(WAREHOUSE + "/db1"), true);
+    paths.addPathsToAuthzObject("db1.tbl1", paths(WAREHOUSE + "/db1/tbl1"), true);
+    paths.addPathsToAuthzObject("db1.tbl1", paths(WAREHOUSE + "/db1/tbl1/p=1",
+        WAREHOUSE + "/db1/tbl1/p=2", WAREHOUSE + "/db1/tbl1/p=3"), true);
+    paths.addPathsToAuthzObject("db1.tbl2", paths(WAREHOUSE + "/db1/tbl2"), true);
+    paths.addPathsToAuthzObject("db1.ext", paths(WAREHOUSE + "/db1/tbl2", "/tmp/ext"), true);
+    paths.addPathsToAuthzObject("db2", paths("/user/hive/w2/db2"), true);
+    paths.addPathsToAuthzObject("db2.tbl1", paths("/user/hive/w2/db2/tbl1/a/b/c"), true);
+
+    paths.deletePathsFromAuthzObject("db1.tbl1", paths(WAREHOUSE + "/db1/tbl1/p=2"));
+    paths.renameAuthzObject("db1.tbl1", paths(WAREHOUSE + "/db1/tbl1"),
+        "db1.tbl3", paths(WAREHOUSE + "/db1/tbl3"));
+    paths.renameAuthzObject("db1.tbl2", paths(WAREHOUSE + "/db1/tbl2"),
+        "db1.tbl4", paths(WAREHOUSE + "/db1/tbl2"));
+    paths.deleteAuthzObject("db1.ext");
+    paths.deleteAuthzObject("db2.tbl1");
+  }
+
+  @Test
+  public void testSameLookupsAsHMSPaths() {
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    CompactHMSPaths compactPaths = new CompactHMSPaths(PREFIXES);
+    applyChanges(hmsPaths);
+    applyChanges(compactPaths);
+
+    List<String> probes = Lists.newArrayList("/user", "/user/hive", WAREHOUSE,
+        "/user/hive/w2", "/tmp/ext", "/user/hive/w2/db2/tbl1/a",
+        "/user/hive/w2/db2/tbl1/a/b/c");
+    for (String db : new String[] {WAREHOUSE + "/db1", "/user/hive/w2/db2"}) {
+      probes.add(db);
+      for (String tbl : new String[] {"tbl1", "tbl2", "tbl3", "tbl4"}) {
+        probes.add(db + "/" + tbl);
+        for (String part : new String[] {"p=1", "p=2", "p=3", "p=4"}) {
+          probes.add(db + "/" + tbl + "/" + part);
+          probes.add(db + "/" + tbl + "/" + part + "/file");
+        }
+      }
+    }
+    for (String probe : probes) {
+      String[] elements = elements(probe);
+      assertEquals(probe, hmsPaths.isUnderPrefix(elements),
+          compactPaths.isUnderPrefix(elements));
+      assertEquals(probe, hmsPaths.findAuthzObject(elements, true),
+          compactPaths.findAuthzObject(elements, true));
+      assertEquals(probe, hmsPaths.findAuthzObject(elements, false),
+          compactPaths.findAuthzObject(elements, false));
+    }
+
+    assertAuthzObjs(compactPaths, WAREHOUSE + "/db1/tbl3/p=3", "db1.tbl3");
+    assertAuthzObjs(compactPaths, WAREHOUSE + "/db1/tbl3/p=2");
+    assertAuthzObjs(compactPaths, WAREHOUSE + "/db1/tbl1");
+    assertAuthzObjs(compactPaths, WAREHOUSE + "/db1/tbl2", "db1.tbl4");
+    assertAuthzObjs(compactPaths, "/user/hive/w2/db2/tbl1/a/b/c");
+  }
+
+  @Test
+  public void testSharedPaths() {
+    CompactHMSPaths paths = new CompactHMSPaths(new String[] {"/"});
+    paths.addPathsToAuthzObject("db1.tbl1", paths("/data/shared"), true);
+    paths.addPathsToAuthzObject("db1.tbl2", paths("/data/shared"), true);
+    paths.addPathsToAuthzObject("db1.tbl3", paths("/data/shared"), true);
+    assertAuthzObjs(paths, "/data/shared", "db1.tbl1", "db1.tbl2", "db1.tbl3");
+
+    paths.deleteAuthzObject("db1.tbl2");
+    assertAuthzObjs(paths, "/data/shared", "db1.tbl1", "db1.tbl3");
+    paths.deletePathsFromAuthzObject("db1.tbl1", paths("/data/shared"));
+    assertAuthzObjs(paths, "/data/shared", "db1.tbl3");
+    paths.deleteAuthzObject("db1.tbl3");
+    assertAuthzObjs(paths, "/data/shared");
+    assertNull(paths.findAuthzObject(elements("/data"), true));
+  }
+
+  @Test
+  public void testAuthzObjsAreCaseInsensitive() {
+    CompactHMSPaths paths = new CompactHMSPaths(PREFIXES);
+    paths.addPathsToAuthzObject("db1", paths(WAREHOUSE + "/db1"), true);
+    paths.addPathsToAuthzObject("DB1", paths(WAREHOUSE + "/db1/x"), false);
+    assertAuthzObjs(paths, WAREHOUSE + "/db1/x", "db1");
+
+    paths.deleteAuthzObject("Db1");
+    assertAuthzObjs(paths, WAREHOUSE + "/db1");
+    assertAuthzObjs(paths, WAREHOUSE + "/db1/x");
+    assertEquals(0, paths.getAuthzObjCount());
+  }
+
+  @Test
+  public void testManyChildren() {
+    CompactHMSPaths paths = new CompactHMSPaths(PREFIXES);
+    List<String> partitions = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      partitions.add(WAREHOUSE + "/db1/tbl1/p=" + i);
+    }
+    paths.addPathsToAuthzObject("db1.tbl1", paths(WAREHOUSE + "/db1/tbl1"), true);
+    paths.addPathsToAuthzObject("db1.tbl1",
+        HMSPaths.getPathsElements(partitions), true);
+    for (int i = 0; i < 1000; i += 2) {
+      paths.deletePathsFromAuthzObject("db1.tbl1", paths(partitions.get(i)));
+    }
+    for (int i = 0; i < 1000; i++) {
+      if (i % 2 == 0) {
+        assertAuthzObjs(paths, partitions.get(i));
+      } else {
+        assertAuthzObjs(paths, partitions.get(i), "db1.tbl1");
+      }
+    }
+  }
+
+  @Test
+  public void testStringsAreReleased() {
+    CompactHMSPaths paths = new CompactHMSPaths(PREFIXES);
+    int pathElements = paths.getPathElementCount();
+    paths.addPathsToAuthzObject("db1", paths(WAREHOUSE + "/db1"), true);
+    paths.addPathsToAuthzObject("db1.tbl1", paths(WAREHOUSE + "/db1/tbl1",
+        WAREHOUSE + "/db1/tbl1/p=1", WAREHOUSE + "/db1/tbl1/p=2"), true);
+    paths.renameAuthzObject("db1.tbl1", paths(WAREHOUSE + "/db1/tbl1"),
+        "db1.tbl2", paths(WAREHOUSE + "/db1/tbl2"));
+    assertEquals(2, paths.getAuthzObjCount());
+    assertEquals(pathElements + 4, paths.getPathElementCount());
+
+    paths.deleteAuthzObject("db1.tbl2");
+    paths.deleteAuthzObject("db1");
+    assertEquals(0, paths.getAuthzObjCount());
+    assertEquals(pathElements, paths.getPathElementCount());
+    assertNull(paths.findAuthzObject(elements(WAREHOUSE + "/db1/tbl2/p=1"), true));
+  }
+
+  @Test
+  public void testDumpCompatibleWithHMSPaths() {
+    CompactHMSPaths compactPaths = new CompactHMSPaths(PREFIXES);
+    compactPaths._addAuthzObject("default", Lists.newArrayList(WAREHOUSE));
+    compactPaths._addAuthzObject("db1", Lists.newArrayList(WAREHOUSE + "/db1"));
+    compactPaths._addAuthzObject("db1.tbl11", Lists.newArrayList(WAREHOUSE + "/db1/tbl11"));
+    compactPaths._addPathsToAuthzObject("db1.tbl11", Lists.newArrayList(
+        WAREHOUSE + "/db1/tbl11/part_duplicate1",
+        WAREHOUSE + "/db1/tbl11/part_duplicate1/part_duplicate2",
+        WAREHOUSE + "/db1/tbl11/part_duplicate2",
+        WAREHOUSE + "/db1/tbl11/part_duplicate2/part_duplicate1"));
+    compactPaths._addAuthzObject("db2.tbl21", Lists.newArrayList("/user/hive/w2/db2/tbl21"));
+
+    TPathsDump dump = compactPaths.getPathsDump().createPathsDump(true);
+    assertEquals(new HashSet<>(Arrays.asList("part_duplicate1", "part_duplicate2")),
+        new HashSet<>(dump.getDupStringValues()));
+
+    // Both implementations read each other's dumps
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES).getPathsDump().initializeFromDump(dump);
+    CompactHMSPaths compactCopy = compactPaths.getPathsDump().initializeFromDump(
+        hmsPaths.getPathsDump().createPathsDump(false));
+    for (AuthzPaths paths : new AuthzPaths[] {hmsPaths, compactCopy}) {
+      assertAuthzObjs(paths, WAREHOUSE, "default");
+      assertAuthzObjs(paths, WAREHOUSE + "/db1", "db1");
+      assertAuthzObjs(paths, WAREHOUSE + "/db1/tbl11/part_duplicate2/part_duplicate1",
+          "db1.tbl11");
+      assertAuthzObjs(paths, "/user/hive/w2/db2/tbl21", "db2.tbl21");
+    }
+
+    // Only the paths under the prefixes of the receiving side are kept
+    CompactHMSPaths narrowed = new CompactHMSPaths(new String[] {WAREHOUSE})
+        .getPathsDump().initializeFromDump(dump);
+    assertAuthzObjs(narrowed, WAREHOUSE + "/db1", "db1");
+    assertAuthzObjs(narrowed, "/user/hive/w2/db2/tbl21");
+
+    // The copy is fully functional
+    compactCopy.deleteAuthzObject("db1.tbl11");
+    assertAuthzObjs(compactCopy, WAREHOUSE + "/db1/tbl11/part_duplicate1");
+    assertAuthzObjs(compactCopy, WAREHOUSE + "/db1", "db1");
+  }
+
+  @Test
+  public void testUpdateableCompactPaths() {
+    for (boolean lockFree : new boolean[] {false, true}) {
+      UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(PREFIXES, lockFree, true);
+      ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+      PathsUpdate update = new PathsUpdate(1, false);
+      update.newPathChange("db1").addToAddPaths(HMSPaths.getPathElements(WAREHOUSE + "/db1"));
+      update.newPathChange("db1.tbl1")
+          .addToAddPaths(HMSPaths.getPathElements(WAREHOUSE + "/db1/tbl1"));
+      authzPaths.updatePartial(Collections.singletonList(update), lock);
+      assertAuthzObjs(authzPaths, WAREHOUSE + "/db1/tbl1", "db1.tbl1");
+
+      update = new PathsUpdate(2, false);
+      update.newPathChange("db1.tbl2")
+          .addToAddPaths(HMSPaths.getPathElements(WAREHOUSE + "/db1/tbl2"));
+      update.newPathChange("db1.tbl1")
+          .addToDelPaths(HMSPaths.getPathElements(WAREHOUSE + "/db1/tbl1"));
+      authzPaths.updatePartial(Collections.singletonList(update), lock);
+      assertAuthzObjs(authzPaths, WAREHOUSE + "/db1/tbl2", "db1.tbl2");
+      assertAuthzObjs(authzPaths, WAREHOUSE + "/db1/tbl1");
+
+      PathsUpdate full = authzPaths.createFullImageUpdate(2);
+      UpdateableAuthzPaths copy = authzPaths.updateFull(full);
+      assertAuthzObjs(copy, WAREHOUSE + "/db1/tbl2", "db1.tbl2");
+      assertEquals(2, copy.getLastUpdatedSeqNum());
+    }
+  }
+}
@@ -93,4 +93,26 @@ public class TestPathsUpdate {
     update.JSONDeserialize(update.JSONSerialize());
     junit.framework.Assert.assertEquals(before, update.toThrift());
   }
+
+  @Test
+  public void testSerializeDeserializeInCompressedString() throws SentryMalformedPathException, TException{
+    PathsUpdate update = new PathsUpdate(1, true);
+    for (int i = 0; i < 100; i++) {
+      TPathChanges pathChange = update.newPathChange("db1.tbl" + i);
+      String path = PathsUpdate.parsePath("hdfs:///db1/tbl" + i + "/part121");
+      pathChange.addToAddPaths(Lists.newArrayList(path.split("/")));
+    }
+
+    String compressed = update.serializeToString();
+    String json = update.JSONSerialize();
+    Assert.assertTrue(compressed.length() < json.length() / 2);
+    PathsUpdate fromCompressed = new PathsUpdate();
+    fromCompressed.deserializeFromString(compressed);
+    Assert.assertEquals(update.toThrift(), fromCompressed.toThrift());
+
+    // Updates stored in JSON are still read
+    PathsUpdate fromJSON = new PathsUpdate();
+    fromJSON.deserializeFromString(json);
+    Assert.assertEquals(update.toThrift(), fromJSON.toThrift());
+  }
 }
@@ -40,4 +40,61 @@ public class TestPermissionUpdate {
     update.JSONDeserialize(update.JSONSerialize());
     Assert.assertEquals(before, update.toThrift());
   }
+
+  @Test
+  public void testSerializeDeserializeInCompressedString() throws TException {
+    PermissionsUpdate update = new PermissionsUpdate(0, false);
+    TPrivilegeChanges privUpdate = update.addPrivilegeUpdate(PermissionsUpdate.RENAME_PRIVS);
+    privUpdate.putToAddPrivileges(new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "newAuthz"), "newAuthz");
+    privUpdate.putToDelPrivileges(new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "oldAuthz"), "oldAuthz");
+
+    PermissionsUpdate fromCompressed = new PermissionsUpdate();
+    fromCompressed.deserializeFromString(update.serializeToString());
+    Assert.assertEquals(update.toThrift(), fromCompressed.toThrift());
+    PermissionsUpdate fromJSON = new PermissionsUpdate();
+    fromJSON.deserializeFromString(update.JSONSerialize());
+    Assert.assertEquals(update.toThrift(), fromJSON.toThrift());
+  }
+
+  @Test
+  public void testMerge() {
+    TPrivilegePrincipal role1 = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1");
+    TPrivilegePrincipal role2 = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role2");
+    PermissionsUpdate merged = new PermissionsUpdate();
+
+    PermissionsUpdate grant = new PermissionsUpdate();
+    grant.addPrivilegeUpdate("db1.tbl1").putToAddPrivileges(role1, "SELECT");
+    Assert.assertTrue(merged.merge(grant));
+    grant = new PermissionsUpdate();
+    grant.addPrivilegeUpdate("db1.tbl1").putToAddPrivileges(role1, "INSERT");
+    grant.addPrivilegeUpdate("db1.tbl2").putToAddPrivileges(role1, "SELECT");
+    Assert.assertTrue(merged.merge(grant));
+    PermissionsUpdate revoke = new PermissionsUpdate();
+    revoke.addPrivilegeUpdate("db1").putToDelPrivileges(role2, "ALL");
+    Assert.assertTrue(merged.merge(revoke));
+
+    TPrivilegeChanges changes = merged.addPrivilegeUpdate("db1.tbl1");
+    Assert.assertEquals("SELECT,INSERT", changes.getAddPrivileges().get(role1));
+    Assert.assertEquals("SELECT",
+        merged.addPrivilegeUpdate("db1.tbl2").getAddPrivileges().get(role1));
+    Assert.assertEquals("ALL", merged.addPrivilegeUpdate("db1").getDelPrivileges().get(role2));
+    Assert.assertEquals("SELECT", grant.addPrivilegeUpdate("db1.tbl2").getAddPrivileges().get(role1));
+
+    // A revoke of role1 cascades to the tables granted above, the order matters
+    revoke = new PermissionsUpdate();
+    revoke.addPrivilegeUpdate("db1").putToDelPrivileges(role1, "ALL");
+    TPermissionsUpdate before = merged.toThrift().deepCopy();
+    Assert.assertFalse(merged.merge(revoke));
+    Assert.assertEquals(before, merged.toThrift());
+
+    PermissionsUpdate dropRole = new PermissionsUpdate();
+    dropRole.addPrivilegeUpdate(PermissionsUpdate.ALL_AUTHZ_OBJ).putToDelPrivileges(
+        new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role3"),
+        PermissionsUpdate.ALL_AUTHZ_OBJ);
+    Assert.assertFalse(merged.merge(dropRole));
+    PermissionsUpdate addGroup = new PermissionsUpdate();
+    addGroup.addRoleUpdate("role3").addToAddGroups("group1");
+    Assert.assertFalse(merged.merge(addGroup));
+    Assert.assertFalse(merged.merge(new PermissionsUpdate(1, true)));
+  }
 }
@@ -18,6 +18,8 @@
 package org.apache.sentry.hdfs;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.sentry.hdfs.service.thrift.TPathChanges;
@@ -148,6 +150,79 @@ public class TestUpdateableAuthzPaths {
     assertTrue(hmsPaths.findAuthzObject(new String[]{"user", "hive", "warehouse"}).contains("default"));
   }
 
+  @Test
+  public void testLockFreeUpdates() throws SentryMalformedPathException {
+    UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(new String[] {"/"}, true);
+    assertTrue(authzPaths.isLockFree());
+    ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    PathsUpdate update = new PathsUpdate(2, false);
+    update.newPathChange("db1").addToAddPaths(uriToList("hdfs:///db1"));
+    update.newPathChange("db1.tbl11").addToAddPaths(uriToList("hdfs:///db1/tbl11"));
+    authzPaths.updatePartial(Lists.newArrayList(update), lock);
+    assertEquals(2, authzPaths.getLastUpdatedSeqNum());
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl11"}).contains("db1.tbl11"));
+
+    // Both copies receive every update
+    update = new PathsUpdate(3, false);
+    update.newPathChange("db1.tbl11").addToDelPaths(uriToList("hdfs:///db1/tbl11"));
+    PathsUpdate update2 = new PathsUpdate(4, false);
+    update2.newPathChange("db1.tbl12").addToAddPaths(uriToList("hdfs:///db1/tbl12"));
+    authzPaths.updatePartial(Lists.newArrayList(update, update2), lock);
+    assertEquals(4, authzPaths.getLastUpdatedSeqNum());
+    for (int i = 0; i < 2; i++) {
+      assertEquals("db1", authzPaths.findAuthzObject(new String[]{"db1", "tbl11"}).iterator().next());
+      assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}).contains("db1.tbl12"));
+      authzPaths.updatePartial(Lists.<PathsUpdate>newArrayList(), lock);
+    }
+
+    // Lock-free mode survives a full update
+    PathsUpdate fullUpdate = new PathsUpdate(5, true);
+    fullUpdate.toThrift().setPathsDump(authzPaths.getPathsDump().createPathsDump(true));
+    UpdateableAuthzPaths authzPaths2 = authzPaths.updateFull(fullUpdate);
+    assertTrue(authzPaths2.isLockFree());
+    assertTrue(authzPaths2.findAuthzObjectExactMatches(new String[]{"db1", "tbl12"}).contains("db1.tbl12"));
+  }
+
+  @Test
+  public void testLockFreeLookupsDuringUpdates() throws Exception {
+    final UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(new String[] {"/"}, true);
+    ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    PathsUpdate update = new PathsUpdate(1, false);
+    update.newPathChange("db1.tbl1").addToAddPaths(uriToList("hdfs:///db1/tbl1"));
+    authzPaths.updatePartial(Lists.newArrayList(update), lock);
+
+    final AtomicBoolean done = new AtomicBoolean();
+    final AtomicReference<String> failure = new AtomicReference<>();
+    Thread reader = new Thread() {
+      @Override
+      public void run() {
+        while (!done.get()) {
+          // Every update adds and removes a partition in one batch
+          if (authzPaths.findAuthzObject(new String[]{"db1", "tbl1", "part"}) == null
+              || !authzPaths.isUnderPrefix(new String[]{"db1"})) {
+            failure.set("Table not found");
+          }
+        }
+      }
+    };
+    reader.start();
+    try {
+      for (int i = 2; i < 2000; i++) {
+        update = new PathsUpdate(i, false);
+        update.newPathChange("db1.tbl1").addToDelPaths(uriToList("hdfs:///db1/tbl1/part" + (i - 1)));
+        update.newPathChange("db1.tbl1").addToAddPaths(uriToList("hdfs:///db1/tbl1/part" + i));
+        authzPaths.updatePartial(Lists.newArrayList(update), lock);
+      }
+    } finally {
+      done.set(true);
+      reader.join();
+    }
+    assertNull(failure.get());
+    assertTrue(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl1", "part1999"}).contains("db1.tbl1"));
+    assertNull(authzPaths.findAuthzObjectExactMatches(new String[]{"db1", "tbl1", "part1998"}));
+  }
+
   private HMSPaths createBaseHMSPaths(int dbNum, int tblNum) {
     String db = "db" + dbNum;
     String tbl = "tbl" + dbNum + "" + tblNum;
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.sentry.hdfs.Updateable.Update;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local copy of the paths and permissions of the NameNode, so that a restarted
+ * NameNode only asks Sentry for the updates following the copy instead of full images.
+ * <p>
+ * The file holds both full updates in the Thrift compact encoding and their checksum,
+ * compressed. It is written to a temporary file first and then renamed,
+ * so a NameNode stopped while writing it still finds the previous copy.
+ */
+class AuthzStateCheckpoint {
+  private static final Logger LOG = LoggerFactory.getLogger(AuthzStateCheckpoint.class);
+
+  static final String FILE_NAME = "sentry-authz.checkpoint";
+  private static final int MAGIC = 0x53415a43;
+  private static final int VERSION = 1;
+
+  private final File file;
+
+  AuthzStateCheckpoint(File dir) {
+    this.file = new File(dir, FILE_NAME);
+  }
+
+  /**
+   * Replaces the checkpoint with the given full updates.
+   */
+  void save(PathsUpdate paths, PermissionsUpdate perms) throws IOException {
+    long start = System.currentTimeMillis();
+    File tmp = new File(file.getPath() + ".tmp");
+    CRC32 crc = new CRC32();
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        new FileOutputStream(tmp)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      DeflaterOutputStream compressed = new DeflaterOutputStream(out, deflater);
+      DataOutputStream data = new DataOutputStream(compressed);
+      writeUpdate(data, paths, crc);
+      writeUpdate(data, perms, crc);
+      data.writeLong(crc.getValue());
+      data.flush();
+      compressed.finish();
+    } finally {
+      deflater.end();
+    }
+    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    LOG.info("Saved checkpoint of paths seq Num [{}] img Num [{}], perms seq Num [{}] " +
+        "to {} in {}ms", paths.getSeqNum(), paths.getImgNum(), perms.getSeqNum(), file,
+        System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Reads the checkpoint into the given empty updates.
+   *
+   * @return false if there is no checkpoint
+   * @throws IOException if the checkpoint cannot be read or is corrupted
+   */
+  boolean load(PathsUpdate paths, PermissionsUpdate perms) throws IOException {
+    if (!file.exists()) {
+      return false;
+    }
+    CRC32 crc = new CRC32();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+        new FileInputStream(file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a checkpoint file: " + file);
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported checkpoint version " + version + ": " + file);
+      }
+      DataInputStream data = new DataInputStream(new InflaterInputStream(in));
+      readUpdate(data, paths, crc);
+      readUpdate(data, perms, crc);
+      if (data.readLong() != crc.getValue()) {
+        throw new IOException("Checksum mismatch in checkpoint file: " + file);
+      }
+    }
+    LOG.info("Loaded checkpoint of paths seq Num [{}] img Num [{}], perms seq Num [{}] from {}",
+        paths.getSeqNum(), paths.getImgNum(), perms.getSeqNum(), file);
+    return true;
+  }
+
+  private static void writeUpdate(DataOutputStream out, Update update, CRC32 crc)
+      throws IOException {
+    byte[] bytes = update.serialize();
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    crc.update(bytes);
+  }
+
+  private static void readUpdate(DataInputStream in, Update update, CRC32 crc)
+      throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      throw new IOException("Invalid update length " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    crc.update(bytes);
+    update.deserialize(bytes);
+  }
+}
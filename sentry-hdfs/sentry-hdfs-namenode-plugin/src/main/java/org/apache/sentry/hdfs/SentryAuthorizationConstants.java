@@ -53,6 +53,32 @@ public final class SentryAuthorizationConstants {
       "include-hdfs-authz-as-acl";
   public static final boolean INCLUDE_HDFS_AUTHZ_AS_ACL_DEFAULT = false;
 
+  // Path lookups never wait for updates, at the cost of keeping two copies of the paths
+  public static final String LOCK_FREE_PATHS_KEY = CONFIG_PREFIX +
+      "lock-free-paths";
+  public static final boolean LOCK_FREE_PATHS_DEFAULT = false;
+
+  // Paths are kept in CompactHMSPaths, which needs less memory
+  public static final String COMPACT_PATHS_KEY = CONFIG_PREFIX +
+      "compact-paths";
+  public static final boolean COMPACT_PATHS_DEFAULT = false;
+
+  // Maximum number of path entries in a chunk of a full paths image, 0 to receive
+  // full images in one response
+  public static final String PATHS_CHUNK_SIZE_KEY = CONFIG_PREFIX +
+      "paths-chunk-size";
+  public static final int PATHS_CHUNK_SIZE_DEFAULT = 0;
+
+  // Local directory of the checkpoint of the paths and permissions loaded at startup,
+  // no checkpoint is kept if empty
+  public static final String CHECKPOINT_DIR_KEY = CONFIG_PREFIX +
+      "checkpoint-dir";
+  public static final String CHECKPOINT_DIR_DEFAULT = "";
+
+  public static final String CHECKPOINT_INTERVAL_KEY = CONFIG_PREFIX +
+      "checkpoint-interval.ms";
+  public static final long CHECKPOINT_INTERVAL_DEFAULT = 10 * 60 * 1000L;
+
   private SentryAuthorizationConstants() {
     // Make constructor private to avoid instantiation
   }
@@ -18,8 +18,11 @@
 
 package org.apache.sentry.hdfs;
 
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -44,10 +47,27 @@ public class SentryAuthorizationInfo implements Runnable {
       LoggerFactory.getLogger(SentryAuthorizationInfo.class);
 
   private static final String SENTRY_AUTHORIZATION_INFO_THREAD_NAME = "sentry-auth-info-refresher";
+  private static final String SENTRY_AUTHORIZATION_CHECKPOINT_THREAD_NAME = "sentry-auth-info-checkpoint";
+  // Apparently setFAcl throws error if 'group::---' is not present
+  private static final AclEntry NO_GROUP = AclEntry.parseAclEntry("group::---", true);
 
   private SentryUpdater updater;
   private volatile UpdateableAuthzPaths authzPaths;
   private volatile UpdateableAuthzPermissions authzPermissions;
+  // Full paths image being received in chunks, only used by the updating thread
+  private ChunkedPathsImage pathsImage;
+  // Whether the last update received a chunk of an incomplete full paths image
+  private boolean morePathsChunks;
+  // Local copy of the paths and permissions, null if not configured
+  private AuthzStateCheckpoint checkpoint;
+  private long checkpointIntervalMillisec;
+  private long lastCheckpoint;
+  // Set by the checkpoint thread once the images are saved
+  private volatile long checkpointPathsSeqNum;
+  private volatile long checkpointPermsSeqNum;
+  // Writes the checkpoints, so the updating thread only takes the images
+  private ExecutorService checkpointExecutor;
+  private Future<?> checkpointSave;
 
   private int refreshIntervalMillisec;
   private int staleThresholdMillisec;
@@ -96,8 +116,32 @@ public class SentryAuthorizationInfo implements Runnable {
           refreshIntervalMillisec, retryWaitMillisec);
       LOG.info("stale threshold [{}]ms", staleThresholdMillisec);
 
-      authzPaths = new UpdateableAuthzPaths(newPathPrefixes);
+      boolean lockFreePaths = conf.getBoolean(
+          SentryAuthorizationConstants.LOCK_FREE_PATHS_KEY,
+          SentryAuthorizationConstants.LOCK_FREE_PATHS_DEFAULT);
+      LOG.info("Lock-free path lookups [{}]", lockFreePaths);
+      boolean compactPaths = conf.getBoolean(
+          SentryAuthorizationConstants.COMPACT_PATHS_KEY,
+          SentryAuthorizationConstants.COMPACT_PATHS_DEFAULT);
+      LOG.info("Compact paths [{}]", compactPaths);
+
+      authzPaths = new UpdateableAuthzPaths(newPathPrefixes, lockFreePaths, compactPaths);
       authzPermissions = new UpdateableAuthzPermissions();
+      String checkpointDir = conf.getTrimmed(
+          SentryAuthorizationConstants.CHECKPOINT_DIR_KEY,
+          SentryAuthorizationConstants.CHECKPOINT_DIR_DEFAULT);
+      if (!checkpointDir.isEmpty()) {
+        checkpoint = new AuthzStateCheckpoint(new File(checkpointDir));
+        checkpointIntervalMillisec = conf.getLong(
+            SentryAuthorizationConstants.CHECKPOINT_INTERVAL_KEY,
+            SentryAuthorizationConstants.CHECKPOINT_INTERVAL_DEFAULT);
+        LOG.info("Checkpoint directory [{}], interval [{}]ms", checkpointDir,
+            checkpointIntervalMillisec);
+        checkpointExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat(SENTRY_AUTHORIZATION_CHECKPOINT_THREAD_NAME)
+            .setDaemon(true)
+            .build());
+      }
       waitUntil = System.currentTimeMillis();
       lastStaleReport = 0;
       updater = new SentryUpdater(conf, this);
@@ -128,7 +172,25 @@ public class SentryAuthorizationInfo implements Runnable {
     return authzPermissions;
   }
 
+  ChunkedPathsImage getPathsImage() {
+    return pathsImage;
+  }
+
+  /**
+   * Updates until the full paths image being received in chunks, if any, is complete.
+   * Every repeated update receives the next chunk, or restarts the image once after a
+   * chunk of another build of it, so there are at most as many updates as chunks plus one.
+   */
+  private boolean updateAll() {
+    boolean success;
+    do {
+      success = update();
+    } while (success && morePathsChunks);
+    return success;
+  }
+
   private boolean update() {
+    morePathsChunks = false;
     //Looks like getting same updates multiple times
     SentryAuthzUpdate updates = updater.getUpdates();
     // Updates can be null if Sentry Service is un-reachable
@@ -140,8 +202,9 @@ public class SentryAuthorizationInfo implements Runnable {
       LOG.info("Received updates from Sentry Server. Size of PathUpdates {} PermUpdates {}",
           updates.getPathUpdates().size(), updates.getPermUpdates().size());
       LOG.debug("Processing updates " + updates.dumpContent());
+      UpdateableAuthzPaths basePaths = receivePathsChunk(updates.getPathUpdates());
       UpdateableAuthzPaths newAuthzPaths = processUpdates(
-          updates.getPathUpdates(), authzPaths);
+          updates.getPathUpdates(), basePaths);
       UpdateableAuthzPermissions newAuthzPerms = processUpdates(
           updates.getPermUpdates(), authzPermissions);
 
@@ -191,6 +254,138 @@ public class SentryAuthorizationInfo implements Runnable {
     return false;
   }
 
+  /**
+   * Adds a chunk of a full paths image at the head of the updates to the image being
+   * received and removes it from the updates.
+   * <p>
+   * A chunk of another build of the image, i.e. with another image token, drops the image
+   * being received, and the image is requested again from its first chunk right away.
+   *
+   * @return the paths to apply the remaining updates to: the paths of the image if it is
+   *         complete, else the current paths
+   */
+  private UpdateableAuthzPaths receivePathsChunk(List<PathsUpdate> updates) {
+    if (updates.isEmpty() || !updates.get(0).isFullImageChunk()) {
+      if (pathsImage != null && !updates.isEmpty()) {
+        LOG.info("Dropping incomplete full paths image, received other paths updates");
+        pathsImage = null;
+      }
+      return authzPaths;
+    }
+    PathsUpdate chunk = updates.remove(0);
+    try {
+      if (ChunkedPathsImage.isFirstChunk(chunk)) {
+        if (pathsImage != null) {
+          LOG.info("Dropping incomplete full paths image, received the first chunk of " +
+              "another image");
+        }
+        LOG.info("Receiving full paths image in chunks: seq Num [{}], img Num [{}], " +
+            "token [{}]", chunk.getSeqNum(), chunk.getImgNum(),
+            chunk.toThrift().getPathsDump().getImageToken());
+        pathsImage = new ChunkedPathsImage(authzPaths, chunk);
+      } else if (pathsImage == null || !pathsImage.add(chunk)) {
+        LOG.warn("Dropping full paths image, received an unexpected chunk: seq Num [{}], " +
+            "img Num [{}], token [{}]", chunk.getSeqNum(), chunk.getImgNum(),
+            chunk.toThrift().getPathsDump().getImageToken());
+        pathsImage = null;
+        // Start over with the first chunk of the image the server has now
+        morePathsChunks = true;
+        return authzPaths;
+      }
+    } catch (RuntimeException e) {
+      // The image may be partially updated by the chunk, start over
+      pathsImage = null;
+      throw e;
+    }
+    if (!pathsImage.isComplete()) {
+      morePathsChunks = true;
+      return authzPaths;
+    }
+    LOG.info("Finished receiving full paths image in chunks");
+    UpdateableAuthzPaths newAuthzPaths = pathsImage.getPaths();
+    pathsImage = null;
+    return newAuthzPaths;
+  }
+
+  /**
+   * Replaces the initial paths and permissions with the checkpoint, if any, so that only
+   * the updates following it are requested from Sentry.
+   */
+  private void loadCheckpoint() {
+    PathsUpdate pathsUpdate = new PathsUpdate();
+    PermissionsUpdate permsUpdate = new PermissionsUpdate();
+    try {
+      if (!checkpoint.load(pathsUpdate, permsUpdate)) {
+        LOG.info("No checkpoint found, requesting full images from Sentry");
+        return;
+      }
+      if (!pathsUpdate.hasFullImage() || !permsUpdate.hasFullImage()) {
+        LOG.warn("Ignoring checkpoint without full images");
+        return;
+      }
+      UpdateableAuthzPaths newAuthzPaths = authzPaths.updateFull(pathsUpdate);
+      UpdateableAuthzPermissions newAuthzPerms = authzPermissions.updateFull(permsUpdate);
+      lock.writeLock().lock();
+      try {
+        authzPaths = newAuthzPaths;
+        authzPermissions = newAuthzPerms;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      checkpointPathsSeqNum = pathsUpdate.getSeqNum();
+      checkpointPermsSeqNum = permsUpdate.getSeqNum();
+      lastCheckpoint = System.currentTimeMillis();
+    } catch (Exception e) {
+      LOG.warn("Failed to load checkpoint, requesting full images from Sentry", e);
+    }
+  }
+
+  /**
+   * Saves the current paths and permissions if the checkpoint interval has passed and
+   * they changed since the last checkpoint. The full images are taken under the lock on
+   * the updating thread, serializing and writing them is left to the checkpoint thread.
+   * A checkpoint is skipped while the previous one is still being written.
+   */
+  private void saveCheckpoint() {
+    long now = System.currentTimeMillis();
+    final long pathsSeqNum = authzPaths.getLastUpdatedSeqNum();
+    final long permsSeqNum = authzPermissions.getLastUpdatedSeqNum();
+    if (now - lastCheckpoint < checkpointIntervalMillisec
+        || pathsSeqNum == ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED
+        || permsSeqNum == ServiceConstants.SEQUENCE_NUMBER_UPDATE_UNINITIALIZED
+        || (pathsSeqNum == checkpointPathsSeqNum && permsSeqNum == checkpointPermsSeqNum)
+        || (checkpointSave != null && !checkpointSave.isDone())) {
+      return;
+    }
+    lastCheckpoint = now;
+    final PathsUpdate pathsUpdate;
+    final PermissionsUpdate permsUpdate;
+    lock.readLock().lock();
+    try {
+      pathsUpdate = authzPaths.createFullImageUpdate(pathsSeqNum);
+      pathsUpdate.setImgNum(authzPaths.getLastUpdatedImgNum());
+      permsUpdate = authzPermissions.createFullImageUpdate(permsSeqNum);
+    } catch (Exception e) {
+      LOG.warn("Failed to take checkpoint, will retry in [{}]ms", checkpointIntervalMillisec, e);
+      return;
+    } finally {
+      lock.readLock().unlock();
+    }
+    checkpointSave = checkpointExecutor.submit(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          checkpoint.save(pathsUpdate, permsUpdate);
+          checkpointPathsSeqNum = pathsSeqNum;
+          checkpointPermsSeqNum = permsSeqNum;
+        } catch (Exception e) {
+          LOG.warn("Failed to save checkpoint, will retry in [{}]ms",
+              checkpointIntervalMillisec, e);
+        }
+      }
+    });
+  }
+
   private <K extends Update, V extends Updateable<K>> V processUpdates(List<K> updates,
       V updateable) {
     // In a list of Updates, if there is a full Update, it will be the first
@@ -226,7 +421,7 @@ public class SentryAuthorizationInfo implements Runnable {
       if (waitUntil > currTime) {
         Thread.sleep(waitUntil - currTime);
       }
-      success = update();
+      success = updateAll();
     } catch (Exception ex) {
       success = false;
       LOG.warn("Failed to update, will retry in [{}]ms, error: ", 
@@ -240,6 +435,9 @@ public class SentryAuthorizationInfo implements Runnable {
       // we reset lastUpdate only on successful pulling
       lastUpdate = System.currentTimeMillis();
       waitUntil = lastUpdate;
+      if (checkpoint != null) {
+        saveCheckpoint();
+      }
     } else {
       waitUntil = System.currentTimeMillis() + retryWaitMillisec;
     }
@@ -248,8 +446,11 @@ public class SentryAuthorizationInfo implements Runnable {
   public void start() {
     if (authzPaths != null || authzPermissions != null) {
       boolean success = false;
+      if (checkpoint != null) {
+        loadCheckpoint();
+      }
       try {
-        success = update();
+        success = updateAll();
       } catch (Exception ex) {
         success = false;
         LOG.warn("Failed to do initial update, will retry in [{}]ms, error: ",
@@ -272,6 +473,10 @@ public class SentryAuthorizationInfo implements Runnable {
     if (authzPaths != null) {
       LOG.info(getClass().getSimpleName() + ": Stopping");
       executor.shutdownNow();
+      if (checkpointExecutor != null) {
+        // Let a checkpoint being written complete
+        checkpointExecutor.shutdown();
+      }
     }
   }
 
@@ -287,6 +492,10 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public boolean isUnderPrefix(String[] pathElements) {
+    UpdateableAuthzPaths paths = authzPaths;
+    if (paths.isLockFree()) {
+      return paths.isUnderPrefix(pathElements);
+    }
     lock.readLock().lock();
     try {
       return authzPaths.isUnderPrefix(pathElements);
@@ -301,6 +510,10 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public boolean doesBelongToAuthzObject(String[] pathElements) {
+    UpdateableAuthzPaths paths = authzPaths;
+    if (paths.isLockFree()) {
+      return paths.findAuthzObject(pathElements) != null;
+    }
     lock.readLock().lock();
     try {
       return authzPaths.findAuthzObject(pathElements) != null;
@@ -310,6 +523,11 @@ public class SentryAuthorizationInfo implements Runnable {
   }
 
   public boolean isSentryManaged(final String[] pathElements) {
+    UpdateableAuthzPaths paths = authzPaths;
+    if (paths.isLockFree()) {
+      return paths.isUnderPrefix(pathElements) &&
+          paths.findAuthzObject(pathElements) != null;
+    }
     lock.readLock().lock();
     try {
       return authzPaths.isUnderPrefix(pathElements) &&
@@ -321,14 +539,16 @@ public class SentryAuthorizationInfo implements Runnable {
 
   @SuppressWarnings("unchecked")
   public List<AclEntry> getAclEntries(String[] pathElements) {
+    UpdateableAuthzPaths paths = authzPaths;
+    // Only the permissions need the lock if the paths are lock-free
+    Set<String> authzObjs = paths.isLockFree() ? paths.findAuthzObject(pathElements) : null;
     lock.readLock().lock();
     try {
-      Set<String> authzObjs = authzPaths.findAuthzObject(pathElements);
-      // Apparently setFAcl throws error if 'group::---' is not present
-      AclEntry noGroup = AclEntry.parseAclEntry("group::---", true);
-
+      if (!paths.isLockFree()) {
+        authzObjs = authzPaths.findAuthzObject(pathElements);
+      }
       Set<AclEntry> retSet = new HashSet<>();
-      retSet.add(noGroup);
+      retSet.add(NO_GROUP);
 
       if (authzObjs == null) {
         retSet.addAll(Collections.<AclEntry>emptyList());
@@ -18,7 +18,10 @@
 package org.apache.sentry.hdfs;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import com.google.common.collect.ImmutableList;
 import org.apache.hadoop.fs.permission.AclEntry;
 import org.apache.hadoop.fs.permission.AclEntryScope;
 import org.apache.hadoop.fs.permission.AclEntryType;
@@ -170,6 +173,13 @@ public class SentryPermissions implements AuthzPermissions {
   private static Logger LOG =
           LoggerFactory.getLogger(SentryINodeAttributesProvider.class);
 
+  // ACLs computed by getAcls(), grouped by lower case parent authz object so that
+  // a change on a database drops the ACLs of all its tables at once. The NameNode
+  // asks for the ACLs of managed paths on every permission check and listing,
+  // while privileges and roles only change when an update is applied.
+  private final ConcurrentMap<String, ConcurrentMap<String, List<AclEntry>>> aclCache =
+      new ConcurrentHashMap<>();
+
 
   String getParentAuthzObject(String authzObject) {
     if (authzObject != null) {
@@ -233,15 +243,38 @@ public class SentryPermissions implements AuthzPermissions {
 
   /**
    * Constructs HDFS ACL's based on the permissions granted to the object directly
-   * and inherited from the parents.
+   * and inherited from the parents. The returned list is immutable and shared
+   * between callers until the permissions of the object or of its parent change.
    * @param authzObj Object name for which ACL are needed
    * @return HDFS ACL's
    */
   @Override
   public List<AclEntry> getAcls(String authzObj) {
+    if (authzObj == null) {
+      return computeAcls(null);
+    }
+    String key = authzObj.toLowerCase();
+    String parentKey = getParentAuthzObject(key);
+    ConcurrentMap<String, List<AclEntry>> cached = aclCache.get(parentKey);
+    if (cached == null) {
+      cached = new ConcurrentHashMap<>();
+      ConcurrentMap<String, List<AclEntry>> existing = aclCache.putIfAbsent(parentKey, cached);
+      if (existing != null) {
+        cached = existing;
+      }
+    }
+    List<AclEntry> acls = cached.get(key);
+    if (acls == null) {
+      acls = computeAcls(authzObj);
+      cached.put(key, acls);
+    }
+    return acls;
+  }
+
+  private List<AclEntry> computeAcls(String authzObj) {
     Map<HdfsAclEntity, FsAction> permissions = getPerms(authzObj);
 
-    List<AclEntry> retList = new LinkedList<AclEntry>();
+    ImmutableList.Builder<AclEntry> retList = ImmutableList.builder();
     for (Map.Entry<HdfsAclEntity, FsAction> permission : permissions.entrySet()) {
       AclEntry.Builder builder = new AclEntry.Builder();
       if(permission.getKey().getType() == AclEntryType.GROUP) {
@@ -263,7 +296,37 @@ public class SentryPermissions implements AuthzPermissions {
       builder.setPermission(action);
       retList.add(builder.build());
     }
-    return retList;
+    return retList.build();
+  }
+
+  /**
+   * Drops the cached ACLs of the object and, if it is a parent object, the cached
+   * ACLs of all its children. Must be called whenever the permissions granted on
+   * the object change.
+   * @param authzObj Object whose permissions changed
+   */
+  void invalidateAcls(String authzObj) {
+    if (authzObj == null) {
+      return;
+    }
+    String key = authzObj.toLowerCase();
+    String parentKey = getParentAuthzObject(key);
+    if (parentKey.equals(key)) {
+      aclCache.remove(key);
+    } else {
+      ConcurrentMap<String, List<AclEntry>> cached = aclCache.get(parentKey);
+      if (cached != null) {
+        cached.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Drops all cached ACLs. Must be called whenever the groups of a role change or
+   * permissions change on objects which are not known upfront.
+   */
+  void invalidateAllAcls() {
+    aclCache.clear();
   }
 
   /**
@@ -316,10 +379,12 @@ public class SentryPermissions implements AuthzPermissions {
 
   public void delPrivilegeInfo(String authzObj) {
     privileges.remove(authzObj);
+    invalidateAcls(authzObj);
   }
 
   public void addPrivilegeInfo(PrivilegeInfo privilegeInfo) {
     privileges.put(privilegeInfo.authzObj, privilegeInfo);
+    invalidateAcls(privilegeInfo.authzObj);
   }
 
   public Set<String> getChildren(String authzObj) {
@@ -332,10 +397,12 @@ public class SentryPermissions implements AuthzPermissions {
 
   public void delRoleInfo(String role) {
     roles.remove(role);
+    invalidateAllAcls();
   }
 
   public void addRoleInfo(RoleInfo roleInfo) {
     roles.put(roleInfo.role, roleInfo);
+    invalidateAllAcls();
   }
 
   public String dumpContent() {
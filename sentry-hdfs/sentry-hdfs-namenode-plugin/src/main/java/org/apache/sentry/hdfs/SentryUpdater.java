@@ -26,12 +26,15 @@ class SentryUpdater {
   private SentryHDFSServiceClient sentryClient;
   private final Configuration conf;
   private final SentryAuthorizationInfo authzInfo;
+  private final int pathsChunkSize;
 
   private static final Logger LOG = LoggerFactory.getLogger(SentryUpdater.class);
 
   SentryUpdater(Configuration conf, SentryAuthorizationInfo authzInfo) throws Exception {
     this.conf = conf;
     this.authzInfo = authzInfo;
+    pathsChunkSize = conf.getInt(SentryAuthorizationConstants.PATHS_CHUNK_SIZE_KEY,
+        SentryAuthorizationConstants.PATHS_CHUNK_SIZE_DEFAULT);
   }
 
   SentryAuthzUpdate getUpdates() {
@@ -49,7 +52,8 @@ class SentryUpdater {
       return sentryClient.getAllUpdatesFrom(
           authzInfo.getAuthzPermissions().getLastUpdatedSeqNum() + 1,
           authzInfo.getAuthzPaths().getLastUpdatedSeqNum() + 1,
-          authzInfo.getAuthzPaths().getLastUpdatedImgNum());
+          authzInfo.getAuthzPaths().getLastUpdatedImgNum(),
+          pathsChunkSize, authzInfo.getPathsImage());
     } catch (Exception e)  {
       sentryClient = null;
       LOG.error("Error receiving updates from Sentry", e);
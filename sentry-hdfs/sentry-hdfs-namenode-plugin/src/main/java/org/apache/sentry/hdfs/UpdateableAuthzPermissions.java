@@ -103,6 +103,7 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
         for (RoleInfo rInfo : perms.getAllRoles()) {
           rInfo.delGroup(groupToRemove);
         }
+        perms.invalidateAllAcls();
       }
       RoleInfo rInfo = perms.getRoleInfo(rUpdate.getRole());
       LOG.debug("RoleInfo Before: " + ((rInfo != null)  ? rInfo.toString() : "null"));
@@ -174,6 +175,7 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
           LOG.debug("Role {} is revoked permission on {}", delPrivEntity.getValue(), pInfo.getAuthzObj());
           pInfo.removePermission(delPrivEntity);
         }
+        perms.invalidateAllAcls();
       }
       logPermissionInfo("BEFORE-UPDATE",  pUpdate.getAuthzObj());
       PrivilegeInfo pInfo = perms.getPrivilegeInfo(pUpdate.getAuthzObj());
@@ -246,6 +248,11 @@ public class UpdateableAuthzPermissions implements AuthzPermissions, Updateable<
     FsAction retVal = FsAction.NONE;
     for (String strPriv : strPrivs) {
       FsAction action = ACTION_MAPPING.get(strPriv.toUpperCase());
+      if (action == null) {
+        // Full images created by createFullImageUpdate, e.g. checkpoints, hold the
+        // FsAction symbols of the permissions
+        action = FsAction.getFsAction(strPriv);
+      }
       if (action == null) {
         // Encountered a privilege that is not supported. Since we do not know what
         // to do with it we just drop all access.
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.permission.AclEntry;
+import org.apache.hadoop.fs.permission.FsAction;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+public class TestAuthzStateCheckpoint {
+  private static final String[] PREFIXES = {"/user/hive/warehouse"};
+
+  private File baseDir;
+  private AuthzStateCheckpoint checkpoint;
+
+  @Before
+  public void setUp() {
+    baseDir = Files.createTempDir();
+    checkpoint = new AuthzStateCheckpoint(baseDir);
+  }
+
+  @After
+  public void tearDown() {
+    FileUtil.fullyDelete(baseDir);
+  }
+
+  private static PathsUpdate createPathsImage() {
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    hmsPaths._addAuthzObject("db1", Lists.newArrayList("/user/hive/warehouse/db1"));
+    hmsPaths._addAuthzObject("db1.tbl1", Lists.newArrayList("/user/hive/warehouse/db1/tbl1"));
+    PathsUpdate image = new PathsUpdate(12, 4, true);
+    image.toThrift().setPathsDump(hmsPaths.getPathsDump().createPathsDump(true));
+    return image;
+  }
+
+  private static PermissionsUpdate createPermsImage() {
+    // A grant as sent by the Sentry server, saved as the NameNode does
+    PermissionsUpdate grant = new PermissionsUpdate(7, true);
+    grant.addPrivilegeUpdate("db1.tbl1").putToAddPrivileges(
+        new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1"), "SELECT");
+    grant.addRoleUpdate("role1").addToAddGroups("group1");
+    return new UpdateableAuthzPermissions().updateFull(grant).createFullImageUpdate(7);
+  }
+
+  @Test
+  public void testCheckpointIsLoaded() throws Exception {
+    PathsUpdate pathsUpdate = new PathsUpdate();
+    PermissionsUpdate permsUpdate = new PermissionsUpdate();
+    Assert.assertFalse(checkpoint.load(pathsUpdate, permsUpdate));
+
+    checkpoint.save(createPathsImage(), createPermsImage());
+    // A newer checkpoint replaces the previous one
+    PathsUpdate pathsImage = createPathsImage();
+    pathsImage.setSeqNum(13);
+    checkpoint.save(pathsImage, createPermsImage());
+    Assert.assertEquals(Collections.singletonList(AuthzStateCheckpoint.FILE_NAME),
+        Lists.newArrayList(baseDir.list()));
+
+    Assert.assertTrue(checkpoint.load(pathsUpdate, permsUpdate));
+    UpdateableAuthzPaths paths = new UpdateableAuthzPaths(PREFIXES).updateFull(pathsUpdate);
+    Assert.assertEquals(13, paths.getLastUpdatedSeqNum());
+    Assert.assertEquals(4, paths.getLastUpdatedImgNum());
+    Assert.assertEquals(Collections.singleton("db1.tbl1"), paths.findAuthzObjectExactMatches(
+        new String[] {"user", "hive", "warehouse", "db1", "tbl1"}));
+
+    UpdateableAuthzPermissions perms = new UpdateableAuthzPermissions().updateFull(permsUpdate);
+    Assert.assertEquals(7, perms.getLastUpdatedSeqNum());
+    boolean granted = false;
+    for (AclEntry acl : perms.getAcls("db1.tbl1")) {
+      granted |= "group1".equals(acl.getName())
+          && acl.getPermission() == FsAction.READ_EXECUTE;
+    }
+    Assert.assertTrue(granted);
+  }
+
+  @Test
+  public void testCorruptedCheckpointIsRejected() throws Exception {
+    checkpoint.save(createPathsImage(), createPermsImage());
+    File file = new File(baseDir, AuthzStateCheckpoint.FILE_NAME);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(raf.length() / 2);
+    }
+    try {
+      checkpoint.load(new PathsUpdate(), new PermissionsUpdate());
+      Assert.fail("The checkpoint is truncated");
+    } catch (IOException e) {
+      // expected
+    }
+
+    Files.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, file);
+    try {
+      checkpoint.load(new PathsUpdate(), new PermissionsUpdate());
+      Assert.fail("Not a checkpoint file");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+}
@@ -19,7 +19,9 @@
 
 package org.apache.sentry.hdfs;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.hadoop.fs.permission.AclEntryType;
 import org.apache.hadoop.fs.permission.FsAction;
@@ -155,4 +157,59 @@ public class TestSentryPermissions {
     Assert.assertEquals("Unexpected number of User ACL", 1, userAclCount);
     Assert.assertEquals("Unexpected number of Group ACL", 2, groupAclCount);
   }
+
+  /**
+   * Checks that ACLs are shared until the permissions of the object or its parent change.
+   */
+  @Test
+  public void testAclsCached() {
+    SentryPermissions perms = new SentryPermissions();
+    TPrivilegePrincipal userEntity = new TPrivilegePrincipal(TPrivilegePrincipalType.USER, "user1");
+    SentryPermissions.PrivilegeInfo pInfo = new SentryPermissions.PrivilegeInfo("db1.tb1");
+    pInfo.setPermission(userEntity, FsAction.READ_EXECUTE);
+    perms.addPrivilegeInfo(pInfo);
+
+    List<AclEntry> acls = perms.getAcls("db1.tb1");
+    Assert.assertSame(acls, perms.getAcls("DB1.tb1"));
+    Assert.assertEquals(FsAction.READ_EXECUTE, acls.get(0).getPermission());
+    List<AclEntry> otherAcls = perms.getAcls("db2.tb1");
+    Assert.assertTrue(otherAcls.isEmpty());
+
+    // A grant on the parent changes the ACLs of its children only
+    pInfo = new SentryPermissions.PrivilegeInfo("db1");
+    pInfo.setPermission(userEntity, FsAction.WRITE_EXECUTE);
+    perms.addPrivilegeInfo(pInfo);
+    Assert.assertEquals(FsAction.ALL, perms.getAcls("db1.tb1").get(0).getPermission());
+    Assert.assertSame(otherAcls, perms.getAcls("db2.tb1"));
+
+    perms.delPrivilegeInfo("db1");
+    Assert.assertEquals(FsAction.READ_EXECUTE, perms.getAcls("db1.tb1").get(0).getPermission());
+  }
+
+  /**
+   * Checks that updates of roles and privileges applied to UpdateableAuthzPermissions
+   * are reflected in the ACLs.
+   */
+  @Test
+  public void testAclsInvalidatedByUpdates() {
+    UpdateableAuthzPermissions authzPerms = new UpdateableAuthzPermissions();
+    ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    TPrivilegePrincipal roleEntity = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, "role1");
+
+    PermissionsUpdate update = new PermissionsUpdate(1, false);
+    update.addPrivilegeUpdate("db1.tb1").putToAddPrivileges(roleEntity, "SELECT");
+    update.addRoleUpdate("role1").addToAddGroups("group1");
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertEquals(1, authzPerms.getAcls("db1.tb1").size());
+
+    update = new PermissionsUpdate(2, false);
+    update.addRoleUpdate("role1").addToAddGroups("group2");
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertEquals(2, authzPerms.getAcls("db1.tb1").size());
+
+    update = new PermissionsUpdate(3, false);
+    update.addPrivilegeUpdate("db1.tb1").putToDelPrivileges(roleEntity, "SELECT");
+    authzPerms.updatePartial(Collections.singletonList(update), lock);
+    Assert.assertTrue(authzPerms.getAcls("db1.tb1").isEmpty());
+  }
 }
@@ -46,6 +46,8 @@ class DBUpdateForwarder<K extends Updateable.Update> {
 
   private final ImageRetriever<K> imageRetriever;
   private final DeltaRetriever<K> deltaRetriever;
+  // Last full update served, null if full updates are always retrieved
+  private final FullImageCache<K> fullImageCache;
   private static final Logger LOGGER = LoggerFactory.getLogger(DBUpdateForwarder.class);
 
   //For logging purposes
@@ -53,8 +55,17 @@ class DBUpdateForwarder<K extends Updateable.Update> {
 
   DBUpdateForwarder(final ImageRetriever<K> imageRetriever,
       final DeltaRetriever<K> deltaRetriever) {
+    this(imageRetriever, deltaRetriever, null);
+  }
+
+  /**
+   * @param fullImageCache cache of the full update served to all clients, or null
+   */
+  DBUpdateForwarder(final ImageRetriever<K> imageRetriever,
+      final DeltaRetriever<K> deltaRetriever, final FullImageCache<K> fullImageCache) {
     this.imageRetriever = imageRetriever;
     this.deltaRetriever = deltaRetriever;
+    this.fullImageCache = fullImageCache;
     this.retrieverType = imageRetriever.getClass().getName();
   }
 
@@ -149,14 +160,44 @@ class DBUpdateForwarder<K extends Updateable.Update> {
     return fullImage;
   }
 
+  /**
+   * Makes sure the next full update is retrieved from the persistent storage rather than
+   * served from the cache.
+   */
+  void invalidateFullImage() {
+    if (fullImageCache != null) {
+      fullImageCache.clear();
+    }
+  }
+
   private List<K> retrieveFullImage() throws Exception {
     if (SentryStateBank.isEnabled(SentryServiceState.COMPONENT, SentryServiceState.FULL_UPDATE_RUNNING)){
       LOGGER.debug("({}) A full update is being loaded. Delaying updating client with full image until its finished.", retrieverType);
       return Collections.emptyList();
     }
-    else {
+    if (fullImageCache == null) {
       return Collections.singletonList(imageRetriever.retrieveFullImage());
     }
+
+    // All clients are served the same full update until a new image is persisted or too
+    // many deltas follow it, instead of retrieving it again for every client
+    long curImgNum = imageRetriever.getLatestImageID();
+    K fullImage = fullImageCache.get(curImgNum, deltaRetriever);
+    if (fullImage == null) {
+      synchronized (fullImageCache) {
+        fullImage = fullImageCache.get(curImgNum, deltaRetriever);
+        if (fullImage == null) {
+          SentryHdfsMetricsUtil.getFullImageCacheMissCounter.inc();
+          fullImage = imageRetriever.retrieveFullImage();
+          fullImageCache.put(curImgNum, fullImage);
+          return Collections.singletonList(fullImage);
+        }
+      }
+    }
+    LOGGER.info("({}) Sending cached full update with sequence number {}", retrieverType,
+        fullImage.getSeqNum());
+    SentryHdfsMetricsUtil.getFullImageCacheHitCounter.inc();
+    return Collections.singletonList(fullImage);
   }
 
   /**
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * The last full update retrieved by a {@link DBUpdateForwarder}, kept serialized and
+ * compressed so that it is small compared to the update itself.
+ * <p>
+ * The cached update is served for as long as no newer image has been persisted and
+ * the clients receiving it have at most the configured number of deltas to apply on
+ * top of it. Every request gets its own copy of the update.
+ */
+@ThreadSafe
+class FullImageCache<K extends Updateable.Update> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FullImageCache.class);
+
+  private final Supplier<K> updateFactory;
+  private final long maxDeltas;
+  private volatile Image image;
+
+  private static final class Image {
+    // The latest image number at the time the update was retrieved
+    private final long imgNum;
+    private final long seqNum;
+    private final byte[] data;
+
+    Image(long imgNum, long seqNum, byte[] data) {
+      this.imgNum = imgNum;
+      this.seqNum = seqNum;
+      this.data = data;
+    }
+  }
+
+  /**
+   * @param updateFactory creates the empty updates the cached update is read into
+   * @param maxDeltas the maximum number of deltas newer than the cached update,
+   *                  beyond that a new full update is retrieved
+   */
+  FullImageCache(Supplier<K> updateFactory, long maxDeltas) {
+    this.updateFactory = updateFactory;
+    this.maxDeltas = maxDeltas;
+  }
+
+  /**
+   * @param curImgNum the latest persisted image number
+   * @param deltaRetriever the retriever of the deltas following the cached update
+   * @return a copy of the cached update, or null if it cannot be served anymore
+   */
+  K get(long curImgNum, DeltaRetriever<K> deltaRetriever) throws Exception {
+    Image current = image;
+    if (current == null || current.imgNum != curImgNum) {
+      return null;
+    }
+    long curSeqNum = deltaRetriever.getLatestDeltaID();
+    // The clients continue with the deltas following the cached update
+    if (curSeqNum > current.seqNum && (curSeqNum - current.seqNum > maxDeltas
+        || !deltaRetriever.isDeltaAvailable(current.seqNum + 1))) {
+      return null;
+    }
+    K update = updateFactory.get();
+    try (InflaterInputStream in =
+        new InflaterInputStream(new ByteArrayInputStream(current.data))) {
+      update.deserialize(ByteStreams.toByteArray(in));
+    }
+    return update;
+  }
+
+  /**
+   * Replaces the cached update.
+   *
+   * @param curImgNum the latest persisted image number when the update was retrieved
+   */
+  void put(long curImgNum, K update) throws IOException {
+    byte[] serialized = update.serialize();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(serialized.length / 4);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+      out.write(serialized);
+    } finally {
+      deflater.end();
+    }
+    image = new Image(curImgNum, update.getSeqNum(), bytes.toByteArray());
+    LOGGER.info("Cached full update [SeqNum={}, ImgNum={}]: {} bytes compressed to {}",
+        update.getSeqNum(), update.getImgNum(), serialized.length, bytes.size());
+  }
+
+  /**
+   * Drops the cached update, the next full update is retrieved again.
+   */
+  void clear() {
+    image = null;
+  }
+}
@@ -61,10 +61,10 @@ public class PathDeltaRetriever implements DeltaRetriever<PathsUpdate> {
         // Gets the changeID from the persisted MSentryPathChange.
         long changeID = mSentryPathChange.getChangeID();
         // Creates a corresponding PathsUpdate and deserialize the
-        // persisted delta update in JSON format to TPathsUpdate with
+        // persisted delta update in compressed or JSON format to TPathsUpdate with
         // associated changeID.
         PathsUpdate pathsUpdate = new PathsUpdate();
-        pathsUpdate.JSONDeserialize(mSentryPathChange.getPathChange());
+        pathsUpdate.deserializeFromString(mSentryPathChange.getPathChange());
         pathsUpdate.setSeqNum(changeID);
         pathsUpdate.setImgNum(imgNum);
         updates.add(pathsUpdate);
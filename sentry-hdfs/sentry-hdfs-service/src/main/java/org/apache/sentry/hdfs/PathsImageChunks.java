@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * The full paths images sent to the NameNodes in chunks, see {@link ChunkedPathsImage}.
+ * <p>
+ * An image is kept while NameNodes fetch its chunks, so that they fetch the remaining
+ * chunks without the image being retrieved again. It is released as soon as the last
+ * NameNode which started fetching it got its last chunk, or once none of its chunks has
+ * been requested for the configured time when a NameNode stopped fetching. The images
+ * are kept by sequence and image number: a NameNode asking for a full image which is
+ * already kept gets the kept one, so that several NameNodes fetch the chunks of the same
+ * image at the same time instead of replacing it for each other.
+ * <p>
+ * At most the configured number of images is kept. A NameNode asking for another image
+ * when that many are kept releases the least recently requested one, the NameNodes
+ * fetching it ask for a full image again and get the newer one.
+ * <p>
+ * Each image kept gets a random token, so that a NameNode which started receiving an
+ * image from another build of it, e.g. from a restarted or another Sentry server, does
+ * not get the chunks of this one.
+ */
+@ThreadSafe
+class PathsImageChunks {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PathsImageChunks.class);
+
+  private static final class ImageKey {
+    private final long seqNum;
+    private final long imgNum;
+
+    private ImageKey(long seqNum, long imgNum) {
+      this.seqNum = seqNum;
+      this.imgNum = imgNum;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ImageKey)) {
+        return false;
+      }
+      ImageKey other = (ImageKey) o;
+      return seqNum == other.seqNum && imgNum == other.imgNum;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(seqNum, imgNum);
+    }
+  }
+
+  private static final class KeptImage {
+    private final PathsUpdate image;
+    private final long token = ThreadLocalRandom.current().nextLong();
+    private long lastAccess;
+    // Number of NameNodes which got the first chunk but not the last one yet
+    private int fetching;
+
+    private KeptImage(PathsUpdate image, long now) {
+      this.image = image;
+      this.lastAccess = now;
+    }
+  }
+
+  private final long ttlMs;
+  private final int maxImages;
+  // In access order, the least recently requested image first
+  private final Map<ImageKey, KeptImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+  PathsImageChunks(long ttlMs, int maxImages) {
+    this.ttlMs = ttlMs;
+    this.maxImages = Math.max(1, maxImages);
+  }
+
+  /**
+   * Keeps the image for the following chunk requests, unless the same image is already
+   * kept, in which case the kept one and its token are used.
+   *
+   * @return the first chunk of the image
+   */
+  synchronized PathsUpdate putImage(PathsUpdate image, int chunkSize) {
+    long now = System.currentTimeMillis();
+    releaseExpired(now);
+    ImageKey key = new ImageKey(image.getSeqNum(), image.getImgNum());
+    KeptImage kept = images.get(key);
+    if (kept == null) {
+      releaseLeastRecent(maxImages - 1);
+      LOGGER.info("Sending full paths image [SeqNum={}, ImgNum={}] with {} entries in chunks of {}",
+          image.getSeqNum(), image.getImgNum(),
+          image.toThrift().getPathsDump().getNodeMapSize(), chunkSize);
+      kept = new KeptImage(image, now);
+      images.put(key, kept);
+    } else {
+      LOGGER.info("Sending kept full paths image [SeqNum={}, ImgNum={}] in chunks of {}",
+          image.getSeqNum(), image.getImgNum(), chunkSize);
+      kept.lastAccess = now;
+    }
+    TPathsDump dump = kept.image.toThrift().getPathsDump();
+    if (isLastChunk(dump, dump.getRootId(), chunkSize)) {
+      releaseIfDone(key, kept);
+    } else {
+      kept.fetching++;
+    }
+    return ChunkedPathsImage.createChunk(kept.image, kept.token, dump.getRootId(), chunkSize);
+  }
+
+  /**
+   * @return the requested chunk, or null if the image with the given token is not
+   *         available anymore
+   */
+  synchronized PathsUpdate getChunk(long seqNum, long imgNum, long token, int cursor,
+      int chunkSize) {
+    long now = System.currentTimeMillis();
+    releaseExpired(now);
+    ImageKey key = new ImageKey(seqNum, imgNum);
+    KeptImage kept = images.get(key);
+    if (kept == null || kept.token != token) {
+      return null;
+    }
+    TPathsDump dump = kept.image.toThrift().getPathsDump();
+    if (cursor <= dump.getRootId() || cursor >= dump.getRootId() + dump.getNodeMapSize()) {
+      return null;
+    }
+    kept.lastAccess = now;
+    if (isLastChunk(dump, cursor, chunkSize)) {
+      kept.fetching--;
+      releaseIfDone(key, kept);
+    }
+    return ChunkedPathsImage.createChunk(kept.image, kept.token, cursor, chunkSize);
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return images.size();
+  }
+
+  private static boolean isLastChunk(TPathsDump dump, int cursor, int chunkSize) {
+    return (long) cursor + chunkSize >= dump.getRootId() + dump.getNodeMapSize();
+  }
+
+  private void releaseIfDone(ImageKey key, KeptImage kept) {
+    if (kept.fetching <= 0) {
+      LOGGER.info("Releasing full paths image [SeqNum={}, ImgNum={}], all its chunks were sent",
+          kept.image.getSeqNum(), kept.image.getImgNum());
+      images.remove(key);
+    }
+  }
+
+  private void releaseLeastRecent(int keep) {
+    Iterator<KeptImage> it = images.values().iterator();
+    while (images.size() > keep && it.hasNext()) {
+      KeptImage kept = it.next();
+      LOGGER.info("Releasing full paths image [SeqNum={}, ImgNum={}] fetched by {} NameNodes "
+          + "for a new image", kept.image.getSeqNum(), kept.image.getImgNum(), kept.fetching);
+      it.remove();
+    }
+  }
+
+  private void releaseExpired(long now) {
+    Iterator<KeptImage> it = images.values().iterator();
+    while (it.hasNext()) {
+      KeptImage kept = it.next();
+      if (now - kept.lastAccess > ttlMs) {
+        LOGGER.info("Releasing full paths image [SeqNum={}, ImgNum={}], not requested for {}ms",
+            kept.image.getSeqNum(), kept.image.getImgNum(), now - kept.lastAccess);
+        it.remove();
+      }
+    }
+  }
+}
@@ -50,5 +50,19 @@ public interface SentryHDFSServiceClient extends AutoCloseable {
    */
   SentryAuthzUpdate getAllUpdatesFrom(long permSeqNum, long pathSeqNum, long pathImgNum)
       throws SentryHdfsServiceException;
+
+  /**
+   * Get any permission and path updates accumulated since given sequence numbers.
+   * A full paths image is received in chunks, see {@link ChunkedPathsImage}.
+   * @param permSeqNum Last sequence number for permissions update processed by the NameNode plugin
+   * @param pathSeqNum Last sequence number for paths update processed by the NameNode plugin
+   * @param pathImgNum Last image number for paths update processed by the NameNode plugin
+   * @param pathsChunkSize Maximum number of path entries in a chunk, 0 to receive full images at once
+   * @param pathsImage Full paths image being received to request the next chunk of, or null
+   * @return List of permission and path changes which may include a full snapshot or a chunk of it.
+   * @throws SentryHdfsServiceException if a connection exception happens
+   */
+  SentryAuthzUpdate getAllUpdatesFrom(long permSeqNum, long pathSeqNum, long pathImgNum,
+      int pathsChunkSize, ChunkedPathsImage pathsImage) throws SentryHdfsServiceException;
 }
 
@@ -100,10 +100,27 @@ public class SentryHDFSServiceClientDefaultImpl
   @Override
   public SentryAuthzUpdate getAllUpdatesFrom(long permSeqNum, long pathSeqNum, long pathImgNum)
           throws SentryHdfsServiceException {
+    return getAllUpdatesFrom(permSeqNum, pathSeqNum, pathImgNum, 0, null);
+  }
+
+  @Override
+  public SentryAuthzUpdate getAllUpdatesFrom(long permSeqNum, long pathSeqNum, long pathImgNum,
+      int pathsChunkSize, ChunkedPathsImage pathsImage) throws SentryHdfsServiceException {
     try {
       LOGGER.debug("Requesting updates: Perm sequence num:{}, Path sequence num: {}, Path Image Number: {})",
               permSeqNum, pathSeqNum, pathImgNum);
       TAuthzUpdateRequest updateRequest = new TAuthzUpdateRequest(permSeqNum, pathSeqNum, pathImgNum);
+      if (pathsChunkSize > 0) {
+        updateRequest.setPathsChunkSize(pathsChunkSize);
+        if (pathsImage != null) {
+          LOGGER.debug("Requesting paths image chunk: Sequence num: {}, Image Number: {}, Entry: {}",
+              pathsImage.getSeqNum(), pathsImage.getImgNum(), pathsImage.getNextCursor());
+          updateRequest.setPathsChunkCursor(pathsImage.getNextCursor());
+          updateRequest.setPathsChunkSeqNum(pathsImage.getSeqNum());
+          updateRequest.setPathsChunkImgNum(pathsImage.getImgNum());
+          updateRequest.setPathsChunkToken(pathsImage.getToken());
+        }
+      }
       TAuthzUpdateResponse sentryUpdates = client.get_authz_updates(updateRequest);
 
       List<PathsUpdate> pathsUpdates = Collections.emptyList();
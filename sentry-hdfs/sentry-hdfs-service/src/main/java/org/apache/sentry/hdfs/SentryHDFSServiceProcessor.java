@@ -25,6 +25,7 @@ import java.util.Map;
 
 import com.codahale.metrics.Timer.Context;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.sentry.hdfs.service.thrift.SentryHDFSService;
 import org.apache.sentry.hdfs.service.thrift.TAuthzUpdateRequest;
 import org.apache.sentry.hdfs.service.thrift.TAuthzUpdateResponse;
@@ -45,6 +46,21 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
   // This helps to reduce memory consumption on large path images.
   private static final AtomicBoolean pathsRetrieverBusy = new AtomicBoolean(false);
 
+  // Full image which is being sent in chunks to the NameNodes
+  private final PathsImageChunks pathsImageChunks;
+
+  public SentryHDFSServiceProcessor() {
+    this(new Configuration());
+  }
+
+  public SentryHDFSServiceProcessor(Configuration conf) {
+    pathsImageChunks = new PathsImageChunks(
+        conf.getLong(ServiceConstants.ServerConfig.SENTRY_HDFS_PATHS_CHUNK_TTL_MS,
+            ServiceConstants.ServerConfig.SENTRY_HDFS_PATHS_CHUNK_TTL_MS_DEFAULT),
+        conf.getInt(ServiceConstants.ServerConfig.SENTRY_HDFS_PATHS_CHUNK_MAX_IMAGES,
+            ServiceConstants.ServerConfig.SENTRY_HDFS_PATHS_CHUNK_MAX_IMAGES_DEFAULT));
+  }
+
   @Override
   public TAuthzUpdateResponse get_all_authz_updates_from(long permSeqNum, long pathSeqNum) throws TException {
    throw new UnsupportedOperationException(
@@ -109,6 +125,10 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
    * Retrieves and returns new requested paths updates. To avoid too much memory consumption
    * with large full images, then this method will serialize the access to the requested updates
    * to only one request at a time.
+   * <p>
+   * If the request sets a chunk size, a full image is sent in chunks of that size. The
+   * following chunks are served from {@link #pathsImageChunks} without waiting for other
+   * requests.
    *
    * @param request The requested thrift object that contains the paths seqNum and imgNum
    * @return A list of delta updates or a full image retrieved. It returns an empty list if there
@@ -119,6 +139,22 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
     LOGGER.debug("PATHS updates requested from HDFS [ImgNum={}, SeqNum={}]",
         request.getPathImgNum(), request.getPathSeqNum());
 
+    int chunkSize = request.isSetPathsChunkSize() ? request.getPathsChunkSize() : 0;
+    if (chunkSize > 0 && request.isSetPathsChunkCursor()) {
+      PathsUpdate chunk = pathsImageChunks.getChunk(request.getPathsChunkSeqNum(),
+          request.getPathsChunkImgNum(), request.getPathsChunkToken(),
+          request.getPathsChunkCursor(), chunkSize);
+      if (chunk != null) {
+        LOGGER.debug("Sending PATH image chunk seq [{}], [{}] from entry [{}]",
+            chunk.getSeqNum(), chunk.getImgNum(), request.getPathsChunkCursor());
+        return Collections.singletonList(chunk.toThrift());
+      }
+      // The image is gone, send the updates the NameNode needs as of its current paths
+      LOGGER.info("PATH image chunk [SeqNum={}, ImgNum={}] from entry [{}] is not available",
+          request.getPathsChunkSeqNum(), request.getPathsChunkImgNum(),
+          request.getPathsChunkCursor());
+    }
+
     // If another paths updates request is in progress by another HDFS NameNode, then we
     // return an empty image for now to avoid a large memory consumption
     if (!pathsRetrieverBusy.compareAndSet(false, true)) {
@@ -135,7 +171,12 @@ public class SentryHDFSServiceProcessor implements SentryHDFSService.Iface {
       for (PathsUpdate update : pathUpdates) {
         LOGGER.debug("Sending PATH preUpdate seq [{}], [{}]",
             update.getSeqNum(), update.getImgNum());
-        retPathUpdates.add(update.toThrift());
+        TPathsUpdate tUpdate = update.toThrift();
+        if (chunkSize > 0 && update.hasFullImage() && tUpdate.isSetPathsDump()
+            && tUpdate.getPathsDump().getNodeMapSize() > chunkSize) {
+          tUpdate = pathsImageChunks.putImage(update, chunkSize).toThrift();
+        }
+        retPathUpdates.add(tUpdate);
       }
 
       SentryHdfsMetricsUtil.getPathUpdateHistogram.update(pathUpdates.size());
@@ -56,7 +56,7 @@ public class SentryHDFSServiceProcessorFactory extends ProcessorFactory{
   public boolean register(TMultiplexedProcessor multiplexedProcessor,
                           SentryStoreInterface _) throws Exception {
     SentryHDFSServiceProcessor sentryServiceHandler =
-        new SentryHDFSServiceProcessor();
+        new SentryHDFSServiceProcessor(conf);
     LOGGER.info("Calling registerProcessor from SentryHDFSServiceProcessorFactory");
     TProcessor processor = new ProcessorWrapper(sentryServiceHandler);
     multiplexedProcessor.registerProcessor(
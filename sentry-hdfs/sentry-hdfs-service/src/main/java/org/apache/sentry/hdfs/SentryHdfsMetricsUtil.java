@@ -102,6 +102,13 @@ final class SentryHdfsMetricsUtil {
   static final Histogram getDeltaPermChangesHistogram = sentryMetrics.getHistogram(
           MetricRegistry.name(PermDeltaRetriever.class, "perm", "delta", "size"));
 
+  // The number of full updates served from the cache of DBUpdateForwarder
+  static final Counter getFullImageCacheHitCounter = sentryMetrics.getCounter(
+      MetricRegistry.name(DBUpdateForwarder.class, "full-image-cache", "hit-num"));
+  // The number of full updates retrieved from the persistent storage by DBUpdateForwarder
+  static final Counter getFullImageCacheMissCounter = sentryMetrics.getCounter(
+      MetricRegistry.name(DBUpdateForwarder.class, "full-image-cache", "miss-num"));
+
   private SentryHdfsMetricsUtil() {
     // Make constructor private to avoid instantiation
   }
@@ -128,8 +128,18 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
     PathImageRetriever pathImageRetriever = new PathImageRetriever(sentryStore, prefixes);
     PermDeltaRetriever permDeltaRetriever = new PermDeltaRetriever(sentryStore);
     PathDeltaRetriever pathDeltaRetriever = new PathDeltaRetriever(sentryStore);
-    pathsUpdater = new DBUpdateForwarder<>(pathImageRetriever, pathDeltaRetriever);
-    permsUpdater = new DBUpdateForwarder<>(permImageRetriever, permDeltaRetriever);
+    if (conf.getBoolean(ServerConfig.SENTRY_HDFS_FULL_IMAGE_CACHE,
+        ServerConfig.SENTRY_HDFS_FULL_IMAGE_CACHE_DEFAULT)) {
+      long maxDeltas = conf.getLong(ServerConfig.SENTRY_HDFS_FULL_IMAGE_CACHE_MAX_DELTAS,
+          ServerConfig.SENTRY_HDFS_FULL_IMAGE_CACHE_MAX_DELTAS_DEFAULT);
+      pathsUpdater = new DBUpdateForwarder<>(pathImageRetriever, pathDeltaRetriever,
+          new FullImageCache<>(PathsUpdate::new, maxDeltas));
+      permsUpdater = new DBUpdateForwarder<>(permImageRetriever, permDeltaRetriever,
+          new FullImageCache<>(PermissionsUpdate::new, maxDeltas));
+    } else {
+      pathsUpdater = new DBUpdateForwarder<>(pathImageRetriever, pathDeltaRetriever);
+      permsUpdater = new DBUpdateForwarder<>(permImageRetriever, permDeltaRetriever);
+    }
 
     LOGGER.info("Sentry HDFS plugin initialized !!");
     instance = this;
@@ -171,6 +181,7 @@ public class SentryPlugin implements SentryPolicyStorePlugin, SigUtils.SigListen
      */
     LOGGER.info(FULL_UPDATE_TRIGGER + "sending full PATH update to NameNode");
     fullUpdateNN.set(false); // don't do full NN update till the next signal
+    pathsUpdater.invalidateFullImage();
     List<PathsUpdate> updates =
         pathsUpdater.getAllUpdatesFrom(SEQUENCE_NUMBER_UPDATE_UNINITIALIZED, IMAGE_NUMBER_UPDATE_UNINITIALIZED);
     /*
@@ -209,4 +209,55 @@ public class TestDBUpdateForwarder {
     assertEquals(UNUSED_PATH_UPDATE_IMG_NUM, updates.get(0).getImgNum());
     assertTrue(updates.get(0).hasFullImage());
   }
+
+  @Test
+  public void testCachedFullImageIsReturnedToAllClients() throws Exception {
+    updater = new DBUpdateForwarder<>(imageRetriever, deltaRetriever,
+        new FullImageCache<>(PathsUpdate::new, 5));
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(1L);
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(10L);
+    Mockito.when(imageRetriever.retrieveFullImage())
+        .thenReturn(new PathsUpdate(10, 1, true));
+
+    for (int i = 0; i < 3; i++) {
+      List<PathsUpdate> updates = updater.getAllUpdatesFrom(0, SentryConstants.EMPTY_PATHS_SNAPSHOT_ID);
+      assertEquals(1, updates.size());
+      assertEquals(10, updates.get(0).getSeqNum());
+      assertEquals(1, updates.get(0).getImgNum());
+      assertTrue(updates.get(0).hasFullImage());
+    }
+
+    // Clients can apply the deltas following the cached image
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(15L);
+    Mockito.when(deltaRetriever.isDeltaAvailable(11L)).thenReturn(true);
+    List<PathsUpdate> updates = updater.getAllUpdatesFrom(0, SentryConstants.EMPTY_PATHS_SNAPSHOT_ID);
+    assertEquals(10, updates.get(0).getSeqNum());
+    Mockito.verify(imageRetriever, Mockito.times(1)).retrieveFullImage();
+  }
+
+  @Test
+  public void testCachedFullImageIsRetrievedAgain() throws Exception {
+    updater = new DBUpdateForwarder<>(imageRetriever, deltaRetriever,
+        new FullImageCache<>(PathsUpdate::new, 5));
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(1L);
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(10L);
+    Mockito.when(deltaRetriever.isDeltaAvailable(11L)).thenReturn(true);
+    Mockito.when(imageRetriever.retrieveFullImage())
+        .thenReturn(new PathsUpdate(10, 1, true), new PathsUpdate(16, 1, true),
+            new PathsUpdate(16, 2, true));
+    updater.getAllUpdatesFrom(0, SentryConstants.EMPTY_PATHS_SNAPSHOT_ID);
+
+    // Too many deltas follow the cached image
+    Mockito.when(deltaRetriever.getLatestDeltaID()).thenReturn(16L);
+    List<PathsUpdate> updates = updater.getAllUpdatesFrom(0, SentryConstants.EMPTY_PATHS_SNAPSHOT_ID);
+    assertEquals(16, updates.get(0).getSeqNum());
+    assertEquals(1, updates.get(0).getImgNum());
+
+    // A new image is persisted
+    Mockito.when(imageRetriever.getLatestImageID()).thenReturn(2L);
+    updates = updater.getAllUpdatesFrom(0, SentryConstants.EMPTY_PATHS_SNAPSHOT_ID);
+    assertEquals(16, updates.get(0).getSeqNum());
+    assertEquals(2, updates.get(0).getImgNum());
+    Mockito.verify(imageRetriever, Mockito.times(3)).retrieveFullImage();
+  }
 }
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.hdfs;
+
+import java.util.Arrays;
+
+import org.apache.sentry.hdfs.service.thrift.TPathsDump;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestPathsImageChunks {
+  private static final String[] PREFIXES = {"/user/hive/warehouse"};
+  private static final int CHUNK_SIZE = 2;
+  private static final long TTL_MS = 60 * 60 * 1000L;
+
+  private static PathsUpdate image(long seqNum) {
+    HMSPaths hmsPaths = new HMSPaths(PREFIXES);
+    hmsPaths._addAuthzObject("db1", Arrays.asList("/user/hive/warehouse/db1"));
+    hmsPaths._addAuthzObject("db1.tbl1", Arrays.asList("/user/hive/warehouse/db1/tbl1"));
+    hmsPaths._addAuthzObject("db1.tbl2", Arrays.asList("/user/hive/warehouse/db1/tbl2"));
+    PathsUpdate image = new PathsUpdate(seqNum, 1, true);
+    image.toThrift().setPathsDump(hmsPaths.getPathsDump().createPathsDump(false));
+    return image;
+  }
+
+  /** Fetches the chunks following the first one, returns false if the image is gone */
+  private static boolean fetchRemainingChunks(PathsImageChunks chunks, PathsUpdate first) {
+    TPathsDump dump = first.toThrift().getPathsDump();
+    int end = dump.getRootId() + dump.getTotalEntries();
+    for (int cursor = dump.getRootId() + CHUNK_SIZE; cursor < end; cursor += CHUNK_SIZE) {
+      if (chunks.getChunk(first.getSeqNum(), first.getImgNum(), dump.getImageToken(), cursor,
+          CHUNK_SIZE) == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Test
+  public void testImageIsReleasedOnceAllChunksWereSent() {
+    PathsImageChunks chunks = new PathsImageChunks(TTL_MS, 2);
+    PathsUpdate first = chunks.putImage(image(1), CHUNK_SIZE);
+    PathsUpdate second = chunks.putImage(image(1), CHUNK_SIZE);
+    assertEquals(1, chunks.size());
+    assertEquals(first.toThrift().getPathsDump().getImageToken(),
+        second.toThrift().getPathsDump().getImageToken());
+
+    // Kept while another NameNode still fetches it
+    assertTrue(fetchRemainingChunks(chunks, first));
+    assertEquals(1, chunks.size());
+    assertTrue(fetchRemainingChunks(chunks, second));
+    assertEquals(0, chunks.size());
+  }
+
+  @Test
+  public void testNumberOfKeptImagesIsBounded() {
+    PathsImageChunks chunks = new PathsImageChunks(TTL_MS, 2);
+    PathsUpdate first = chunks.putImage(image(1), CHUNK_SIZE);
+    PathsUpdate second = chunks.putImage(image(2), CHUNK_SIZE);
+    assertEquals(2, chunks.size());
+
+    // A third image releases the least recently requested one
+    TPathsDump dump = first.toThrift().getPathsDump();
+    assertNotNull(chunks.getChunk(1, 1, dump.getImageToken(), dump.getRootId() + CHUNK_SIZE,
+        CHUNK_SIZE));
+    PathsUpdate third = chunks.putImage(image(3), CHUNK_SIZE);
+    assertEquals(2, chunks.size());
+    assertFalse(fetchRemainingChunks(chunks, second));
+    assertTrue(fetchRemainingChunks(chunks, first));
+    assertTrue(fetchRemainingChunks(chunks, third));
+    assertEquals(0, chunks.size());
+
+    // Only one image is kept by default
+    chunks = new PathsImageChunks(TTL_MS,
+        ServiceConstants.ServerConfig.SENTRY_HDFS_PATHS_CHUNK_MAX_IMAGES_DEFAULT);
+    for (long seqNum = 1; seqNum <= 3; seqNum++) {
+      chunks.putImage(image(seqNum), CHUNK_SIZE);
+      assertEquals(1, chunks.size());
+    }
+  }
+}
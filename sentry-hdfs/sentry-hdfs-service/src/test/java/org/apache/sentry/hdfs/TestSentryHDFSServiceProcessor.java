@@ -177,6 +177,134 @@ public class TestSentryHDFSServiceProcessor {
     assertTrue(sentryUpdates.getAuthzPathUpdate().get(0).isHasFullImage());
   }
 
+  /**
+   * Verify that a full paths image is sent in chunks when the NameNode asks for it
+   */
+  @Test
+  public void testFullPathsImageIsSentInChunks() throws Exception {
+    // A new image is persisted, the cached full image of other tests is not used
+    Mockito.when(sentryStoreMock.getLastProcessedImageID())
+        .thenReturn(5L);
+    Mockito.when(sentryStoreMock.getLastProcessedPathChangeID())
+        .thenReturn(2L);
+    Mockito.when(sentryStoreMock.getLastProcessedPermChangeID())
+        .thenReturn(2L);
+    String[] prefixes = {"/user/hive/warehouse"};
+    HMSPaths hmsPaths = new HMSPaths(prefixes);
+    hmsPaths._addAuthzObject("db1", Arrays.asList("/user/hive/warehouse/db1"));
+    hmsPaths._addAuthzObject("db1.tbl1", Arrays.asList("/user/hive/warehouse/db1/tbl1"));
+    PathsUpdate image = new PathsUpdate(8, 5, true);
+    image.toThrift().setPathsDump(hmsPaths.getPathsDump().createPathsDump(false));
+    Mockito.doReturn(image).when(sentryStoreMock).retrieveFullPathsImageUpdate(Mockito.any());
+
+    TAuthzUpdateRequest updateRequest = new TAuthzUpdateRequest(3, 3, 1);
+    updateRequest.setPathsChunkSize(2);
+    TAuthzUpdateResponse sentryUpdates = serviceProcessor.get_authz_updates(updateRequest);
+    assertEquals(1, sentryUpdates.getAuthzPathUpdateSize());
+    PathsUpdate chunk = new PathsUpdate(sentryUpdates.getAuthzPathUpdate().get(0));
+    assertTrue(ChunkedPathsImage.isFirstChunk(chunk));
+    ChunkedPathsImage chunkedImage =
+        new ChunkedPathsImage(new UpdateableAuthzPaths(prefixes), chunk);
+
+    // The following chunks are served from the same image
+    while (!chunkedImage.isComplete()) {
+      updateRequest.setPathsChunkCursor(chunkedImage.getNextCursor());
+      updateRequest.setPathsChunkSeqNum(chunkedImage.getSeqNum());
+      updateRequest.setPathsChunkImgNum(chunkedImage.getImgNum());
+      updateRequest.setPathsChunkToken(chunkedImage.getToken());
+      sentryUpdates = serviceProcessor.get_authz_updates(updateRequest);
+      assertEquals(1, sentryUpdates.getAuthzPathUpdateSize());
+      chunk = new PathsUpdate(sentryUpdates.getAuthzPathUpdate().get(0));
+      assertTrue(chunk.toThrift().getPathsDump().getNodeMapSize() <= 2);
+      assertTrue(chunkedImage.add(chunk));
+    }
+    UpdateableAuthzPaths paths = chunkedImage.getPaths();
+    assertEquals(8, paths.getLastUpdatedSeqNum());
+    assertEquals(5, paths.getLastUpdatedImgNum());
+    assertEquals(Collections.singleton("db1.tbl1"),
+        paths.findAuthzObjectExactMatches(
+            new String[] {"user", "hive", "warehouse", "db1", "tbl1"}));
+
+    // Chunks of other builds of the image are not available
+    updateRequest.setPathsChunkCursor(3);
+    updateRequest.setPathsChunkToken(chunkedImage.getToken() + 1);
+    sentryUpdates = serviceProcessor.get_authz_updates(updateRequest);
+    assertEquals(0, sentryUpdates.getAuthzPathUpdateSize());
+
+    // Chunks of other images are not available
+    updateRequest.setPathsChunkToken(chunkedImage.getToken());
+    updateRequest.setPathsChunkSeqNum(7);
+    updateRequest.setPathsChunkCursor(3);
+    sentryUpdates = serviceProcessor.get_authz_updates(updateRequest);
+    assertEquals(0, sentryUpdates.getAuthzPathUpdateSize());
+  }
+
+  /**
+   * Verify that NameNodes fetching the same full paths image at the same time do not
+   * invalidate the chunks of each other
+   */
+  @Test
+  public void testFullPathsImageIsSharedByInterleavedNameNodes() throws Exception {
+    Mockito.when(sentryStoreMock.getLastProcessedImageID())
+        .thenReturn(6L);
+    Mockito.when(sentryStoreMock.getLastProcessedPathChangeID())
+        .thenReturn(2L);
+    Mockito.when(sentryStoreMock.getLastProcessedPermChangeID())
+        .thenReturn(2L);
+    String[] prefixes = {"/user/hive/warehouse"};
+    // Every request builds the image again
+    Mockito.doAnswer(invocation -> {
+      HMSPaths hmsPaths = new HMSPaths(prefixes);
+      hmsPaths._addAuthzObject("db1", Arrays.asList("/user/hive/warehouse/db1"));
+      hmsPaths._addAuthzObject("db1.tbl1", Arrays.asList("/user/hive/warehouse/db1/tbl1"));
+      hmsPaths._addAuthzObject("db1.tbl2", Arrays.asList("/user/hive/warehouse/db1/tbl2"));
+      PathsUpdate image = new PathsUpdate(9, 6, true);
+      image.toThrift().setPathsDump(hmsPaths.getPathsDump().createPathsDump(false));
+      return image;
+    }).when(sentryStoreMock).retrieveFullPathsImageUpdate(Mockito.any());
+
+    List<TAuthzUpdateRequest> requests = new ArrayList<>();
+    List<ChunkedPathsImage> chunkedImages = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      TAuthzUpdateRequest updateRequest = new TAuthzUpdateRequest(3, 3, 1);
+      updateRequest.setPathsChunkSize(2);
+      TAuthzUpdateResponse sentryUpdates = serviceProcessor.get_authz_updates(updateRequest);
+      assertEquals(1, sentryUpdates.getAuthzPathUpdateSize());
+      PathsUpdate chunk = new PathsUpdate(sentryUpdates.getAuthzPathUpdate().get(0));
+      assertTrue(ChunkedPathsImage.isFirstChunk(chunk));
+      requests.add(updateRequest);
+      chunkedImages.add(new ChunkedPathsImage(new UpdateableAuthzPaths(prefixes), chunk));
+    }
+    // The second NameNode gets the image kept for the first one
+    assertEquals(chunkedImages.get(0).getToken(), chunkedImages.get(1).getToken());
+
+    // The NameNodes fetch their chunks in turn
+    while (!chunkedImages.get(0).isComplete() || !chunkedImages.get(1).isComplete()) {
+      for (int i = 0; i < 2; i++) {
+        ChunkedPathsImage chunkedImage = chunkedImages.get(i);
+        if (chunkedImage.isComplete()) {
+          continue;
+        }
+        TAuthzUpdateRequest updateRequest = requests.get(i);
+        updateRequest.setPathsChunkCursor(chunkedImage.getNextCursor());
+        updateRequest.setPathsChunkSeqNum(chunkedImage.getSeqNum());
+        updateRequest.setPathsChunkImgNum(chunkedImage.getImgNum());
+        updateRequest.setPathsChunkToken(chunkedImage.getToken());
+        TAuthzUpdateResponse sentryUpdates = serviceProcessor.get_authz_updates(updateRequest);
+        assertEquals(1, sentryUpdates.getAuthzPathUpdateSize());
+        assertTrue(chunkedImage.add(new PathsUpdate(sentryUpdates.getAuthzPathUpdate().get(0))));
+      }
+    }
+    for (ChunkedPathsImage chunkedImage : chunkedImages) {
+      UpdateableAuthzPaths paths = chunkedImage.getPaths();
+      assertEquals(9, paths.getLastUpdatedSeqNum());
+      assertEquals(6, paths.getLastUpdatedImgNum());
+      assertEquals(Collections.singleton("db1.tbl2"),
+          paths.findAuthzObjectExactMatches(
+              new String[] {"user", "hive", "warehouse", "db1", "tbl2"}));
+    }
+  }
+
   @Test
   public void testRequestSyncUpdatesWhenNoUpdatesExistReturnsEmptyResults() throws Exception {
     Mockito.when(sentryStoreMock.getLastProcessedImageID())
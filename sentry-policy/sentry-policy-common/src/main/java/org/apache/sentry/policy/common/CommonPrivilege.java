@@ -37,7 +37,10 @@ import org.slf4j.LoggerFactory;
 public class CommonPrivilege implements Privilege {
 
   private ImmutableList<KeyValue> parts;
+  private int partsHashCode;
   private boolean grantOption = false;
+  // compiled on first use by implies(), see compile()
+  private volatile CompiledParts compiled;
   private static final Logger LOGGER = LoggerFactory.getLogger(CommonPrivilege.class);
 
   public CommonPrivilege(String privilegeStr) {
@@ -68,6 +71,7 @@ public class CommonPrivilege implements Privilege {
     }
 
     this.parts = ImmutableList.copyOf(parts);
+    this.partsHashCode = this.parts.hashCode();
   }
 
   @Override
@@ -83,38 +87,38 @@ public class CommonPrivilege implements Privilege {
       return false;
     }
 
-    List<KeyValue> otherParts = requiredPrivilege.getParts();
-    if(parts.equals(otherParts)) {
+    if (partsHashCode == requiredPrivilege.partsHashCode && parts.equals(requiredPrivilege.parts)) {
       return true;
     }
 
+    CompiledPart[] policyParts = compile(model, true);
+    CompiledPart[] otherParts = requiredPrivilege.compile(model, false);
     int index = 0;
-    for (KeyValue otherPart : otherParts) {
+    for (CompiledPart otherPart : otherParts) {
       // If this privilege has less parts than the other privilege, everything
       // after the number of parts contained
       // in this privilege is automatically implied, so return true
-      if (parts.size() - 1 < index) {
+      if (policyParts.length - 1 < index) {
         return true;
       } else {
-        KeyValue part = parts.get(index);
-        String policyKey = part.getKey();
-        // are the keys even equal
-        if(!policyKey.equalsIgnoreCase(otherPart.getKey())) {
+        CompiledPart part = policyParts[index];
+        // are the keys even equal, keys are lower case
+        if (!part.key.equals(otherPart.key)) {
           // Support for action inheritance from parent to child
-          if (SentryConstants.PRIVILEGE_NAME.equalsIgnoreCase(policyKey)) {
+          if (part.isAction) {
             continue;
           }
           return false;
         }
 
         // do the imply for action
-        if (SentryConstants.PRIVILEGE_NAME.equalsIgnoreCase(policyKey)) {
-          if (!impliesAction(part.getValue(), otherPart.getValue(), model.getBitFieldActionFactory())) {
+        if (part.isAction) {
+          if (part.action == null || otherPart.action == null
+              || !part.action.implies(otherPart.action)) {
             return false;
           }
         } else {
-          if (!impliesResource(model.getImplyMethodMap().get(policyKey.toLowerCase()),
-                  part.getValue(), otherPart.getValue())) {
+          if (!impliesResource(part, otherPart)) {
             return false;
           }
         }
@@ -125,9 +129,8 @@ public class CommonPrivilege implements Privilege {
 
     // If this privilege has more parts than the other parts, only imply it if
     // all of the other parts are wildcards
-    for (; index < parts.size(); index++) {
-      KeyValue part = parts.get(index);
-      if (!isPrivilegeActionAll(part, model.getBitFieldActionFactory())) {
+    for (; index < policyParts.length; index++) {
+      if (!policyParts[index].actionAll) {
         return false;
       }
     }
@@ -136,79 +139,66 @@ public class CommonPrivilege implements Privilege {
   }
 
   /**
-   * Check if the action part in a privilege is ALL. Owner privilege is
-   * treated as ALL for authorization
-   * @param actionPart it must be the action of a privilege
-   * @return true if the action is ALL; false otherwise
+   * Get the parts compiled for the model. The compiled parts of the last model are kept,
+   * a privilege is normally only compared within the model of its component.
+   * The parts of a privilege from the policy are compiled fully once and reused for many
+   * requests, the parts of a requested privilege only as far as implies() reads them.
    */
-  private boolean isPrivilegeActionAll(KeyValue actionPart,
-      BitFieldActionFactory bitFieldActionFactory) {
-    return impliesAction(actionPart.getValue(), SentryConstants.PRIVILEGE_WILDCARD_VALUE,
-        bitFieldActionFactory);
-  }
-
-  @Override
-  public List<KeyValue> getAuthorizable() {
-    List<KeyValue> authorizable = new ArrayList<>();
-
-    for (KeyValue part : parts) {
-
-      // Authorizeable is the same as privileges but should exclude action
-      if (!SentryConstants.PRIVILEGE_NAME.equalsIgnoreCase(part.getKey())) {
-        KeyValue keyValue = new KeyValue(part.getKey().toLowerCase(),
-            part.getValue().toLowerCase());
-        authorizable.add(keyValue);
-      }
+  private CompiledPart[] compile(Model model, boolean policy) {
+    CompiledParts compiledParts = compiled;
+    if (compiledParts == null || compiledParts.model != model
+        || (policy && !compiledParts.policy)) {
+      compiledParts = new CompiledParts(model, parts, policy);
+      compiled = compiledParts;
     }
-
-    return authorizable;
+    return compiledParts.parts;
   }
 
   // The method is used for compare the value of resource by the ImplyMethodType.
   // for Hive, databaseName, tableName, columnName will be compared using String.equal(wildcard support)
   //           url will be compared using PathUtils.impliesURI
-  private boolean impliesResource(ImplyMethodType implyMethodType, String policyValue, String requestValue) {
+  private static boolean impliesResource(CompiledPart policyPart, CompiledPart requestPart) {
     // wildcard support, "*", "+", "all"("+" and "all" are for backward compatibility) are represented as wildcard
     // if requestValue is wildcard, means privilege request is to match with any value of given resource
-    if (SentryConstants.RESOURCE_WILDCARD_VALUE.equals(policyValue)
-            || SentryConstants.RESOURCE_WILDCARD_VALUE.equals(requestValue)
-            || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(policyValue)
-            || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(requestValue)
-            || SentryConstants.RESOURCE_WILDCARD_VALUE_SOME.equals(requestValue)) {
+    if (policyPart.wildcard || requestPart.wildcard || requestPart.some) {
       return true;
     }
 
     // compare as the url
-    if (ImplyMethodType.URL == implyMethodType) {
-      return PathUtils.impliesURI(policyValue, requestValue);
-    } else if (ImplyMethodType.STRING_CASE_SENSITIVE == implyMethodType) {
+    if (ImplyMethodType.URL == policyPart.implyMethodType) {
+      return PathUtils.impliesURI(policyPart.value, requestPart.value);
+    } else if (ImplyMethodType.STRING_CASE_SENSITIVE == policyPart.implyMethodType) {
       // compare as the string case sensitive
-      return policyValue.equals(requestValue);
+      return policyPart.value.equals(requestPart.value);
     }
     // default: compare as the string case insensitive
-    return policyValue.equalsIgnoreCase(requestValue);
+    return policyPart.value.equalsIgnoreCase(requestPart.value);
   }
 
-  // The method is used for compare the action for the privilege model.
-  // for Hive, the action will be select, insert, etc.
-  // for Solr, the action will be update, query, etc.
-  private boolean impliesAction(String policyValue, String requestValue,
-                                BitFieldActionFactory bitFieldActionFactory) {
-    BitFieldAction currentAction;
-    BitFieldAction requestAction;
-
+  private static BitFieldAction getAction(String value,
+      BitFieldActionFactory bitFieldActionFactory) {
     try {
-      currentAction = bitFieldActionFactory.getActionByName(policyValue);
-      requestAction = bitFieldActionFactory.getActionByName(requestValue);
+      return bitFieldActionFactory.getActionByName(value);
     } catch (SentryUserException e) {
-      return false;
+      return null;
     }
+  }
 
-    // the action in privilege is not supported
-    if (currentAction == null || requestAction == null) {
-      return false;
+  @Override
+  public List<KeyValue> getAuthorizable() {
+    List<KeyValue> authorizable = new ArrayList<>();
+
+    for (KeyValue part : parts) {
+
+      // Authorizeable is the same as privileges but should exclude action
+      if (!SentryConstants.PRIVILEGE_NAME.equalsIgnoreCase(part.getKey())) {
+        KeyValue keyValue = new KeyValue(part.getKey().toLowerCase(),
+            part.getValue().toLowerCase());
+        authorizable.add(keyValue);
+      }
     }
-    return currentAction.implies(requestAction);
+
+    return authorizable;
   }
 
   @Override
@@ -232,6 +222,68 @@ public class CommonPrivilege implements Privilege {
 
   @Override
   public int hashCode() {
-    return parts.hashCode();
+    return partsHashCode;
+  }
+
+  /**
+   * The parts of a privilege compiled for a model.
+   */
+  private static final class CompiledParts {
+    private final Model model;
+    // compiled as a privilege from the policy, see CompiledPart
+    private final boolean policy;
+    private final CompiledPart[] parts;
+
+    private CompiledParts(Model model, List<KeyValue> keyValues, boolean policy) {
+      this.model = model;
+      this.policy = policy;
+      BitFieldAction allAction = policy
+          ? getAction(SentryConstants.PRIVILEGE_WILDCARD_VALUE, model.getBitFieldActionFactory())
+          : null;
+      this.parts = new CompiledPart[keyValues.size()];
+      for (int i = 0; i < parts.length; i++) {
+        parts[i] = new CompiledPart(keyValues.get(i), model, allAction, policy);
+      }
+    }
+  }
+
+  /**
+   * A part of a privilege with its key, wildcards, imply method and action resolved,
+   * so implies() only compares keys, flags and values. A requested privilege is
+   * usually built for a single check, so its parts skip what only the policy side
+   * reads: the key is not interned, the imply method is not looked up and the action
+   * is only resolved for the action part.
+   */
+  private static final class CompiledPart {
+    // lower case, interned for a privilege from the policy
+    private final String key;
+    private final boolean isAction;
+    private final String value;
+    // "*" or "all", a wildcard as policy or request value
+    private final boolean wildcard;
+    // "+", a wildcard as request value only
+    private final boolean some;
+    // null for a requested privilege
+    private final ImplyMethodType implyMethodType;
+    // the action named by the value, null if the value is not a supported action
+    private final BitFieldAction action;
+    // whether the value is an action implying all actions, false for a requested privilege
+    private final boolean actionAll;
+
+    private CompiledPart(KeyValue keyValue, Model model, BitFieldAction allAction,
+        boolean policy) {
+      String lowerCaseKey = keyValue.getKey().toLowerCase();
+      key = policy ? lowerCaseKey.intern() : lowerCaseKey;
+      isAction = SentryConstants.PRIVILEGE_NAME.equals(key);
+      value = keyValue.getValue();
+      wildcard = SentryConstants.RESOURCE_WILDCARD_VALUE.equals(value)
+          || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(value);
+      some = SentryConstants.RESOURCE_WILDCARD_VALUE_SOME.equals(value);
+      implyMethodType = policy ? model.getImplyMethodMap().get(key) : null;
+      // trailing parts of a policy privilege are checked for ALL whatever their key,
+      // as before, so the policy side resolves the action of every part
+      action = isAction || policy ? getAction(value, model.getBitFieldActionFactory()) : null;
+      actionAll = action != null && allAction != null && action.implies(allAction);
+    }
   }
 }
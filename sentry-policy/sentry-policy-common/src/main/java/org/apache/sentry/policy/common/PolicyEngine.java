@@ -108,6 +108,16 @@ public interface PolicyEngine {
   ImmutableSet<Privilege> getPrivilegeObjects(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable... authorizableHierarchy) throws SentryConfigurationException;
 
+  /**
+   * Get the version of the policy. The version increases whenever the privileges
+   * returned by this engine may have changed, so callers caching authorization
+   * decisions know when to drop them. Engines which can not tell return a constant.
+   * @return the policy version
+   */
+  default long getPolicyVersion() {
+    return 0;
+  }
+
   void close();
 
   void validatePolicy(boolean strictValidation) throws SentryConfigurationException;
@@ -144,4 +144,25 @@ public class TestCommonPrivilege {
     // key in privilege is case insensitive
     assertTrue(privileg1.implies(privileg4, testModel));
   }
+
+  @Test
+  public void testImplyWildcards() throws Exception {
+    CommonPrivilege privilegForAllTables = new CommonPrivilege("server=server1->db=db1->table=*->action=select");
+    CommonPrivilege privilegForAllTablesOld = new CommonPrivilege("server=server1->db=db1->table=ALL->action=select");
+    CommonPrivilege privilegForSome = new CommonPrivilege("server=server1->db=db1->table=+->action=select");
+    CommonPrivilege requestPrivilege = new CommonPrivilege("server=server1->db=db1->table=table1->action=select");
+    CommonPrivilege requestSomePrivilege = new CommonPrivilege("server=server1->db=db1->table=+->action=select");
+
+    assertTrue(privilegForAllTables.implies(requestPrivilege, testModel));
+    assertTrue(privilegForAllTablesOld.implies(requestPrivilege, testModel));
+    // "+" is only a wildcard in the request
+    assertFalse(privilegForSome.implies(requestPrivilege, testModel));
+    assertTrue(requestPrivilege.implies(requestSomePrivilege, testModel));
+
+    // the result does not depend on previous comparisons with other models
+    Model otherModel = new ModelForTest();
+    assertTrue(privilegForAllTables.implies(requestPrivilege, otherModel));
+    assertFalse(privilegForSome.implies(requestPrivilege, otherModel));
+    assertTrue(privilegForAllTables.implies(requestPrivilege, testModel));
+  }
 }
@@ -107,6 +107,11 @@ public class CommonPolicyEngine implements PolicyEngine {
     return result;
   }
 
+  @Override
+  public long getPolicyVersion() {
+    return providerBackend.getPolicyVersion();
+  }
+
   @Override
   public void validatePolicy(boolean strictValidation) throws SentryConfigurationException {
     this.providerBackend.validatePolicy(strictValidation);
@@ -13,17 +13,19 @@
 package org.apache.sentry.provider.common;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Table;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
 
 import java.util.Map;
 import java.util.Set;
-import org.apache.sentry.policy.common.CommonPrivilege;
 import org.apache.sentry.policy.common.Privilege;
 
 public class CacheProvider {
   private TableCache cache;
   private volatile boolean initialized = false;
+  // index built on demand for caches which do not maintain their own
+  private volatile PrivilegeIndex localIndex;
 
   public void initialize(TableCache cache) {
     if (initialized) {
@@ -38,16 +40,7 @@ public class CacheProvider {
     if (!initialized) {
       throw new IllegalStateException("CacheProvider has not been properly initialized");
     }
-    ImmutableSet.Builder<String> resultBuilder = ImmutableSet.builder();
-    for (String groupName : groups) {
-      for (Map.Entry<String, Set<String>> row : cache.getCache().row(groupName).entrySet()) {
-        if (roleSet.containsRole(row.getKey())) {
-          // TODO: SENTRY-1245: Filter by Authorizables, if provided
-          resultBuilder.addAll(row.getValue());
-        }
-      }
-    }
-    return resultBuilder.build();
+    return getPrivilegeIndex().getPrivileges(groups, roleSet, authorizableHierarchy);
   }
 
   public ImmutableSet<Privilege> getPrivilegeObjects(Set<String> groups, Set<String> users,
@@ -56,19 +49,7 @@ public class CacheProvider {
     if (!initialized) {
       throw new IllegalStateException("CacheProvider has not been properly initialized");
     }
-    ImmutableSet.Builder<Privilege> resultBuilder = ImmutableSet.builder();
-    for (String groupName : groups) {
-      for (Map.Entry<String, Set<String>> row : cache.getCache().row(groupName).entrySet()) {
-        if (roleSet.containsRole(row.getKey())) {
-          // TODO: SENTRY-1245: Filter by Authorizables, if provided
-          Set<String> privilegeStrings = row.getValue();
-          for (String privilegeString : privilegeStrings) {
-            resultBuilder.add(getPrivilegeObject(privilegeString));
-          }
-        }
-      }
-    }
-    return resultBuilder.build();
+    return getPrivilegeIndex().getPrivilegeObjects(groups, roleSet, authorizableHierarchy);
   }
 
   public ImmutableSet<String> getRoles(Set<String> groups, ActiveRoleSet roleSet) {
@@ -89,7 +70,28 @@ public class CacheProvider {
     return resultBuilder.build();
   }
 
-  private Privilege getPrivilegeObject(String priString) {
-    return new CommonPrivilege(priString);
+  /**
+   * @return the version of the backing cache, see {@link TableCache#getVersion()}
+   */
+  public long getPolicyVersion() {
+    return initialized ? cache.getVersion() : 0;
+  }
+
+  /**
+   * Returns the index maintained by the cache if any. Otherwise the index is built
+   * once per snapshot of the backing table and reused until the table is replaced.
+   */
+  private PrivilegeIndex getPrivilegeIndex() {
+    PrivilegeIndex index = cache.getPrivilegeIndex();
+    if (index != null) {
+      return index;
+    }
+    Table<String, String, Set<String>> table = cache.getCache();
+    index = localIndex;
+    if (index == null || index.getTable() != table) {
+      index = new PrivilegeIndex(table);
+      localIndex = index;
+    }
+    return index;
   }
 }
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.api.common.ApiConstants.ClientConfig;
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Subject;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Bounded cache of authorization decisions of a {@link ResourceAuthorizationProvider},
+ * keyed by subject, authorizable hierarchy, actions, grant option and active roles.
+ * <p>
+ * Decisions expire after a fixed time, which bounds how long changes of the group
+ * membership of a subject take to be seen. Decisions are also tagged with the
+ * {@link org.apache.sentry.policy.common.PolicyEngine#getPolicyVersion() policy version}
+ * they were made with and are dropped as soon as the version increases, e.g. when the
+ * provider backend refreshed its privileges.
+ * <p>
+ * The caches created from the configuration report their hit, miss and eviction counts
+ * as gauges of the shared metric registry {@link #METRIC_REGISTRY_NAME}.
+ */
+@ThreadSafe
+public final class DecisionCache {
+  public static final String METRIC_REGISTRY_NAME = "sentry-provider";
+
+  private final Cache<Key, Decision> cache;
+  private final AtomicLong policyVersion = new AtomicLong();
+
+  public DecisionCache(long maxEntries, long ttlMs) {
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Create the decision cache configured by {@link ClientConfig#DECISION_CACHE_ENABLED}.
+   * @return the decision cache, or null if disabled
+   */
+  public static DecisionCache create(Configuration conf) {
+    if (!conf.getBoolean(ClientConfig.DECISION_CACHE_ENABLED,
+        ClientConfig.DECISION_CACHE_ENABLED_DEFAULT)) {
+      return null;
+    }
+    DecisionCache decisionCache = new DecisionCache(
+        conf.getLong(ClientConfig.DECISION_CACHE_MAX_ENTRIES,
+            ClientConfig.DECISION_CACHE_MAX_ENTRIES_DEFAULT),
+        conf.getLong(ClientConfig.DECISION_CACHE_TTL_MS,
+            ClientConfig.DECISION_CACHE_TTL_MS_DEFAULT));
+    decisionCache.registerMetrics(SharedMetricRegistries.getOrCreate(METRIC_REGISTRY_NAME));
+    return decisionCache;
+  }
+
+  /**
+   * Register the hit, miss and eviction counts and the size of the cache as gauges,
+   * replacing the gauges of the cache registered before.
+   */
+  public void registerMetrics(MetricRegistry registry) {
+    synchronized (registry) {
+      register(registry, "hits", () -> cache.stats().hitCount());
+      register(registry, "misses", () -> cache.stats().missCount());
+      register(registry, "evictions", () -> cache.stats().evictionCount());
+      register(registry, "size", cache::size);
+    }
+  }
+
+  private static void register(MetricRegistry registry, String name, Gauge<Long> gauge) {
+    String metricName = MetricRegistry.name(DecisionCache.class, name);
+    registry.remove(metricName);
+    registry.register(metricName, gauge);
+  }
+
+  /**
+   * @return the cached decision made with the given policy version, or null
+   */
+  Decision get(Key key, long version) {
+    long current = policyVersion.get();
+    if (version > current && policyVersion.compareAndSet(current, version)) {
+      // Decisions of older versions are ignored, free them at once
+      cache.invalidateAll();
+    }
+    Decision decision = cache.getIfPresent(key);
+    if (decision != null && decision.version != version) {
+      return null;
+    }
+    return decision;
+  }
+
+  void put(Key key, long version, boolean allowed, List<String> failedPrivileges) {
+    cache.put(key, new Decision(version, allowed, failedPrivileges));
+  }
+
+  /**
+   * Drop all cached decisions.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * @return hit, miss and eviction counts of the cache
+   */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  static final class Decision {
+    private final long version;
+    final boolean allowed;
+    // request privileges which were denied, reported by getLastFailedPrivileges()
+    final List<String> failedPrivileges;
+
+    private Decision(long version, boolean allowed, List<String> failedPrivileges) {
+      this.version = version;
+      this.allowed = allowed;
+      this.failedPrivileges = allowed ? Collections.<String>emptyList()
+          : ImmutableList.copyOf(failedPrivileges);
+    }
+  }
+
+  static final class Key {
+    private final String subject;
+    // type and name of each authorizable, in order
+    private final String[] authorizables;
+    private final ImmutableSet<String> actions;
+    private final boolean requireGrantOption;
+    private final boolean allRoles;
+    private final Set<String> roles;
+    private final int hashCode;
+
+    Key(Subject subject, List<? extends Authorizable> authorizableHierarchy,
+        Set<? extends Action> actions, boolean requireGrantOption, ActiveRoleSet roleSet) {
+      this.subject = subject.getName();
+      this.authorizables = new String[authorizableHierarchy.size() * 2];
+      int i = 0;
+      for (Authorizable authorizable : authorizableHierarchy) {
+        authorizables[i++] = authorizable.getTypeName();
+        authorizables[i++] = authorizable.getName();
+      }
+      ImmutableSet.Builder<String> actionValues = ImmutableSet.builder();
+      for (Action action : actions) {
+        actionValues.add(action.getValue());
+      }
+      this.actions = actionValues.build();
+      this.requireGrantOption = requireGrantOption;
+      this.allRoles = roleSet.isAll();
+      this.roles = allRoles ? Collections.<String>emptySet() : roleSet.getRoles();
+
+      int result = this.subject.hashCode();
+      result = 31 * result + Arrays.hashCode(authorizables);
+      result = 31 * result + this.actions.hashCode();
+      result = 31 * result + (requireGrantOption ? 1 : 0);
+      result = 31 * result + (allRoles ? 1 : 0);
+      result = 31 * result + roles.hashCode();
+      this.hashCode = result;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return hashCode == other.hashCode
+          && requireGrantOption == other.requireGrantOption
+          && allRoles == other.allRoles
+          && subject.equals(other.subject)
+          && Arrays.equals(authorizables, other.authorizables)
+          && actions.equals(other.actions)
+          && roles.equals(other.roles);
+    }
+  }
+}
@@ -43,7 +43,8 @@ public class HadoopGroupResourceAuthorizationProvider extends
 
   public HadoopGroupResourceAuthorizationProvider(Configuration conf, String resource, //NOPMD
       PolicyEngine policy, Model model) throws IOException {
-    this(policy, new HadoopGroupMappingService(getGroups(conf)), model);
+    super(policy, new HadoopGroupMappingService(getGroups(conf)), model,
+        DecisionCache.create(conf));
   }
 
   @VisibleForTesting
@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements. See the NOTICE
+ * file distributed with this work for additional information regarding copyright ownership. The ASF licenses this file
+ * to You under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Table;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.SentryConstants;
+import org.apache.sentry.policy.common.CommonPrivilege;
+import org.apache.sentry.policy.common.Privilege;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a group -> role -> privilege table in which every privilege
+ * string is parsed exactly once and indexed by its resource path.
+ * <p>
+ * Each distinct set of privileges is organized in a tree whose levels follow the
+ * resource parts of the privileges, so a lookup for an authorizable hierarchy only
+ * visits the privileges which could possibly imply a request on that hierarchy.
+ * The returned privileges are a superset of the matching ones; the final decision
+ * is still made by {@link Privilege#implies}.
+ * <p>
+ * Parts whose value is a wildcard or looks like a path (URIs are compared by prefix
+ * rather than by value) are not indexed by value and are returned for any request
+ * reaching that level.
+ */
+public final class PrivilegeIndex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PrivilegeIndex.class);
+
+  private static final PrivilegeIndex EMPTY =
+      new PrivilegeIndex(HashBasedTable.<String, String, Set<String>>create());
+
+  private final Table<String, String, Set<String>> table;
+  private final Map<String, Map<String, Node>> groupRoleIndex;
+
+  public PrivilegeIndex(Table<String, String, Set<String>> table) {
+    this.table = table;
+
+    // Privilege sets are shared by every group holding the same role, so parse
+    // every privilege and build every tree only once.
+    Map<String, Entry> entries = new HashMap<>();
+    Map<Set<String>, Node> trees = new HashMap<>();
+    Map<String, Map<String, Node>> index = new HashMap<>();
+    for (Table.Cell<String, String, Set<String>> cell : table.cellSet()) {
+      Set<String> privileges = cell.getValue();
+      if (privileges == null) {
+        continue;
+      }
+      Node tree = trees.get(privileges);
+      if (tree == null) {
+        tree = new Node();
+        for (String privilege : privileges) {
+          tree.add(getEntry(entries, privilege), 0);
+        }
+        trees.put(privileges, tree);
+      }
+      Map<String, Node> roles = index.get(cell.getRowKey());
+      if (roles == null) {
+        roles = new HashMap<>();
+        index.put(cell.getRowKey(), roles);
+      }
+      roles.put(cell.getColumnKey(), tree);
+    }
+    this.groupRoleIndex = index;
+  }
+
+  /**
+   * @return an index over an empty table
+   */
+  public static PrivilegeIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @return the table this index was built from. Caller must not modify it.
+   */
+  public Table<String, String, Set<String>> getTable() {
+    return table;
+  }
+
+  /**
+   * Get the privilege strings of the given groups and active roles which could
+   * imply a request on the given authorizable hierarchy. All privileges are
+   * returned when the hierarchy is null or empty.
+   */
+  public ImmutableSet<String> getPrivileges(Set<String> groups, ActiveRoleSet roleSet,
+      Authorizable... authorizableHierarchy) {
+    ImmutableSet.Builder<String> resultBuilder = ImmutableSet.builder();
+    List<Entry> result = new ArrayList<>();
+    collect(groups, roleSet, authorizableHierarchy, result);
+    for (Entry entry : result) {
+      resultBuilder.add(entry.privilegeString);
+    }
+    return resultBuilder.build();
+  }
+
+  /**
+   * Get the parsed privileges of the given groups and active roles which could
+   * imply a request on the given authorizable hierarchy. All privileges are
+   * returned when the hierarchy is null or empty.
+   */
+  public ImmutableSet<Privilege> getPrivilegeObjects(Set<String> groups, ActiveRoleSet roleSet,
+      Authorizable... authorizableHierarchy) {
+    ImmutableSet.Builder<Privilege> resultBuilder = ImmutableSet.builder();
+    List<Entry> result = new ArrayList<>();
+    collect(groups, roleSet, authorizableHierarchy, result);
+    for (Entry entry : result) {
+      if (entry.privilege != null) {
+        resultBuilder.add(entry.privilege);
+      }
+    }
+    return resultBuilder.build();
+  }
+
+  private void collect(Set<String> groups, ActiveRoleSet roleSet,
+      Authorizable[] authorizableHierarchy, List<Entry> result) {
+    if (groups == null) {
+      return;
+    }
+    boolean filter = authorizableHierarchy != null && authorizableHierarchy.length > 0;
+    for (String groupName : groups) {
+      Map<String, Node> roles = groupRoleIndex.get(groupName);
+      if (roles == null) {
+        continue;
+      }
+      for (Map.Entry<String, Node> role : roles.entrySet()) {
+        if (roleSet.containsRole(role.getKey())) {
+          if (filter) {
+            role.getValue().collect(0, authorizableHierarchy, result);
+          } else {
+            role.getValue().collectAll(result);
+          }
+        }
+      }
+    }
+  }
+
+  private static Entry getEntry(Map<String, Entry> entries, String privilegeString) {
+    Entry entry = entries.get(privilegeString);
+    if (entry == null) {
+      Privilege privilege = null;
+      try {
+        privilege = new CommonPrivilege(privilegeString);
+      } catch (IllegalArgumentException e) {
+        LOGGER.warn("Unable to parse privilege {}, it will not be indexed", privilegeString, e);
+      }
+      entry = new Entry(privilegeString, privilege);
+      entries.put(privilegeString, entry);
+    }
+    return entry;
+  }
+
+  private static boolean isWildcard(String value) {
+    return SentryConstants.RESOURCE_WILDCARD_VALUE.equals(value)
+        || SentryConstants.RESOURCE_WILDCARD_VALUE_SOME.equals(value)
+        || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(value);
+  }
+
+  private static boolean isIndexable(String value) {
+    return !isWildcard(value) && value.indexOf('/') < 0;
+  }
+
+  /**
+   * A privilege string together with its parsed form, which is null when the
+   * string could not be parsed.
+   */
+  private static final class Entry {
+    private final String privilegeString;
+    private final Privilege privilege;
+
+    private Entry(String privilegeString, Privilege privilege) {
+      this.privilegeString = privilegeString;
+      this.privilege = privilege;
+    }
+  }
+
+  /**
+   * Node at a given depth of the resource path. For example, the privilege
+   * "server=server1->db=db1->table=*->action=select" is stored as
+   * <pre>
+   *   root.children[server1]          (depth 0)
+   *     -> children[db1]              (depth 1)
+   *       -> unindexed                (depth 2, wildcard table)
+   * </pre>
+   */
+  private static final class Node {
+    // privileges with no resource part at this depth, they may imply any request reaching here
+    private List<Entry> terminal = Collections.emptyList();
+    // privileges whose resource part at this depth cannot be looked up by value
+    private List<Entry> unindexed = Collections.emptyList();
+    // lower cased resource value at this depth -> privileges with that value
+    private Map<String, Node> children = Collections.emptyMap();
+    private List<Entry> all = Collections.emptyList();
+
+    private void add(Entry entry, int depth) {
+      if (depth == 0) {
+        all = append(all, entry);
+      }
+      if (entry.privilege == null) {
+        // not parsable, keep it visible to every request
+        terminal = append(terminal, entry);
+        return;
+      }
+      List<KeyValue> parts = entry.privilege.getParts();
+      if (parts.size() <= depth
+          || SentryConstants.PRIVILEGE_NAME.equalsIgnoreCase(parts.get(depth).getKey())) {
+        terminal = append(terminal, entry);
+        return;
+      }
+      String value = parts.get(depth).getValue();
+      if (!isIndexable(value)) {
+        unindexed = append(unindexed, entry);
+        return;
+      }
+      if (children.isEmpty()) {
+        children = new HashMap<>();
+      }
+      String key = value.toLowerCase();
+      Node child = children.get(key);
+      if (child == null) {
+        child = new Node();
+        children.put(key, child);
+      }
+      child.add(entry, depth + 1);
+    }
+
+    private void collect(int depth, Authorizable[] authorizableHierarchy, List<Entry> result) {
+      result.addAll(terminal);
+      if (authorizableHierarchy.length <= depth) {
+        // privileges with more resource parts than the request cannot imply it
+        return;
+      }
+      result.addAll(unindexed);
+      if (children.isEmpty()) {
+        return;
+      }
+      Authorizable authorizable = authorizableHierarchy[depth];
+      String name = authorizable == null ? null : authorizable.getName();
+      if (name == null || isWildcard(name)) {
+        for (Node child : children.values()) {
+          child.collect(depth + 1, authorizableHierarchy, result);
+        }
+        return;
+      }
+      Node child = children.get(name.toLowerCase());
+      if (child != null) {
+        child.collect(depth + 1, authorizableHierarchy, result);
+      }
+    }
+
+    private void collectAll(List<Entry> result) {
+      result.addAll(all);
+    }
+
+    private static List<Entry> append(List<Entry> list, Entry entry) {
+      List<Entry> target = list.isEmpty() ? new ArrayList<Entry>(2) : list;
+      target.add(entry);
+      return target;
+    }
+  }
+}
@@ -80,5 +80,14 @@ public interface ProviderBackend {
    */
   void validatePolicy(boolean strictValidation) throws SentryConfigurationException;
 
+  /**
+   * Get the version of the privileges of the backend. The version increases whenever
+   * the privileges returned by the backend may have changed, e.g. when a cached copy
+   * was refreshed. Backends which can not tell return a constant.
+   */
+  default long getPolicyVersion() {
+    return 0;
+  }
+
   void close();
 }
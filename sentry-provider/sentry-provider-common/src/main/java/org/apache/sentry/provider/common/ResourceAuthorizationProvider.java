@@ -62,13 +62,21 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
   private final PolicyEngine policy;
   private final PrivilegeFactory privilegeFactory;
   private final Model model;
+  // null if authorization decisions are not cached
+  private final DecisionCache decisionCache;
 
   public ResourceAuthorizationProvider(PolicyEngine policy,
       GroupMappingService groupService, Model model) {
+    this(policy, groupService, model, null);
+  }
+
+  public ResourceAuthorizationProvider(PolicyEngine policy,
+      GroupMappingService groupService, Model model, DecisionCache decisionCache) {
     this.policy = policy;
     this.groupService = groupService;
     this.privilegeFactory = policy.getPrivilegeFactory();
     this.model = model;
+    this.decisionCache = decisionCache;
   }
 
   /***
@@ -108,8 +116,25 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
     Preconditions.checkNotNull(actions, "Actions cannot be null");
     Preconditions.checkArgument(!actions.isEmpty(), "Actions cannot be empty");
     Preconditions.checkNotNull(roleSet, "ActiveRoleSet cannot be null");
-    boolean hasAccess = false;
-    hasAccess = doHasAccess(subject, authorizableHierarchy, actions, requireGrantOption, roleSet);
+    if (decisionCache == null) {
+      return doHasAccess(subject, authorizableHierarchy, actions, requireGrantOption, roleSet);
+    }
+
+    // The version is read first, so a decision made while the policy changes is
+    // tagged with the old version and not reused
+    long version = policy.getPolicyVersion();
+    DecisionCache.Key key = new DecisionCache.Key(subject, authorizableHierarchy, actions,
+        requireGrantOption, roleSet);
+    DecisionCache.Decision decision = decisionCache.get(key, version);
+    if (decision != null) {
+      List<String> failedPrivileges = lastFailedPrivileges.get();
+      failedPrivileges.clear();
+      failedPrivileges.addAll(decision.failedPrivileges);
+      return decision.allowed;
+    }
+    boolean hasAccess =
+        doHasAccess(subject, authorizableHierarchy, actions, requireGrantOption, roleSet);
+    decisionCache.put(key, version, hasAccess, lastFailedPrivileges.get());
     return hasAccess;
   }
 
@@ -247,6 +272,13 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
     return policy.getPrivileges(Sets.newHashSet(groupName), ActiveRoleSet.ALL);
   }
 
+  /**
+   * @return the decision cache of this provider, or null if decisions are not cached
+   */
+  public DecisionCache getDecisionCache() {
+    return decisionCache;
+  }
+
   @Override
   public List<String> getLastFailedPrivileges() {
     return lastFailedPrivileges.get();
@@ -254,6 +286,9 @@ public abstract class ResourceAuthorizationProvider implements AuthorizationProv
 
   @Override
   public void close() {
+    if (decisionCache != null) {
+      decisionCache.invalidateAll();
+    }
     if (policy != null) {
       policy.close();
     }
@@ -22,4 +22,22 @@ public interface TableCache {
    * @return backing cache.
    */
   Table<String, String, Set<String>> getCache();
+
+  /**
+   * Returns the pre-parsed index of the backing cache, or null if the implementation
+   * does not maintain one, in which case it is built from {@link #getCache()} on demand.
+   * @return index of the backing cache, or null.
+   */
+  default PrivilegeIndex getPrivilegeIndex() {
+    return null;
+  }
+
+  /**
+   * Returns a version which increases whenever the backing cache is replaced, or a
+   * constant if the implementation does not track it.
+   * @return version of the backing cache.
+   */
+  default long getVersion() {
+    return 0;
+  }
 }
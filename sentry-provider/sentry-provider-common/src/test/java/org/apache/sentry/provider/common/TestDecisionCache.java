@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.sentry.core.common.Action;
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.common.Subject;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.policy.common.PolicyEngine;
+import org.apache.sentry.policy.common.Privilege;
+import org.apache.sentry.policy.common.PrivilegeFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+public class TestDecisionCache {
+
+  private static final Subject USER1 = new Subject("user1");
+  private static final Subject USER2 = new Subject("user2");
+  private static final List<? extends Authorizable> TOPIC =
+      Arrays.asList(authorizable("host", "*"), authorizable("topic", "t1"));
+  private static final Set<? extends Action> READ = Sets.newHashSet(action("read"));
+  private static final Set<? extends Action> WRITE = Sets.newHashSet(action("write"));
+
+  private int privilegeLookups;
+  private long policyVersion;
+  private ResourceAuthorizationProvider authProvider;
+  private MetricRegistry metrics;
+
+  private static Authorizable authorizable(final String type, final String name) {
+    return new Authorizable() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getTypeName() {
+        return type;
+      }
+    };
+  }
+
+  private static Action action(final String value) {
+    return new Action() {
+      @Override
+      public String getValue() {
+        return value;
+      }
+    };
+  }
+
+  /**
+   * Privilege which implies every request privilege for the read action
+   */
+  private static Privilege privilege(final String privilege) {
+    return new Privilege() {
+      @Override
+      public boolean implies(Privilege p, Model model) {
+        return p.toString().contains("action=read");
+      }
+
+      @Override
+      public List<KeyValue> getParts() {
+        return null;
+      }
+
+      @Override
+      public List<KeyValue> getAuthorizable() {
+        return null;
+      }
+
+      @Override
+      public String toString() {
+        return privilege;
+      }
+    };
+  }
+
+  @Before
+  public void setup() {
+    GroupMappingService mappingService = new GroupMappingService() {
+      @Override
+      public Set<String> getGroups(String user) {
+        return Sets.newHashSet("group1");
+      }
+    };
+    PolicyEngine policyEngine = new PolicyEngine() {
+      @Override
+      public PrivilegeFactory getPrivilegeFactory() {
+        return new PrivilegeFactory() {
+          @Override
+          public Privilege createPrivilege(String permission) {
+            return privilege(permission);
+          }
+        };
+      }
+
+      @Override
+      public ImmutableSet<String> getAllPrivileges(Set<String> groups, ActiveRoleSet roleSet) {
+        return ImmutableSet.of();
+      }
+
+      @Override
+      public ImmutableSet<String> getAllPrivileges(Set<String> groups, Set<String> users,
+          ActiveRoleSet roleSet) {
+        return ImmutableSet.of();
+      }
+
+      @Override
+      public ImmutableSet<String> getPrivileges(Set<String> groups, ActiveRoleSet roleSet,
+          Authorizable... authorizableHierarchy) {
+        return ImmutableSet.of();
+      }
+
+      @Override
+      public ImmutableSet<String> getPrivileges(Set<String> groups, Set<String> users,
+          ActiveRoleSet roleSet, Authorizable... authorizableHierarchy) {
+        return ImmutableSet.of();
+      }
+
+      @Override
+      public ImmutableSet<Privilege> getPrivilegeObjects(Set<String> groups, Set<String> users,
+          ActiveRoleSet roleSet, Authorizable... authorizableHierarchy) {
+        privilegeLookups++;
+        return ImmutableSet.of(privilege("host=*->topic=t1->action=read"));
+      }
+
+      @Override
+      public long getPolicyVersion() {
+        return policyVersion;
+      }
+
+      @Override
+      public void validatePolicy(boolean strictValidation) {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    DecisionCache decisionCache = new DecisionCache(100, 60000);
+    metrics = new MetricRegistry();
+    decisionCache.registerMetrics(metrics);
+    authProvider = new ResourceAuthorizationProvider(policyEngine, mappingService, null,
+        decisionCache) {
+    };
+  }
+
+  @Test
+  public void testDecisionsAreCached() {
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ, ActiveRoleSet.ALL));
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ, ActiveRoleSet.ALL));
+    assertEquals(1, privilegeLookups);
+    assertTrue(authProvider.getLastFailedPrivileges().isEmpty());
+
+    assertFalse(authProvider.hasAccess(USER1, TOPIC, WRITE, ActiveRoleSet.ALL));
+    List<String> failedPrivileges = Arrays.asList(
+        authProvider.getLastFailedPrivileges().toArray(new String[0]));
+    assertEquals(1, failedPrivileges.size());
+    // A cached denial reports the same failed privileges
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ, ActiveRoleSet.ALL));
+    assertFalse(authProvider.hasAccess(USER1, TOPIC, WRITE, ActiveRoleSet.ALL));
+    assertEquals(failedPrivileges, authProvider.getLastFailedPrivileges());
+    assertEquals(2, privilegeLookups);
+
+    // Other subjects, grant options and role sets are separate decisions
+    assertTrue(authProvider.hasAccess(USER2, TOPIC, READ, ActiveRoleSet.ALL));
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ, true, ActiveRoleSet.ALL));
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ,
+        new ActiveRoleSet(Sets.newHashSet("role1"))));
+    assertEquals(5, privilegeLookups);
+
+    assertEquals(3, authProvider.getDecisionCache().getStats().hitCount());
+    assertEquals(5, authProvider.getDecisionCache().getStats().missCount());
+    assertEquals(3L, gauge("hits"));
+    assertEquals(5L, gauge("misses"));
+    assertEquals(5L, gauge("size"));
+  }
+
+  @Test
+  public void testPolicyVersionChangeInvalidates() {
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ, ActiveRoleSet.ALL));
+    assertEquals(1, privilegeLookups);
+
+    policyVersion++;
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ, ActiveRoleSet.ALL));
+    assertEquals(2, privilegeLookups);
+    assertTrue(authProvider.hasAccess(USER1, TOPIC, READ, ActiveRoleSet.ALL));
+    assertEquals(2, privilegeLookups);
+    assertEquals(1, authProvider.getDecisionCache().size());
+  }
+
+  @Test
+  public void testEviction() {
+    DecisionCache cache = new DecisionCache(1, 60000);
+    cache.registerMetrics(metrics);
+    DecisionCache.Key key1 = new DecisionCache.Key(USER1, TOPIC, READ, false, ActiveRoleSet.ALL);
+    DecisionCache.Key key2 = new DecisionCache.Key(USER2, TOPIC, READ, false, ActiveRoleSet.ALL);
+    cache.put(key1, 0, true, null);
+    cache.put(key2, 0, true, null);
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getStats().evictionCount());
+    assertEquals(1L, gauge("evictions"));
+    assertTrue(cache.get(key2, 0).allowed);
+    assertEquals(1L, gauge("hits"));
+    assertEquals(0L, gauge("misses"));
+  }
+
+  private Object gauge(String name) {
+    Gauge<?> gauge = metrics.getGauges().get(MetricRegistry.name(DecisionCache.class, name));
+    return gauge.getValue();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.apache.sentry.core.common.ActiveRoleSet;
+import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.policy.common.Privilege;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Sets;
+import com.google.common.collect.Table;
+
+public class TestPrivilegeIndex {
+
+  private static final String TOPIC_READ = "host=*->topic=t1->action=read";
+  private static final String TOPIC_WRITE = "host=h1->topic=t2->action=write";
+  private static final String CLUSTER_ALL = "host=h1->cluster=kafka-cluster->action=all";
+  private static final String HOST_ALL = "host=h2->action=all";
+  private static final String URI_ALL = "server=server1->uri=hdfs:///user/hive->action=all";
+
+  private PrivilegeIndex index;
+
+  private static Authorizable authorizable(final String type, final String name) {
+    return new Authorizable() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getTypeName() {
+        return type;
+      }
+    };
+  }
+
+  private static Set<String> toStrings(Set<Privilege> privileges) {
+    Set<String> result = Sets.newHashSet();
+    for (Privilege privilege : privileges) {
+      result.add(privilege.toString());
+    }
+    return result;
+  }
+
+  @Before
+  public void setup() {
+    Table<String, String, Set<String>> table = HashBasedTable.create();
+    table.put("group1", "role1", Sets.newHashSet(TOPIC_READ, TOPIC_WRITE));
+    table.put("group2", "role1", Sets.newHashSet(TOPIC_READ, TOPIC_WRITE));
+    table.put("group1", "role2", Sets.newHashSet(CLUSTER_ALL, HOST_ALL));
+    table.put("group3", "role3", Sets.newHashSet(URI_ALL));
+    index = new PrivilegeIndex(table);
+  }
+
+  @Test
+  public void testNoHierarchyReturnsAll() {
+    assertEquals(Sets.newHashSet(TOPIC_READ, TOPIC_WRITE, CLUSTER_ALL, HOST_ALL),
+        index.getPrivileges(Sets.newHashSet("group1"), ActiveRoleSet.ALL));
+    assertEquals(Sets.newHashSet(TOPIC_READ, TOPIC_WRITE),
+        index.getPrivileges(Sets.newHashSet("group1"),
+            new ActiveRoleSet(Sets.newHashSet("role1"))));
+    assertEquals(Sets.newHashSet(),
+        index.getPrivileges(Sets.newHashSet("unknown"), ActiveRoleSet.ALL));
+  }
+
+  @Test
+  public void testFilterByHierarchy() {
+    Set<String> groups = Sets.newHashSet("group1");
+    assertEquals(Sets.newHashSet(TOPIC_READ, TOPIC_WRITE),
+        index.getPrivileges(groups, ActiveRoleSet.ALL,
+            authorizable("host", "H1"), authorizable("topic", "t2")));
+    assertEquals(Sets.newHashSet(TOPIC_READ),
+        toStrings(index.getPrivilegeObjects(groups, ActiveRoleSet.ALL,
+            authorizable("host", "h3"), authorizable("topic", "t1"))));
+    assertEquals(Sets.newHashSet(TOPIC_READ, HOST_ALL),
+        toStrings(index.getPrivilegeObjects(groups, ActiveRoleSet.ALL,
+            authorizable("host", "h2"), authorizable("topic", "t1"))));
+    assertEquals(Sets.newHashSet(TOPIC_READ, TOPIC_WRITE, CLUSTER_ALL),
+        toStrings(index.getPrivilegeObjects(groups, ActiveRoleSet.ALL,
+            authorizable("host", "h1"), authorizable("topic", "*"))));
+  }
+
+  @Test
+  public void testUriIsNotIndexedByValue() {
+    assertEquals(Sets.newHashSet(URI_ALL),
+        index.getPrivileges(Sets.newHashSet("group3"), ActiveRoleSet.ALL,
+            authorizable("server", "server1"), authorizable("uri", "hdfs:///user/hive/warehouse")));
+    assertEquals(Sets.newHashSet(),
+        index.getPrivileges(Sets.newHashSet("group3"), ActiveRoleSet.ALL,
+            authorizable("server", "server2"), authorizable("uri", "hdfs:///user/hive/warehouse")));
+  }
+
+  @Test
+  public void testPrivilegesParsedOnce() {
+    Privilege first = index.getPrivilegeObjects(Sets.newHashSet("group1"),
+        new ActiveRoleSet(Sets.newHashSet("role1")), authorizable("host", "h3"),
+        authorizable("topic", "t1")).iterator().next();
+    Privilege second = index.getPrivilegeObjects(Sets.newHashSet("group2"),
+        ActiveRoleSet.ALL, authorizable("host", "h3"),
+        authorizable("topic", "t1")).iterator().next();
+    assertSame(first, second);
+  }
+
+  @Test
+  public void testUnparsablePrivilegeIsKept() {
+    Table<String, String, Set<String>> table = HashBasedTable.create();
+    table.put("group1", "role1", Sets.newHashSet("server=server1->invalid"));
+    PrivilegeIndex invalid = new PrivilegeIndex(table);
+    assertEquals(Sets.newHashSet("server=server1->invalid"),
+        invalid.getPrivileges(Sets.newHashSet("group1"), ActiveRoleSet.ALL,
+            authorizable("server", "server1")));
+    assertTrue(invalid.getPrivilegeObjects(Sets.newHashSet("group1"), ActiveRoleSet.ALL,
+        authorizable("server", "server1")).isEmpty());
+  }
+}
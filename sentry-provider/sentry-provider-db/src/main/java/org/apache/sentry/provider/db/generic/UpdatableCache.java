@@ -16,14 +16,19 @@ import com.google.common.collect.Table;
 import com.google.common.collect.HashBasedTable;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.sentry.provider.common.PrivilegeIndex;
 import org.apache.sentry.provider.common.TableCache;
 import org.apache.sentry.api.generic.thrift.*;
 import org.apache.sentry.api.common.ApiConstants;
 import org.apache.sentry.api.tools.TSentryPrivilegeConverter;
+import org.apache.sentry.core.common.exception.SentryUserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
@@ -46,7 +51,11 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
   private final TSentryPrivilegeConverter tSentryPrivilegeConverter;
 
   private volatile long lastRefreshedNs = 0;
+  // Incremented whenever the index is replaced, only by the refreshing thread
+  private volatile long version = 0;
   private int consecutiveUpdateFailuresCount = 0;
+  // Last role change reflected by the index, or -1 when the index has to be fully reloaded
+  private long lastChangeID = -1;
   /**
    * Sparse table where group is the row key and role is the cell.
    * The value is the set of privileges located in the cell. For example,
@@ -71,8 +80,10 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
    *    </tr>
    *  </tbody>
    * </table>
+   * The table is published together with its pre-parsed {@link PrivilegeIndex}, so
+   * privileges are parsed once per refresh rather than once per authorization check.
    */
-  private volatile Table<String, String, Set<String>> table;
+  private volatile PrivilegeIndex index = PrivilegeIndex.empty();
 
   UpdatableCache(Configuration conf, String componentType, String serviceName, TSentryPrivilegeConverter tSentryPrivilegeConverter) {
     this.conf = conf;
@@ -87,39 +98,144 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
 
   @Override
   public Table<String, String, Set<String>> getCache() {
-    return table;
+    return index.getTable();
+  }
+
+  @Override
+  public PrivilegeIndex getPrivilegeIndex() {
+    return index;
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
   }
 
   /**
    * Build cache replica with latest values
    *
-   * @return cache replica with latest values
+   * @return indexed cache replica with latest values
+   */
+  private PrivilegeIndex loadFromRemote(SentryGenericServiceClient client, String requestor)
+      throws Exception {
+    TListSentryRolePrivilegesResponse response;
+    try {
+      response = client.listAllRolePrivileges(requestor, componentType, serviceName);
+    } catch (SentryUserException e) {
+      LOGGER.debug("Unable to list all role privileges at once, listing them per role", e);
+      return loadFromRemotePerRole(client, requestor);
+    }
+
+    Table<String, String, Set<String>> tempCache = HashBasedTable.create();
+    Map<String, Set<TSentryPrivilege>> privilegesMapByRole = response.getPrivilegesMapByRole();
+    for (TSentryRole tSentryRole : response.getRoles()) {
+      final String roleName = tSentryRole.getRoleName();
+      Set<TSentryPrivilege> tSentryPrivileges = privilegesMapByRole.get(roleName);
+      addRole(tempCache, tSentryRole, tSentryPrivileges == null ?
+          Collections.<TSentryPrivilege>emptySet() : tSentryPrivileges);
+    }
+    lastChangeID = response.isSetChangeID() ? response.getChangeID() : -1;
+    return new PrivilegeIndex(tempCache);
+  }
+
+  /**
+   * Build cache replica with latest values, for servers which can not list all role
+   * privileges at once
+   *
+   * @return indexed cache replica with latest values
    */
-  private Table<String, String, Set<String>> loadFromRemote() throws Exception {
+  private PrivilegeIndex loadFromRemotePerRole(SentryGenericServiceClient client,
+      String requestor) throws Exception {
+    // Get the current change ID first, so changes made while loading are applied by the
+    // next refresh
+    long changeID = -1;
+    try {
+      changeID = client.listRoleChanges(requestor, componentType, serviceName, -1).getChangeID();
+    } catch (SentryUserException e) {
+      LOGGER.debug("Unable to get the current role change ID, incremental refresh is disabled", e);
+    }
+
     Table<String, String, Set<String>> tempCache = HashBasedTable.create();
-    String requestor;
-    requestor = UserGroupInformation.getLoginUser().getShortUserName();
+    Set<TSentryRole>  tSentryRoles = client.listAllRoles(requestor, componentType);
+
+    for (TSentryRole tSentryRole : tSentryRoles) {
+      addRole(tempCache, tSentryRole, client.listAllPrivilegesByRoleName(requestor,
+          tSentryRole.getRoleName(), componentType, serviceName));
+    }
+    lastChangeID = changeID;
+    return new PrivilegeIndex(tempCache);
+  }
+
+  private void addRole(Table<String, String, Set<String>> tempCache, TSentryRole tSentryRole,
+      Set<TSentryPrivilege> tSentryPrivileges) {
+    final String roleName = tSentryRole.getRoleName();
+    for (String group : tSentryRole.getGroups()) {
+      Set<String> currentPrivileges = tempCache.get(group, roleName);
+      if (currentPrivileges == null) {
+        currentPrivileges = new HashSet<>();
+        tempCache.put(group, roleName, currentPrivileges);
+      }
+      for (TSentryPrivilege tSentryPrivilege : tSentryPrivileges) {
+        currentPrivileges.add(tSentryPrivilegeConverter.toString(tSentryPrivilege));
+      }
+    }
+  }
 
-    try(SentryGenericServiceClient client = getClient()) {
-      Set<TSentryRole>  tSentryRoles = client.listAllRoles(requestor, componentType);
+  /**
+   * Apply the roles changed since the last refresh to a copy of the current cache.
+   * Rows of unchanged roles are shared with the current cache.
+   *
+   * @return indexed cache replica with latest values, or null if all roles have to be reloaded
+   */
+  private PrivilegeIndex loadChangesFromRemote(SentryGenericServiceClient client,
+      String requestor) {
+    TListSentryRoleChangesResponse changes;
+    try {
+      changes = client.listRoleChanges(requestor, componentType, serviceName, lastChangeID);
+    } catch (SentryUserException e) {
+      LOGGER.warn("Unable to get role changes since change " + lastChangeID
+          + ", reloading all roles", e);
+      return null;
+    }
+    if (changes.isFullUpdateRequired()) {
+      LOGGER.debug("Role changes since change {} are not available, reloading all roles",
+          lastChangeID);
+      return null;
+    }
 
-      for (TSentryRole tSentryRole : tSentryRoles) {
+    PrivilegeIndex current = index;
+    if (changes.getChangedRolesSize() == 0) {
+      lastChangeID = changes.getChangeID();
+      return current;
+    }
+
+    Table<String, String, Set<String>> tempCache = HashBasedTable.create(current.getTable());
+    for (String roleName : changes.getChangedRoles()) {
+      for (String group : new ArrayList<>(tempCache.column(roleName).keySet())) {
+        tempCache.remove(group, roleName);
+      }
+    }
+    if (changes.isSetRoles()) {
+      Map<String, Set<TSentryPrivilege>> privilegesMapByRole = changes.getPrivilegesMapByRole();
+      for (TSentryRole tSentryRole : changes.getRoles()) {
         final String roleName = tSentryRole.getRoleName();
-        final Set<TSentryPrivilege> tSentryPrivileges =
-                client.listAllPrivilegesByRoleName(requestor, roleName, componentType, serviceName);
-        for (String group : tSentryRole.getGroups()) {
-          Set<String> currentPrivileges = tempCache.get(group, roleName);
-          if (currentPrivileges == null) {
-            currentPrivileges = new HashSet<>();
-            tempCache.put(group, roleName, currentPrivileges);
-          }
+        Set<String> currentPrivileges = new HashSet<>();
+        Set<TSentryPrivilege> tSentryPrivileges =
+            privilegesMapByRole == null ? null : privilegesMapByRole.get(roleName);
+        if (tSentryPrivileges != null) {
           for (TSentryPrivilege tSentryPrivilege : tSentryPrivileges) {
             currentPrivileges.add(tSentryPrivilegeConverter.toString(tSentryPrivilege));
           }
         }
+        for (String group : tSentryRole.getGroups()) {
+          tempCache.put(group, roleName, currentPrivileges);
+        }
       }
-      return tempCache;
     }
+    LOGGER.debug("Applied changes of {} roles up to change {}", changes.getChangedRolesSize(),
+        changes.getChangeID());
+    lastChangeID = changes.getChangeID();
+    return new PrivilegeIndex(tempCache);
   }
 
   /**
@@ -184,12 +300,31 @@ public final class UpdatableCache implements TableCache, AutoCloseable {
       consecutiveUpdateFailuresCount = 0;
       // Clear cache to revoke all privileges.
       // Update table cache to point to an empty table to avoid thread-unsafe characteristics of HashBasedTable.
-      this.table = HashBasedTable.create();
+      this.index = PrivilegeIndex.empty();
+      version++;
+      lastChangeID = -1;
     }
   }
 
+  /**
+   * Refresh the cache. Only the roles changed since the last refresh are fetched,
+   * all roles are reloaded on the first refresh or when the changes are not available.
+   */
   private void reloadData() throws Exception {
-    this.table = loadFromRemote();
+    String requestor = UserGroupInformation.getLoginUser().getShortUserName();
+    try (SentryGenericServiceClient client = getClient()) {
+      PrivilegeIndex updated = null;
+      if (lastChangeID >= 0) {
+        updated = loadChangesFromRemote(client, requestor);
+      }
+      if (updated == null) {
+        updated = loadFromRemote(client, requestor);
+      }
+      if (updated != index) {
+        this.index = updated;
+        version++;
+      }
+    }
     lastRefreshedNs = System.nanoTime();
   }
 
@@ -0,0 +1,10 @@
+-- Table SENTRY_GM_PERM_CHANGE for classes [org.apache.sentry.provider.db.service.model.MSentryGMPermChange]
+CREATE TABLE SENTRY_GM_PERM_CHANGE
+(
+    CHANGE_ID BIGINT NOT NULL,
+    COMPONENT_NAME VARCHAR(100),
+    ROLE_NAME VARCHAR(128),
+    CREATE_TIME_MS BIGINT NOT NULL
+);
+
+ALTER TABLE SENTRY_GM_PERM_CHANGE ADD CONSTRAINT SENTRY_GM_PERM_CHANGE_PK PRIMARY KEY (CHANGE_ID);
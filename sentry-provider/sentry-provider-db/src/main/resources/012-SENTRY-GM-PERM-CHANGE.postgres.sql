@@ -0,0 +1,9 @@
+-- Table `SENTRY_GM_PERM_CHANGE` for classes [org.apache.sentry.provider.db.service.model.MSentryGMPermChange]
+CREATE TABLE "SENTRY_GM_PERM_CHANGE"
+(
+    "CHANGE_ID" bigint NOT NULL,
+    "COMPONENT_NAME" character varying(100),
+    "ROLE_NAME" character varying(128),
+    "CREATE_TIME_MS" bigint NOT NULL,
+    CONSTRAINT "SENTRY_GM_PERM_CHANGE_PK" PRIMARY KEY ("CHANGE_ID")
+);
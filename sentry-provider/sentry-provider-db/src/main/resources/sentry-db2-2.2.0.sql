@@ -232,6 +232,17 @@ CREATE TABLE SENTRY_PERM_CHANGE
 
 ALTER TABLE SENTRY_PERM_CHANGE ADD CONSTRAINT SENTRY_PERM_CHANGE_PK PRIMARY KEY (CHANGE_ID);
 
+-- Table SENTRY_GM_PERM_CHANGE for classes [org.apache.sentry.provider.db.service.model.MSentryGMPermChange]
+CREATE TABLE SENTRY_GM_PERM_CHANGE
+(
+    CHANGE_ID bigint NOT NULL,
+    COMPONENT_NAME VARCHAR(100),
+    ROLE_NAME VARCHAR(128),
+    CREATE_TIME_MS bigint NOT NULL
+);
+
+ALTER TABLE SENTRY_GM_PERM_CHANGE ADD CONSTRAINT SENTRY_GM_PERM_CHANGE_PK PRIMARY KEY (CHANGE_ID);
+
 -- Table SENTRY_PATH_CHANGE for classes [org.apache.sentry.provider.db.service.model.MSentryPathChange]
 CREATE TABLE SENTRY_PATH_CHANGE
 (
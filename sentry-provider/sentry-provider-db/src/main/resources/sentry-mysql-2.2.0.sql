@@ -267,6 +267,16 @@ CREATE TABLE `SENTRY_PERM_CHANGE`
     CONSTRAINT `SENTRY_PERM_CHANGE_PK` PRIMARY KEY (`CHANGE_ID`)
 ) ENGINE=INNODB;
 
+-- Table `SENTRY_GM_PERM_CHANGE` for classes [org.apache.sentry.provider.db.service.model.MSentryGMPermChange]
+CREATE TABLE `SENTRY_GM_PERM_CHANGE`
+(
+    `CHANGE_ID` BIGINT NOT NULL,
+    `COMPONENT_NAME` VARCHAR(100) CHARACTER SET utf8 COLLATE utf8_bin,
+    `ROLE_NAME` VARCHAR(128) CHARACTER SET utf8 COLLATE utf8_bin,
+    `CREATE_TIME_MS` BIGINT NOT NULL,
+    CONSTRAINT `SENTRY_GM_PERM_CHANGE_PK` PRIMARY KEY (`CHANGE_ID`)
+) ENGINE=INNODB;
+
 -- Table `SENTRY_PATH_CHANGE` for classes [org.apache.sentry.provider.db.service.model.MSentryPathChange]
 CREATE TABLE `SENTRY_PATH_CHANGE`
 (
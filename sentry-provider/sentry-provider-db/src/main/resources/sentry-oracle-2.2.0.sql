@@ -247,6 +247,17 @@ CREATE TABLE "SENTRY_PERM_CHANGE"
 
 ALTER TABLE "SENTRY_PERM_CHANGE" ADD CONSTRAINT "SENTRY_PERM_CHANGE_PK" PRIMARY KEY ("CHANGE_ID");
 
+-- Table "SENTRY_GM_PERM_CHANGE" for classes [org.apache.sentry.provider.db.service.model.MSentryGMPermChange]
+CREATE TABLE "SENTRY_GM_PERM_CHANGE"
+(
+    "CHANGE_ID" NUMBER NOT NULL,
+    "COMPONENT_NAME" VARCHAR2(100),
+    "ROLE_NAME" VARCHAR2(128),
+    "CREATE_TIME_MS" NUMBER NOT NULL
+);
+
+ALTER TABLE "SENTRY_GM_PERM_CHANGE" ADD CONSTRAINT "SENTRY_GM_PERM_CHANGE_PK" PRIMARY KEY ("CHANGE_ID");
+
 -- Table "SENTRY_PATH_CHANGE" for classes [org.apache.sentry.provider.db.service.model.MSentryPathChange]
 CREATE TABLE "SENTRY_PATH_CHANGE"
 (
@@ -1,2 +1,13 @@
+-- Table SENTRY_GM_PERM_CHANGE for classes [org.apache.sentry.provider.db.service.model.MSentryGMPermChange]
+CREATE TABLE SENTRY_GM_PERM_CHANGE
+(
+    CHANGE_ID bigint NOT NULL,
+    COMPONENT_NAME VARCHAR(100),
+    ROLE_NAME VARCHAR(128),
+    CREATE_TIME_MS bigint NOT NULL
+);
+
+ALTER TABLE SENTRY_GM_PERM_CHANGE ADD CONSTRAINT SENTRY_GM_PERM_CHANGE_PK PRIMARY KEY (CHANGE_ID);
+
 -- Version update
 UPDATE SENTRY_VERSION SET SCHEMA_VERSION='2.2.0', VERSION_COMMENT='Sentry release version 2.2.0' WHERE VER_ID=1;
\ No newline at end of file
@@ -1,2 +1,4 @@
+RUN '012-SENTRY-GM-PERM-CHANGE.derby.sql';
+
 -- Version update
 UPDATE SENTRY_VERSION SET SCHEMA_VERSION='2.2.0', VERSION_COMMENT='Sentry release version 2.2.0' WHERE VER_ID=1;
\ No newline at end of file
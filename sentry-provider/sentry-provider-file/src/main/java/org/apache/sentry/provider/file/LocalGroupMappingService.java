@@ -24,6 +24,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sentry.core.common.utils.PolicyFiles;
@@ -55,14 +56,21 @@ import com.google.common.collect.Sets;
  * usr2=grp1,grp2
  * usr3=""
  * </pre>
+ *
+ * The file is parsed again when its modification time or length changed since it was
+ * last parsed, so a long-lived instance sees the edits of the file.
  */
 public class LocalGroupMappingService implements GroupMappingService {
 
   private static final Logger LOGGER = LoggerFactory
       .getLogger(LocalGroupMappingService.class);
 
-  private final Map <String, Set<String>> groupMap =
-      new HashMap <String, Set<String>> ();
+  private final FileSystem fileSystem;
+  private final Path resourcePath;
+  // Replaced as a whole when the file is parsed again
+  private volatile Map<String, Set<String>> groupMap = new HashMap<String, Set<String>>();
+  private long modificationTime = -1;
+  private long length = -1;
 
   public LocalGroupMappingService(Path resourcePath) throws IOException {
     this(new Configuration(), resourcePath);
@@ -71,8 +79,10 @@ public class LocalGroupMappingService implements GroupMappingService {
   @VisibleForTesting
   public LocalGroupMappingService(Configuration configuration, Path resourcePath)
       throws IOException {
+    this.fileSystem = resourcePath.getFileSystem(configuration);
+    this.resourcePath = resourcePath;
     // parse user/group mapping
-    parseGroups(resourcePath.getFileSystem(configuration), resourcePath);
+    parseGroupsIfChanged();
   }
 
   public LocalGroupMappingService(Configuration configuration, String resource)
@@ -82,6 +92,12 @@ public class LocalGroupMappingService implements GroupMappingService {
 
   @Override
   public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+    try {
+      parseGroupsIfChanged();
+    } catch (IOException e) {
+      LOGGER.warn("Unable to parse the groups again from " + resourcePath
+          + ", using the groups parsed before", e);
+    }
     Set<String> groups = groupMap.get(user);
     if (groups == null || groups.isEmpty()) {
       throw new SentryGroupNotFoundException("Unable to obtain groups for " + user);
@@ -89,12 +105,23 @@ public class LocalGroupMappingService implements GroupMappingService {
     return groups;
   }
 
-  private void parseGroups(FileSystem fileSystem, Path resourcePath) throws IOException {
+  private synchronized void parseGroupsIfChanged() throws IOException {
+    FileStatus status = fileSystem.getFileStatus(resourcePath);
+    if (status.getModificationTime() == modificationTime && status.getLen() == length) {
+      return;
+    }
+    groupMap = parseGroups();
+    modificationTime = status.getModificationTime();
+    length = status.getLen();
+  }
+
+  private Map<String, Set<String>> parseGroups() throws IOException {
+    Map<String, Set<String>> userGroups = new HashMap<String, Set<String>>();
     Ini ini = PolicyFiles.loadFromPath(fileSystem, resourcePath);
     Section usersSection = ini.getSection(PolicyFileConstants.USERS);
     if (usersSection == null) {
       LOGGER.warn("No section " + PolicyFileConstants.USERS + " in the " + resourcePath);
-      return;
+      return userGroups;
     }
     for (Entry<String, String> userEntry : usersSection.entrySet()) {
       String userName = Strings.nullToEmpty(userEntry.getKey()).trim();
@@ -111,8 +138,9 @@ public class LocalGroupMappingService implements GroupMappingService {
       Set<String> groupList = Sets.newHashSet(SentryConstants.ROLE_SPLITTER.trimResults().split(
           groupNames));
       LOGGER.debug("Got user mapping: " + userName + ", Groups: " + groupNames);
-      groupMap.put(userName, groupList);
+      userGroups.put(userName, groupList);
     }
+    return userGroups;
   }
 
 }
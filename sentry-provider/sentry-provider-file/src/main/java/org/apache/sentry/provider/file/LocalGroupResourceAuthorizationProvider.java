@@ -23,6 +23,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.sentry.core.common.Model;
 import org.apache.sentry.policy.common.PolicyEngine;
+import org.apache.sentry.provider.common.DecisionCache;
 import org.apache.sentry.provider.common.ResourceAuthorizationProvider;
 
 
@@ -36,6 +37,7 @@ public class LocalGroupResourceAuthorizationProvider extends
 
   public LocalGroupResourceAuthorizationProvider(Configuration conf, String resource, PolicyEngine policy,
       Model model) throws IOException {
-    super(policy, new LocalGroupMappingService(conf, new Path(resource)), model);
+    super(policy, new LocalGroupMappingService(conf, new Path(resource)), model,
+        DecisionCache.create(conf));
   }
 }
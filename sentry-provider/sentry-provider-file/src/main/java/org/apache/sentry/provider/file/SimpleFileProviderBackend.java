@@ -41,6 +41,7 @@ import org.apache.sentry.core.common.utils.PolicyFileConstants;
 import org.apache.sentry.provider.common.CacheProvider;
 import org.apache.sentry.provider.common.ProviderBackend;
 import org.apache.sentry.provider.common.ProviderBackendContext;
+import org.apache.sentry.provider.common.PrivilegeIndex;
 import org.apache.sentry.provider.common.TableCache;
 import org.apache.shiro.config.Ini;
 import org.slf4j.Logger;
@@ -109,11 +110,17 @@ public class SimpleFileProviderBackend extends CacheProvider implements Provider
     this.validators = context.getValidators();
     this.allowPerDatabaseSection = context.isAllowPerDatabase();
     final Table<String, String, Set<String>> table = parse();
+    final PrivilegeIndex index = new PrivilegeIndex(table);
     this.cache = new TableCache() {
       @Override
       public Table<String, String, Set<String>> getCache() {
         return table;
       }
+
+      @Override
+      public PrivilegeIndex getPrivilegeIndex() {
+        return index;
+      }
     };
     super.initialize(cache);
     this.initialized = true;
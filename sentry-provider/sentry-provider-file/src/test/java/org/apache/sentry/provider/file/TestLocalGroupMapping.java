@@ -81,4 +81,17 @@ public class TestLocalGroupMapping {
     } catch (SentryGroupNotFoundException sgnfe) {
     }
   }
+
+  @Test
+  public void testChangedFileIsParsedAgain() throws Exception {
+    File file = new File(baseDir, resourcePath);
+    FileUtils.writeStringToFile(file, "[users]\nfoo = admin\nbaz = analyst\n");
+    Assert.assertEquals(Sets.newHashSet("admin"), localGroupMapping.getGroups("foo"));
+    Assert.assertEquals(Sets.newHashSet("analyst"), localGroupMapping.getGroups("baz"));
+    try {
+      localGroupMapping.getGroups("bar");
+      Assert.fail("SentryGroupNotFoundException should be thrown.");
+    } catch (SentryGroupNotFoundException sgnfe) {
+    }
+  }
 }
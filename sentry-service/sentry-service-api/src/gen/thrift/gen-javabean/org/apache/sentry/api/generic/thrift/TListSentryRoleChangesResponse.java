@@ -0,0 +1,1119 @@
+/**
+ * Autogenerated by Thrift Compiler (0.9.3)
+ *
+ * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
+ *  @generated
+ */
+package org.apache.sentry.api.generic.thrift;
+
+import org.apache.thrift.scheme.IScheme;
+import org.apache.thrift.scheme.SchemeFactory;
+import org.apache.thrift.scheme.StandardScheme;
+
+import org.apache.thrift.scheme.TupleScheme;
+import org.apache.thrift.protocol.TTupleProtocol;
+import org.apache.thrift.protocol.TProtocolException;
+import org.apache.thrift.EncodingUtils;
+import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.apache.thrift.server.AbstractNonblockingServer.*;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.Collections;
+import java.util.BitSet;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)")
+public class TListSentryRoleChangesResponse implements org.apache.thrift.TBase<TListSentryRoleChangesResponse, TListSentryRoleChangesResponse._Fields>, java.io.Serializable, Cloneable, Comparable<TListSentryRoleChangesResponse> {
+  private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TListSentryRoleChangesResponse");
+
+  private static final org.apache.thrift.protocol.TField STATUS_FIELD_DESC = new org.apache.thrift.protocol.TField("status", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+  private static final org.apache.thrift.protocol.TField CHANGE_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("changeID", org.apache.thrift.protocol.TType.I64, (short)2);
+  private static final org.apache.thrift.protocol.TField FULL_UPDATE_REQUIRED_FIELD_DESC = new org.apache.thrift.protocol.TField("fullUpdateRequired", org.apache.thrift.protocol.TType.BOOL, (short)3);
+  private static final org.apache.thrift.protocol.TField CHANGED_ROLES_FIELD_DESC = new org.apache.thrift.protocol.TField("changedRoles", org.apache.thrift.protocol.TType.SET, (short)4);
+  private static final org.apache.thrift.protocol.TField ROLES_FIELD_DESC = new org.apache.thrift.protocol.TField("roles", org.apache.thrift.protocol.TType.SET, (short)5);
+  private static final org.apache.thrift.protocol.TField PRIVILEGES_MAP_BY_ROLE_FIELD_DESC = new org.apache.thrift.protocol.TField("privilegesMapByRole", org.apache.thrift.protocol.TType.MAP, (short)6);
+
+  private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+  static {
+    schemes.put(StandardScheme.class, new TListSentryRoleChangesResponseStandardSchemeFactory());
+    schemes.put(TupleScheme.class, new TListSentryRoleChangesResponseTupleSchemeFactory());
+  }
+
+  private org.apache.sentry.service.thrift.TSentryResponseStatus status; // required
+  private long changeID; // optional
+  private boolean fullUpdateRequired; // optional
+  private Set<String> changedRoles; // optional
+  private Set<TSentryRole> roles; // optional
+  private Map<String,Set<TSentryPrivilege>> privilegesMapByRole; // optional
+
+  /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+  public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+    STATUS((short)1, "status"),
+    CHANGE_ID((short)2, "changeID"),
+    FULL_UPDATE_REQUIRED((short)3, "fullUpdateRequired"),
+    CHANGED_ROLES((short)4, "changedRoles"),
+    ROLES((short)5, "roles"),
+    PRIVILEGES_MAP_BY_ROLE((short)6, "privilegesMapByRole");
+
+    private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+    static {
+      for (_Fields field : EnumSet.allOf(_Fields.class)) {
+        byName.put(field.getFieldName(), field);
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, or null if its not found.
+     */
+    public static _Fields findByThriftId(int fieldId) {
+      switch(fieldId) {
+        case 1: // STATUS
+          return STATUS;
+        case 2: // CHANGE_ID
+          return CHANGE_ID;
+        case 3: // FULL_UPDATE_REQUIRED
+          return FULL_UPDATE_REQUIRED;
+        case 4: // CHANGED_ROLES
+          return CHANGED_ROLES;
+        case 5: // ROLES
+          return ROLES;
+        case 6: // PRIVILEGES_MAP_BY_ROLE
+          return PRIVILEGES_MAP_BY_ROLE;
+        default:
+          return null;
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, throwing an exception
+     * if it is not found.
+     */
+    public static _Fields findByThriftIdOrThrow(int fieldId) {
+      _Fields fields = findByThriftId(fieldId);
+      if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+      return fields;
+    }
+
+    /**
+     * Find the _Fields constant that matches name, or null if its not found.
+     */
+    public static _Fields findByName(String name) {
+      return byName.get(name);
+    }
+
+    private final short _thriftId;
+    private final String _fieldName;
+
+    _Fields(short thriftId, String fieldName) {
+      _thriftId = thriftId;
+      _fieldName = fieldName;
+    }
+
+    public short getThriftFieldId() {
+      return _thriftId;
+    }
+
+    public String getFieldName() {
+      return _fieldName;
+    }
+  }
+
+  // isset id assignments
+  private static final int __CHANGEID_ISSET_ID = 0;
+  private static final int __FULLUPDATEREQUIRED_ISSET_ID = 1;
+  private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.CHANGE_ID,_Fields.FULL_UPDATE_REQUIRED,_Fields.CHANGED_ROLES,_Fields.ROLES,_Fields.PRIVILEGES_MAP_BY_ROLE};
+  public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+  static {
+    Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+    tmpMap.put(_Fields.STATUS, new org.apache.thrift.meta_data.FieldMetaData("status", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TSentryResponseStatus")));
+    tmpMap.put(_Fields.CHANGE_ID, new org.apache.thrift.meta_data.FieldMetaData("changeID", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.FULL_UPDATE_REQUIRED, new org.apache.thrift.meta_data.FieldMetaData("fullUpdateRequired", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+    tmpMap.put(_Fields.CHANGED_ROLES, new org.apache.thrift.meta_data.FieldMetaData("changedRoles", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.ROLES, new org.apache.thrift.meta_data.FieldMetaData("roles", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+            new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryRole.class))));
+    tmpMap.put(_Fields.PRIVILEGES_MAP_BY_ROLE, new org.apache.thrift.meta_data.FieldMetaData("privilegesMapByRole", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING), 
+            new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+                new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryPrivilege.class)))));
+    metaDataMap = Collections.unmodifiableMap(tmpMap);
+    org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TListSentryRoleChangesResponse.class, metaDataMap);
+  }
+
+  public TListSentryRoleChangesResponse() {
+  }
+
+  public TListSentryRoleChangesResponse(
+    org.apache.sentry.service.thrift.TSentryResponseStatus status)
+  {
+    this();
+    this.status = status;
+  }
+
+  /**
+   * Performs a deep copy on <i>other</i>.
+   */
+  public TListSentryRoleChangesResponse(TListSentryRoleChangesResponse other) {
+    __isset_bitfield = other.__isset_bitfield;
+    if (other.isSetStatus()) {
+      this.status = other.status;
+    }
+    this.changeID = other.changeID;
+    this.fullUpdateRequired = other.fullUpdateRequired;
+    if (other.isSetChangedRoles()) {
+      Set<String> __this__changedRoles = new HashSet<String>(other.changedRoles);
+      this.changedRoles = __this__changedRoles;
+    }
+    if (other.isSetRoles()) {
+      Set<TSentryRole> __this__roles = new HashSet<TSentryRole>(other.roles.size());
+      for (TSentryRole other_element : other.roles) {
+        __this__roles.add(new TSentryRole(other_element));
+      }
+      this.roles = __this__roles;
+    }
+    if (other.isSetPrivilegesMapByRole()) {
+      Map<String,Set<TSentryPrivilege>> __this__privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>(other.privilegesMapByRole.size());
+      for (Map.Entry<String, Set<TSentryPrivilege>> other_element : other.privilegesMapByRole.entrySet()) {
+
+        String other_element_key = other_element.getKey();
+        Set<TSentryPrivilege> other_element_value = other_element.getValue();
+
+        String __this__privilegesMapByRole_copy_key = other_element_key;
+
+        Set<TSentryPrivilege> __this__privilegesMapByRole_copy_value = new HashSet<TSentryPrivilege>(other_element_value.size());
+        for (TSentryPrivilege other_element_value_element : other_element_value) {
+          __this__privilegesMapByRole_copy_value.add(new TSentryPrivilege(other_element_value_element));
+        }
+
+        __this__privilegesMapByRole.put(__this__privilegesMapByRole_copy_key, __this__privilegesMapByRole_copy_value);
+      }
+      this.privilegesMapByRole = __this__privilegesMapByRole;
+    }
+  }
+
+  public TListSentryRoleChangesResponse deepCopy() {
+    return new TListSentryRoleChangesResponse(this);
+  }
+
+  @Override
+  public void clear() {
+    this.status = null;
+    setChangeIDIsSet(false);
+    this.changeID = 0;
+    setFullUpdateRequiredIsSet(false);
+    this.fullUpdateRequired = false;
+    this.changedRoles = null;
+    this.roles = null;
+    this.privilegesMapByRole = null;
+  }
+
+  public org.apache.sentry.service.thrift.TSentryResponseStatus getStatus() {
+    return this.status;
+  }
+
+  public void setStatus(org.apache.sentry.service.thrift.TSentryResponseStatus status) {
+    this.status = status;
+  }
+
+  public void unsetStatus() {
+    this.status = null;
+  }
+
+  /** Returns true if field status is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatus() {
+    return this.status != null;
+  }
+
+  public void setStatusIsSet(boolean value) {
+    if (!value) {
+      this.status = null;
+    }
+  }
+
+  public long getChangeID() {
+    return this.changeID;
+  }
+
+  public void setChangeID(long changeID) {
+    this.changeID = changeID;
+    setChangeIDIsSet(true);
+  }
+
+  public void unsetChangeID() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __CHANGEID_ISSET_ID);
+  }
+
+  /** Returns true if field changeID is set (has been assigned a value) and false otherwise */
+  public boolean isSetChangeID() {
+    return EncodingUtils.testBit(__isset_bitfield, __CHANGEID_ISSET_ID);
+  }
+
+  public void setChangeIDIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __CHANGEID_ISSET_ID, value);
+  }
+
+  public boolean isFullUpdateRequired() {
+    return this.fullUpdateRequired;
+  }
+
+  public void setFullUpdateRequired(boolean fullUpdateRequired) {
+    this.fullUpdateRequired = fullUpdateRequired;
+    setFullUpdateRequiredIsSet(true);
+  }
+
+  public void unsetFullUpdateRequired() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __FULLUPDATEREQUIRED_ISSET_ID);
+  }
+
+  /** Returns true if field fullUpdateRequired is set (has been assigned a value) and false otherwise */
+  public boolean isSetFullUpdateRequired() {
+    return EncodingUtils.testBit(__isset_bitfield, __FULLUPDATEREQUIRED_ISSET_ID);
+  }
+
+  public void setFullUpdateRequiredIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __FULLUPDATEREQUIRED_ISSET_ID, value);
+  }
+
+  public int getChangedRolesSize() {
+    return (this.changedRoles == null) ? 0 : this.changedRoles.size();
+  }
+
+  public java.util.Iterator<String> getChangedRolesIterator() {
+    return (this.changedRoles == null) ? null : this.changedRoles.iterator();
+  }
+
+  public void addToChangedRoles(String elem) {
+    if (this.changedRoles == null) {
+      this.changedRoles = new HashSet<String>();
+    }
+    this.changedRoles.add(elem);
+  }
+
+  public Set<String> getChangedRoles() {
+    return this.changedRoles;
+  }
+
+  public void setChangedRoles(Set<String> changedRoles) {
+    this.changedRoles = changedRoles;
+  }
+
+  public void unsetChangedRoles() {
+    this.changedRoles = null;
+  }
+
+  /** Returns true if field changedRoles is set (has been assigned a value) and false otherwise */
+  public boolean isSetChangedRoles() {
+    return this.changedRoles != null;
+  }
+
+  public void setChangedRolesIsSet(boolean value) {
+    if (!value) {
+      this.changedRoles = null;
+    }
+  }
+
+  public int getRolesSize() {
+    return (this.roles == null) ? 0 : this.roles.size();
+  }
+
+  public java.util.Iterator<TSentryRole> getRolesIterator() {
+    return (this.roles == null) ? null : this.roles.iterator();
+  }
+
+  public void addToRoles(TSentryRole elem) {
+    if (this.roles == null) {
+      this.roles = new HashSet<TSentryRole>();
+    }
+    this.roles.add(elem);
+  }
+
+  public Set<TSentryRole> getRoles() {
+    return this.roles;
+  }
+
+  public void setRoles(Set<TSentryRole> roles) {
+    this.roles = roles;
+  }
+
+  public void unsetRoles() {
+    this.roles = null;
+  }
+
+  /** Returns true if field roles is set (has been assigned a value) and false otherwise */
+  public boolean isSetRoles() {
+    return this.roles != null;
+  }
+
+  public void setRolesIsSet(boolean value) {
+    if (!value) {
+      this.roles = null;
+    }
+  }
+
+  public int getPrivilegesMapByRoleSize() {
+    return (this.privilegesMapByRole == null) ? 0 : this.privilegesMapByRole.size();
+  }
+
+  public void putToPrivilegesMapByRole(String key, Set<TSentryPrivilege> val) {
+    if (this.privilegesMapByRole == null) {
+      this.privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>();
+    }
+    this.privilegesMapByRole.put(key, val);
+  }
+
+  public Map<String,Set<TSentryPrivilege>> getPrivilegesMapByRole() {
+    return this.privilegesMapByRole;
+  }
+
+  public void setPrivilegesMapByRole(Map<String,Set<TSentryPrivilege>> privilegesMapByRole) {
+    this.privilegesMapByRole = privilegesMapByRole;
+  }
+
+  public void unsetPrivilegesMapByRole() {
+    this.privilegesMapByRole = null;
+  }
+
+  /** Returns true if field privilegesMapByRole is set (has been assigned a value) and false otherwise */
+  public boolean isSetPrivilegesMapByRole() {
+    return this.privilegesMapByRole != null;
+  }
+
+  public void setPrivilegesMapByRoleIsSet(boolean value) {
+    if (!value) {
+      this.privilegesMapByRole = null;
+    }
+  }
+
+  public void setFieldValue(_Fields field, Object value) {
+    switch (field) {
+    case STATUS:
+      if (value == null) {
+        unsetStatus();
+      } else {
+        setStatus((org.apache.sentry.service.thrift.TSentryResponseStatus)value);
+      }
+      break;
+
+    case CHANGE_ID:
+      if (value == null) {
+        unsetChangeID();
+      } else {
+        setChangeID((Long)value);
+      }
+      break;
+
+    case FULL_UPDATE_REQUIRED:
+      if (value == null) {
+        unsetFullUpdateRequired();
+      } else {
+        setFullUpdateRequired((Boolean)value);
+      }
+      break;
+
+    case CHANGED_ROLES:
+      if (value == null) {
+        unsetChangedRoles();
+      } else {
+        setChangedRoles((Set<String>)value);
+      }
+      break;
+
+    case ROLES:
+      if (value == null) {
+        unsetRoles();
+      } else {
+        setRoles((Set<TSentryRole>)value);
+      }
+      break;
+
+    case PRIVILEGES_MAP_BY_ROLE:
+      if (value == null) {
+        unsetPrivilegesMapByRole();
+      } else {
+        setPrivilegesMapByRole((Map<String,Set<TSentryPrivilege>>)value);
+      }
+      break;
+
+    }
+  }
+
+  public Object getFieldValue(_Fields field) {
+    switch (field) {
+    case STATUS:
+      return getStatus();
+
+    case CHANGE_ID:
+      return getChangeID();
+
+    case FULL_UPDATE_REQUIRED:
+      return isFullUpdateRequired();
+
+    case CHANGED_ROLES:
+      return getChangedRoles();
+
+    case ROLES:
+      return getRoles();
+
+    case PRIVILEGES_MAP_BY_ROLE:
+      return getPrivilegesMapByRole();
+
+    }
+    throw new IllegalStateException();
+  }
+
+  /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+  public boolean isSet(_Fields field) {
+    if (field == null) {
+      throw new IllegalArgumentException();
+    }
+
+    switch (field) {
+    case STATUS:
+      return isSetStatus();
+    case CHANGE_ID:
+      return isSetChangeID();
+    case FULL_UPDATE_REQUIRED:
+      return isSetFullUpdateRequired();
+    case CHANGED_ROLES:
+      return isSetChangedRoles();
+    case ROLES:
+      return isSetRoles();
+    case PRIVILEGES_MAP_BY_ROLE:
+      return isSetPrivilegesMapByRole();
+    }
+    throw new IllegalStateException();
+  }
+
+  @Override
+  public boolean equals(Object that) {
+    if (that == null)
+      return false;
+    if (that instanceof TListSentryRoleChangesResponse)
+      return this.equals((TListSentryRoleChangesResponse)that);
+    return false;
+  }
+
+  public boolean equals(TListSentryRoleChangesResponse that) {
+    if (that == null)
+      return false;
+
+    boolean this_present_status = true && this.isSetStatus();
+    boolean that_present_status = true && that.isSetStatus();
+    if (this_present_status || that_present_status) {
+      if (!(this_present_status && that_present_status))
+        return false;
+      if (!this.status.equals(that.status))
+        return false;
+    }
+
+    boolean this_present_changeID = true && this.isSetChangeID();
+    boolean that_present_changeID = true && that.isSetChangeID();
+    if (this_present_changeID || that_present_changeID) {
+      if (!(this_present_changeID && that_present_changeID))
+        return false;
+      if (this.changeID != that.changeID)
+        return false;
+    }
+
+    boolean this_present_fullUpdateRequired = true && this.isSetFullUpdateRequired();
+    boolean that_present_fullUpdateRequired = true && that.isSetFullUpdateRequired();
+    if (this_present_fullUpdateRequired || that_present_fullUpdateRequired) {
+      if (!(this_present_fullUpdateRequired && that_present_fullUpdateRequired))
+        return false;
+      if (this.fullUpdateRequired != that.fullUpdateRequired)
+        return false;
+    }
+
+    boolean this_present_changedRoles = true && this.isSetChangedRoles();
+    boolean that_present_changedRoles = true && that.isSetChangedRoles();
+    if (this_present_changedRoles || that_present_changedRoles) {
+      if (!(this_present_changedRoles && that_present_changedRoles))
+        return false;
+      if (!this.changedRoles.equals(that.changedRoles))
+        return false;
+    }
+
+    boolean this_present_roles = true && this.isSetRoles();
+    boolean that_present_roles = true && that.isSetRoles();
+    if (this_present_roles || that_present_roles) {
+      if (!(this_present_roles && that_present_roles))
+        return false;
+      if (!this.roles.equals(that.roles))
+        return false;
+    }
+
+    boolean this_present_privilegesMapByRole = true && this.isSetPrivilegesMapByRole();
+    boolean that_present_privilegesMapByRole = true && that.isSetPrivilegesMapByRole();
+    if (this_present_privilegesMapByRole || that_present_privilegesMapByRole) {
+      if (!(this_present_privilegesMapByRole && that_present_privilegesMapByRole))
+        return false;
+      if (!this.privilegesMapByRole.equals(that.privilegesMapByRole))
+        return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    List<Object> list = new ArrayList<Object>();
+
+    boolean present_status = true && (isSetStatus());
+    list.add(present_status);
+    if (present_status)
+      list.add(status);
+
+    boolean present_changeID = true && (isSetChangeID());
+    list.add(present_changeID);
+    if (present_changeID)
+      list.add(changeID);
+
+    boolean present_fullUpdateRequired = true && (isSetFullUpdateRequired());
+    list.add(present_fullUpdateRequired);
+    if (present_fullUpdateRequired)
+      list.add(fullUpdateRequired);
+
+    boolean present_changedRoles = true && (isSetChangedRoles());
+    list.add(present_changedRoles);
+    if (present_changedRoles)
+      list.add(changedRoles);
+
+    boolean present_roles = true && (isSetRoles());
+    list.add(present_roles);
+    if (present_roles)
+      list.add(roles);
+
+    boolean present_privilegesMapByRole = true && (isSetPrivilegesMapByRole());
+    list.add(present_privilegesMapByRole);
+    if (present_privilegesMapByRole)
+      list.add(privilegesMapByRole);
+
+    return list.hashCode();
+  }
+
+  @Override
+  public int compareTo(TListSentryRoleChangesResponse other) {
+    if (!getClass().equals(other.getClass())) {
+      return getClass().getName().compareTo(other.getClass().getName());
+    }
+
+    int lastComparison = 0;
+
+    lastComparison = Boolean.valueOf(isSetStatus()).compareTo(other.isSetStatus());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatus()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.status, other.status);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetChangeID()).compareTo(other.isSetChangeID());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetChangeID()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.changeID, other.changeID);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetFullUpdateRequired()).compareTo(other.isSetFullUpdateRequired());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetFullUpdateRequired()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.fullUpdateRequired, other.fullUpdateRequired);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetChangedRoles()).compareTo(other.isSetChangedRoles());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetChangedRoles()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.changedRoles, other.changedRoles);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetRoles()).compareTo(other.isSetRoles());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetRoles()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.roles, other.roles);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPrivilegesMapByRole()).compareTo(other.isSetPrivilegesMapByRole());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPrivilegesMapByRole()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.privilegesMapByRole, other.privilegesMapByRole);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    return 0;
+  }
+
+  public _Fields fieldForId(int fieldId) {
+    return _Fields.findByThriftId(fieldId);
+  }
+
+  public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+    schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+  }
+
+  public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+    schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("TListSentryRoleChangesResponse(");
+    boolean first = true;
+
+    sb.append("status:");
+    if (this.status == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.status);
+    }
+    first = false;
+    if (isSetChangeID()) {
+      if (!first) sb.append(", ");
+      sb.append("changeID:");
+      sb.append(this.changeID);
+      first = false;
+    }
+    if (isSetFullUpdateRequired()) {
+      if (!first) sb.append(", ");
+      sb.append("fullUpdateRequired:");
+      sb.append(this.fullUpdateRequired);
+      first = false;
+    }
+    if (isSetChangedRoles()) {
+      if (!first) sb.append(", ");
+      sb.append("changedRoles:");
+      if (this.changedRoles == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.changedRoles);
+      }
+      first = false;
+    }
+    if (isSetRoles()) {
+      if (!first) sb.append(", ");
+      sb.append("roles:");
+      if (this.roles == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.roles);
+      }
+      first = false;
+    }
+    if (isSetPrivilegesMapByRole()) {
+      if (!first) sb.append(", ");
+      sb.append("privilegesMapByRole:");
+      if (this.privilegesMapByRole == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.privilegesMapByRole);
+      }
+      first = false;
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+
+  public void validate() throws org.apache.thrift.TException {
+    // check for required fields
+    if (!isSetStatus()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'status' is unset! Struct:" + toString());
+    }
+
+    // check for sub-struct validity
+  }
+
+  private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+    try {
+      write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+    try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bitfield = 0;
+      read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private static class TListSentryRoleChangesResponseStandardSchemeFactory implements SchemeFactory {
+    public TListSentryRoleChangesResponseStandardScheme getScheme() {
+      return new TListSentryRoleChangesResponseStandardScheme();
+    }
+  }
+
+  private static class TListSentryRoleChangesResponseStandardScheme extends StandardScheme<TListSentryRoleChangesResponse> {
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot, TListSentryRoleChangesResponse struct) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField schemeField;
+      iprot.readStructBegin();
+      while (true)
+      {
+        schemeField = iprot.readFieldBegin();
+        if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (schemeField.id) {
+          case 1: // STATUS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.status = new org.apache.sentry.service.thrift.TSentryResponseStatus();
+              struct.status.read(iprot);
+              struct.setStatusIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 2: // CHANGE_ID
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.changeID = iprot.readI64();
+              struct.setChangeIDIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // FULL_UPDATE_REQUIRED
+            if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+              struct.fullUpdateRequired = iprot.readBool();
+              struct.setFullUpdateRequiredIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 4: // CHANGED_ROLES
+            if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+              {
+                org.apache.thrift.protocol.TSet _set148 = iprot.readSetBegin();
+                struct.changedRoles = new HashSet<String>(2*_set148.size);
+                String _elem149;
+                for (int _i150 = 0; _i150 < _set148.size; ++_i150)
+                {
+                  _elem149 = iprot.readString();
+                  struct.changedRoles.add(_elem149);
+                }
+                iprot.readSetEnd();
+              }
+              struct.setChangedRolesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // ROLES
+            if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+              {
+                org.apache.thrift.protocol.TSet _set151 = iprot.readSetBegin();
+                struct.roles = new HashSet<TSentryRole>(2*_set151.size);
+                TSentryRole _elem152;
+                for (int _i153 = 0; _i153 < _set151.size; ++_i153)
+                {
+                  _elem152 = new TSentryRole();
+                  _elem152.read(iprot);
+                  struct.roles.add(_elem152);
+                }
+                iprot.readSetEnd();
+              }
+              struct.setRolesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // PRIVILEGES_MAP_BY_ROLE
+            if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
+              {
+                org.apache.thrift.protocol.TMap _map154 = iprot.readMapBegin();
+                struct.privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>(2*_map154.size);
+                String _key155;
+                Set<TSentryPrivilege> _val156;
+                for (int _i157 = 0; _i157 < _map154.size; ++_i157)
+                {
+                  _key155 = iprot.readString();
+                  {
+                    org.apache.thrift.protocol.TSet _set158 = iprot.readSetBegin();
+                    _val156 = new HashSet<TSentryPrivilege>(2*_set158.size);
+                    TSentryPrivilege _elem159;
+                    for (int _i160 = 0; _i160 < _set158.size; ++_i160)
+                    {
+                      _elem159 = new TSentryPrivilege();
+                      _elem159.read(iprot);
+                      _val156.add(_elem159);
+                    }
+                    iprot.readSetEnd();
+                  }
+                  struct.privilegesMapByRole.put(_key155, _val156);
+                }
+                iprot.readMapEnd();
+              }
+              struct.setPrivilegesMapByRoleIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+      struct.validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot, TListSentryRoleChangesResponse struct) throws org.apache.thrift.TException {
+      struct.validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (struct.status != null) {
+        oprot.writeFieldBegin(STATUS_FIELD_DESC);
+        struct.status.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetChangeID()) {
+        oprot.writeFieldBegin(CHANGE_ID_FIELD_DESC);
+        oprot.writeI64(struct.changeID);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetFullUpdateRequired()) {
+        oprot.writeFieldBegin(FULL_UPDATE_REQUIRED_FIELD_DESC);
+        oprot.writeBool(struct.fullUpdateRequired);
+        oprot.writeFieldEnd();
+      }
+      if (struct.changedRoles != null) {
+        if (struct.isSetChangedRoles()) {
+          oprot.writeFieldBegin(CHANGED_ROLES_FIELD_DESC);
+          {
+            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.changedRoles.size()));
+            for (String _iter161 : struct.changedRoles)
+            {
+              oprot.writeString(_iter161);
+            }
+            oprot.writeSetEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.roles != null) {
+        if (struct.isSetRoles()) {
+          oprot.writeFieldBegin(ROLES_FIELD_DESC);
+          {
+            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, struct.roles.size()));
+            for (TSentryRole _iter162 : struct.roles)
+            {
+              _iter162.write(oprot);
+            }
+            oprot.writeSetEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.privilegesMapByRole != null) {
+        if (struct.isSetPrivilegesMapByRole()) {
+          oprot.writeFieldBegin(PRIVILEGES_MAP_BY_ROLE_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, struct.privilegesMapByRole.size()));
+            for (Map.Entry<String, Set<TSentryPrivilege>> _iter163 : struct.privilegesMapByRole.entrySet())
+            {
+              oprot.writeString(_iter163.getKey());
+              {
+                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter163.getValue().size()));
+                for (TSentryPrivilege _iter164 : _iter163.getValue())
+                {
+                  _iter164.write(oprot);
+                }
+                oprot.writeSetEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+  }
+
+  private static class TListSentryRoleChangesResponseTupleSchemeFactory implements SchemeFactory {
+    public TListSentryRoleChangesResponseTupleScheme getScheme() {
+      return new TListSentryRoleChangesResponseTupleScheme();
+    }
+  }
+
+  private static class TListSentryRoleChangesResponseTupleScheme extends TupleScheme<TListSentryRoleChangesResponse> {
+
+    @Override
+    public void write(org.apache.thrift.protocol.TProtocol prot, TListSentryRoleChangesResponse struct) throws org.apache.thrift.TException {
+      TTupleProtocol oprot = (TTupleProtocol) prot;
+      struct.status.write(oprot);
+      BitSet optionals = new BitSet();
+      if (struct.isSetChangeID()) {
+        optionals.set(0);
+      }
+      if (struct.isSetFullUpdateRequired()) {
+        optionals.set(1);
+      }
+      if (struct.isSetChangedRoles()) {
+        optionals.set(2);
+      }
+      if (struct.isSetRoles()) {
+        optionals.set(3);
+      }
+      if (struct.isSetPrivilegesMapByRole()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
+      if (struct.isSetChangeID()) {
+        oprot.writeI64(struct.changeID);
+      }
+      if (struct.isSetFullUpdateRequired()) {
+        oprot.writeBool(struct.fullUpdateRequired);
+      }
+      if (struct.isSetChangedRoles()) {
+        {
+          oprot.writeI32(struct.changedRoles.size());
+          for (String _iter165 : struct.changedRoles)
+          {
+            oprot.writeString(_iter165);
+          }
+        }
+      }
+      if (struct.isSetRoles()) {
+        {
+          oprot.writeI32(struct.roles.size());
+          for (TSentryRole _iter166 : struct.roles)
+          {
+            _iter166.write(oprot);
+          }
+        }
+      }
+      if (struct.isSetPrivilegesMapByRole()) {
+        {
+          oprot.writeI32(struct.privilegesMapByRole.size());
+          for (Map.Entry<String, Set<TSentryPrivilege>> _iter167 : struct.privilegesMapByRole.entrySet())
+          {
+            oprot.writeString(_iter167.getKey());
+            {
+              oprot.writeI32(_iter167.getValue().size());
+              for (TSentryPrivilege _iter168 : _iter167.getValue())
+              {
+                _iter168.write(oprot);
+              }
+            }
+          }
+        }
+      }
+    }
+
+    @Override
+    public void read(org.apache.thrift.protocol.TProtocol prot, TListSentryRoleChangesResponse struct) throws org.apache.thrift.TException {
+      TTupleProtocol iprot = (TTupleProtocol) prot;
+      struct.status = new org.apache.sentry.service.thrift.TSentryResponseStatus();
+      struct.status.read(iprot);
+      struct.setStatusIsSet(true);
+      BitSet incoming = iprot.readBitSet(5);
+      if (incoming.get(0)) {
+        struct.changeID = iprot.readI64();
+        struct.setChangeIDIsSet(true);
+      }
+      if (incoming.get(1)) {
+        struct.fullUpdateRequired = iprot.readBool();
+        struct.setFullUpdateRequiredIsSet(true);
+      }
+      if (incoming.get(2)) {
+        {
+          org.apache.thrift.protocol.TSet _set169 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.changedRoles = new HashSet<String>(2*_set169.size);
+          String _elem170;
+          for (int _i171 = 0; _i171 < _set169.size; ++_i171)
+          {
+            _elem170 = iprot.readString();
+            struct.changedRoles.add(_elem170);
+          }
+        }
+        struct.setChangedRolesIsSet(true);
+      }
+      if (incoming.get(3)) {
+        {
+          org.apache.thrift.protocol.TSet _set172 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+          struct.roles = new HashSet<TSentryRole>(2*_set172.size);
+          TSentryRole _elem173;
+          for (int _i174 = 0; _i174 < _set172.size; ++_i174)
+          {
+            _elem173 = new TSentryRole();
+            _elem173.read(iprot);
+            struct.roles.add(_elem173);
+          }
+        }
+        struct.setRolesIsSet(true);
+      }
+      if (incoming.get(4)) {
+        {
+          org.apache.thrift.protocol.TMap _map175 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
+          struct.privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>(2*_map175.size);
+          String _key176;
+          Set<TSentryPrivilege> _val177;
+          for (int _i178 = 0; _i178 < _map175.size; ++_i178)
+          {
+            _key176 = iprot.readString();
+            {
+              org.apache.thrift.protocol.TSet _set179 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+              _val177 = new HashSet<TSentryPrivilege>(2*_set179.size);
+              TSentryPrivilege _elem180;
+              for (int _i181 = 0; _i181 < _set179.size; ++_i181)
+              {
+                _elem180 = new TSentryPrivilege();
+                _elem180.read(iprot);
+                _val177.add(_elem180);
+              }
+            }
+            struct.privilegesMapByRole.put(_key176, _val177);
+          }
+        }
+        struct.setPrivilegesMapByRoleIsSet(true);
+      }
+    }
+  }
+
+}
+
@@ -0,0 +1,1070 @@
+/**
+ * Autogenerated by Thrift Compiler (0.9.3)
+ *
+ * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
+ *  @generated
+ */
+package org.apache.sentry.api.generic.thrift;
+
+import org.apache.thrift.scheme.IScheme;
+import org.apache.thrift.scheme.SchemeFactory;
+import org.apache.thrift.scheme.StandardScheme;
+
+import org.apache.thrift.scheme.TupleScheme;
+import org.apache.thrift.protocol.TTupleProtocol;
+import org.apache.thrift.protocol.TProtocolException;
+import org.apache.thrift.EncodingUtils;
+import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.apache.thrift.server.AbstractNonblockingServer.*;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.Collections;
+import java.util.BitSet;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)")
+public class TListSentryRolePrivilegesResponse implements org.apache.thrift.TBase<TListSentryRolePrivilegesResponse, TListSentryRolePrivilegesResponse._Fields>, java.io.Serializable, Cloneable, Comparable<TListSentryRolePrivilegesResponse> {
+  private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TListSentryRolePrivilegesResponse");
+
+  private static final org.apache.thrift.protocol.TField STATUS_FIELD_DESC = new org.apache.thrift.protocol.TField("status", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+  private static final org.apache.thrift.protocol.TField ROLES_FIELD_DESC = new org.apache.thrift.protocol.TField("roles", org.apache.thrift.protocol.TType.SET, (short)2);
+  private static final org.apache.thrift.protocol.TField PRIVILEGES_MAP_BY_ROLE_FIELD_DESC = new org.apache.thrift.protocol.TField("privilegesMapByRole", org.apache.thrift.protocol.TType.MAP, (short)3);
+  private static final org.apache.thrift.protocol.TField HAS_MORE_FIELD_DESC = new org.apache.thrift.protocol.TField("hasMore", org.apache.thrift.protocol.TType.BOOL, (short)4);
+  private static final org.apache.thrift.protocol.TField CHANGE_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("changeID", org.apache.thrift.protocol.TType.I64, (short)5);
+  private static final org.apache.thrift.protocol.TField LAST_ROLE_NAME_FIELD_DESC = new org.apache.thrift.protocol.TField("lastRoleName", org.apache.thrift.protocol.TType.STRING, (short)6);
+
+  private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+  static {
+    schemes.put(StandardScheme.class, new TListSentryRolePrivilegesResponseStandardSchemeFactory());
+    schemes.put(TupleScheme.class, new TListSentryRolePrivilegesResponseTupleSchemeFactory());
+  }
+
+  private org.apache.sentry.service.thrift.TSentryResponseStatus status; // required
+  private Set<TSentryRole> roles; // optional
+  private Map<String,Set<TSentryPrivilege>> privilegesMapByRole; // optional
+  private boolean hasMore; // optional
+  private long changeID; // optional
+  private String lastRoleName; // optional
+
+  /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+  public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+    STATUS((short)1, "status"),
+    ROLES((short)2, "roles"),
+    PRIVILEGES_MAP_BY_ROLE((short)3, "privilegesMapByRole"),
+    HAS_MORE((short)4, "hasMore"),
+    CHANGE_ID((short)5, "changeID"),
+    LAST_ROLE_NAME((short)6, "lastRoleName");
+
+    private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+    static {
+      for (_Fields field : EnumSet.allOf(_Fields.class)) {
+        byName.put(field.getFieldName(), field);
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, or null if its not found.
+     */
+    public static _Fields findByThriftId(int fieldId) {
+      switch(fieldId) {
+        case 1: // STATUS
+          return STATUS;
+        case 2: // ROLES
+          return ROLES;
+        case 3: // PRIVILEGES_MAP_BY_ROLE
+          return PRIVILEGES_MAP_BY_ROLE;
+        case 4: // HAS_MORE
+          return HAS_MORE;
+        case 5: // CHANGE_ID
+          return CHANGE_ID;
+        case 6: // LAST_ROLE_NAME
+          return LAST_ROLE_NAME;
+        default:
+          return null;
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, throwing an exception
+     * if it is not found.
+     */
+    public static _Fields findByThriftIdOrThrow(int fieldId) {
+      _Fields fields = findByThriftId(fieldId);
+      if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+      return fields;
+    }
+
+    /**
+     * Find the _Fields constant that matches name, or null if its not found.
+     */
+    public static _Fields findByName(String name) {
+      return byName.get(name);
+    }
+
+    private final short _thriftId;
+    private final String _fieldName;
+
+    _Fields(short thriftId, String fieldName) {
+      _thriftId = thriftId;
+      _fieldName = fieldName;
+    }
+
+    public short getThriftFieldId() {
+      return _thriftId;
+    }
+
+    public String getFieldName() {
+      return _fieldName;
+    }
+  }
+
+  // isset id assignments
+  private static final int __HASMORE_ISSET_ID = 0;
+  private static final int __CHANGEID_ISSET_ID = 1;
+  private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.ROLES,_Fields.PRIVILEGES_MAP_BY_ROLE,_Fields.HAS_MORE,_Fields.CHANGE_ID,_Fields.LAST_ROLE_NAME};
+  public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+  static {
+    Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+    tmpMap.put(_Fields.STATUS, new org.apache.thrift.meta_data.FieldMetaData("status", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TSentryResponseStatus")));
+    tmpMap.put(_Fields.ROLES, new org.apache.thrift.meta_data.FieldMetaData("roles", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+            new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryRole.class))));
+    tmpMap.put(_Fields.PRIVILEGES_MAP_BY_ROLE, new org.apache.thrift.meta_data.FieldMetaData("privilegesMapByRole", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING), 
+            new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+                new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryPrivilege.class)))));
+    tmpMap.put(_Fields.HAS_MORE, new org.apache.thrift.meta_data.FieldMetaData("hasMore", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+    tmpMap.put(_Fields.CHANGE_ID, new org.apache.thrift.meta_data.FieldMetaData("changeID", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.LAST_ROLE_NAME, new org.apache.thrift.meta_data.FieldMetaData("lastRoleName", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    metaDataMap = Collections.unmodifiableMap(tmpMap);
+    org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TListSentryRolePrivilegesResponse.class, metaDataMap);
+  }
+
+  public TListSentryRolePrivilegesResponse() {
+  }
+
+  public TListSentryRolePrivilegesResponse(
+    org.apache.sentry.service.thrift.TSentryResponseStatus status)
+  {
+    this();
+    this.status = status;
+  }
+
+  /**
+   * Performs a deep copy on <i>other</i>.
+   */
+  public TListSentryRolePrivilegesResponse(TListSentryRolePrivilegesResponse other) {
+    __isset_bitfield = other.__isset_bitfield;
+    if (other.isSetStatus()) {
+      this.status = other.status;
+    }
+    if (other.isSetRoles()) {
+      Set<TSentryRole> __this__roles = new HashSet<TSentryRole>(other.roles.size());
+      for (TSentryRole other_element : other.roles) {
+        __this__roles.add(new TSentryRole(other_element));
+      }
+      this.roles = __this__roles;
+    }
+    if (other.isSetPrivilegesMapByRole()) {
+      Map<String,Set<TSentryPrivilege>> __this__privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>(other.privilegesMapByRole.size());
+      for (Map.Entry<String, Set<TSentryPrivilege>> other_element : other.privilegesMapByRole.entrySet()) {
+
+        String other_element_key = other_element.getKey();
+        Set<TSentryPrivilege> other_element_value = other_element.getValue();
+
+        String __this__privilegesMapByRole_copy_key = other_element_key;
+
+        Set<TSentryPrivilege> __this__privilegesMapByRole_copy_value = new HashSet<TSentryPrivilege>(other_element_value.size());
+        for (TSentryPrivilege other_element_value_element : other_element_value) {
+          __this__privilegesMapByRole_copy_value.add(new TSentryPrivilege(other_element_value_element));
+        }
+
+        __this__privilegesMapByRole.put(__this__privilegesMapByRole_copy_key, __this__privilegesMapByRole_copy_value);
+      }
+      this.privilegesMapByRole = __this__privilegesMapByRole;
+    }
+    this.hasMore = other.hasMore;
+    this.changeID = other.changeID;
+    if (other.isSetLastRoleName()) {
+      this.lastRoleName = other.lastRoleName;
+    }
+  }
+
+  public TListSentryRolePrivilegesResponse deepCopy() {
+    return new TListSentryRolePrivilegesResponse(this);
+  }
+
+  @Override
+  public void clear() {
+    this.status = null;
+    this.roles = null;
+    this.privilegesMapByRole = null;
+    setHasMoreIsSet(false);
+    this.hasMore = false;
+    setChangeIDIsSet(false);
+    this.changeID = 0;
+    this.lastRoleName = null;
+  }
+
+  public org.apache.sentry.service.thrift.TSentryResponseStatus getStatus() {
+    return this.status;
+  }
+
+  public void setStatus(org.apache.sentry.service.thrift.TSentryResponseStatus status) {
+    this.status = status;
+  }
+
+  public void unsetStatus() {
+    this.status = null;
+  }
+
+  /** Returns true if field status is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatus() {
+    return this.status != null;
+  }
+
+  public void setStatusIsSet(boolean value) {
+    if (!value) {
+      this.status = null;
+    }
+  }
+
+  public int getRolesSize() {
+    return (this.roles == null) ? 0 : this.roles.size();
+  }
+
+  public java.util.Iterator<TSentryRole> getRolesIterator() {
+    return (this.roles == null) ? null : this.roles.iterator();
+  }
+
+  public void addToRoles(TSentryRole elem) {
+    if (this.roles == null) {
+      this.roles = new HashSet<TSentryRole>();
+    }
+    this.roles.add(elem);
+  }
+
+  public Set<TSentryRole> getRoles() {
+    return this.roles;
+  }
+
+  public void setRoles(Set<TSentryRole> roles) {
+    this.roles = roles;
+  }
+
+  public void unsetRoles() {
+    this.roles = null;
+  }
+
+  /** Returns true if field roles is set (has been assigned a value) and false otherwise */
+  public boolean isSetRoles() {
+    return this.roles != null;
+  }
+
+  public void setRolesIsSet(boolean value) {
+    if (!value) {
+      this.roles = null;
+    }
+  }
+
+  public int getPrivilegesMapByRoleSize() {
+    return (this.privilegesMapByRole == null) ? 0 : this.privilegesMapByRole.size();
+  }
+
+  public void putToPrivilegesMapByRole(String key, Set<TSentryPrivilege> val) {
+    if (this.privilegesMapByRole == null) {
+      this.privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>();
+    }
+    this.privilegesMapByRole.put(key, val);
+  }
+
+  public Map<String,Set<TSentryPrivilege>> getPrivilegesMapByRole() {
+    return this.privilegesMapByRole;
+  }
+
+  public void setPrivilegesMapByRole(Map<String,Set<TSentryPrivilege>> privilegesMapByRole) {
+    this.privilegesMapByRole = privilegesMapByRole;
+  }
+
+  public void unsetPrivilegesMapByRole() {
+    this.privilegesMapByRole = null;
+  }
+
+  /** Returns true if field privilegesMapByRole is set (has been assigned a value) and false otherwise */
+  public boolean isSetPrivilegesMapByRole() {
+    return this.privilegesMapByRole != null;
+  }
+
+  public void setPrivilegesMapByRoleIsSet(boolean value) {
+    if (!value) {
+      this.privilegesMapByRole = null;
+    }
+  }
+
+  public boolean isHasMore() {
+    return this.hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+    setHasMoreIsSet(true);
+  }
+
+  public void unsetHasMore() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __HASMORE_ISSET_ID);
+  }
+
+  /** Returns true if field hasMore is set (has been assigned a value) and false otherwise */
+  public boolean isSetHasMore() {
+    return EncodingUtils.testBit(__isset_bitfield, __HASMORE_ISSET_ID);
+  }
+
+  public void setHasMoreIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __HASMORE_ISSET_ID, value);
+  }
+
+  public long getChangeID() {
+    return this.changeID;
+  }
+
+  public void setChangeID(long changeID) {
+    this.changeID = changeID;
+    setChangeIDIsSet(true);
+  }
+
+  public void unsetChangeID() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __CHANGEID_ISSET_ID);
+  }
+
+  /** Returns true if field changeID is set (has been assigned a value) and false otherwise */
+  public boolean isSetChangeID() {
+    return EncodingUtils.testBit(__isset_bitfield, __CHANGEID_ISSET_ID);
+  }
+
+  public void setChangeIDIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __CHANGEID_ISSET_ID, value);
+  }
+
+  public String getLastRoleName() {
+    return this.lastRoleName;
+  }
+
+  public void setLastRoleName(String lastRoleName) {
+    this.lastRoleName = lastRoleName;
+  }
+
+  public void unsetLastRoleName() {
+    this.lastRoleName = null;
+  }
+
+  /** Returns true if field lastRoleName is set (has been assigned a value) and false otherwise */
+  public boolean isSetLastRoleName() {
+    return this.lastRoleName != null;
+  }
+
+  public void setLastRoleNameIsSet(boolean value) {
+    if (!value) {
+      this.lastRoleName = null;
+    }
+  }
+
+  public void setFieldValue(_Fields field, Object value) {
+    switch (field) {
+    case STATUS:
+      if (value == null) {
+        unsetStatus();
+      } else {
+        setStatus((org.apache.sentry.service.thrift.TSentryResponseStatus)value);
+      }
+      break;
+
+    case ROLES:
+      if (value == null) {
+        unsetRoles();
+      } else {
+        setRoles((Set<TSentryRole>)value);
+      }
+      break;
+
+    case PRIVILEGES_MAP_BY_ROLE:
+      if (value == null) {
+        unsetPrivilegesMapByRole();
+      } else {
+        setPrivilegesMapByRole((Map<String,Set<TSentryPrivilege>>)value);
+      }
+      break;
+
+    case HAS_MORE:
+      if (value == null) {
+        unsetHasMore();
+      } else {
+        setHasMore((Boolean)value);
+      }
+      break;
+
+    case CHANGE_ID:
+      if (value == null) {
+        unsetChangeID();
+      } else {
+        setChangeID((Long)value);
+      }
+      break;
+
+    case LAST_ROLE_NAME:
+      if (value == null) {
+        unsetLastRoleName();
+      } else {
+        setLastRoleName((String)value);
+      }
+      break;
+
+    }
+  }
+
+  public Object getFieldValue(_Fields field) {
+    switch (field) {
+    case STATUS:
+      return getStatus();
+
+    case ROLES:
+      return getRoles();
+
+    case PRIVILEGES_MAP_BY_ROLE:
+      return getPrivilegesMapByRole();
+
+    case HAS_MORE:
+      return isHasMore();
+
+    case CHANGE_ID:
+      return getChangeID();
+
+    case LAST_ROLE_NAME:
+      return getLastRoleName();
+
+    }
+    throw new IllegalStateException();
+  }
+
+  /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+  public boolean isSet(_Fields field) {
+    if (field == null) {
+      throw new IllegalArgumentException();
+    }
+
+    switch (field) {
+    case STATUS:
+      return isSetStatus();
+    case ROLES:
+      return isSetRoles();
+    case PRIVILEGES_MAP_BY_ROLE:
+      return isSetPrivilegesMapByRole();
+    case HAS_MORE:
+      return isSetHasMore();
+    case CHANGE_ID:
+      return isSetChangeID();
+    case LAST_ROLE_NAME:
+      return isSetLastRoleName();
+    }
+    throw new IllegalStateException();
+  }
+
+  @Override
+  public boolean equals(Object that) {
+    if (that == null)
+      return false;
+    if (that instanceof TListSentryRolePrivilegesResponse)
+      return this.equals((TListSentryRolePrivilegesResponse)that);
+    return false;
+  }
+
+  public boolean equals(TListSentryRolePrivilegesResponse that) {
+    if (that == null)
+      return false;
+
+    boolean this_present_status = true && this.isSetStatus();
+    boolean that_present_status = true && that.isSetStatus();
+    if (this_present_status || that_present_status) {
+      if (!(this_present_status && that_present_status))
+        return false;
+      if (!this.status.equals(that.status))
+        return false;
+    }
+
+    boolean this_present_roles = true && this.isSetRoles();
+    boolean that_present_roles = true && that.isSetRoles();
+    if (this_present_roles || that_present_roles) {
+      if (!(this_present_roles && that_present_roles))
+        return false;
+      if (!this.roles.equals(that.roles))
+        return false;
+    }
+
+    boolean this_present_privilegesMapByRole = true && this.isSetPrivilegesMapByRole();
+    boolean that_present_privilegesMapByRole = true && that.isSetPrivilegesMapByRole();
+    if (this_present_privilegesMapByRole || that_present_privilegesMapByRole) {
+      if (!(this_present_privilegesMapByRole && that_present_privilegesMapByRole))
+        return false;
+      if (!this.privilegesMapByRole.equals(that.privilegesMapByRole))
+        return false;
+    }
+
+    boolean this_present_hasMore = true && this.isSetHasMore();
+    boolean that_present_hasMore = true && that.isSetHasMore();
+    if (this_present_hasMore || that_present_hasMore) {
+      if (!(this_present_hasMore && that_present_hasMore))
+        return false;
+      if (this.hasMore != that.hasMore)
+        return false;
+    }
+
+    boolean this_present_changeID = true && this.isSetChangeID();
+    boolean that_present_changeID = true && that.isSetChangeID();
+    if (this_present_changeID || that_present_changeID) {
+      if (!(this_present_changeID && that_present_changeID))
+        return false;
+      if (this.changeID != that.changeID)
+        return false;
+    }
+
+    boolean this_present_lastRoleName = true && this.isSetLastRoleName();
+    boolean that_present_lastRoleName = true && that.isSetLastRoleName();
+    if (this_present_lastRoleName || that_present_lastRoleName) {
+      if (!(this_present_lastRoleName && that_present_lastRoleName))
+        return false;
+      if (!this.lastRoleName.equals(that.lastRoleName))
+        return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    List<Object> list = new ArrayList<Object>();
+
+    boolean present_status = true && (isSetStatus());
+    list.add(present_status);
+    if (present_status)
+      list.add(status);
+
+    boolean present_roles = true && (isSetRoles());
+    list.add(present_roles);
+    if (present_roles)
+      list.add(roles);
+
+    boolean present_privilegesMapByRole = true && (isSetPrivilegesMapByRole());
+    list.add(present_privilegesMapByRole);
+    if (present_privilegesMapByRole)
+      list.add(privilegesMapByRole);
+
+    boolean present_hasMore = true && (isSetHasMore());
+    list.add(present_hasMore);
+    if (present_hasMore)
+      list.add(hasMore);
+
+    boolean present_changeID = true && (isSetChangeID());
+    list.add(present_changeID);
+    if (present_changeID)
+      list.add(changeID);
+
+    boolean present_lastRoleName = true && (isSetLastRoleName());
+    list.add(present_lastRoleName);
+    if (present_lastRoleName)
+      list.add(lastRoleName);
+
+    return list.hashCode();
+  }
+
+  @Override
+  public int compareTo(TListSentryRolePrivilegesResponse other) {
+    if (!getClass().equals(other.getClass())) {
+      return getClass().getName().compareTo(other.getClass().getName());
+    }
+
+    int lastComparison = 0;
+
+    lastComparison = Boolean.valueOf(isSetStatus()).compareTo(other.isSetStatus());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatus()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.status, other.status);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetRoles()).compareTo(other.isSetRoles());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetRoles()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.roles, other.roles);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPrivilegesMapByRole()).compareTo(other.isSetPrivilegesMapByRole());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPrivilegesMapByRole()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.privilegesMapByRole, other.privilegesMapByRole);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetHasMore()).compareTo(other.isSetHasMore());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetHasMore()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.hasMore, other.hasMore);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetChangeID()).compareTo(other.isSetChangeID());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetChangeID()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.changeID, other.changeID);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetLastRoleName()).compareTo(other.isSetLastRoleName());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetLastRoleName()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.lastRoleName, other.lastRoleName);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    return 0;
+  }
+
+  public _Fields fieldForId(int fieldId) {
+    return _Fields.findByThriftId(fieldId);
+  }
+
+  public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+    schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+  }
+
+  public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+    schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("TListSentryRolePrivilegesResponse(");
+    boolean first = true;
+
+    sb.append("status:");
+    if (this.status == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.status);
+    }
+    first = false;
+    if (isSetRoles()) {
+      if (!first) sb.append(", ");
+      sb.append("roles:");
+      if (this.roles == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.roles);
+      }
+      first = false;
+    }
+    if (isSetPrivilegesMapByRole()) {
+      if (!first) sb.append(", ");
+      sb.append("privilegesMapByRole:");
+      if (this.privilegesMapByRole == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.privilegesMapByRole);
+      }
+      first = false;
+    }
+    if (isSetHasMore()) {
+      if (!first) sb.append(", ");
+      sb.append("hasMore:");
+      sb.append(this.hasMore);
+      first = false;
+    }
+    if (isSetChangeID()) {
+      if (!first) sb.append(", ");
+      sb.append("changeID:");
+      sb.append(this.changeID);
+      first = false;
+    }
+    if (isSetLastRoleName()) {
+      if (!first) sb.append(", ");
+      sb.append("lastRoleName:");
+      if (this.lastRoleName == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.lastRoleName);
+      }
+      first = false;
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+
+  public void validate() throws org.apache.thrift.TException {
+    // check for required fields
+    if (!isSetStatus()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'status' is unset! Struct:" + toString());
+    }
+
+    // check for sub-struct validity
+  }
+
+  private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+    try {
+      write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+    try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bitfield = 0;
+      read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private static class TListSentryRolePrivilegesResponseStandardSchemeFactory implements SchemeFactory {
+    public TListSentryRolePrivilegesResponseStandardScheme getScheme() {
+      return new TListSentryRolePrivilegesResponseStandardScheme();
+    }
+  }
+
+  private static class TListSentryRolePrivilegesResponseStandardScheme extends StandardScheme<TListSentryRolePrivilegesResponse> {
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot, TListSentryRolePrivilegesResponse struct) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField schemeField;
+      iprot.readStructBegin();
+      while (true)
+      {
+        schemeField = iprot.readFieldBegin();
+        if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (schemeField.id) {
+          case 1: // STATUS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.status = new org.apache.sentry.service.thrift.TSentryResponseStatus();
+              struct.status.read(iprot);
+              struct.setStatusIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 2: // ROLES
+            if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+              {
+                org.apache.thrift.protocol.TSet _set182 = iprot.readSetBegin();
+                struct.roles = new HashSet<TSentryRole>(2*_set182.size);
+                TSentryRole _elem183;
+                for (int _i184 = 0; _i184 < _set182.size; ++_i184)
+                {
+                  _elem183 = new TSentryRole();
+                  _elem183.read(iprot);
+                  struct.roles.add(_elem183);
+                }
+                iprot.readSetEnd();
+              }
+              struct.setRolesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // PRIVILEGES_MAP_BY_ROLE
+            if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
+              {
+                org.apache.thrift.protocol.TMap _map185 = iprot.readMapBegin();
+                struct.privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>(2*_map185.size);
+                String _key186;
+                Set<TSentryPrivilege> _val187;
+                for (int _i188 = 0; _i188 < _map185.size; ++_i188)
+                {
+                  _key186 = iprot.readString();
+                  {
+                    org.apache.thrift.protocol.TSet _set189 = iprot.readSetBegin();
+                    _val187 = new HashSet<TSentryPrivilege>(2*_set189.size);
+                    TSentryPrivilege _elem190;
+                    for (int _i191 = 0; _i191 < _set189.size; ++_i191)
+                    {
+                      _elem190 = new TSentryPrivilege();
+                      _elem190.read(iprot);
+                      _val187.add(_elem190);
+                    }
+                    iprot.readSetEnd();
+                  }
+                  struct.privilegesMapByRole.put(_key186, _val187);
+                }
+                iprot.readMapEnd();
+              }
+              struct.setPrivilegesMapByRoleIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 4: // HAS_MORE
+            if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+              struct.hasMore = iprot.readBool();
+              struct.setHasMoreIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // CHANGE_ID
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.changeID = iprot.readI64();
+              struct.setChangeIDIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // LAST_ROLE_NAME
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.lastRoleName = iprot.readString();
+              struct.setLastRoleNameIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+      struct.validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot, TListSentryRolePrivilegesResponse struct) throws org.apache.thrift.TException {
+      struct.validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (struct.status != null) {
+        oprot.writeFieldBegin(STATUS_FIELD_DESC);
+        struct.status.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      if (struct.roles != null) {
+        if (struct.isSetRoles()) {
+          oprot.writeFieldBegin(ROLES_FIELD_DESC);
+          {
+            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, struct.roles.size()));
+            for (TSentryRole _iter192 : struct.roles)
+            {
+              _iter192.write(oprot);
+            }
+            oprot.writeSetEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.privilegesMapByRole != null) {
+        if (struct.isSetPrivilegesMapByRole()) {
+          oprot.writeFieldBegin(PRIVILEGES_MAP_BY_ROLE_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, struct.privilegesMapByRole.size()));
+            for (Map.Entry<String, Set<TSentryPrivilege>> _iter193 : struct.privilegesMapByRole.entrySet())
+            {
+              oprot.writeString(_iter193.getKey());
+              {
+                oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, _iter193.getValue().size()));
+                for (TSentryPrivilege _iter194 : _iter193.getValue())
+                {
+                  _iter194.write(oprot);
+                }
+                oprot.writeSetEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.isSetHasMore()) {
+        oprot.writeFieldBegin(HAS_MORE_FIELD_DESC);
+        oprot.writeBool(struct.hasMore);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetChangeID()) {
+        oprot.writeFieldBegin(CHANGE_ID_FIELD_DESC);
+        oprot.writeI64(struct.changeID);
+        oprot.writeFieldEnd();
+      }
+      if (struct.lastRoleName != null) {
+        if (struct.isSetLastRoleName()) {
+          oprot.writeFieldBegin(LAST_ROLE_NAME_FIELD_DESC);
+          oprot.writeString(struct.lastRoleName);
+          oprot.writeFieldEnd();
+        }
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+  }
+
+  private static class TListSentryRolePrivilegesResponseTupleSchemeFactory implements SchemeFactory {
+    public TListSentryRolePrivilegesResponseTupleScheme getScheme() {
+      return new TListSentryRolePrivilegesResponseTupleScheme();
+    }
+  }
+
+  private static class TListSentryRolePrivilegesResponseTupleScheme extends TupleScheme<TListSentryRolePrivilegesResponse> {
+
+    @Override
+    public void write(org.apache.thrift.protocol.TProtocol prot, TListSentryRolePrivilegesResponse struct) throws org.apache.thrift.TException {
+      TTupleProtocol oprot = (TTupleProtocol) prot;
+      struct.status.write(oprot);
+      BitSet optionals = new BitSet();
+      if (struct.isSetRoles()) {
+        optionals.set(0);
+      }
+      if (struct.isSetPrivilegesMapByRole()) {
+        optionals.set(1);
+      }
+      if (struct.isSetHasMore()) {
+        optionals.set(2);
+      }
+      if (struct.isSetChangeID()) {
+        optionals.set(3);
+      }
+      if (struct.isSetLastRoleName()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
+      if (struct.isSetRoles()) {
+        {
+          oprot.writeI32(struct.roles.size());
+          for (TSentryRole _iter195 : struct.roles)
+          {
+            _iter195.write(oprot);
+          }
+        }
+      }
+      if (struct.isSetPrivilegesMapByRole()) {
+        {
+          oprot.writeI32(struct.privilegesMapByRole.size());
+          for (Map.Entry<String, Set<TSentryPrivilege>> _iter196 : struct.privilegesMapByRole.entrySet())
+          {
+            oprot.writeString(_iter196.getKey());
+            {
+              oprot.writeI32(_iter196.getValue().size());
+              for (TSentryPrivilege _iter197 : _iter196.getValue())
+              {
+                _iter197.write(oprot);
+              }
+            }
+          }
+        }
+      }
+      if (struct.isSetHasMore()) {
+        oprot.writeBool(struct.hasMore);
+      }
+      if (struct.isSetChangeID()) {
+        oprot.writeI64(struct.changeID);
+      }
+      if (struct.isSetLastRoleName()) {
+        oprot.writeString(struct.lastRoleName);
+      }
+    }
+
+    @Override
+    public void read(org.apache.thrift.protocol.TProtocol prot, TListSentryRolePrivilegesResponse struct) throws org.apache.thrift.TException {
+      TTupleProtocol iprot = (TTupleProtocol) prot;
+      struct.status = new org.apache.sentry.service.thrift.TSentryResponseStatus();
+      struct.status.read(iprot);
+      struct.setStatusIsSet(true);
+      BitSet incoming = iprot.readBitSet(5);
+      if (incoming.get(0)) {
+        {
+          org.apache.thrift.protocol.TSet _set198 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+          struct.roles = new HashSet<TSentryRole>(2*_set198.size);
+          TSentryRole _elem199;
+          for (int _i200 = 0; _i200 < _set198.size; ++_i200)
+          {
+            _elem199 = new TSentryRole();
+            _elem199.read(iprot);
+            struct.roles.add(_elem199);
+          }
+        }
+        struct.setRolesIsSet(true);
+      }
+      if (incoming.get(1)) {
+        {
+          org.apache.thrift.protocol.TMap _map201 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.SET, iprot.readI32());
+          struct.privilegesMapByRole = new HashMap<String,Set<TSentryPrivilege>>(2*_map201.size);
+          String _key202;
+          Set<TSentryPrivilege> _val203;
+          for (int _i204 = 0; _i204 < _map201.size; ++_i204)
+          {
+            _key202 = iprot.readString();
+            {
+              org.apache.thrift.protocol.TSet _set205 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+              _val203 = new HashSet<TSentryPrivilege>(2*_set205.size);
+              TSentryPrivilege _elem206;
+              for (int _i207 = 0; _i207 < _set205.size; ++_i207)
+              {
+                _elem206 = new TSentryPrivilege();
+                _elem206.read(iprot);
+                _val203.add(_elem206);
+              }
+            }
+            struct.privilegesMapByRole.put(_key202, _val203);
+          }
+        }
+        struct.setPrivilegesMapByRoleIsSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.hasMore = iprot.readBool();
+        struct.setHasMoreIsSet(true);
+      }
+      if (incoming.get(3)) {
+        struct.changeID = iprot.readI64();
+        struct.setChangeIDIsSet(true);
+      }
+      if (incoming.get(4)) {
+        struct.lastRoleName = iprot.readString();
+        struct.setLastRoleNameIsSet(true);
+      }
+    }
+  }
+
+}
+
@@ -0,0 +1,1109 @@
+/**
+ * Autogenerated by Thrift Compiler (0.9.3)
+ *
+ * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
+ *  @generated
+ */
+package org.apache.sentry.api.service.thrift;
+
+import org.apache.thrift.scheme.IScheme;
+import org.apache.thrift.scheme.SchemeFactory;
+import org.apache.thrift.scheme.StandardScheme;
+
+import org.apache.thrift.scheme.TupleScheme;
+import org.apache.thrift.protocol.TTupleProtocol;
+import org.apache.thrift.protocol.TProtocolException;
+import org.apache.thrift.EncodingUtils;
+import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.apache.thrift.server.AbstractNonblockingServer.*;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.Collections;
+import java.util.BitSet;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)")
+public class TFilterAuthorizablesRequest implements org.apache.thrift.TBase<TFilterAuthorizablesRequest, TFilterAuthorizablesRequest._Fields>, java.io.Serializable, Cloneable, Comparable<TFilterAuthorizablesRequest> {
+  private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TFilterAuthorizablesRequest");
+
+  private static final org.apache.thrift.protocol.TField PROTOCOL_VERSION_FIELD_DESC = new org.apache.thrift.protocol.TField("protocol_version", org.apache.thrift.protocol.TType.I32, (short)1);
+  private static final org.apache.thrift.protocol.TField GROUPS_FIELD_DESC = new org.apache.thrift.protocol.TField("groups", org.apache.thrift.protocol.TType.SET, (short)2);
+  private static final org.apache.thrift.protocol.TField ROLE_SET_FIELD_DESC = new org.apache.thrift.protocol.TField("roleSet", org.apache.thrift.protocol.TType.STRUCT, (short)3);
+  private static final org.apache.thrift.protocol.TField AUTHORIZABLES_FIELD_DESC = new org.apache.thrift.protocol.TField("authorizables", org.apache.thrift.protocol.TType.LIST, (short)4);
+  private static final org.apache.thrift.protocol.TField ACTIONS_FIELD_DESC = new org.apache.thrift.protocol.TField("actions", org.apache.thrift.protocol.TType.SET, (short)5);
+  private static final org.apache.thrift.protocol.TField USERS_FIELD_DESC = new org.apache.thrift.protocol.TField("users", org.apache.thrift.protocol.TType.SET, (short)6);
+
+  private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+  static {
+    schemes.put(StandardScheme.class, new TFilterAuthorizablesRequestStandardSchemeFactory());
+    schemes.put(TupleScheme.class, new TFilterAuthorizablesRequestTupleSchemeFactory());
+  }
+
+  private int protocol_version; // required
+  private Set<String> groups; // required
+  private TSentryActiveRoleSet roleSet; // required
+  private List<TSentryAuthorizable> authorizables; // required
+  private Set<String> actions; // required
+  private Set<String> users; // optional
+
+  /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+  public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+    PROTOCOL_VERSION((short)1, "protocol_version"),
+    GROUPS((short)2, "groups"),
+    ROLE_SET((short)3, "roleSet"),
+    AUTHORIZABLES((short)4, "authorizables"),
+    ACTIONS((short)5, "actions"),
+    USERS((short)6, "users");
+
+    private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+    static {
+      for (_Fields field : EnumSet.allOf(_Fields.class)) {
+        byName.put(field.getFieldName(), field);
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, or null if its not found.
+     */
+    public static _Fields findByThriftId(int fieldId) {
+      switch(fieldId) {
+        case 1: // PROTOCOL_VERSION
+          return PROTOCOL_VERSION;
+        case 2: // GROUPS
+          return GROUPS;
+        case 3: // ROLE_SET
+          return ROLE_SET;
+        case 4: // AUTHORIZABLES
+          return AUTHORIZABLES;
+        case 5: // ACTIONS
+          return ACTIONS;
+        case 6: // USERS
+          return USERS;
+        default:
+          return null;
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, throwing an exception
+     * if it is not found.
+     */
+    public static _Fields findByThriftIdOrThrow(int fieldId) {
+      _Fields fields = findByThriftId(fieldId);
+      if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+      return fields;
+    }
+
+    /**
+     * Find the _Fields constant that matches name, or null if its not found.
+     */
+    public static _Fields findByName(String name) {
+      return byName.get(name);
+    }
+
+    private final short _thriftId;
+    private final String _fieldName;
+
+    _Fields(short thriftId, String fieldName) {
+      _thriftId = thriftId;
+      _fieldName = fieldName;
+    }
+
+    public short getThriftFieldId() {
+      return _thriftId;
+    }
+
+    public String getFieldName() {
+      return _fieldName;
+    }
+  }
+
+  // isset id assignments
+  private static final int __PROTOCOL_VERSION_ISSET_ID = 0;
+  private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.USERS};
+  public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+  static {
+    Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+    tmpMap.put(_Fields.PROTOCOL_VERSION, new org.apache.thrift.meta_data.FieldMetaData("protocol_version", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.GROUPS, new org.apache.thrift.meta_data.FieldMetaData("groups", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.ROLE_SET, new org.apache.thrift.meta_data.FieldMetaData("roleSet", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryActiveRoleSet.class)));
+    tmpMap.put(_Fields.AUTHORIZABLES, new org.apache.thrift.meta_data.FieldMetaData("authorizables", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+            new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSentryAuthorizable.class))));
+    tmpMap.put(_Fields.ACTIONS, new org.apache.thrift.meta_data.FieldMetaData("actions", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.USERS, new org.apache.thrift.meta_data.FieldMetaData("users", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    metaDataMap = Collections.unmodifiableMap(tmpMap);
+    org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TFilterAuthorizablesRequest.class, metaDataMap);
+  }
+
+  public TFilterAuthorizablesRequest() {
+    this.protocol_version = 2;
+
+  }
+
+  public TFilterAuthorizablesRequest(
+    int protocol_version,
+    Set<String> groups,
+    TSentryActiveRoleSet roleSet,
+    List<TSentryAuthorizable> authorizables,
+    Set<String> actions)
+  {
+    this();
+    this.protocol_version = protocol_version;
+    setProtocol_versionIsSet(true);
+    this.groups = groups;
+    this.roleSet = roleSet;
+    this.authorizables = authorizables;
+    this.actions = actions;
+  }
+
+  /**
+   * Performs a deep copy on <i>other</i>.
+   */
+  public TFilterAuthorizablesRequest(TFilterAuthorizablesRequest other) {
+    __isset_bitfield = other.__isset_bitfield;
+    this.protocol_version = other.protocol_version;
+    if (other.isSetGroups()) {
+      Set<String> __this__groups = new HashSet<String>(other.groups);
+      this.groups = __this__groups;
+    }
+    if (other.isSetRoleSet()) {
+      this.roleSet = new TSentryActiveRoleSet(other.roleSet);
+    }
+    if (other.isSetAuthorizables()) {
+      List<TSentryAuthorizable> __this__authorizables = new ArrayList<TSentryAuthorizable>(other.authorizables.size());
+      for (TSentryAuthorizable other_element : other.authorizables) {
+        __this__authorizables.add(new TSentryAuthorizable(other_element));
+      }
+      this.authorizables = __this__authorizables;
+    }
+    if (other.isSetActions()) {
+      Set<String> __this__actions = new HashSet<String>(other.actions);
+      this.actions = __this__actions;
+    }
+    if (other.isSetUsers()) {
+      Set<String> __this__users = new HashSet<String>(other.users);
+      this.users = __this__users;
+    }
+  }
+
+  public TFilterAuthorizablesRequest deepCopy() {
+    return new TFilterAuthorizablesRequest(this);
+  }
+
+  @Override
+  public void clear() {
+    this.protocol_version = 2;
+
+    this.groups = null;
+    this.roleSet = null;
+    this.authorizables = null;
+    this.actions = null;
+    this.users = null;
+  }
+
+  public int getProtocol_version() {
+    return this.protocol_version;
+  }
+
+  public void setProtocol_version(int protocol_version) {
+    this.protocol_version = protocol_version;
+    setProtocol_versionIsSet(true);
+  }
+
+  public void unsetProtocol_version() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __PROTOCOL_VERSION_ISSET_ID);
+  }
+
+  /** Returns true if field protocol_version is set (has been assigned a value) and false otherwise */
+  public boolean isSetProtocol_version() {
+    return EncodingUtils.testBit(__isset_bitfield, __PROTOCOL_VERSION_ISSET_ID);
+  }
+
+  public void setProtocol_versionIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __PROTOCOL_VERSION_ISSET_ID, value);
+  }
+
+  public int getGroupsSize() {
+    return (this.groups == null) ? 0 : this.groups.size();
+  }
+
+  public java.util.Iterator<String> getGroupsIterator() {
+    return (this.groups == null) ? null : this.groups.iterator();
+  }
+
+  public void addToGroups(String elem) {
+    if (this.groups == null) {
+      this.groups = new HashSet<String>();
+    }
+    this.groups.add(elem);
+  }
+
+  public Set<String> getGroups() {
+    return this.groups;
+  }
+
+  public void setGroups(Set<String> groups) {
+    this.groups = groups;
+  }
+
+  public void unsetGroups() {
+    this.groups = null;
+  }
+
+  /** Returns true if field groups is set (has been assigned a value) and false otherwise */
+  public boolean isSetGroups() {
+    return this.groups != null;
+  }
+
+  public void setGroupsIsSet(boolean value) {
+    if (!value) {
+      this.groups = null;
+    }
+  }
+
+  public TSentryActiveRoleSet getRoleSet() {
+    return this.roleSet;
+  }
+
+  public void setRoleSet(TSentryActiveRoleSet roleSet) {
+    this.roleSet = roleSet;
+  }
+
+  public void unsetRoleSet() {
+    this.roleSet = null;
+  }
+
+  /** Returns true if field roleSet is set (has been assigned a value) and false otherwise */
+  public boolean isSetRoleSet() {
+    return this.roleSet != null;
+  }
+
+  public void setRoleSetIsSet(boolean value) {
+    if (!value) {
+      this.roleSet = null;
+    }
+  }
+
+  public int getAuthorizablesSize() {
+    return (this.authorizables == null) ? 0 : this.authorizables.size();
+  }
+
+  public java.util.Iterator<TSentryAuthorizable> getAuthorizablesIterator() {
+    return (this.authorizables == null) ? null : this.authorizables.iterator();
+  }
+
+  public void addToAuthorizables(TSentryAuthorizable elem) {
+    if (this.authorizables == null) {
+      this.authorizables = new ArrayList<TSentryAuthorizable>();
+    }
+    this.authorizables.add(elem);
+  }
+
+  public List<TSentryAuthorizable> getAuthorizables() {
+    return this.authorizables;
+  }
+
+  public void setAuthorizables(List<TSentryAuthorizable> authorizables) {
+    this.authorizables = authorizables;
+  }
+
+  public void unsetAuthorizables() {
+    this.authorizables = null;
+  }
+
+  /** Returns true if field authorizables is set (has been assigned a value) and false otherwise */
+  public boolean isSetAuthorizables() {
+    return this.authorizables != null;
+  }
+
+  public void setAuthorizablesIsSet(boolean value) {
+    if (!value) {
+      this.authorizables = null;
+    }
+  }
+
+  public int getActionsSize() {
+    return (this.actions == null) ? 0 : this.actions.size();
+  }
+
+  public java.util.Iterator<String> getActionsIterator() {
+    return (this.actions == null) ? null : this.actions.iterator();
+  }
+
+  public void addToActions(String elem) {
+    if (this.actions == null) {
+      this.actions = new HashSet<String>();
+    }
+    this.actions.add(elem);
+  }
+
+  public Set<String> getActions() {
+    return this.actions;
+  }
+
+  public void setActions(Set<String> actions) {
+    this.actions = actions;
+  }
+
+  public void unsetActions() {
+    this.actions = null;
+  }
+
+  /** Returns true if field actions is set (has been assigned a value) and false otherwise */
+  public boolean isSetActions() {
+    return this.actions != null;
+  }
+
+  public void setActionsIsSet(boolean value) {
+    if (!value) {
+      this.actions = null;
+    }
+  }
+
+  public int getUsersSize() {
+    return (this.users == null) ? 0 : this.users.size();
+  }
+
+  public java.util.Iterator<String> getUsersIterator() {
+    return (this.users == null) ? null : this.users.iterator();
+  }
+
+  public void addToUsers(String elem) {
+    if (this.users == null) {
+      this.users = new HashSet<String>();
+    }
+    this.users.add(elem);
+  }
+
+  public Set<String> getUsers() {
+    return this.users;
+  }
+
+  public void setUsers(Set<String> users) {
+    this.users = users;
+  }
+
+  public void unsetUsers() {
+    this.users = null;
+  }
+
+  /** Returns true if field users is set (has been assigned a value) and false otherwise */
+  public boolean isSetUsers() {
+    return this.users != null;
+  }
+
+  public void setUsersIsSet(boolean value) {
+    if (!value) {
+      this.users = null;
+    }
+  }
+
+  public void setFieldValue(_Fields field, Object value) {
+    switch (field) {
+    case PROTOCOL_VERSION:
+      if (value == null) {
+        unsetProtocol_version();
+      } else {
+        setProtocol_version((Integer)value);
+      }
+      break;
+
+    case GROUPS:
+      if (value == null) {
+        unsetGroups();
+      } else {
+        setGroups((Set<String>)value);
+      }
+      break;
+
+    case ROLE_SET:
+      if (value == null) {
+        unsetRoleSet();
+      } else {
+        setRoleSet((TSentryActiveRoleSet)value);
+      }
+      break;
+
+    case AUTHORIZABLES:
+      if (value == null) {
+        unsetAuthorizables();
+      } else {
+        setAuthorizables((List<TSentryAuthorizable>)value);
+      }
+      break;
+
+    case ACTIONS:
+      if (value == null) {
+        unsetActions();
+      } else {
+        setActions((Set<String>)value);
+      }
+      break;
+
+    case USERS:
+      if (value == null) {
+        unsetUsers();
+      } else {
+        setUsers((Set<String>)value);
+      }
+      break;
+
+    }
+  }
+
+  public Object getFieldValue(_Fields field) {
+    switch (field) {
+    case PROTOCOL_VERSION:
+      return getProtocol_version();
+
+    case GROUPS:
+      return getGroups();
+
+    case ROLE_SET:
+      return getRoleSet();
+
+    case AUTHORIZABLES:
+      return getAuthorizables();
+
+    case ACTIONS:
+      return getActions();
+
+    case USERS:
+      return getUsers();
+
+    }
+    throw new IllegalStateException();
+  }
+
+  /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+  public boolean isSet(_Fields field) {
+    if (field == null) {
+      throw new IllegalArgumentException();
+    }
+
+    switch (field) {
+    case PROTOCOL_VERSION:
+      return isSetProtocol_version();
+    case GROUPS:
+      return isSetGroups();
+    case ROLE_SET:
+      return isSetRoleSet();
+    case AUTHORIZABLES:
+      return isSetAuthorizables();
+    case ACTIONS:
+      return isSetActions();
+    case USERS:
+      return isSetUsers();
+    }
+    throw new IllegalStateException();
+  }
+
+  @Override
+  public boolean equals(Object that) {
+    if (that == null)
+      return false;
+    if (that instanceof TFilterAuthorizablesRequest)
+      return this.equals((TFilterAuthorizablesRequest)that);
+    return false;
+  }
+
+  public boolean equals(TFilterAuthorizablesRequest that) {
+    if (that == null)
+      return false;
+
+    boolean this_present_protocol_version = true;
+    boolean that_present_protocol_version = true;
+    if (this_present_protocol_version || that_present_protocol_version) {
+      if (!(this_present_protocol_version && that_present_protocol_version))
+        return false;
+      if (this.protocol_version != that.protocol_version)
+        return false;
+    }
+
+    boolean this_present_groups = true && this.isSetGroups();
+    boolean that_present_groups = true && that.isSetGroups();
+    if (this_present_groups || that_present_groups) {
+      if (!(this_present_groups && that_present_groups))
+        return false;
+      if (!this.groups.equals(that.groups))
+        return false;
+    }
+
+    boolean this_present_roleSet = true && this.isSetRoleSet();
+    boolean that_present_roleSet = true && that.isSetRoleSet();
+    if (this_present_roleSet || that_present_roleSet) {
+      if (!(this_present_roleSet && that_present_roleSet))
+        return false;
+      if (!this.roleSet.equals(that.roleSet))
+        return false;
+    }
+
+    boolean this_present_authorizables = true && this.isSetAuthorizables();
+    boolean that_present_authorizables = true && that.isSetAuthorizables();
+    if (this_present_authorizables || that_present_authorizables) {
+      if (!(this_present_authorizables && that_present_authorizables))
+        return false;
+      if (!this.authorizables.equals(that.authorizables))
+        return false;
+    }
+
+    boolean this_present_actions = true && this.isSetActions();
+    boolean that_present_actions = true && that.isSetActions();
+    if (this_present_actions || that_present_actions) {
+      if (!(this_present_actions && that_present_actions))
+        return false;
+      if (!this.actions.equals(that.actions))
+        return false;
+    }
+
+    boolean this_present_users = true && this.isSetUsers();
+    boolean that_present_users = true && that.isSetUsers();
+    if (this_present_users || that_present_users) {
+      if (!(this_present_users && that_present_users))
+        return false;
+      if (!this.users.equals(that.users))
+        return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    List<Object> list = new ArrayList<Object>();
+
+    boolean present_protocol_version = true;
+    list.add(present_protocol_version);
+    if (present_protocol_version)
+      list.add(protocol_version);
+
+    boolean present_groups = true && (isSetGroups());
+    list.add(present_groups);
+    if (present_groups)
+      list.add(groups);
+
+    boolean present_roleSet = true && (isSetRoleSet());
+    list.add(present_roleSet);
+    if (present_roleSet)
+      list.add(roleSet);
+
+    boolean present_authorizables = true && (isSetAuthorizables());
+    list.add(present_authorizables);
+    if (present_authorizables)
+      list.add(authorizables);
+
+    boolean present_actions = true && (isSetActions());
+    list.add(present_actions);
+    if (present_actions)
+      list.add(actions);
+
+    boolean present_users = true && (isSetUsers());
+    list.add(present_users);
+    if (present_users)
+      list.add(users);
+
+    return list.hashCode();
+  }
+
+  @Override
+  public int compareTo(TFilterAuthorizablesRequest other) {
+    if (!getClass().equals(other.getClass())) {
+      return getClass().getName().compareTo(other.getClass().getName());
+    }
+
+    int lastComparison = 0;
+
+    lastComparison = Boolean.valueOf(isSetProtocol_version()).compareTo(other.isSetProtocol_version());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetProtocol_version()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.protocol_version, other.protocol_version);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetGroups()).compareTo(other.isSetGroups());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetGroups()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.groups, other.groups);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetRoleSet()).compareTo(other.isSetRoleSet());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetRoleSet()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.roleSet, other.roleSet);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetAuthorizables()).compareTo(other.isSetAuthorizables());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetAuthorizables()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.authorizables, other.authorizables);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetActions()).compareTo(other.isSetActions());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetActions()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.actions, other.actions);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetUsers()).compareTo(other.isSetUsers());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetUsers()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.users, other.users);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    return 0;
+  }
+
+  public _Fields fieldForId(int fieldId) {
+    return _Fields.findByThriftId(fieldId);
+  }
+
+  public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+    schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+  }
+
+  public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+    schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("TFilterAuthorizablesRequest(");
+    boolean first = true;
+
+    sb.append("protocol_version:");
+    sb.append(this.protocol_version);
+    first = false;
+    if (!first) sb.append(", ");
+    sb.append("groups:");
+    if (this.groups == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.groups);
+    }
+    first = false;
+    if (!first) sb.append(", ");
+    sb.append("roleSet:");
+    if (this.roleSet == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.roleSet);
+    }
+    first = false;
+    if (!first) sb.append(", ");
+    sb.append("authorizables:");
+    if (this.authorizables == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.authorizables);
+    }
+    first = false;
+    if (!first) sb.append(", ");
+    sb.append("actions:");
+    if (this.actions == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.actions);
+    }
+    first = false;
+    if (isSetUsers()) {
+      if (!first) sb.append(", ");
+      sb.append("users:");
+      if (this.users == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.users);
+      }
+      first = false;
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+
+  public void validate() throws org.apache.thrift.TException {
+    // check for required fields
+    if (!isSetProtocol_version()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'protocol_version' is unset! Struct:" + toString());
+    }
+
+    if (!isSetGroups()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'groups' is unset! Struct:" + toString());
+    }
+
+    if (!isSetRoleSet()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'roleSet' is unset! Struct:" + toString());
+    }
+
+    if (!isSetAuthorizables()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'authorizables' is unset! Struct:" + toString());
+    }
+
+    if (!isSetActions()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'actions' is unset! Struct:" + toString());
+    }
+
+    // check for sub-struct validity
+    if (roleSet != null) {
+      roleSet.validate();
+    }
+  }
+
+  private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+    try {
+      write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+    try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bitfield = 0;
+      read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private static class TFilterAuthorizablesRequestStandardSchemeFactory implements SchemeFactory {
+    public TFilterAuthorizablesRequestStandardScheme getScheme() {
+      return new TFilterAuthorizablesRequestStandardScheme();
+    }
+  }
+
+  private static class TFilterAuthorizablesRequestStandardScheme extends StandardScheme<TFilterAuthorizablesRequest> {
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot, TFilterAuthorizablesRequest struct) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField schemeField;
+      iprot.readStructBegin();
+      while (true)
+      {
+        schemeField = iprot.readFieldBegin();
+        if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (schemeField.id) {
+          case 1: // PROTOCOL_VERSION
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.protocol_version = iprot.readI32();
+              struct.setProtocol_versionIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 2: // GROUPS
+            if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+              {
+                org.apache.thrift.protocol.TSet _set255 = iprot.readSetBegin();
+                struct.groups = new HashSet<String>(2*_set255.size);
+                String _elem256;
+                for (int _i257 = 0; _i257 < _set255.size; ++_i257)
+                {
+                  _elem256 = iprot.readString();
+                  struct.groups.add(_elem256);
+                }
+                iprot.readSetEnd();
+              }
+              struct.setGroupsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // ROLE_SET
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.roleSet = new TSentryActiveRoleSet();
+              struct.roleSet.read(iprot);
+              struct.setRoleSetIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 4: // AUTHORIZABLES
+            if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list258 = iprot.readListBegin();
+                struct.authorizables = new ArrayList<TSentryAuthorizable>(_list258.size);
+                TSentryAuthorizable _elem259;
+                for (int _i260 = 0; _i260 < _list258.size; ++_i260)
+                {
+                  _elem259 = new TSentryAuthorizable();
+                  _elem259.read(iprot);
+                  struct.authorizables.add(_elem259);
+                }
+                iprot.readListEnd();
+              }
+              struct.setAuthorizablesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // ACTIONS
+            if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+              {
+                org.apache.thrift.protocol.TSet _set261 = iprot.readSetBegin();
+                struct.actions = new HashSet<String>(2*_set261.size);
+                String _elem262;
+                for (int _i263 = 0; _i263 < _set261.size; ++_i263)
+                {
+                  _elem262 = iprot.readString();
+                  struct.actions.add(_elem262);
+                }
+                iprot.readSetEnd();
+              }
+              struct.setActionsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 6: // USERS
+            if (schemeField.type == org.apache.thrift.protocol.TType.SET) {
+              {
+                org.apache.thrift.protocol.TSet _set264 = iprot.readSetBegin();
+                struct.users = new HashSet<String>(2*_set264.size);
+                String _elem265;
+                for (int _i266 = 0; _i266 < _set264.size; ++_i266)
+                {
+                  _elem265 = iprot.readString();
+                  struct.users.add(_elem265);
+                }
+                iprot.readSetEnd();
+              }
+              struct.setUsersIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+      struct.validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot, TFilterAuthorizablesRequest struct) throws org.apache.thrift.TException {
+      struct.validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      oprot.writeFieldBegin(PROTOCOL_VERSION_FIELD_DESC);
+      oprot.writeI32(struct.protocol_version);
+      oprot.writeFieldEnd();
+      if (struct.groups != null) {
+        oprot.writeFieldBegin(GROUPS_FIELD_DESC);
+        {
+          oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.groups.size()));
+          for (String _iter267 : struct.groups)
+          {
+            oprot.writeString(_iter267);
+          }
+          oprot.writeSetEnd();
+        }
+        oprot.writeFieldEnd();
+      }
+      if (struct.roleSet != null) {
+        oprot.writeFieldBegin(ROLE_SET_FIELD_DESC);
+        struct.roleSet.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      if (struct.authorizables != null) {
+        oprot.writeFieldBegin(AUTHORIZABLES_FIELD_DESC);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.authorizables.size()));
+          for (TSentryAuthorizable _iter268 : struct.authorizables)
+          {
+            _iter268.write(oprot);
+          }
+          oprot.writeListEnd();
+        }
+        oprot.writeFieldEnd();
+      }
+      if (struct.actions != null) {
+        oprot.writeFieldBegin(ACTIONS_FIELD_DESC);
+        {
+          oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.actions.size()));
+          for (String _iter269 : struct.actions)
+          {
+            oprot.writeString(_iter269);
+          }
+          oprot.writeSetEnd();
+        }
+        oprot.writeFieldEnd();
+      }
+      if (struct.users != null) {
+        if (struct.isSetUsers()) {
+          oprot.writeFieldBegin(USERS_FIELD_DESC);
+          {
+            oprot.writeSetBegin(new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, struct.users.size()));
+            for (String _iter270 : struct.users)
+            {
+              oprot.writeString(_iter270);
+            }
+            oprot.writeSetEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+  }
+
+  private static class TFilterAuthorizablesRequestTupleSchemeFactory implements SchemeFactory {
+    public TFilterAuthorizablesRequestTupleScheme getScheme() {
+      return new TFilterAuthorizablesRequestTupleScheme();
+    }
+  }
+
+  private static class TFilterAuthorizablesRequestTupleScheme extends TupleScheme<TFilterAuthorizablesRequest> {
+
+    @Override
+    public void write(org.apache.thrift.protocol.TProtocol prot, TFilterAuthorizablesRequest struct) throws org.apache.thrift.TException {
+      TTupleProtocol oprot = (TTupleProtocol) prot;
+      oprot.writeI32(struct.protocol_version);
+      {
+        oprot.writeI32(struct.groups.size());
+        for (String _iter271 : struct.groups)
+        {
+          oprot.writeString(_iter271);
+        }
+      }
+      struct.roleSet.write(oprot);
+      {
+        oprot.writeI32(struct.authorizables.size());
+        for (TSentryAuthorizable _iter272 : struct.authorizables)
+        {
+          _iter272.write(oprot);
+        }
+      }
+      {
+        oprot.writeI32(struct.actions.size());
+        for (String _iter273 : struct.actions)
+        {
+          oprot.writeString(_iter273);
+        }
+      }
+      BitSet optionals = new BitSet();
+      if (struct.isSetUsers()) {
+        optionals.set(0);
+      }
+      oprot.writeBitSet(optionals, 1);
+      if (struct.isSetUsers()) {
+        {
+          oprot.writeI32(struct.users.size());
+          for (String _iter274 : struct.users)
+          {
+            oprot.writeString(_iter274);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void read(org.apache.thrift.protocol.TProtocol prot, TFilterAuthorizablesRequest struct) throws org.apache.thrift.TException {
+      TTupleProtocol iprot = (TTupleProtocol) prot;
+      struct.protocol_version = iprot.readI32();
+      struct.setProtocol_versionIsSet(true);
+      {
+        org.apache.thrift.protocol.TSet _set275 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.groups = new HashSet<String>(2*_set275.size);
+        String _elem276;
+        for (int _i277 = 0; _i277 < _set275.size; ++_i277)
+        {
+          _elem276 = iprot.readString();
+          struct.groups.add(_elem276);
+        }
+      }
+      struct.setGroupsIsSet(true);
+      struct.roleSet = new TSentryActiveRoleSet();
+      struct.roleSet.read(iprot);
+      struct.setRoleSetIsSet(true);
+      {
+        org.apache.thrift.protocol.TList _list278 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+        struct.authorizables = new ArrayList<TSentryAuthorizable>(_list278.size);
+        TSentryAuthorizable _elem279;
+        for (int _i280 = 0; _i280 < _list278.size; ++_i280)
+        {
+          _elem279 = new TSentryAuthorizable();
+          _elem279.read(iprot);
+          struct.authorizables.add(_elem279);
+        }
+      }
+      struct.setAuthorizablesIsSet(true);
+      {
+        org.apache.thrift.protocol.TSet _set281 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+        struct.actions = new HashSet<String>(2*_set281.size);
+        String _elem282;
+        for (int _i283 = 0; _i283 < _set281.size; ++_i283)
+        {
+          _elem282 = iprot.readString();
+          struct.actions.add(_elem282);
+        }
+      }
+      struct.setActionsIsSet(true);
+      BitSet incoming = iprot.readBitSet(1);
+      if (incoming.get(0)) {
+        {
+          org.apache.thrift.protocol.TSet _set284 = new org.apache.thrift.protocol.TSet(org.apache.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.users = new HashSet<String>(2*_set284.size);
+          String _elem285;
+          for (int _i286 = 0; _i286 < _set284.size; ++_i286)
+          {
+            _elem285 = iprot.readString();
+            struct.users.add(_elem285);
+          }
+        }
+        struct.setUsersIsSet(true);
+      }
+    }
+  }
+
+}
+
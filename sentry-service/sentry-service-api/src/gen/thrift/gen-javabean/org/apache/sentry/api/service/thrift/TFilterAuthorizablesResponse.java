@@ -0,0 +1,651 @@
+/**
+ * Autogenerated by Thrift Compiler (0.9.3)
+ *
+ * DO NOT EDIT UNLESS YOU ARE SURE THAT YOU KNOW WHAT YOU ARE DOING
+ *  @generated
+ */
+package org.apache.sentry.api.service.thrift;
+
+import org.apache.thrift.scheme.IScheme;
+import org.apache.thrift.scheme.SchemeFactory;
+import org.apache.thrift.scheme.StandardScheme;
+
+import org.apache.thrift.scheme.TupleScheme;
+import org.apache.thrift.protocol.TTupleProtocol;
+import org.apache.thrift.protocol.TProtocolException;
+import org.apache.thrift.EncodingUtils;
+import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.apache.thrift.server.AbstractNonblockingServer.*;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.Collections;
+import java.util.BitSet;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import javax.annotation.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@SuppressWarnings({"cast", "rawtypes", "serial", "unchecked"})
+@Generated(value = "Autogenerated by Thrift Compiler (0.9.3)")
+public class TFilterAuthorizablesResponse implements org.apache.thrift.TBase<TFilterAuthorizablesResponse, TFilterAuthorizablesResponse._Fields>, java.io.Serializable, Cloneable, Comparable<TFilterAuthorizablesResponse> {
+  private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("TFilterAuthorizablesResponse");
+
+  private static final org.apache.thrift.protocol.TField STATUS_FIELD_DESC = new org.apache.thrift.protocol.TField("status", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+  private static final org.apache.thrift.protocol.TField AUTHORIZED_FIELD_DESC = new org.apache.thrift.protocol.TField("authorized", org.apache.thrift.protocol.TType.LIST, (short)2);
+  private static final org.apache.thrift.protocol.TField POLICY_VERSION_FIELD_DESC = new org.apache.thrift.protocol.TField("policyVersion", org.apache.thrift.protocol.TType.I64, (short)3);
+
+  private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+  static {
+    schemes.put(StandardScheme.class, new TFilterAuthorizablesResponseStandardSchemeFactory());
+    schemes.put(TupleScheme.class, new TFilterAuthorizablesResponseTupleSchemeFactory());
+  }
+
+  private org.apache.sentry.service.thrift.TSentryResponseStatus status; // required
+  private List<Boolean> authorized; // required
+  private long policyVersion; // optional
+
+  /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+  public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+    STATUS((short)1, "status"),
+    AUTHORIZED((short)2, "authorized"),
+    POLICY_VERSION((short)3, "policyVersion");
+
+    private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+    static {
+      for (_Fields field : EnumSet.allOf(_Fields.class)) {
+        byName.put(field.getFieldName(), field);
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, or null if its not found.
+     */
+    public static _Fields findByThriftId(int fieldId) {
+      switch(fieldId) {
+        case 1: // STATUS
+          return STATUS;
+        case 2: // AUTHORIZED
+          return AUTHORIZED;
+        case 3: // POLICY_VERSION
+          return POLICY_VERSION;
+        default:
+          return null;
+      }
+    }
+
+    /**
+     * Find the _Fields constant that matches fieldId, throwing an exception
+     * if it is not found.
+     */
+    public static _Fields findByThriftIdOrThrow(int fieldId) {
+      _Fields fields = findByThriftId(fieldId);
+      if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+      return fields;
+    }
+
+    /**
+     * Find the _Fields constant that matches name, or null if its not found.
+     */
+    public static _Fields findByName(String name) {
+      return byName.get(name);
+    }
+
+    private final short _thriftId;
+    private final String _fieldName;
+
+    _Fields(short thriftId, String fieldName) {
+      _thriftId = thriftId;
+      _fieldName = fieldName;
+    }
+
+    public short getThriftFieldId() {
+      return _thriftId;
+    }
+
+    public String getFieldName() {
+      return _fieldName;
+    }
+  }
+
+  // isset id assignments
+  private static final int __POLICYVERSION_ISSET_ID = 0;
+  private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.POLICY_VERSION};
+  public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+  static {
+    Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+    tmpMap.put(_Fields.STATUS, new org.apache.thrift.meta_data.FieldMetaData("status", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, org.apache.sentry.service.thrift.TSentryResponseStatus.class)));
+    tmpMap.put(_Fields.AUTHORIZED, new org.apache.thrift.meta_data.FieldMetaData("authorized", org.apache.thrift.TFieldRequirementType.REQUIRED, 
+        new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL))));
+    tmpMap.put(_Fields.POLICY_VERSION, new org.apache.thrift.meta_data.FieldMetaData("policyVersion", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    metaDataMap = Collections.unmodifiableMap(tmpMap);
+    org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TFilterAuthorizablesResponse.class, metaDataMap);
+  }
+
+  public TFilterAuthorizablesResponse() {
+  }
+
+  public TFilterAuthorizablesResponse(
+    org.apache.sentry.service.thrift.TSentryResponseStatus status,
+    List<Boolean> authorized)
+  {
+    this();
+    this.status = status;
+    this.authorized = authorized;
+  }
+
+  /**
+   * Performs a deep copy on <i>other</i>.
+   */
+  public TFilterAuthorizablesResponse(TFilterAuthorizablesResponse other) {
+    __isset_bitfield = other.__isset_bitfield;
+    if (other.isSetStatus()) {
+      this.status = new org.apache.sentry.service.thrift.TSentryResponseStatus(other.status);
+    }
+    if (other.isSetAuthorized()) {
+      List<Boolean> __this__authorized = new ArrayList<Boolean>(other.authorized);
+      this.authorized = __this__authorized;
+    }
+    this.policyVersion = other.policyVersion;
+  }
+
+  public TFilterAuthorizablesResponse deepCopy() {
+    return new TFilterAuthorizablesResponse(this);
+  }
+
+  @Override
+  public void clear() {
+    this.status = null;
+    this.authorized = null;
+    setPolicyVersionIsSet(false);
+    this.policyVersion = 0;
+  }
+
+  public org.apache.sentry.service.thrift.TSentryResponseStatus getStatus() {
+    return this.status;
+  }
+
+  public void setStatus(org.apache.sentry.service.thrift.TSentryResponseStatus status) {
+    this.status = status;
+  }
+
+  public void unsetStatus() {
+    this.status = null;
+  }
+
+  /** Returns true if field status is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatus() {
+    return this.status != null;
+  }
+
+  public void setStatusIsSet(boolean value) {
+    if (!value) {
+      this.status = null;
+    }
+  }
+
+  public int getAuthorizedSize() {
+    return (this.authorized == null) ? 0 : this.authorized.size();
+  }
+
+  public java.util.Iterator<Boolean> getAuthorizedIterator() {
+    return (this.authorized == null) ? null : this.authorized.iterator();
+  }
+
+  public void addToAuthorized(boolean elem) {
+    if (this.authorized == null) {
+      this.authorized = new ArrayList<Boolean>();
+    }
+    this.authorized.add(elem);
+  }
+
+  public List<Boolean> getAuthorized() {
+    return this.authorized;
+  }
+
+  public void setAuthorized(List<Boolean> authorized) {
+    this.authorized = authorized;
+  }
+
+  public void unsetAuthorized() {
+    this.authorized = null;
+  }
+
+  /** Returns true if field authorized is set (has been assigned a value) and false otherwise */
+  public boolean isSetAuthorized() {
+    return this.authorized != null;
+  }
+
+  public void setAuthorizedIsSet(boolean value) {
+    if (!value) {
+      this.authorized = null;
+    }
+  }
+
+  public long getPolicyVersion() {
+    return this.policyVersion;
+  }
+
+  public void setPolicyVersion(long policyVersion) {
+    this.policyVersion = policyVersion;
+    setPolicyVersionIsSet(true);
+  }
+
+  public void unsetPolicyVersion() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __POLICYVERSION_ISSET_ID);
+  }
+
+  /** Returns true if field policyVersion is set (has been assigned a value) and false otherwise */
+  public boolean isSetPolicyVersion() {
+    return EncodingUtils.testBit(__isset_bitfield, __POLICYVERSION_ISSET_ID);
+  }
+
+  public void setPolicyVersionIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __POLICYVERSION_ISSET_ID, value);
+  }
+
+  public void setFieldValue(_Fields field, Object value) {
+    switch (field) {
+    case STATUS:
+      if (value == null) {
+        unsetStatus();
+      } else {
+        setStatus((org.apache.sentry.service.thrift.TSentryResponseStatus)value);
+      }
+      break;
+
+    case AUTHORIZED:
+      if (value == null) {
+        unsetAuthorized();
+      } else {
+        setAuthorized((List<Boolean>)value);
+      }
+      break;
+
+    case POLICY_VERSION:
+      if (value == null) {
+        unsetPolicyVersion();
+      } else {
+        setPolicyVersion((Long)value);
+      }
+      break;
+
+    }
+  }
+
+  public Object getFieldValue(_Fields field) {
+    switch (field) {
+    case STATUS:
+      return getStatus();
+
+    case AUTHORIZED:
+      return getAuthorized();
+
+    case POLICY_VERSION:
+      return getPolicyVersion();
+
+    }
+    throw new IllegalStateException();
+  }
+
+  /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+  public boolean isSet(_Fields field) {
+    if (field == null) {
+      throw new IllegalArgumentException();
+    }
+
+    switch (field) {
+    case STATUS:
+      return isSetStatus();
+    case AUTHORIZED:
+      return isSetAuthorized();
+    case POLICY_VERSION:
+      return isSetPolicyVersion();
+    }
+    throw new IllegalStateException();
+  }
+
+  @Override
+  public boolean equals(Object that) {
+    if (that == null)
+      return false;
+    if (that instanceof TFilterAuthorizablesResponse)
+      return this.equals((TFilterAuthorizablesResponse)that);
+    return false;
+  }
+
+  public boolean equals(TFilterAuthorizablesResponse that) {
+    if (that == null)
+      return false;
+
+    boolean this_present_status = true && this.isSetStatus();
+    boolean that_present_status = true && that.isSetStatus();
+    if (this_present_status || that_present_status) {
+      if (!(this_present_status && that_present_status))
+        return false;
+      if (!this.status.equals(that.status))
+        return false;
+    }
+
+    boolean this_present_authorized = true && this.isSetAuthorized();
+    boolean that_present_authorized = true && that.isSetAuthorized();
+    if (this_present_authorized || that_present_authorized) {
+      if (!(this_present_authorized && that_present_authorized))
+        return false;
+      if (!this.authorized.equals(that.authorized))
+        return false;
+    }
+
+    boolean this_present_policyVersion = true && this.isSetPolicyVersion();
+    boolean that_present_policyVersion = true && that.isSetPolicyVersion();
+    if (this_present_policyVersion || that_present_policyVersion) {
+      if (!(this_present_policyVersion && that_present_policyVersion))
+        return false;
+      if (this.policyVersion != that.policyVersion)
+        return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    List<Object> list = new ArrayList<Object>();
+
+    boolean present_status = true && (isSetStatus());
+    list.add(present_status);
+    if (present_status)
+      list.add(status);
+
+    boolean present_authorized = true && (isSetAuthorized());
+    list.add(present_authorized);
+    if (present_authorized)
+      list.add(authorized);
+
+    boolean present_policyVersion = true && (isSetPolicyVersion());
+    list.add(present_policyVersion);
+    if (present_policyVersion)
+      list.add(policyVersion);
+
+    return list.hashCode();
+  }
+
+  @Override
+  public int compareTo(TFilterAuthorizablesResponse other) {
+    if (!getClass().equals(other.getClass())) {
+      return getClass().getName().compareTo(other.getClass().getName());
+    }
+
+    int lastComparison = 0;
+
+    lastComparison = Boolean.valueOf(isSetStatus()).compareTo(other.isSetStatus());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatus()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.status, other.status);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetAuthorized()).compareTo(other.isSetAuthorized());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetAuthorized()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.authorized, other.authorized);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetPolicyVersion()).compareTo(other.isSetPolicyVersion());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPolicyVersion()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.policyVersion, other.policyVersion);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    return 0;
+  }
+
+  public _Fields fieldForId(int fieldId) {
+    return _Fields.findByThriftId(fieldId);
+  }
+
+  public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+    schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+  }
+
+  public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+    schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("TFilterAuthorizablesResponse(");
+    boolean first = true;
+
+    sb.append("status:");
+    if (this.status == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.status);
+    }
+    first = false;
+    if (!first) sb.append(", ");
+    sb.append("authorized:");
+    if (this.authorized == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.authorized);
+    }
+    first = false;
+    if (isSetPolicyVersion()) {
+      if (!first) sb.append(", ");
+      sb.append("policyVersion:");
+      sb.append(this.policyVersion);
+      first = false;
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+
+  public void validate() throws org.apache.thrift.TException {
+    // check for required fields
+    if (!isSetStatus()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'status' is unset! Struct:" + toString());
+    }
+
+    if (!isSetAuthorized()) {
+      throw new org.apache.thrift.protocol.TProtocolException("Required field 'authorized' is unset! Struct:" + toString());
+    }
+
+    // check for sub-struct validity
+    if (status != null) {
+      status.validate();
+    }
+  }
+
+  private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+    try {
+      write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+    try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bitfield = 0;
+      read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+    } catch (org.apache.thrift.TException te) {
+      throw new java.io.IOException(te);
+    }
+  }
+
+  private static class TFilterAuthorizablesResponseStandardSchemeFactory implements SchemeFactory {
+    public TFilterAuthorizablesResponseStandardScheme getScheme() {
+      return new TFilterAuthorizablesResponseStandardScheme();
+    }
+  }
+
+  private static class TFilterAuthorizablesResponseStandardScheme extends StandardScheme<TFilterAuthorizablesResponse> {
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot, TFilterAuthorizablesResponse struct) throws org.apache.thrift.TException {
+      org.apache.thrift.protocol.TField schemeField;
+      iprot.readStructBegin();
+      while (true)
+      {
+        schemeField = iprot.readFieldBegin();
+        if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+          break;
+        }
+        switch (schemeField.id) {
+          case 1: // STATUS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.status = new org.apache.sentry.service.thrift.TSentryResponseStatus();
+              struct.status.read(iprot);
+              struct.setStatusIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 2: // AUTHORIZED
+            if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list287 = iprot.readListBegin();
+                struct.authorized = new ArrayList<Boolean>(_list287.size);
+                boolean _elem288;
+                for (int _i289 = 0; _i289 < _list287.size; ++_i289)
+                {
+                  _elem288 = iprot.readBool();
+                  struct.authorized.add(_elem288);
+                }
+                iprot.readListEnd();
+              }
+              struct.setAuthorizedIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // POLICY_VERSION
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.policyVersion = iprot.readI64();
+              struct.setPolicyVersionIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          default:
+            org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+        }
+        iprot.readFieldEnd();
+      }
+      iprot.readStructEnd();
+      struct.validate();
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot, TFilterAuthorizablesResponse struct) throws org.apache.thrift.TException {
+      struct.validate();
+
+      oprot.writeStructBegin(STRUCT_DESC);
+      if (struct.status != null) {
+        oprot.writeFieldBegin(STATUS_FIELD_DESC);
+        struct.status.write(oprot);
+        oprot.writeFieldEnd();
+      }
+      if (struct.authorized != null) {
+        oprot.writeFieldBegin(AUTHORIZED_FIELD_DESC);
+        {
+          oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.BOOL, struct.authorized.size()));
+          for (boolean _iter290 : struct.authorized)
+          {
+            oprot.writeBool(_iter290);
+          }
+          oprot.writeListEnd();
+        }
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetPolicyVersion()) {
+        oprot.writeFieldBegin(POLICY_VERSION_FIELD_DESC);
+        oprot.writeI64(struct.policyVersion);
+        oprot.writeFieldEnd();
+      }
+      oprot.writeFieldStop();
+      oprot.writeStructEnd();
+    }
+
+  }
+
+  private static class TFilterAuthorizablesResponseTupleSchemeFactory implements SchemeFactory {
+    public TFilterAuthorizablesResponseTupleScheme getScheme() {
+      return new TFilterAuthorizablesResponseTupleScheme();
+    }
+  }
+
+  private static class TFilterAuthorizablesResponseTupleScheme extends TupleScheme<TFilterAuthorizablesResponse> {
+
+    @Override
+    public void write(org.apache.thrift.protocol.TProtocol prot, TFilterAuthorizablesResponse struct) throws org.apache.thrift.TException {
+      TTupleProtocol oprot = (TTupleProtocol) prot;
+      struct.status.write(oprot);
+      {
+        oprot.writeI32(struct.authorized.size());
+        for (boolean _iter291 : struct.authorized)
+        {
+          oprot.writeBool(_iter291);
+        }
+      }
+      BitSet optionals = new BitSet();
+      if (struct.isSetPolicyVersion()) {
+        optionals.set(0);
+      }
+      oprot.writeBitSet(optionals, 1);
+      if (struct.isSetPolicyVersion()) {
+        oprot.writeI64(struct.policyVersion);
+      }
+    }
+
+    @Override
+    public void read(org.apache.thrift.protocol.TProtocol prot, TFilterAuthorizablesResponse struct) throws org.apache.thrift.TException {
+      TTupleProtocol iprot = (TTupleProtocol) prot;
+      struct.status = new org.apache.sentry.service.thrift.TSentryResponseStatus();
+      struct.status.read(iprot);
+      struct.setStatusIsSet(true);
+      {
+        org.apache.thrift.protocol.TList _list292 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.BOOL, iprot.readI32());
+        struct.authorized = new ArrayList<Boolean>(_list292.size);
+        boolean _elem293;
+        for (int _i294 = 0; _i294 < _list292.size; ++_i294)
+        {
+          _elem293 = iprot.readBool();
+          struct.authorized.add(_elem293);
+        }
+      }
+      struct.setAuthorizedIsSet(true);
+      BitSet incoming = iprot.readBitSet(1);
+      if (incoming.get(0)) {
+        struct.policyVersion = iprot.readI64();
+        struct.setPolicyVersionIsSet(true);
+      }
+    }
+  }
+
+}
+
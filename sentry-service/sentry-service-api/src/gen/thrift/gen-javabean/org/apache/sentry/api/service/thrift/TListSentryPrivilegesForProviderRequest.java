@@ -43,6 +43,7 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
   private static final org.apache.thrift.protocol.TField ROLE_SET_FIELD_DESC = new org.apache.thrift.protocol.TField("roleSet", org.apache.thrift.protocol.TType.STRUCT, (short)3);
   private static final org.apache.thrift.protocol.TField AUTHORIZABLE_HIERARCHY_FIELD_DESC = new org.apache.thrift.protocol.TField("authorizableHierarchy", org.apache.thrift.protocol.TType.STRUCT, (short)4);
   private static final org.apache.thrift.protocol.TField USERS_FIELD_DESC = new org.apache.thrift.protocol.TField("users", org.apache.thrift.protocol.TType.SET, (short)5);
+  private static final org.apache.thrift.protocol.TField INCLUDE_POLICY_VERSION_FIELD_DESC = new org.apache.thrift.protocol.TField("includePolicyVersion", org.apache.thrift.protocol.TType.BOOL, (short)6);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -55,6 +56,7 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
   private TSentryActiveRoleSet roleSet; // required
   private TSentryAuthorizable authorizableHierarchy; // optional
   private Set<String> users; // optional
+  private boolean includePolicyVersion; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -62,7 +64,8 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
     GROUPS((short)2, "groups"),
     ROLE_SET((short)3, "roleSet"),
     AUTHORIZABLE_HIERARCHY((short)4, "authorizableHierarchy"),
-    USERS((short)5, "users");
+    USERS((short)5, "users"),
+    INCLUDE_POLICY_VERSION((short)6, "includePolicyVersion");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -87,6 +90,8 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
           return AUTHORIZABLE_HIERARCHY;
         case 5: // USERS
           return USERS;
+        case 6: // INCLUDE_POLICY_VERSION
+          return INCLUDE_POLICY_VERSION;
         default:
           return null;
       }
@@ -128,8 +133,9 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
 
   // isset id assignments
   private static final int __PROTOCOL_VERSION_ISSET_ID = 0;
+  private static final int __INCLUDEPOLICYVERSION_ISSET_ID = 1;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.AUTHORIZABLE_HIERARCHY,_Fields.USERS};
+  private static final _Fields optionals[] = {_Fields.AUTHORIZABLE_HIERARCHY,_Fields.USERS,_Fields.INCLUDE_POLICY_VERSION};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -145,6 +151,8 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
     tmpMap.put(_Fields.USERS, new org.apache.thrift.meta_data.FieldMetaData("users", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.INCLUDE_POLICY_VERSION, new org.apache.thrift.meta_data.FieldMetaData("includePolicyVersion", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TListSentryPrivilegesForProviderRequest.class, metaDataMap);
   }
@@ -186,6 +194,7 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
       Set<String> __this__users = new HashSet<String>(other.users);
       this.users = __this__users;
     }
+    this.includePolicyVersion = other.includePolicyVersion;
   }
 
   public TListSentryPrivilegesForProviderRequest deepCopy() {
@@ -200,6 +209,8 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
     this.roleSet = null;
     this.authorizableHierarchy = null;
     this.users = null;
+    setIncludePolicyVersionIsSet(false);
+    this.includePolicyVersion = false;
   }
 
   public int getProtocol_version() {
@@ -346,6 +357,28 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
     }
   }
 
+  public boolean isIncludePolicyVersion() {
+    return this.includePolicyVersion;
+  }
+
+  public void setIncludePolicyVersion(boolean includePolicyVersion) {
+    this.includePolicyVersion = includePolicyVersion;
+    setIncludePolicyVersionIsSet(true);
+  }
+
+  public void unsetIncludePolicyVersion() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __INCLUDEPOLICYVERSION_ISSET_ID);
+  }
+
+  /** Returns true if field includePolicyVersion is set (has been assigned a value) and false otherwise */
+  public boolean isSetIncludePolicyVersion() {
+    return EncodingUtils.testBit(__isset_bitfield, __INCLUDEPOLICYVERSION_ISSET_ID);
+  }
+
+  public void setIncludePolicyVersionIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __INCLUDEPOLICYVERSION_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case PROTOCOL_VERSION:
@@ -388,6 +421,14 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
       }
       break;
 
+    case INCLUDE_POLICY_VERSION:
+      if (value == null) {
+        unsetIncludePolicyVersion();
+      } else {
+        setIncludePolicyVersion((Boolean)value);
+      }
+      break;
+
     }
   }
 
@@ -408,6 +449,9 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
     case USERS:
       return getUsers();
 
+    case INCLUDE_POLICY_VERSION:
+      return isIncludePolicyVersion();
+
     }
     throw new IllegalStateException();
   }
@@ -429,6 +473,8 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
       return isSetAuthorizableHierarchy();
     case USERS:
       return isSetUsers();
+    case INCLUDE_POLICY_VERSION:
+      return isSetIncludePolicyVersion();
     }
     throw new IllegalStateException();
   }
@@ -491,6 +537,15 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
         return false;
     }
 
+    boolean this_present_includePolicyVersion = true && this.isSetIncludePolicyVersion();
+    boolean that_present_includePolicyVersion = true && that.isSetIncludePolicyVersion();
+    if (this_present_includePolicyVersion || that_present_includePolicyVersion) {
+      if (!(this_present_includePolicyVersion && that_present_includePolicyVersion))
+        return false;
+      if (this.includePolicyVersion != that.includePolicyVersion)
+        return false;
+    }
+
     return true;
   }
 
@@ -523,6 +578,11 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
     if (present_users)
       list.add(users);
 
+    boolean present_includePolicyVersion = true && (isSetIncludePolicyVersion());
+    list.add(present_includePolicyVersion);
+    if (present_includePolicyVersion)
+      list.add(includePolicyVersion);
+
     return list.hashCode();
   }
 
@@ -584,6 +644,16 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetIncludePolicyVersion()).compareTo(other.isSetIncludePolicyVersion());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetIncludePolicyVersion()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.includePolicyVersion, other.includePolicyVersion);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -643,6 +713,12 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
       }
       first = false;
     }
+    if (isSetIncludePolicyVersion()) {
+      if (!first) sb.append(", ");
+      sb.append("includePolicyVersion:");
+      sb.append(this.includePolicyVersion);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -768,6 +844,14 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 6: // INCLUDE_POLICY_VERSION
+            if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+              struct.includePolicyVersion = iprot.readBool();
+              struct.setIncludePolicyVersionIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -822,6 +906,11 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
           oprot.writeFieldEnd();
         }
       }
+      if (struct.isSetIncludePolicyVersion()) {
+        oprot.writeFieldBegin(INCLUDE_POLICY_VERSION_FIELD_DESC);
+        oprot.writeBool(struct.includePolicyVersion);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -855,7 +944,10 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
       if (struct.isSetUsers()) {
         optionals.set(1);
       }
-      oprot.writeBitSet(optionals, 2);
+      if (struct.isSetIncludePolicyVersion()) {
+        optionals.set(2);
+      }
+      oprot.writeBitSet(optionals, 3);
       if (struct.isSetAuthorizableHierarchy()) {
         struct.authorizableHierarchy.write(oprot);
       }
@@ -868,6 +960,9 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
           }
         }
       }
+      if (struct.isSetIncludePolicyVersion()) {
+        oprot.writeBool(struct.includePolicyVersion);
+      }
     }
 
     @Override
@@ -889,7 +984,7 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
       struct.roleSet = new TSentryActiveRoleSet();
       struct.roleSet.read(iprot);
       struct.setRoleSetIsSet(true);
-      BitSet incoming = iprot.readBitSet(2);
+      BitSet incoming = iprot.readBitSet(3);
       if (incoming.get(0)) {
         struct.authorizableHierarchy = new TSentryAuthorizable();
         struct.authorizableHierarchy.read(iprot);
@@ -908,6 +1003,10 @@ public class TListSentryPrivilegesForProviderRequest implements org.apache.thrif
         }
         struct.setUsersIsSet(true);
       }
+      if (incoming.get(2)) {
+        struct.includePolicyVersion = iprot.readBool();
+        struct.setIncludePolicyVersionIsSet(true);
+      }
     }
   }
 
@@ -40,6 +40,7 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
 
   private static final org.apache.thrift.protocol.TField STATUS_FIELD_DESC = new org.apache.thrift.protocol.TField("status", org.apache.thrift.protocol.TType.STRUCT, (short)1);
   private static final org.apache.thrift.protocol.TField PRIVILEGES_FIELD_DESC = new org.apache.thrift.protocol.TField("privileges", org.apache.thrift.protocol.TType.SET, (short)2);
+  private static final org.apache.thrift.protocol.TField POLICY_VERSION_FIELD_DESC = new org.apache.thrift.protocol.TField("policyVersion", org.apache.thrift.protocol.TType.I64, (short)3);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -49,11 +50,13 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
 
   private org.apache.sentry.service.thrift.TSentryResponseStatus status; // required
   private Set<String> privileges; // required
+  private long policyVersion; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     STATUS((short)1, "status"),
-    PRIVILEGES((short)2, "privileges");
+    PRIVILEGES((short)2, "privileges"),
+    POLICY_VERSION((short)3, "policyVersion");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -72,6 +75,8 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
           return STATUS;
         case 2: // PRIVILEGES
           return PRIVILEGES;
+        case 3: // POLICY_VERSION
+          return POLICY_VERSION;
         default:
           return null;
       }
@@ -112,6 +117,9 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
   }
 
   // isset id assignments
+  private static final int __POLICYVERSION_ISSET_ID = 0;
+  private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.POLICY_VERSION};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -120,6 +128,8 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
     tmpMap.put(_Fields.PRIVILEGES, new org.apache.thrift.meta_data.FieldMetaData("privileges", org.apache.thrift.TFieldRequirementType.REQUIRED, 
         new org.apache.thrift.meta_data.SetMetaData(org.apache.thrift.protocol.TType.SET, 
             new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.POLICY_VERSION, new org.apache.thrift.meta_data.FieldMetaData("policyVersion", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TListSentryPrivilegesForProviderResponse.class, metaDataMap);
   }
@@ -140,6 +150,7 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
    * Performs a deep copy on <i>other</i>.
    */
   public TListSentryPrivilegesForProviderResponse(TListSentryPrivilegesForProviderResponse other) {
+    __isset_bitfield = other.__isset_bitfield;
     if (other.isSetStatus()) {
       this.status = new org.apache.sentry.service.thrift.TSentryResponseStatus(other.status);
     }
@@ -147,6 +158,7 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
       Set<String> __this__privileges = new HashSet<String>(other.privileges);
       this.privileges = __this__privileges;
     }
+    this.policyVersion = other.policyVersion;
   }
 
   public TListSentryPrivilegesForProviderResponse deepCopy() {
@@ -157,6 +169,8 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
   public void clear() {
     this.status = null;
     this.privileges = null;
+    setPolicyVersionIsSet(false);
+    this.policyVersion = 0;
   }
 
   public org.apache.sentry.service.thrift.TSentryResponseStatus getStatus() {
@@ -220,6 +234,28 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
     }
   }
 
+  public long getPolicyVersion() {
+    return this.policyVersion;
+  }
+
+  public void setPolicyVersion(long policyVersion) {
+    this.policyVersion = policyVersion;
+    setPolicyVersionIsSet(true);
+  }
+
+  public void unsetPolicyVersion() {
+    __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __POLICYVERSION_ISSET_ID);
+  }
+
+  /** Returns true if field policyVersion is set (has been assigned a value) and false otherwise */
+  public boolean isSetPolicyVersion() {
+    return EncodingUtils.testBit(__isset_bitfield, __POLICYVERSION_ISSET_ID);
+  }
+
+  public void setPolicyVersionIsSet(boolean value) {
+    __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __POLICYVERSION_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case STATUS:
@@ -238,6 +274,14 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
       }
       break;
 
+    case POLICY_VERSION:
+      if (value == null) {
+        unsetPolicyVersion();
+      } else {
+        setPolicyVersion((Long)value);
+      }
+      break;
+
     }
   }
 
@@ -249,6 +293,9 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
     case PRIVILEGES:
       return getPrivileges();
 
+    case POLICY_VERSION:
+      return getPolicyVersion();
+
     }
     throw new IllegalStateException();
   }
@@ -264,6 +311,8 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
       return isSetStatus();
     case PRIVILEGES:
       return isSetPrivileges();
+    case POLICY_VERSION:
+      return isSetPolicyVersion();
     }
     throw new IllegalStateException();
   }
@@ -299,6 +348,15 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
         return false;
     }
 
+    boolean this_present_policyVersion = true && this.isSetPolicyVersion();
+    boolean that_present_policyVersion = true && that.isSetPolicyVersion();
+    if (this_present_policyVersion || that_present_policyVersion) {
+      if (!(this_present_policyVersion && that_present_policyVersion))
+        return false;
+      if (this.policyVersion != that.policyVersion)
+        return false;
+    }
+
     return true;
   }
 
@@ -316,6 +374,11 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
     if (present_privileges)
       list.add(privileges);
 
+    boolean present_policyVersion = true && (isSetPolicyVersion());
+    list.add(present_policyVersion);
+    if (present_policyVersion)
+      list.add(policyVersion);
+
     return list.hashCode();
   }
 
@@ -347,6 +410,16 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetPolicyVersion()).compareTo(other.isSetPolicyVersion());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetPolicyVersion()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.policyVersion, other.policyVersion);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -382,6 +455,12 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
       sb.append(this.privileges);
     }
     first = false;
+    if (isSetPolicyVersion()) {
+      if (!first) sb.append(", ");
+      sb.append("policyVersion:");
+      sb.append(this.policyVersion);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -412,6 +491,8 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
 
   private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
     try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bitfield = 0;
       read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
     } catch (org.apache.thrift.TException te) {
       throw new java.io.IOException(te);
@@ -463,6 +544,14 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 3: // POLICY_VERSION
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.policyVersion = iprot.readI64();
+              struct.setPolicyVersionIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -493,6 +582,11 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
         }
         oprot.writeFieldEnd();
       }
+      if (struct.isSetPolicyVersion()) {
+        oprot.writeFieldBegin(POLICY_VERSION_FIELD_DESC);
+        oprot.writeI64(struct.policyVersion);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -518,6 +612,14 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
           oprot.writeString(_iter108);
         }
       }
+      BitSet optionals = new BitSet();
+      if (struct.isSetPolicyVersion()) {
+        optionals.set(0);
+      }
+      oprot.writeBitSet(optionals, 1);
+      if (struct.isSetPolicyVersion()) {
+        oprot.writeI64(struct.policyVersion);
+      }
     }
 
     @Override
@@ -537,6 +639,11 @@ public class TListSentryPrivilegesForProviderResponse implements org.apache.thri
         }
       }
       struct.setPrivilegesIsSet(true);
+      BitSet incoming = iprot.readBitSet(1);
+      if (incoming.get(0)) {
+        struct.policyVersion = iprot.readI64();
+        struct.setPolicyVersionIsSet(true);
+      }
     }
   }
 
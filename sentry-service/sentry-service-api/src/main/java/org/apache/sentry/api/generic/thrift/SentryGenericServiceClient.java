@@ -191,4 +191,34 @@ public interface SentryGenericServiceClient extends AutoCloseable {
   Map<String, TSentryPrivilegeMap> listPrivilegesbyAuthorizable(String component,
       String serviceName, String requestorUserName, Set<String> authorizablesSet,
       Set<String> groups, ActiveRoleSet roleSet) throws SentryUserException;
+
+  /**
+   * Get the roles whose groups or privileges changed after the given change ID, together
+   * with their current groups and privileges.
+   *
+   * @param requestorUserName: user on whose behalf the request is issued
+   * @param component: The request is issued to which component
+   * @param serviceName: The privilege belongs to which service
+   * @param changeID: The last change ID known by the requestor, or -1 if none
+   * @returns The changed roles, or a response with fullUpdateRequired set when all roles
+   *     and privileges have to be reloaded
+   * @throws SentryUserException
+   */
+  TListSentryRoleChangesResponse listRoleChanges(String requestorUserName, String component,
+      String serviceName, long changeID) throws SentryUserException;
+
+  /**
+   * Get all roles of a component with their groups and privileges. The roles are fetched
+   * from the server in pages of
+   * {@link org.apache.sentry.api.common.ApiConstants.ClientConfig#LIST_ROLE_PRIVILEGES_PAGE_SIZE}
+   * roles.
+   *
+   * @param requestorUserName: user on whose behalf the request is issued
+   * @param component: The request is issued to which component
+   * @param serviceName: The privilege belongs to which service
+   * @returns All roles and their privileges, and the role change ID of the first page
+   * @throws SentryUserException
+   */
+  TListSentryRolePrivilegesResponse listAllRolePrivileges(String requestorUserName,
+      String component, String serviceName) throws SentryUserException;
 }
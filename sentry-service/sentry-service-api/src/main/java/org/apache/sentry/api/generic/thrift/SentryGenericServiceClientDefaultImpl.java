@@ -36,6 +36,7 @@ import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TMultiplexedProtocol;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,7 @@ public class SentryGenericServiceClientDefaultImpl
   private TTransportWrapper transport;
   private static final String THRIFT_EXCEPTION_MESSAGE = "Thrift exception occured ";
   private final long maxMessageSize;
+  private final int rolePrivilegesPageSize;
 
   /**
    * Initialize client with the given configuration, using specified transport pool
@@ -74,6 +76,8 @@ public class SentryGenericServiceClientDefaultImpl
     // }
     maxMessageSize = conf.getLong(ClientConfig.SENTRY_POLICY_CLIENT_THRIFT_MAX_MESSAGE_SIZE,
             ClientConfig.SENTRY_POLICY_CLIENT_THRIFT_MAX_MESSAGE_SIZE_DEFAULT);
+    rolePrivilegesPageSize = conf.getInt(ClientConfig.LIST_ROLE_PRIVILEGES_PAGE_SIZE,
+        ClientConfig.LIST_ROLE_PRIVILEGES_PAGE_SIZE_DEFAULT);
     this.transportPool = transportPool;
   }
 
@@ -537,6 +541,74 @@ public class SentryGenericServiceClientDefaultImpl
     }
   }
 
+  @Override
+  public TListSentryRoleChangesResponse listRoleChanges(String requestorUserName,
+      String component, String serviceName, long changeID) throws SentryUserException {
+    TListSentryRoleChangesRequest request = new TListSentryRoleChangesRequest();
+    request.setProtocol_version(sentry_common_serviceConstants.TSENTRY_SERVICE_V2);
+    request.setRequestorUserName(requestorUserName);
+    request.setComponent(component);
+    request.setServiceName(serviceName);
+    request.setChangeID(changeID);
+
+    try {
+      TListSentryRoleChangesResponse response = client.list_sentry_role_changes(request);
+      Status.throwIfNotOk(response.getStatus());
+      return response;
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
+  @Override
+  public TListSentryRolePrivilegesResponse listAllRolePrivileges(String requestorUserName,
+      String component, String serviceName) throws SentryUserException {
+    TListSentryRolePrivilegesRequest request = new TListSentryRolePrivilegesRequest();
+    request.setProtocol_version(sentry_common_serviceConstants.TSENTRY_SERVICE_V2);
+    request.setRequestorUserName(requestorUserName);
+    request.setComponent(component);
+    request.setServiceName(serviceName);
+    if (rolePrivilegesPageSize > 0) {
+      request.setMaxRoles(rolePrivilegesPageSize);
+    }
+
+    TListSentryRolePrivilegesResponse result = null;
+    try {
+      while (true) {
+        TListSentryRolePrivilegesResponse response = client.list_sentry_role_privileges(request);
+        Status.throwIfNotOk(response.getStatus());
+        if (result == null) {
+          // The change ID of the first page is kept, later pages may include newer changes
+          // which the caller picks up on its next incremental refresh
+          result = response;
+          if (!result.isSetRoles()) {
+            result.setRoles(new HashSet<TSentryRole>());
+          }
+          if (!result.isSetPrivilegesMapByRole()) {
+            result.setPrivilegesMapByRole(new HashMap<String, Set<TSentryPrivilege>>());
+          }
+        } else {
+          if (response.isSetRoles()) {
+            result.getRoles().addAll(response.getRoles());
+          }
+          if (response.isSetPrivilegesMapByRole()) {
+            result.getPrivilegesMapByRole().putAll(response.getPrivilegesMapByRole());
+          }
+        }
+        if (!response.isHasMore() || !response.isSetLastRoleName()) {
+          break;
+        }
+        // The server orders the roles by the collation of its database, so the next page
+        // starts after the last role it returned rather than the greatest name here
+        request.setLastRoleName(response.getLastRoleName());
+      }
+      result.setHasMore(false);
+      return result;
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
   @Override
   public void close() {
     done();
@@ -186,6 +186,33 @@ public interface SentryPolicyServiceClient extends AutoCloseable {
   Set<String> listPrivilegesForProvider(Set<String> groups, Set<String> users,
       ActiveRoleSet roleSet, Authorizable... authorizable) throws SentryUserException;
 
+  /**
+   * Lists the privileges like {@link #listPrivilegesForProvider}, with the policy version
+   * of the server read before the privileges.
+   *
+   * @return the response of the server, without a policy version if the server does not
+   * return it (e.g. an older server)
+   * @throws SentryUserException if an error occurs listing the privileges from the server.
+   */
+  TListSentryPrivilegesForProviderResponse listPrivilegesForProviderWithVersion(
+      Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+      Authorizable... authorizable) throws SentryUserException;
+
+  /**
+   * Authorizes a list of objects in a single call, the privileges of the groups and users
+   * are evaluated on the server.
+   *
+   * @param authorizables the hierarchies of the objects, from the server to the database
+   *                      or table
+   * @param actions an object is authorized if any of these actions is granted on it
+   * @return the response of the server, with for each hierarchy, in the same order, whether
+   * the object is authorized, and the policy version of the server.
+   * @throws SentryUserException if an error occurs requesting the authorization from the server.
+   */
+  TFilterAuthorizablesResponse filterAuthorizables(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<? extends List<? extends Authorizable>> authorizables,
+      Set<String> actions) throws SentryUserException;
+
   void grantRoleToGroup(String requestorUserName, String groupName, String roleName)
       throws SentryUserException;
 
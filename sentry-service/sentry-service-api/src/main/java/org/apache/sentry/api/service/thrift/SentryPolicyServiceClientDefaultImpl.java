@@ -792,6 +792,20 @@ public class SentryPolicyServiceClientDefaultImpl implements SentryPolicyService
   public Set<String> listPrivilegesForProvider
     (Set<String> groups, Set<String> users,
      ActiveRoleSet roleSet, Authorizable... authorizable) throws SentryUserException {
+    return listPrivilegesForProvider(groups, users, roleSet, false, authorizable)
+      .getPrivileges();
+  }
+
+  @Override
+  public TListSentryPrivilegesForProviderResponse listPrivilegesForProviderWithVersion(
+    Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+    Authorizable... authorizable) throws SentryUserException {
+    return listPrivilegesForProvider(groups, users, roleSet, true, authorizable);
+  }
+
+  private TListSentryPrivilegesForProviderResponse listPrivilegesForProvider(
+    Set<String> groups, Set<String> users, ActiveRoleSet roleSet,
+    boolean includePolicyVersion, Authorizable... authorizable) throws SentryUserException {
     TSentryActiveRoleSet thriftRoleSet = new TSentryActiveRoleSet(roleSet.isAll(), roleSet.getRoles());
     TListSentryPrivilegesForProviderRequest request =
       new TListSentryPrivilegesForProviderRequest(ThriftConstants.
@@ -804,10 +818,37 @@ public class SentryPolicyServiceClientDefaultImpl implements SentryPolicyService
     if (users != null) {
       request.setUsers(users);
     }
+    if (includePolicyVersion) {
+      request.setIncludePolicyVersion(true);
+    }
     try {
       TListSentryPrivilegesForProviderResponse response = client.list_sentry_privileges_for_provider(request);
       Status.throwIfNotOk(response.getStatus());
-      return response.getPrivileges();
+      return response;
+    } catch (TException e) {
+      throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
+    }
+  }
+
+  @Override
+  public TFilterAuthorizablesResponse filterAuthorizables(Set<String> groups, Set<String> users,
+      ActiveRoleSet roleSet, List<? extends List<? extends Authorizable>> authorizables,
+      Set<String> actions) throws SentryUserException {
+    TSentryActiveRoleSet thriftRoleSet = new TSentryActiveRoleSet(roleSet.isAll(), roleSet.getRoles());
+    List<TSentryAuthorizable> tSentryAuthorizables = Lists.newArrayListWithCapacity(
+      authorizables.size());
+    for (List<? extends Authorizable> authorizable : authorizables) {
+      tSentryAuthorizables.add(setupSentryAuthorizable(authorizable));
+    }
+    TFilterAuthorizablesRequest request = new TFilterAuthorizablesRequest(ThriftConstants.
+      TSENTRY_SERVICE_VERSION_CURRENT, groups, thriftRoleSet, tSentryAuthorizables, actions);
+    if (users != null) {
+      request.setUsers(users);
+    }
+    try {
+      TFilterAuthorizablesResponse response = client.filter_authorizables(request);
+      Status.throwIfNotOk(response.getStatus());
+      return response;
     } catch (TException e) {
       throw new SentryUserException(THRIFT_EXCEPTION_MESSAGE, e);
     }
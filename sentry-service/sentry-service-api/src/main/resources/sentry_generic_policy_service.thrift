@@ -253,6 +253,69 @@ struct TListSentryPrivilegesByAuthResponse {
 2: optional map<string, TSentryPrivilegeMap> privilegesMapByAuth
 }
 
+# Roles of a component whose groups or privileges changed since a given change ID.
+# This API is used by the generic model caches to refresh only the changed roles
+# instead of reloading all roles and privileges of the component.
+struct TListSentryRoleChangesRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required string requestorUserName, # user on whose behalf the request is issued
+3: required string component, # The request is issued to which component
+4: required string serviceName, # The privilege belongs to which service
+5: required i64 changeID # The last change ID known by the requestor, -1 if none
+}
+
+struct TListSentryRoleChangesResponse {
+1: required sentry_common_service.TSentryResponseStatus status,
+
+# Will not be set in case of an error. The requestor is up to date up to this change ID.
+2: optional i64 changeID,
+
+# Set when the changes can not be computed incrementally, e.g. the requested change ID
+# was already purged. The requestor has to reload all roles and privileges.
+3: optional bool fullUpdateRequired,
+
+# Names of all changed roles, including the dropped ones
+4: optional set<string> changedRoles,
+
+# The changed roles which still exist, with their current groups
+5: optional set<TSentryRole> roles,
+
+# <Role, Set<Privileges>> mapping of the current privileges of the changed roles
+6: optional map<string, set<TSentryPrivilege>> privilegesMapByRole
+}
+
+# All roles of a component with their groups and privileges, fetched in pages of roles
+# ordered by name. This API is used by the generic model caches and bindings to load all
+# privileges of a component without one request per role.
+struct TListSentryRolePrivilegesRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required string requestorUserName, # user on whose behalf the request is issued
+3: required string component, # The request is issued to which component
+4: required string serviceName, # The privilege belongs to which service
+5: optional string lastRoleName, # The page starts after this role, first page if not set
+6: optional i32 maxRoles # The maximum number of roles of the page, all roles if not set
+}
+
+struct TListSentryRolePrivilegesResponse {
+1: required sentry_common_service.TSentryResponseStatus status,
+
+# The roles of the page, with their groups
+2: optional set<TSentryRole> roles,
+
+# <Role, Set<Privileges>> mapping of the privileges of the roles of the page
+3: optional map<string, set<TSentryPrivilege>> privilegesMapByRole,
+
+# Set when there are more roles after the last role of the page
+4: optional bool hasMore,
+
+# The role change ID the page is consistent with, see list_sentry_role_changes
+5: optional i64 changeID,
+
+# The last role of the page, in the order of the server, to pass as lastRoleName of the
+# request for the next page
+6: optional string lastRoleName
+}
+
 service SentryGenericPolicyService
 {
   TCreateSentryRoleResponse create_sentry_role(1:TCreateSentryRoleRequest request)
@@ -275,4 +338,8 @@ service SentryGenericPolicyService
   TDropPrivilegesResponse drop_sentry_privilege(1:TDropPrivilegesRequest request);
 
   TRenamePrivilegesResponse rename_sentry_privilege(1:TRenamePrivilegesRequest request);
+
+  TListSentryRoleChangesResponse list_sentry_role_changes(1:TListSentryRoleChangesRequest request);
+
+  TListSentryRolePrivilegesResponse list_sentry_role_privileges(1:TListSentryRolePrivilegesRequest request);
 }
@@ -251,11 +251,29 @@ struct TListSentryPrivilegesForProviderRequest {
 2: required set<string> groups,
 3: required TSentryActiveRoleSet roleSet,
 4: optional TSentryAuthorizable authorizableHierarchy,
-5: optional set<string> users
+5: optional set<string> users,
+6: optional bool includePolicyVersion # set the policyVersion of the response
 }
 struct TListSentryPrivilegesForProviderResponse {
 1: required sentry_common_service.TSentryResponseStatus status
 2: required set<string> privileges
+3: optional i64 policyVersion # changes whenever the privileges may have changed
+}
+
+# Authorizes a list of objects at once for the given groups and users,
+# the response tells for each object whether any of the actions is granted
+struct TFilterAuthorizablesRequest {
+1: required i32 protocol_version = sentry_common_service.TSENTRY_SERVICE_V2,
+2: required set<string> groups,
+3: required TSentryActiveRoleSet roleSet,
+4: required list<TSentryAuthorizable> authorizables,
+5: required set<string> actions,
+6: optional set<string> users
+}
+struct TFilterAuthorizablesResponse {
+1: required sentry_common_service.TSentryResponseStatus status
+2: required list<bool> authorized
+3: optional i64 policyVersion # changes whenever the privileges may have changed
 }
 
 # List role:set<privileges> for the given authorizable
@@ -480,4 +498,8 @@ service SentryPolicyService
   # Returns a map of all users and their privileges that exist in the Sentry server.
   # The mapping object returned will be in the form of [userName, set<privileges>]
   TSentryPrivilegesResponse list_users_privileges(1:TSentryPrivilegesRequest request);
+
+  # Authorizes a list of objects in a single call, used to filter the objects listed by HMS.
+  # The authorized list has one entry per requested object, in the same order.
+  TFilterAuthorizablesResponse filter_authorizables(1:TFilterAuthorizablesRequest request);
 }
@@ -44,6 +44,8 @@ import org.apache.sentry.core.common.exception.SentryThriftAPIMismatchException;
 import org.apache.sentry.provider.db.generic.service.persistent.DelegateSentryStore;
 import org.apache.sentry.provider.db.generic.service.persistent.PrivilegeObject;
 import org.apache.sentry.provider.db.generic.service.persistent.PrivilegeObject.Builder;
+import org.apache.sentry.provider.db.generic.service.persistent.RoleChanges;
+import org.apache.sentry.provider.db.generic.service.persistent.RolePrivilegesPage;
 import org.apache.sentry.provider.db.generic.service.persistent.SentryStoreLayer;
 import org.apache.sentry.provider.db.log.entity.JsonLogEntityFactory;
 import org.apache.sentry.provider.db.log.util.Constants;
@@ -793,6 +795,78 @@ public class SentryGenericPolicyProcessor implements SentryGenericPolicyService.
     return tResponse;
   }
 
+  @Override
+  public TListSentryRoleChangesResponse list_sentry_role_changes(
+      final TListSentryRoleChangesRequest request) throws TException {
+    Response<RoleChanges> respose = requestHandle(new RequestHandler<RoleChanges>() {
+      @Override
+      public Response<RoleChanges> handle() throws Exception {
+        validateClientVersion(request.getProtocol_version());
+        // Role changes expose the privileges of every role, so it is restricted to admins
+        // the same way as listing the privileges of roles the requestor is not granted
+        authorize(request.getRequestorUserName(),
+            getRequestorGroups(conf, request.getRequestorUserName()));
+        RoleChanges roleChanges = store.getRoleChanges(request.getComponent(),
+            request.getServiceName(), request.getChangeID());
+        return new Response<RoleChanges>(Status.OK(), roleChanges);
+      }
+    });
+    TListSentryRoleChangesResponse tResponse = new TListSentryRoleChangesResponse();
+    tResponse.setStatus(respose.status);
+    RoleChanges roleChanges = respose.content;
+    if (roleChanges != null) {
+      tResponse.setChangeID(roleChanges.getChangeID());
+      tResponse.setFullUpdateRequired(roleChanges.isFullUpdateRequired());
+      tResponse.setChangedRoles(roleChanges.getChangedRoles());
+      tResponse.setRoles(roleChanges.getRoles());
+      tResponse.setPrivilegesMapByRole(fromPrivilegesByRole(roleChanges.getPrivileges()));
+    }
+    return tResponse;
+  }
+
+  @Override
+  public TListSentryRolePrivilegesResponse list_sentry_role_privileges(
+      final TListSentryRolePrivilegesRequest request) throws TException {
+    Response<RolePrivilegesPage> respose = requestHandle(new RequestHandler<RolePrivilegesPage>() {
+      @Override
+      public Response<RolePrivilegesPage> handle() throws Exception {
+        validateClientVersion(request.getProtocol_version());
+        // Exposes the privileges of every role, so it is restricted to admins
+        authorize(request.getRequestorUserName(),
+            getRequestorGroups(conf, request.getRequestorUserName()));
+        RolePrivilegesPage page = store.getRolePrivileges(request.getComponent(),
+            request.getServiceName(),
+            request.isSetLastRoleName() ? request.getLastRoleName() : null,
+            request.isSetMaxRoles() ? request.getMaxRoles() : 0);
+        return new Response<RolePrivilegesPage>(Status.OK(), page);
+      }
+    });
+    TListSentryRolePrivilegesResponse tResponse = new TListSentryRolePrivilegesResponse();
+    tResponse.setStatus(respose.status);
+    RolePrivilegesPage page = respose.content;
+    if (page != null) {
+      tResponse.setChangeID(page.getChangeID());
+      tResponse.setHasMore(page.hasMore());
+      tResponse.setLastRoleName(page.getLastRoleName());
+      tResponse.setRoles(page.getRoles());
+      tResponse.setPrivilegesMapByRole(fromPrivilegesByRole(page.getPrivileges()));
+    }
+    return tResponse;
+  }
+
+  private Map<String, Set<TSentryPrivilege>> fromPrivilegesByRole(
+      Map<String, Set<PrivilegeObject>> privileges) {
+    Map<String, Set<TSentryPrivilege>> privilegesMapByRole = Maps.newHashMap();
+    for (Map.Entry<String, Set<PrivilegeObject>> entry : privileges.entrySet()) {
+      Set<TSentryPrivilege> tSentryPrivileges = Sets.newHashSet();
+      for (PrivilegeObject privilege : entry.getValue()) {
+        tSentryPrivileges.add(fromPrivilegeObject(privilege));
+      }
+      privilegesMapByRole.put(entry.getKey(), tSentryPrivileges);
+    }
+    return privilegesMapByRole;
+  }
+
   private static class Response<T> {
     private TSentryResponseStatus status;
     private T content;
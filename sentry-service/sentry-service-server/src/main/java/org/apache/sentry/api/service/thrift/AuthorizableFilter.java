@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.api.service.thrift;
+
+import static org.apache.sentry.core.common.utils.SentryConstants.AUTHORIZABLE_JOINER;
+import static org.apache.sentry.core.common.utils.SentryConstants.KV_JOINER;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sentry.core.common.Model;
+import org.apache.sentry.core.common.utils.KeyValue;
+import org.apache.sentry.core.common.utils.SentryConstants;
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
+import org.apache.sentry.core.model.db.HivePrivilegeModel;
+import org.apache.sentry.policy.common.CommonPrivilege;
+import org.apache.sentry.policy.common.Privilege;
+
+import com.google.common.base.Strings;
+
+/**
+ * Authorizes Hive databases and tables against the privileges of a user, as
+ * {@code ResourceAuthorizationProvider} does on the client for a single object.
+ * <p>
+ * The privileges are indexed by database once, so each object is only compared with the
+ * privileges of its database and with the ones granted above or across databases.
+ */
+final class AuthorizableFilter {
+  private static final Model MODEL = HivePrivilegeModel.getInstance();
+
+  // Privileges on the server, on URIs or on all the databases
+  private final List<Privilege> globalPrivileges = new ArrayList<>();
+  // Privileges on a database and its objects, by lower case database name
+  private final Map<String, List<Privilege>> dbPrivileges = new HashMap<>();
+
+  /**
+   * @param privileges the privileges in the form returned by
+   * {@link SentryPolicyService.Iface#list_sentry_privileges_for_provider}
+   */
+  AuthorizableFilter(Collection<String> privileges) {
+    for (String privilege : privileges) {
+      CommonPrivilege commonPrivilege = new CommonPrivilege(privilege);
+      String dbName = getDbName(commonPrivilege);
+      if (dbName == null) {
+        globalPrivileges.add(commonPrivilege);
+      } else {
+        List<Privilege> privilegesOfDb = dbPrivileges.get(dbName);
+        if (privilegesOfDb == null) {
+          privilegesOfDb = new ArrayList<>();
+          dbPrivileges.put(dbName, privilegesOfDb);
+        }
+        privilegesOfDb.add(commonPrivilege);
+      }
+    }
+  }
+
+  /**
+   * Returns the lower case database of the privilege, or null if the privilege is not
+   * limited to a single database.
+   */
+  private static String getDbName(CommonPrivilege privilege) {
+    for (KeyValue part : privilege.getAuthorizable()) {
+      if (AuthorizableType.Db.name().equalsIgnoreCase(part.getKey())) {
+        String value = part.getValue();
+        if (AccessConstants.ALL.equals(value) || AccessConstants.SOME.equals(value)
+            || SentryConstants.RESOURCE_WILDCARD_VALUE_ALL.equalsIgnoreCase(value)) {
+          return null;
+        }
+        return value.toLowerCase();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks whether any of the actions is granted on the database, or on the table when
+   * the authorizable has one, including any of their columns.
+   */
+  boolean isAuthorized(TSentryAuthorizable authorizable, Collection<String> actions) {
+    if (Strings.isNullOrEmpty(authorizable.getDb())) {
+      return false;
+    }
+    List<Privilege> privilegesOfDb = dbPrivileges.get(authorizable.getDb().toLowerCase());
+    if (globalPrivileges.isEmpty() && privilegesOfDb == null) {
+      return false;
+    }
+    String table = Strings.isNullOrEmpty(authorizable.getTable()) ?
+        AccessConstants.ALL : authorizable.getTable();
+    String hierarchy = AUTHORIZABLE_JOINER.join(
+        KV_JOINER.join(AuthorizableType.Server.name(), authorizable.getServer()),
+        KV_JOINER.join(AuthorizableType.Db.name(), authorizable.getDb()),
+        KV_JOINER.join(AuthorizableType.Table.name(), table),
+        KV_JOINER.join(AuthorizableType.Column.name(), AccessConstants.ALL));
+    for (String action : actions) {
+      Privilege requested = new CommonPrivilege(AUTHORIZABLE_JOINER.join(hierarchy,
+          KV_JOINER.join(SentryConstants.PRIVILEGE_NAME, action)));
+      if (implies(globalPrivileges, requested)
+          || (privilegesOfDb != null && implies(privilegesOfDb, requested))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean implies(List<Privilege> privileges, Privilege requested) {
+    for (Privilege privilege : privileges) {
+      if (privilege.implies(requested, MODEL)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.api.service.thrift;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps the {@link AuthorizableFilter} built for the groups, users and active roles of
+ * a filter_authorizables request, so the next requests of the same user do not parse
+ * all of its privileges again.
+ * <p>
+ * A filter is reused while the privileges fetched for the request are the ones it was
+ * built from, and for no longer than the configured maximum age. Comparing the privileges
+ * does not depend on a policy version, which is 0 when the store does not track the
+ * policy changes.
+ */
+final class AuthorizableFilterCache {
+  // Number of users whose filter is kept
+  private static final int MAX_ENTRIES = 1000;
+
+  private static final class Entry {
+    private final AuthorizableFilter filter;
+    private final Set<String> privileges;
+
+    private Entry(AuthorizableFilter filter, Set<String> privileges) {
+      this.filter = filter;
+      this.privileges = privileges;
+    }
+  }
+
+  private final Cache<List<Object>, Entry> entries;
+
+  AuthorizableFilterCache(long maxAgeMs) {
+    entries = CacheBuilder.newBuilder()
+        .maximumSize(MAX_ENTRIES)
+        .expireAfterWrite(maxAgeMs, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * @param privileges the current privileges of the groups, users and active roles
+   * @return the filter of the groups, users and active roles for the given privileges
+   */
+  AuthorizableFilter get(Set<String> groups, Set<String> users, TSentryActiveRoleSet roleSet,
+      Set<String> privileges) {
+    List<Object> key = Arrays.<Object>asList(groups, users, roleSet);
+    Entry entry = entries.getIfPresent(key);
+    if (entry != null && entry.privileges.equals(privileges)) {
+      return entry.filter;
+    }
+    AuthorizableFilter filter = new AuthorizableFilter(privileges);
+    entries.put(key, new Entry(filter, privileges));
+    return filter;
+  }
+}
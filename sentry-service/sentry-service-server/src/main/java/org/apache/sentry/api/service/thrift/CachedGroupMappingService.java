@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.api.service.thrift;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.apache.sentry.core.common.exception.SentryUserException;
+import org.apache.sentry.provider.common.GroupMappingService;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Server side cache of the groups of users, in front of the configured
+ * {@link GroupMappingService}.
+ * <p>
+ * Groups are kept for {@link ServerConfig#SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_SECONDS} and
+ * reloaded in the background when they are accessed after
+ * {@link ServerConfig#SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_SECONDS}, so that
+ * frequent requestors never wait for the directory. Users without groups are remembered
+ * for {@link ServerConfig#SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_SECONDS}. Any other
+ * failure of the group mapping is not cached.
+ */
+public final class CachedGroupMappingService implements GroupMappingService {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachedGroupMappingService.class);
+
+  // The group mappings of each configuration, compared by identity, by group mapping
+  // class, resource and cache settings, see get()
+  private static final Cache<Configuration, Cache<List<Object>, GroupMappingService>>
+      INSTANCES = CacheBuilder.newBuilder().weakKeys().build();
+
+  private static final Executor REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setNameFormat("group-mapping-refresh-%d")
+          .setDaemon(true).build());
+
+  private final GroupMappingService groupMapping;
+  private final LoadingCache<String, Entry> cache;
+  private final Ticker ticker;
+  private final long negativeTtlNanos;
+
+  private final Counter hits = SentryMetrics.getInstance().getCounter(
+      name(CachedGroupMappingService.class, "hits"));
+  private final Counter misses = SentryMetrics.getInstance().getCounter(
+      name(CachedGroupMappingService.class, "misses"));
+  private final Counter negativeHits = SentryMetrics.getInstance().getCounter(
+      name(CachedGroupMappingService.class, "negative-hits"));
+  private final Timer lookupTimer = SentryMetrics.getInstance().getTimer(
+      name(CachedGroupMappingService.class, "lookup"));
+
+  /**
+   * Result of a group lookup, groups are null if the user has no groups
+   */
+  private static final class Entry {
+    private final Set<String> groups;
+    private final String error;
+    private final long loadTime;
+
+    private Entry(Set<String> groups, String error, long loadTime) {
+      this.groups = groups;
+      this.error = error;
+      this.loadTime = loadTime;
+    }
+  }
+
+  @VisibleForTesting
+  CachedGroupMappingService(GroupMappingService groupMapping, long ttlMs, long refreshMs,
+      long negativeTtlMs, long maxEntries, Ticker ticker, final Executor refreshExecutor) {
+    this.groupMapping = groupMapping;
+    this.ticker = ticker;
+    this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .ticker(ticker);
+    if (refreshMs > 0 && refreshMs < ttlMs) {
+      builder.refreshAfterWrite(refreshMs, TimeUnit.MILLISECONDS);
+    }
+    cache = builder.build(new CacheLoader<String, Entry>() {
+      @Override
+      public Entry load(String user) {
+        return lookup(user);
+      }
+
+      @Override
+      public ListenableFuture<Entry> reload(final String user, Entry oldValue) {
+        ListenableFutureTask<Entry> task = ListenableFutureTask.create(new Callable<Entry>() {
+          @Override
+          public Entry call() {
+            return lookup(user);
+          }
+        });
+        refreshExecutor.execute(task);
+        return task;
+      }
+    });
+  }
+
+  /**
+   * Returns the group mapping of the given server configuration.
+   * <p>
+   * The group mapping is created once per configuration object, from all its settings,
+   * and kept for as long as the configuration. It is created again only when the group
+   * mapping class, resource or cache settings of the configuration change. If the cache
+   * TTL is 0 the groups are not cached, but the same group mapping is still used for
+   * every call: group mappings backed by a file, like the LocalGroupMappingService, check
+   * the file for changes themselves.
+   */
+  public static GroupMappingService get(final Configuration conf) throws SentryUserException {
+    final long ttlSeconds = conf.getLong(
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_SECONDS,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_SECONDS_DEFAULT);
+    final long refreshSeconds = conf.getLong(
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_SECONDS,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_REFRESH_SECONDS_DEFAULT);
+    final long negativeTtlSeconds = conf.getLong(
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_SECONDS,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_NEGATIVE_TTL_SECONDS_DEFAULT);
+    final long maxEntries = conf.getLong(
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_ENTRIES,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_MAX_ENTRIES_DEFAULT);
+    List<Object> key = Arrays.<Object>asList(
+        conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
+            ServerConfig.SENTRY_STORE_GROUP_MAPPING_DEFAULT),
+        conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE),
+        ttlSeconds, refreshSeconds, negativeTtlSeconds, maxEntries);
+    try {
+      Cache<List<Object>, GroupMappingService> instances = INSTANCES.get(conf,
+          new Callable<Cache<List<Object>, GroupMappingService>>() {
+            @Override
+            public Cache<List<Object>, GroupMappingService> call() {
+              return CacheBuilder.newBuilder().build();
+            }
+          });
+      return instances.get(key, new Callable<GroupMappingService>() {
+        @Override
+        public GroupMappingService call() throws SentryUserException {
+          GroupMappingService groupMapping = newGroupMapping(conf);
+          if (ttlSeconds <= 0) {
+            LOGGER.info("Not caching groups of {}", groupMapping.getClass().getName());
+            return groupMapping;
+          }
+          LOGGER.info("Caching groups of {} for {} seconds",
+              groupMapping.getClass().getName(), ttlSeconds);
+          return new CachedGroupMappingService(groupMapping,
+              TimeUnit.SECONDS.toMillis(ttlSeconds), TimeUnit.SECONDS.toMillis(refreshSeconds),
+              TimeUnit.SECONDS.toMillis(negativeTtlSeconds), maxEntries, Ticker.systemTicker(),
+              REFRESH_EXECUTOR);
+        }
+      });
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof SentryUserException) {
+        throw (SentryUserException) e.getCause();
+      }
+      throw new SentryUserException("Unable to instantiate group mapping", e.getCause());
+    }
+  }
+
+  private static GroupMappingService newGroupMapping(Configuration conf)
+      throws SentryUserException {
+    String groupMappingClass = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
+        ServerConfig.SENTRY_STORE_GROUP_MAPPING_DEFAULT);
+    String authResource = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE);
+
+    try {
+      Constructor<?> constructor = Class.forName(groupMappingClass)
+          .getDeclaredConstructor(Configuration.class, String.class);
+      constructor.setAccessible(true);
+      return (GroupMappingService) constructor.newInstance(conf, authResource);
+    } catch (ReflectiveOperationException | IllegalArgumentException | SecurityException e) {
+      throw new SentryUserException("Unable to instantiate group mapping", e);
+    }
+  }
+
+  private Entry lookup(String user) {
+    final Timer.Context timerContext = lookupTimer.time();
+    try {
+      Set<String> groups = groupMapping.getGroups(user);
+      return new Entry(groups == null ? Collections.<String>emptySet()
+          : ImmutableSet.copyOf(groups), null, ticker.read());
+    } catch (SentryGroupNotFoundException e) {
+      LOGGER.debug("No groups found for {}", user, e);
+      return new Entry(null, e.getMessage(), ticker.read());
+    } finally {
+      timerContext.stop();
+    }
+  }
+
+  @Override
+  public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+    Entry entry = cache.getIfPresent(user);
+    if (entry != null && entry.groups == null
+        && ticker.read() - entry.loadTime >= negativeTtlNanos) {
+      cache.invalidate(user);
+      entry = null;
+    }
+    if (entry == null) {
+      misses.inc();
+      try {
+        entry = cache.get(user);
+      } catch (ExecutionException | UncheckedExecutionException e) {
+        if (e.getCause() instanceof SentryGroupNotFoundException) {
+          throw (SentryGroupNotFoundException) e.getCause();
+        }
+        throw new SentryGroupNotFoundException("Unable to obtain groups for " + user,
+            e.getCause());
+      }
+    } else {
+      hits.inc();
+      if (entry.groups == null) {
+        negativeHits.inc();
+      }
+    }
+    if (entry.groups == null) {
+      throw new SentryGroupNotFoundException(entry.error);
+    }
+    // Callers may modify the returned groups
+    return new HashSet<>(entry.groups);
+  }
+
+  @VisibleForTesting
+  long size() {
+    return cache.size();
+  }
+}
@@ -117,6 +117,8 @@ public final class SentryMetrics {
           name(SentryPolicyStoreProcessor.class, "list-sentry-privileges-by-user-and-itsgroups"));
   final Timer listPrivilegesForProviderTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "list-privileges-for-provider"));
+  final Timer filterAuthorizablesTimer = METRIC_REGISTRY.timer(
+      name(SentryPolicyStoreProcessor.class, "filter-authorizables"));
   final Timer listPrivilegesByAuthorizableTimer = METRIC_REGISTRY.timer(
       name(SentryPolicyStoreProcessor.class, "list-privileges-by-authorizable"));
   final Timer listPrivilegesByAuthorizableAndUserTimer = METRIC_REGISTRY.timer(
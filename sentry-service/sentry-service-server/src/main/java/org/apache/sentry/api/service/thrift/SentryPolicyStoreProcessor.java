@@ -20,7 +20,6 @@
 package org.apache.sentry.api.service.thrift;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,7 +41,6 @@ import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.exception.SentrySiteConfigurationException;
 import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.core.model.db.AccessConstants;
-import org.apache.sentry.provider.common.GroupMappingService;
 import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
 import org.apache.sentry.core.common.exception.SentryAccessDeniedException;
 import org.apache.sentry.core.common.exception.SentryAlreadyExistsException;
@@ -54,6 +52,7 @@ import org.apache.sentry.core.common.exception.SentryThriftAPIMismatchException;
 import org.apache.sentry.provider.db.audit.SentryAuditLogger;
 import org.apache.sentry.provider.db.log.util.Constants;
 import org.apache.sentry.provider.db.service.persistent.SentryStoreInterface;
+import org.apache.sentry.provider.db.service.persistent.VersionedPrivileges;
 import org.apache.sentry.core.common.utils.PolicyStoreConstants.PolicyStoreServerConfig;
 import org.apache.sentry.api.service.thrift.validator.GrantPrivilegeRequestValidator;
 import org.apache.sentry.api.service.thrift.validator.RevokePrivilegeRequestValidator;
@@ -105,6 +104,8 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
           SentryMetrics.getInstance().
                   getTimer(name(SentryPolicyStoreProcessor.class, "hms", "wait"));
   private final SentryAuditLogger audit;
+  // Filters of the filter_authorizables requests, null if they are built on every request
+  private final AuthorizableFilterCache authorizableFilters;
 
   private List<SentryPolicyStorePlugin> sentryPlugins = new LinkedList<SentryPolicyStorePlugin>();
 
@@ -117,6 +118,15 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     this.notificationHandlerInvoker = new NotificationHandlerInvoker(conf,
         createHandlers(conf));
     this.audit = new SentryAuditLogger(conf);
+    // The filters are kept like the policy image the privileges are served from
+    if (conf.getBoolean(ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED,
+        ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED_DEFAULT)) {
+      this.authorizableFilters = new AuthorizableFilterCache(conf.getLong(
+          ServerConfig.SENTRY_STORE_POLICY_IMAGE_MAX_AGE_MS,
+          ServerConfig.SENTRY_STORE_POLICY_IMAGE_MAX_AGE_MS_DEFAULT));
+    } else {
+      this.authorizableFilters = null;
+    }
     adminGroups = ImmutableSet.copyOf(toTrimedLower(Sets.newHashSet(conf.getStrings(
         ServerConfig.ADMIN_GROUPS, new String[]{}))));
     Iterable<String> pluginClasses = ConfUtilties.CLASS_SPLITTER
@@ -1049,24 +1059,19 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     response.setPrivileges(new HashSet<String>());
     try {
       validateClientVersion(request.getProtocol_version());
-      Set<String> privilegesForProvider =
-          sentryStore.listSentryPrivilegesForProvider(request.getGroups(), request.getUsers(),
-              request.getRoleSet(), request.getAuthorizableHierarchy());
-      response.setPrivileges(privilegesForProvider);
-      if (privilegesForProvider == null
-          || privilegesForProvider.size() == 0
-          && request.getAuthorizableHierarchy() != null
-          && sentryStore.hasAnyServerPrivileges(request.getGroups(), request.getUsers(),
-              request.getRoleSet(), request.getAuthorizableHierarchy().getServer())) {
-
-        // REQUIRED for ensuring 'default' Db is accessible by any user
-        // with privileges to atleast 1 object with the specific server as root
-
-        // Need some way to specify that even though user has no privilege
-        // For the specific AuthorizableHierarchy.. he has privilege on
-        // atleast 1 object in the server hierarchy
-        HashSet<String> serverPriv = Sets.newHashSet("server=+");
-        response.setPrivileges(serverPriv);
+      // Roles, privileges and the server privilege check which is REQUIRED for ensuring
+      // 'default' Db is accessible by any user with privileges to atleast 1 object with
+      // the specific server as root are all resolved in a single transaction, together
+      // with the policy version when it is requested
+      if (request.isIncludePolicyVersion()) {
+        VersionedPrivileges privileges = sentryStore.getVersionedPrivilegesForProvider(
+            request.getGroups(), request.getUsers(), request.getRoleSet(),
+            request.getAuthorizableHierarchy());
+        response.setPrivileges(privileges.getPrivileges());
+        response.setPolicyVersion(privileges.getPolicyVersion());
+      } else {
+        response.setPrivileges(sentryStore.getPrivilegesForProvider(request.getGroups(),
+            request.getUsers(), request.getRoleSet(), request.getAuthorizableHierarchy()));
       }
       response.setStatus(Status.OK());
     } catch (SentryThriftAPIMismatchException e) {
@@ -1082,43 +1087,62 @@ public class SentryPolicyStoreProcessor implements SentryPolicyService.Iface {
     return response;
   }
 
+  /**
+   * Authorizes a list of databases and tables at once for the metastore filter hook. The
+   * privileges of the groups and users are fetched once, the objects are evaluated against
+   * them on the server. With the policy image, the filter built from the privileges is
+   * reused by the next requests of the same user while the privileges are unchanged.
+   */
+  @Override
+  public TFilterAuthorizablesResponse filter_authorizables(TFilterAuthorizablesRequest request)
+      throws TException {
+    final Timer.Context timerContext = sentryMetrics.filterAuthorizablesTimer.time();
+    TFilterAuthorizablesResponse response = new TFilterAuthorizablesResponse();
+    response.setAuthorized(new ArrayList<Boolean>());
+    try {
+      validateClientVersion(request.getProtocol_version());
+      VersionedPrivileges privileges = sentryStore.getVersionedPrivilegesForProvider(
+          request.getGroups(), request.getUsers(), request.getRoleSet(), null);
+      response.setPolicyVersion(privileges.getPolicyVersion());
+      AuthorizableFilter filter = (authorizableFilters != null)
+          ? authorizableFilters.get(request.getGroups(), request.getUsers(),
+              request.getRoleSet(), privileges.getPrivileges())
+          : new AuthorizableFilter(privileges.getPrivileges());
+      List<Boolean> authorized = new ArrayList<>(request.getAuthorizablesSize());
+      for (TSentryAuthorizable authorizable : request.getAuthorizables()) {
+        authorized.add(filter.isAuthorized(authorizable, request.getActions()));
+      }
+      response.setAuthorized(authorized);
+      response.setStatus(Status.OK());
+    } catch (SentryThriftAPIMismatchException e) {
+      LOGGER.error(e.getMessage(), e);
+      response.setStatus(Status.THRIFT_VERSION_MISMATCH(e.getMessage(), e));
+    } catch (Exception e) {
+      // The request may hold many authorizables, only its size is logged
+      String msg = "Unknown error for request of " + request.getAuthorizablesSize()
+          + " authorizables, message: " + e.getMessage();
+      LOGGER.error(msg, e);
+      response.setStatus(Status.RuntimeError(msg, e));
+    } finally {
+      timerContext.stop();
+    }
+    return response;
+  }
+
   // retrieve the group mapping for the given user name
   private Set<String> getRequestorGroups(String userName)
       throws SentryUserException {
     return getGroupsFromUserName(this.conf, userName);
   }
 
+  /**
+   * Resolves the groups of the user with the group mapping configured in conf. The group
+   * mapping is instantiated once per configuration and its results are cached, see
+   * {@link CachedGroupMappingService}.
+   */
   public static Set<String> getGroupsFromUserName(Configuration conf,
       String userName) throws SentryUserException {
-    String groupMapping = conf.get(ServerConfig.SENTRY_STORE_GROUP_MAPPING,
-        ServerConfig.SENTRY_STORE_GROUP_MAPPING_DEFAULT);
-    String authResoruce = conf
-        .get(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE);
-
-    // load the group mapping provider class
-    GroupMappingService groupMappingService;
-    try {
-      Constructor<?> constrctor = Class.forName(groupMapping)
-          .getDeclaredConstructor(Configuration.class, String.class);
-      constrctor.setAccessible(true);
-      groupMappingService = (GroupMappingService) constrctor
-          .newInstance(new Object[] { conf, authResoruce });
-    } catch (NoSuchMethodException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (SecurityException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (ClassNotFoundException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (InstantiationException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (IllegalAccessException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (IllegalArgumentException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    } catch (InvocationTargetException e) {
-      throw new SentryUserException("Unable to instantiate group mapping", e);
-    }
-    return groupMappingService.getGroups(userName);
+    return CachedGroupMappingService.get(conf).getGroups(userName);
   }
 
   @Override
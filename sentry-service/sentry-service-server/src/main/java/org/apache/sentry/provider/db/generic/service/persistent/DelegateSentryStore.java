@@ -20,8 +20,12 @@ package org.apache.sentry.provider.db.generic.service.persistent;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
+import javax.jdo.FetchGroup;
 import javax.jdo.Query;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.sentry.core.common.Authorizable;
@@ -30,6 +34,7 @@ import org.apache.sentry.core.common.exception.SentryGrantDeniedException;
 import org.apache.sentry.core.common.exception.SentryInvalidInputException;
 import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
 import org.apache.sentry.core.common.exception.SentryUserException;
+import org.apache.sentry.provider.db.service.model.MSentryGMPermChange;
 import org.apache.sentry.provider.db.service.model.MSentryGMPrivilege;
 import org.apache.sentry.provider.db.service.model.MSentryGroup;
 import org.apache.sentry.provider.db.service.model.MSentryRole;
@@ -44,8 +49,10 @@ import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
 import javax.jdo.PersistenceManager;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -128,6 +135,8 @@ public class DelegateSentryStore implements SentryStoreLayer {
               grantOptionCheck(privilege, grantorPrincipal, pm);
 
               privilegeOperator.grantPrivilege(privilege, mRole, pm);
+              SentryStore.persistGMPermChangesCore(pm,
+                  ImmutableSetMultimap.of(privilege.getComponent(), trimmedRole));
               return null;
             });
     return null;
@@ -150,6 +159,8 @@ public class DelegateSentryStore implements SentryStoreLayer {
               grantOptionCheck(privilege, grantorPrincipal, pm);
 
               privilegeOperator.revokePrivilege(privilege, mRole, pm);
+              SentryStore.persistGMPermChangesCore(pm,
+                  ImmutableSetMultimap.of(privilege.getComponent(), trimmedRole));
               return null;
             });
     return null;
@@ -175,8 +186,10 @@ public class DelegateSentryStore implements SentryStoreLayer {
     delegate.getTransactionManager().executeTransactionWithRetry(
             pm -> {
               pm.setDetachAllOnCommit(false); // No need to detach objects
-              privilegeOperator.renamePrivilege(toTrimmedLower(component), toTrimmedLower(service),
-                  oldAuthorizables, newAuthorizables, requestor, pm);
+              String trimmedComponent = toTrimmedLower(component);
+              Set<String> changedRoles = privilegeOperator.renamePrivilege(trimmedComponent,
+                  toTrimmedLower(service), oldAuthorizables, newAuthorizables, requestor, pm);
+              persistGMPermChanges(pm, trimmedComponent, changedRoles);
               return null;
             });
     return null;
@@ -190,12 +203,20 @@ public class DelegateSentryStore implements SentryStoreLayer {
     delegate.getTransactionManager().executeTransactionWithRetry(
             pm -> {
               pm.setDetachAllOnCommit(false); // No need to detach objects
-              privilegeOperator.dropPrivilege(privilege, pm);
+              Set<String> changedRoles = privilegeOperator.dropPrivilege(privilege, pm);
+              persistGMPermChanges(pm, privilege.getComponent(), changedRoles);
               return null;
             });
     return null;
   }
 
+  private static void persistGMPermChanges(PersistenceManager pm, String component,
+      Set<String> roles) {
+    SetMultimap<String, String> changes = HashMultimap.create();
+    changes.putAll(component, roles);
+    SentryStore.persistGMPermChangesCore(pm, changes);
+  }
+
   /**
    * Grant option check
    * @throws SentryUserException
@@ -404,6 +425,114 @@ public class DelegateSentryStore implements SentryStoreLayer {
             });
   }
 
+  @Override
+  public RoleChanges getRoleChanges(final String component, final String service,
+      final long changeID) throws Exception {
+    Preconditions.checkNotNull(component);
+    Preconditions.checkNotNull(service);
+
+    return delegate.getTransactionManager().executeTransaction(
+            pm -> {
+              pm.setDetachAllOnCommit(false); // No need to detach objects
+              long curChangeID = SentryStore.getLastProcessedGMPermChangeIDCore(pm);
+              if (changeID < 0 || changeID > curChangeID) {
+                // The caller has nothing yet or its state is from another store
+                return RoleChanges.fullUpdate(curChangeID);
+              }
+              if (changeID == curChangeID) {
+                return new RoleChanges(curChangeID, Collections.<String>emptySet(),
+                    Collections.<TSentryRole>emptySet(),
+                    Collections.<String, Set<PrivilegeObject>>emptyMap());
+              }
+
+              List<MSentryGMPermChange> changes =
+                  delegate.getMSentryGMPermChangesCore(pm, changeID + 1);
+              if (changes.isEmpty()) {
+                // Some of the requested changes have already been purged
+                return RoleChanges.fullUpdate(curChangeID);
+              }
+
+              String trimmedComponent = toTrimmedLower(component);
+              String trimmedService = toTrimmedLower(service);
+              Set<String> changedRoles = new HashSet<>();
+              for (MSentryGMPermChange change : changes) {
+                if (trimmedComponent.equalsIgnoreCase(change.getComponentName())
+                    || MSentryGMPermChange.ALL_COMPONENTS.equals(change.getComponentName())) {
+                  changedRoles.add(change.getRoleName());
+                }
+              }
+
+              Set<TSentryRole> roles = new HashSet<>(changedRoles.size());
+              Map<String, Set<PrivilegeObject>> privileges = new HashMap<>(changedRoles.size());
+              for (String roleName : changedRoles) {
+                MSentryRole mRole = getRole(roleName, pm);
+                if (mRole == null) {
+                  // The role has been dropped
+                  continue;
+                }
+                Set<String> groupNames = new HashSet<>(mRole.getGroups().size());
+                for (MSentryGroup mSentryGroup : mRole.getGroups()) {
+                  groupNames.add(mSentryGroup.getGroupName());
+                }
+                roles.add(new TSentryRole(roleName, groupNames));
+                privileges.put(roleName, privilegeOperator.getPrivilegesByProvider(
+                    trimmedComponent, trimmedService, Collections.singleton(mRole), null, pm));
+              }
+              return new RoleChanges(curChangeID, changedRoles, roles, privileges);
+            });
+  }
+
+  @Override
+  public RolePrivilegesPage getRolePrivileges(final String component, final String service,
+      final String lastRoleName, final int maxRoles) throws Exception {
+    Preconditions.checkNotNull(component);
+    Preconditions.checkNotNull(service);
+
+    return delegate.getTransactionManager().executeTransaction(
+            pm -> {
+              pm.setDetachAllOnCommit(false); // No need to detach objects
+              long changeID = SentryStore.getLastProcessedGMPermChangeIDCore(pm);
+
+              Query query = pm.newQuery(MSentryRole.class);
+              query.setOrdering("this.roleName ascending");
+              if (lastRoleName != null) {
+                query.setFilter("this.roleName > :lastRoleName");
+              }
+              if (maxRoles > 0) {
+                // Get one more role to know if there are more pages
+                query.setRange(0, maxRoles + 1);
+              }
+              FetchGroup grp = pm.getFetchGroup(MSentryRole.class, "fetchGroups");
+              grp.addMember("groups");
+              pm.getFetchPlan().addGroup("fetchGroups");
+              List<MSentryRole> mRoles = (List<MSentryRole>) (lastRoleName == null ?
+                  query.execute() : query.execute(toTrimmedLower(lastRoleName)));
+
+              boolean hasMore = maxRoles > 0 && mRoles.size() > maxRoles;
+              int size = hasMore ? maxRoles : mRoles.size();
+              Set<TSentryRole> roles = new HashSet<>(size);
+              Set<String> roleNames = new HashSet<>(size);
+              String pageLastRoleName = null;
+              for (MSentryRole mRole : mRoles.subList(0, size)) {
+                Set<String> groupNames = new HashSet<>(mRole.getGroups().size());
+                for (MSentryGroup mSentryGroup : mRole.getGroups()) {
+                  groupNames.add(mSentryGroup.getGroupName());
+                }
+                roles.add(new TSentryRole(mRole.getRoleName(), groupNames));
+                roleNames.add(mRole.getRoleName());
+                pageLastRoleName = mRole.getRoleName();
+              }
+
+              // The privileges of all roles are fetched at once when all roles fit in the page
+              boolean allRoles = lastRoleName == null && !hasMore;
+              Map<String, Set<PrivilegeObject>> privileges =
+                  privilegeOperator.getPrivilegesByRoleNames(toTrimmedLower(component),
+                      toTrimmedLower(service), allRoles ? null : roleNames, pm);
+              return new RolePrivilegesPage(changeID, roles, privileges, hasMore,
+                  pageLastRoleName);
+            });
+  }
+
    @Override
   public void close() {
     delegate.stop();
@@ -450,6 +579,7 @@ public class DelegateSentryStore implements SentryStoreLayer {
               pm.newQuery(MSentryRole.class).deletePersistentAll();
               pm.newQuery(MSentryGroup.class).deletePersistentAll();
               pm.newQuery(MSentryGMPrivilege.class).deletePersistentAll();
+              pm.newQuery(MSentryGMPermChange.class).deletePersistentAll();
               return null;
             });
   }
@@ -20,11 +20,13 @@ package org.apache.sentry.provider.db.generic.service.persistent;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.jdo.FetchGroup;
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
 
@@ -358,8 +360,9 @@ public class PrivilegeOperatePersistence {
 
   /**
    * Drop any role related to the requested privilege and its children privileges
+   * @return the names of the roles whose privileges were changed
    */
-  public void dropPrivilege(PrivilegeObject privilege,PersistenceManager pm) throws SentryUserException {
+  public Set<String> dropPrivilege(PrivilegeObject privilege,PersistenceManager pm) throws SentryUserException {
     MSentryGMPrivilege requestPrivilege = convertToPrivilege(privilege);
 
     if (Strings.isNullOrEmpty(privilege.getAction())) {
@@ -372,6 +375,7 @@ public class PrivilegeOperatePersistence {
     Set<MSentryGMPrivilege> privilegeGraph = Sets.newHashSet();
     privilegeGraph.addAll(populateIncludePrivileges(null, requestPrivilege, pm));
 
+    Set<String> changedRoles = new HashSet<>();
     for (MSentryGMPrivilege mPrivilege : privilegeGraph) {
       /*
        * force to load all roles related this privilege
@@ -380,9 +384,11 @@ public class PrivilegeOperatePersistence {
       pm.retrieve(mPrivilege);
       Set<MSentryRole> roles = mPrivilege.getRoles();
       for (MSentryRole role : roles) {
+        changedRoles.add(role.getRoleName());
         revokeRolePartial(requestPrivilege, mPrivilege, role, pm);
       }
     }
+    return changedRoles;
   }
 
   private MSentryGMPrivilege convertToPrivilege(PrivilegeObject privilege) {
@@ -459,6 +465,65 @@ public class PrivilegeOperatePersistence {
     return privileges;
   }
 
+  /**
+   * Get the privileges of the given roles in a component and service with a single query
+   * @param component Component name
+   * @param service Service name
+   * @param roleNames Names of the roles, or null for all roles
+   * @param pm Persistence manager instance
+   * @return role name to the privileges of the role. Roles without privileges are not included.
+   */
+  Map<String, Set<PrivilegeObject>> getPrivilegesByRoleNames(String component, String service,
+      Set<String> roleNames, PersistenceManager pm) {
+    if (roleNames != null && roleNames.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Query query = pm.newQuery(MSentryGMPrivilege.class);
+    QueryParamBuilder paramBuilder = QueryParamBuilder.newQueryParamBuilder();
+    paramBuilder.add(SERVICE_NAME, SentryStore.toNULLCol(service), true)
+            .add(COMPONENT_NAME, SentryStore.toNULLCol(component), true);
+    if (roleNames != null) {
+      QueryParamBuilder.addRolesFilter(query, paramBuilder, roleNames);
+    }
+    query.setFilter(paramBuilder.toString());
+
+    // Load the roles of the privileges together with the privileges
+    FetchGroup grp = pm.getFetchGroup(MSentryGMPrivilege.class, "fetchRoles");
+    grp.addMember("roles");
+    pm.getFetchPlan().addGroup("fetchRoles");
+
+    List<MSentryGMPrivilege> mPrivileges =
+            (List<MSentryGMPrivilege>)query.executeWithMap(paramBuilder.getArguments());
+
+    Map<String, Set<PrivilegeObject>> privileges = new HashMap<>();
+    for (MSentryGMPrivilege mPrivilege : mPrivileges) {
+      PrivilegeObject privilege = null;
+      for (MSentryRole mRole : mPrivilege.getRoles()) {
+        String roleName = mRole.getRoleName();
+        if (roleNames != null && !roleNames.contains(roleName)) {
+          continue;
+        }
+        if (privilege == null) {
+          privilege = new Builder()
+                               .setComponent(mPrivilege.getComponentName())
+                               .setService(mPrivilege.getServiceName())
+                               .setAction(mPrivilege.getAction())
+                               .setAuthorizables(mPrivilege.getAuthorizables())
+                               .withGrantOption(mPrivilege.getGrantOption())
+                               .build();
+        }
+        Set<PrivilegeObject> rolePrivileges = privileges.get(roleName);
+        if (rolePrivileges == null) {
+          rolePrivileges = new HashSet<>();
+          privileges.put(roleName, rolePrivileges);
+        }
+        rolePrivileges.add(privilege);
+      }
+    }
+    return privileges;
+  }
+
   Set<MSentryGMPrivilege> getPrivilegesByAuthorizable(String component,
                                                       String service, Set<MSentryRole> roles,
                                                       List<? extends Authorizable> authorizables, PersistenceManager pm) {
@@ -474,7 +539,12 @@ public class PrivilegeOperatePersistence {
     return privilegeGraph;
   }
 
-  public void renamePrivilege(String component, String service,
+  /**
+   * Rename the privileges on the old authorizables and their children privileges
+   * to the new authorizables
+   * @return the names of the roles whose privileges were changed
+   */
+  public Set<String> renamePrivilege(String component, String service,
       List<? extends Authorizable> oldAuthorizables, List<? extends Authorizable> newAuthorizables,
       String grantorPrincipal, PersistenceManager pm)
       throws SentryUserException {
@@ -487,6 +557,7 @@ public class PrivilegeOperatePersistence {
     Set<MSentryGMPrivilege> privilegeGraph = Sets.newHashSet();
     privilegeGraph.addAll(populateIncludePrivileges(null, oldPrivilege, pm));
 
+    Set<String> changedRoles = new HashSet<>();
     for (MSentryGMPrivilege dropPrivilege : privilegeGraph) {
       /*
        * construct the new privilege needed to add
@@ -508,10 +579,12 @@ public class PrivilegeOperatePersistence {
 
       Set<MSentryRole> roles = dropPrivilege.getRoles();
       for (MSentryRole role : roles) {
+        changedRoles.add(role.getRoleName());
         revokeRolePartial(oldPrivilege, dropPrivilege, role, pm);
         grantRolePartial(newPrivilge, role, pm);
       }
     }
+    return changedRoles;
   }
 
   private BitFieldAction getAction(String component, String name) throws SentryUserException {
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db.generic.service.persistent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sentry.api.generic.thrift.TSentryRole;
+
+/**
+ * The roles of a component whose groups or privileges changed after a given change ID,
+ * together with their current groups and privileges. Roles which were changed but
+ * no longer exist are only listed in the changed roles.
+ * <p>
+ * When the changes can not be computed incrementally, e.g. the requested change ID was
+ * already purged, the caller has to reload all roles and privileges of the component.
+ */
+public final class RoleChanges {
+  private final long changeID;
+  private final boolean fullUpdateRequired;
+  private final Set<String> changedRoles;
+  private final Set<TSentryRole> roles;
+  private final Map<String, Set<PrivilegeObject>> privileges;
+
+  RoleChanges(long changeID, Set<String> changedRoles, Set<TSentryRole> roles,
+      Map<String, Set<PrivilegeObject>> privileges) {
+    this(changeID, false, changedRoles, roles, privileges);
+  }
+
+  private RoleChanges(long changeID, boolean fullUpdateRequired, Set<String> changedRoles,
+      Set<TSentryRole> roles, Map<String, Set<PrivilegeObject>> privileges) {
+    this.changeID = changeID;
+    this.fullUpdateRequired = fullUpdateRequired;
+    this.changedRoles = changedRoles;
+    this.roles = roles;
+    this.privileges = privileges;
+  }
+
+  static RoleChanges fullUpdate(long changeID) {
+    return new RoleChanges(changeID, true, Collections.<String>emptySet(),
+        Collections.<TSentryRole>emptySet(), Collections.<String, Set<PrivilegeObject>>emptyMap());
+  }
+
+  /**
+   * @return the current change ID, the caller is up to date up to this change
+   */
+  public long getChangeID() {
+    return changeID;
+  }
+
+  /**
+   * @return true if the caller has to reload all roles and privileges of the component
+   */
+  public boolean isFullUpdateRequired() {
+    return fullUpdateRequired;
+  }
+
+  /**
+   * @return the names of all changed roles, including the dropped ones
+   */
+  public Set<String> getChangedRoles() {
+    return changedRoles;
+  }
+
+  /**
+   * @return the changed roles which still exist, with their current groups
+   */
+  public Set<TSentryRole> getRoles() {
+    return roles;
+  }
+
+  /**
+   * @return role name to the current privileges of the role in the component and service
+   */
+  public Map<String, Set<PrivilegeObject>> getPrivileges() {
+    return privileges;
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.provider.db.generic.service.persistent;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sentry.api.generic.thrift.TSentryRole;
+
+/**
+ * A page of roles ordered by name, with their groups and their privileges in a
+ * component and service.
+ */
+public final class RolePrivilegesPage {
+  private final long changeID;
+  private final Set<TSentryRole> roles;
+  private final Map<String, Set<PrivilegeObject>> privileges;
+  private final boolean hasMore;
+  private final String lastRoleName;
+
+  RolePrivilegesPage(long changeID, Set<TSentryRole> roles,
+      Map<String, Set<PrivilegeObject>> privileges, boolean hasMore, String lastRoleName) {
+    this.changeID = changeID;
+    this.roles = roles;
+    this.privileges = privileges;
+    this.hasMore = hasMore;
+    this.lastRoleName = lastRoleName;
+  }
+
+  /**
+   * @return the role change ID the page is consistent with, see {@link RoleChanges}
+   */
+  public long getChangeID() {
+    return changeID;
+  }
+
+  /**
+   * @return the roles of this page, with their groups
+   */
+  public Set<TSentryRole> getRoles() {
+    return roles;
+  }
+
+  /**
+   * @return role name to the privileges of the role. Roles without privileges are
+   *     not included.
+   */
+  public Map<String, Set<PrivilegeObject>> getPrivileges() {
+    return privileges;
+  }
+
+  /**
+   * @return true if there are more roles after the last role of this page
+   */
+  public boolean hasMore() {
+    return hasMore;
+  }
+
+  /**
+   * @return the name of the last role of this page in the order of the store, where
+   *     the next page starts after, or null if the page is empty
+   */
+  public String getLastRoleName() {
+    return lastRoleName;
+  }
+}
@@ -188,6 +188,32 @@ public interface SentryStoreLayer {
       Set<String> validActiveRoles, List<? extends Authorizable> authorizables)
       throws Exception;
 
+  /**
+   * Get the roles whose groups or privileges changed after the given change ID.
+   *
+   * @param component: The request respond to which component
+   * @param service: The name of service
+   * @param changeID: The last change ID known by the caller, or a negative value
+   *                  when the caller has no roles yet
+   * @returns The changed roles with their current groups and privileges
+   * @throws Exception
+   */
+  RoleChanges getRoleChanges(String component, String service, long changeID)
+      throws Exception;
+
+  /**
+   * Get a page of roles ordered by name, with their groups and their privileges.
+   *
+   * @param component: The request respond to which component
+   * @param service: The name of service
+   * @param lastRoleName: The page starts after this role, or null for the first page
+   * @param maxRoles: The maximum number of roles of the page, all roles if not positive
+   * @returns The roles of the page with their groups and privileges
+   * @throws Exception
+   */
+  RolePrivilegesPage getRolePrivileges(String component, String service,
+      String lastRoleName, int maxRoles) throws Exception;
+
   /**
    * close sentryStore
    */
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.model;
+
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Database backend store for generic model permission delta changes. Each record
+ * contains change ID, the component and the role which were changed, and timestamp.
+ * <p>
+ * A record only names what changed, clients of the generic model fetch the current
+ * state of the named role to apply it. Changes to a role which concern every component,
+ * i.e. the role was dropped or its groups were altered, are recorded once with
+ * {@link #ALL_COMPONENTS}, whether the role holds generic model privileges or not.
+ * <p>
+ * Any changes to this objects require re-running the maven build so DN
+ * can re-enhance.
+ */
+@PersistenceCapable
+public class MSentryGMPermChange implements MSentryChange {
+
+  /**
+   * Component name of the changes which concern the role in every component
+   */
+  public static final String ALL_COMPONENTS = "*";
+
+  @PrimaryKey
+  //This value is auto incremented by JDO
+  private long changeID;
+
+  private String componentName;
+  private String roleName;
+  private long createTimeMs;
+
+  public MSentryGMPermChange(long changeID, String componentName, String roleName) {
+    this.changeID = changeID;
+    this.componentName = componentName;
+    this.roleName = roleName;
+    this.createTimeMs = System.currentTimeMillis();
+  }
+
+  public long getCreateTimeMs() {
+    return createTimeMs;
+  }
+
+  public String getComponentName() {
+    return componentName;
+  }
+
+  public String getRoleName() {
+    return roleName;
+  }
+
+  public long getChangeID() {
+    return changeID;
+  }
+
+  @Override
+  public String toString() {
+    return "MSentryGMPermChange [changeID=" + changeID + ", componentName=" + componentName +
+        ", roleName=" + roleName + ", createTimeMs=" + createTimeMs + "]";
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + Long.valueOf(changeID).hashCode();
+    result = prime * result + ((componentName == null) ? 0 : componentName.hashCode());
+    result = prime * result + ((roleName == null) ? 0 : roleName.hashCode());
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (obj == null) {
+      return false;
+    }
+
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+
+    MSentryGMPermChange other = (MSentryGMPermChange) obj;
+    if (changeID != other.changeID) {
+      return false;
+    }
+
+    if (createTimeMs != other.createTimeMs) {
+      return false;
+    }
+
+    if (componentName == null ? other.componentName != null
+        : !componentName.equals(other.componentName)) {
+      return false;
+    }
+
+    if (roleName == null) {
+      return other.roleName == null;
+    }
+
+    return roleName.equals(other.roleName);
+  }
+}
@@ -26,8 +26,12 @@ import javax.jdo.annotations.PrimaryKey;
 
 /**
  * Database backend store for HMS path delta change. Each record contains
- * change ID, HMS notification ID, JSON format of a single
- * &lt Hive Obj, HDFS Path &gt change, and timestamp.
+ * change ID, HMS notification ID, a single &lt Hive Obj, HDFS Path &gt change,
+ * and timestamp.
+ * <p>
+ * The change is stored in JSON format or, when the deltas are compressed, in the
+ * compressed string format of {@link PathsUpdate#serializeToString()}. Both
+ * formats are read by {@link PathsUpdate#deserializeFromString(String)}.
  * <p>
  * e.g. for add paths change in JSON format.
  * <pre>
@@ -63,16 +67,21 @@ public class MSentryPathChange implements MSentryChange {
   //This value is auto incremented by JDO
   private long changeID;
 
-  // Path change in JSON format.
+  // Path change in compressed string or JSON format.
   private String pathChange;
   private long createTimeMs;
   private String notificationHash;
 
   public MSentryPathChange(long changeID, String notificationHash, PathsUpdate pathChange) throws TException {
+    this(changeID, notificationHash, pathChange, false);
+  }
+
+  public MSentryPathChange(long changeID, String notificationHash, PathsUpdate pathChange,
+      boolean compressed) throws TException {
     // Each PathsUpdate maps to a MSentryPathChange object.
     // The PathsUpdate is generated from a HMS notification log,
     // the notification ID is stored as seqNum and
-    // the notification update is serialized as JSON string.
+    // the notification update is serialized as JSON or compressed string.
     this.changeID = changeID;
 
     /*
@@ -84,7 +93,7 @@ public class MSentryPathChange implements MSentryChange {
      */
     this.notificationHash = notificationHash;
 
-    this.pathChange = pathChange.JSONSerialize();
+    this.pathChange = compressed ? pathChange.serializeToString() : pathChange.JSONSerialize();
     this.createTimeMs = System.currentTimeMillis();
   }
 
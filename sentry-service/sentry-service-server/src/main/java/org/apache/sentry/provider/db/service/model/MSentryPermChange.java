@@ -27,8 +27,11 @@ import javax.jdo.annotations.PrimaryKey;
 
 /**
  * Database backend store for Sentry permission delta change. Each record
- * contains change ID, JSON format of a single Sentry permission change,
- * and timestamp.
+ * contains change ID, a single Sentry permission change and timestamp.
+ * <p>
+ * The change is stored in JSON format or, when the deltas are compressed, in the
+ * compressed string format of {@link PermissionsUpdate#serializeToString()}. Both
+ * formats are read by {@link PermissionsUpdate#deserializeFromString(String)}.
  * <p>
  * e.g. for rename privileges change in JSON format.
  * <pre>
@@ -61,13 +64,18 @@ public class MSentryPermChange implements MSentryChange {
   //This value is auto incremented by JDO
   private long changeID;
 
-  // Permission change in JSON format.
+  // Permission change in compressed string or JSON format.
   private String permChange;
   private long createTimeMs;
 
   public MSentryPermChange(long changeID, PermissionsUpdate permChange) throws TException {
+    this(changeID, permChange, false);
+  }
+
+  public MSentryPermChange(long changeID, PermissionsUpdate permChange, boolean compressed)
+      throws TException {
     this.changeID = changeID;
-    this.permChange = permChange.JSONSerialize();
+    this.permChange = compressed ? permChange.serializeToString() : permChange.JSONSerialize();
     this.createTimeMs = System.currentTimeMillis();
   }
 
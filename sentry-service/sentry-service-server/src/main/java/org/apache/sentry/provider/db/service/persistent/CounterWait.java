@@ -27,6 +27,7 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 
 /**
  * Waiting for counter to reach certain value.
@@ -84,6 +85,9 @@ public class CounterWait {
   private final long waitTimeout;
   private final TimeUnit waitTimeUnit;
 
+  /** Notified of the values waited for that the counter has not reached. May be null. */
+  private volatile LongConsumer waitListener;
+
   /**
    * Waiters sorted by the value of the counter they are waiting for.
    * Note that {@link PriorityBlockingQueue} is thread-safe.
@@ -118,6 +122,17 @@ public class CounterWait {
     this.waitTimeUnit = waitTimeUnit;
   }
 
+  /**
+   * Set the listener notified when a consumer starts waiting for a value that
+   * the counter has not reached, so that the updater can reach it sooner.
+   * The listener is called by the waiting threads and should not block.
+   *
+   * @param waitListener listener of the values waited for, or null
+   */
+  public void setWaitListener(LongConsumer waitListener) {
+    this.waitListener = waitListener;
+  }
+
   /**
    * Update the counter value and wake up all threads waiting for this
    * value or any value below it.
@@ -211,6 +226,10 @@ public class CounterWait {
     // the event's blocking queue will be non-empty and the waitFor() below
     // will not block, so it is safe to wake up before the wait.
     // So sit tight and wait patiently.
+    LongConsumer listener = waitListener;
+    if (listener != null) {
+      listener.accept(value);
+    }
     LOGGER.debug("Blocked, waiting for value {}", value);
     eid.waitFor();
     return currentId.get();
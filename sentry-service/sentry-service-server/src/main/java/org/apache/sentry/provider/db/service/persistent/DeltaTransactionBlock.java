@@ -44,9 +44,16 @@ import javax.jdo.PersistenceManager;
  */
 public class DeltaTransactionBlock implements TransactionBlock<Object> {
   private final Update update;
+  // Persists the update compressed instead of in JSON
+  private final boolean compressed;
 
   public DeltaTransactionBlock(Update update) {
+    this(update, false);
+  }
+
+  public DeltaTransactionBlock(Update update, boolean compressed) {
     this.update = update;
+    this.compressed = compressed;
   }
 
   @Override
@@ -87,11 +94,13 @@ public class DeltaTransactionBlock implements TransactionBlock<Object> {
     // fail.
     if (update instanceof PermissionsUpdate) {
       long lastChangeID = SentryStore.getLastProcessedChangeIDCore(pm, MSentryPermChange.class);
-      pm.makePersistent(new MSentryPermChange(lastChangeID + 1, (PermissionsUpdate) update));
+      pm.makePersistent(new MSentryPermChange(lastChangeID + 1, (PermissionsUpdate) update,
+          compressed));
     } else if (update instanceof UniquePathsUpdate) {
       long lastChangeID = SentryStore.getLastProcessedChangeIDCore(pm, MSentryPathChange.class);
       String eventHash = ((UniquePathsUpdate) update).getEventHash();
-      pm.makePersistent(new MSentryPathChange(lastChangeID + 1, eventHash, (PathsUpdate) update));
+      pm.makePersistent(new MSentryPathChange(lastChangeID + 1, eventHash, (PathsUpdate) update,
+          compressed));
       // Notification id from PATH_UPDATE entry is made persistent in
       // SENTRY_LAST_NOTIFICATION_ID table.
       pm.makePersistent(new MSentryHmsNotification(update.getSeqNum()));
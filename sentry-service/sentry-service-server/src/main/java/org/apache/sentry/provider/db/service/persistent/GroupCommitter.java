@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commits the changes submitted concurrently by several threads together.
+ * <p>
+ * The first thread submitting a change becomes the leader: it waits for the other changes
+ * submitted within the configured window, or until the group is full, and commits the
+ * group while the next changes gather around a new leader. The other threads wait for
+ * their change to be committed. If the group fails, each of its changes is committed on
+ * its own, so every thread gets the outcome of its own change.
+ *
+ * @param <T> the type of the changes
+ */
+@ThreadSafe
+final class GroupCommitter<T> {
+  private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitter.class);
+
+  /**
+   * Commits the changes.
+   */
+  interface Committer<T> {
+    /**
+     * Commits the changes together, nothing is committed if it fails.
+     */
+    void commitGroup(List<T> changes) throws Exception;
+
+    /**
+     * Commits a single change.
+     */
+    void commit(T change) throws Exception;
+  }
+
+  private static final class Entry<T> {
+    private final T change;
+    private boolean leader;
+    private boolean done;
+    private Exception failure;
+
+    Entry(T change) {
+      this.change = change;
+    }
+  }
+
+  private final Committer<T> committer;
+  private final long windowNanos;
+  private final int maxGroupSize;
+  private final Object lock = new Object();
+  // Changes not taken by a leader yet, guarded by lock
+  private final List<Entry<T>> pending = new ArrayList<>();
+  private boolean leading;
+
+  /**
+   * @param committer commits the changes
+   * @param windowMs how long a leader waits for other changes
+   * @param maxGroupSize the maximum number of changes committed together
+   */
+  GroupCommitter(Committer<T> committer, long windowMs, int maxGroupSize) {
+    this.committer = committer;
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    this.maxGroupSize = Math.max(1, maxGroupSize);
+  }
+
+  /**
+   * Commits the given change with the ones submitted concurrently.
+   *
+   * @throws Exception the failure of the change
+   */
+  void submit(T change) throws Exception {
+    Entry<T> entry = new Entry<>(change);
+    List<Entry<T>> group = null;
+    boolean interrupted = false;
+    try {
+      synchronized (lock) {
+        pending.add(entry);
+        if (!leading) {
+          leading = true;
+          entry.leader = true;
+        }
+        // Wakes up the leader when the group is full
+        lock.notifyAll();
+        while (!entry.done && !entry.leader) {
+          interrupted |= await(0);
+        }
+        if (!entry.done) {
+          long deadline = System.nanoTime() + windowNanos;
+          long remaining = windowNanos;
+          while (pending.size() < maxGroupSize && remaining > 0) {
+            interrupted |= await(remaining);
+            remaining = deadline - System.nanoTime();
+          }
+          List<Entry<T>> taken = pending.subList(0, Math.min(maxGroupSize, pending.size()));
+          group = new ArrayList<>(taken);
+          taken.clear();
+          // The changes left over gather around a new leader
+          if (pending.isEmpty()) {
+            leading = false;
+          } else {
+            pending.get(0).leader = true;
+            lock.notifyAll();
+          }
+        }
+      }
+      if (group != null) {
+        commit(group);
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (entry.failure != null) {
+      throw entry.failure;
+    }
+  }
+
+  /**
+   * Waits on the lock, the change of the thread is committed even if it is interrupted.
+   *
+   * @return true if the thread was interrupted
+   */
+  private boolean await(long nanos) {
+    try {
+      if (nanos > 0) {
+        TimeUnit.NANOSECONDS.timedWait(lock, nanos);
+      } else {
+        lock.wait();
+      }
+      return false;
+    } catch (InterruptedException e) {
+      return true;
+    }
+  }
+
+  private void commit(List<Entry<T>> group) {
+    List<Exception> failures = new ArrayList<>(group.size());
+    try {
+      if (group.size() > 1) {
+        List<T> changes = new ArrayList<>(group.size());
+        for (Entry<T> entry : group) {
+          changes.add(entry.change);
+        }
+        try {
+          committer.commitGroup(changes);
+          for (int i = 0; i < group.size(); i++) {
+            failures.add(null);
+          }
+          return;
+        } catch (Exception e) {
+          LOGGER.debug("Group of {} changes failed, committing them one by one",
+              group.size(), e);
+        }
+      }
+      for (Entry<T> entry : group) {
+        try {
+          committer.commit(entry.change);
+          failures.add(null);
+        } catch (Exception e) {
+          failures.add(e);
+        }
+      }
+    } finally {
+      synchronized (lock) {
+        for (int i = 0; i < group.size(); i++) {
+          Entry<T> entry = group.get(i);
+          entry.failure = i < failures.size() ? failures.get(i) :
+              new IllegalStateException("The group of changes was not committed");
+          entry.done = true;
+        }
+        lock.notifyAll();
+      }
+    }
+  }
+}
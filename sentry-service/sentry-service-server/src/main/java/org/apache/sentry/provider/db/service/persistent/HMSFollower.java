@@ -24,9 +24,14 @@ import org.apache.sentry.hdfs.ServiceConstants.ServerConfig;
 
 import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AUTHZ_SERVER_NAME;
 import static org.apache.sentry.binding.hive.conf.HiveAuthzConf.AuthzConfVars.AUTHZ_SERVER_NAME_DEPRECATED;
+import static org.apache.sentry.service.common.ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_INTERVAL_MILLS;
+import static org.apache.sentry.service.common.ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_INTERVAL_MILLS_DEFAULT;
+import static org.apache.sentry.service.common.ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_MAX_IDLE_INTERVAL_MILLS;
+import static org.apache.sentry.service.common.ServiceConstants.ServerConfig.SENTRY_HMSFOLLOWER_MAX_IDLE_INTERVAL_MILLS_DEFAULT;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -49,6 +54,11 @@ import org.slf4j.LoggerFactory;
  * It gets the full update and notification logs from HMS and applies it to
  * update permissions stored in Sentry using SentryStore and also update the &lt obj,path &gt state
  * stored for HDFS-Sentry sync.
+ * <p>
+ * The notifications are applied on this thread, in notification order. The notification
+ * IDs and the path change IDs are assigned as max + 1 in each transaction and NameNodes
+ * rely on them being contiguous and in commit order, and renames move objects between
+ * any partitioning by object, so the notifications are not applied concurrently.
  */
 public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
 
@@ -72,6 +82,23 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
    * Default value is -1 which means it gets till the max
    */
   private int sentryHMSFetchSize;
+  /**
+   * Maximum number of notifications processed in one transaction
+   */
+  private final int notificationBatchSize;
+
+  private final long pollIntervalMs;
+  /**
+   * Maximum number of consecutive polls skipped while no notifications arrive
+   */
+  private final long maxSkippedPolls;
+  private long idlePolls = 0;
+  private long pollsToSkip = 0;
+  /**
+   * Set when a client waits for a notification that is not processed yet
+   */
+  private final Object pollSignal = new Object();
+  private boolean pollRequested = false;
   /**
    * Current generation of HMS snapshots. HMSFollower is single-threaded, so no need
    * to protect against concurrent modification.
@@ -130,6 +157,23 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
       LOGGER.info("Sentry will fetch from HMS with depth of {}", sentryHMSFetchSize);
     }
 
+    notificationBatchSize = Math.max(1, conf.getInt(ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_SIZE,
+        ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_SIZE_DEFAULT));
+    LOGGER.info("Sentry will process up to {} HMS notifications in one transaction",
+        notificationBatchSize);
+
+    pollIntervalMs = Math.max(1, conf.getLong(SENTRY_HMSFOLLOWER_INTERVAL_MILLS,
+        SENTRY_HMSFOLLOWER_INTERVAL_MILLS_DEFAULT));
+    long maxIdlePollIntervalMs = conf.getLong(SENTRY_HMSFOLLOWER_MAX_IDLE_INTERVAL_MILLS,
+        SENTRY_HMSFOLLOWER_MAX_IDLE_INTERVAL_MILLS_DEFAULT);
+    maxSkippedPolls = Math.max(0, maxIdlePollIntervalMs / pollIntervalMs - 1);
+    CounterWait counterWait = store.getCounterWait();
+    // counterWait should never be null, but tests mock SentryStore and a mocked one
+    // doesn't have it.
+    if (counterWait != null) {
+      counterWait.setWaitListener(id -> requestPoll());
+    }
+
     if(!hdfsSyncEnabled) {
       try {
         // Clear all the HMS metadata learned so far and learn it fresh when the feature
@@ -170,6 +214,85 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
 
   @Override
   public void run() {
+    runOnce();
+  }
+
+  /**
+   * Processes new notifications like {@link #run()}, and is meant to be scheduled at the
+   * HMSFollower interval as well. HMS is polled again right away as long as notifications
+   * arrive. Otherwise, until the next interval starts, HMS is polled again as soon as a
+   * client waits for a notification that is not processed yet.
+   *
+   * <p>While no notifications arrive, the following polls are skipped for more and more
+   * intervals, up to the configured maximum idle interval, unless clients wait for
+   * notifications.
+   */
+  public void runAdaptively() {
+    long deadline = System.currentTimeMillis() + pollIntervalMs;
+    boolean poll = takePollRequest() || pollsToSkip == 0;
+    if (!poll) {
+      pollsToSkip--;
+    }
+    while (!Thread.currentThread().isInterrupted()) {
+      if (poll) {
+        if (runOnce()) {
+          idlePolls = 0;
+          pollsToSkip = 0;
+          continue;
+        }
+        pollsToSkip = idlePolls;
+        idlePolls = Math.min(Math.max(1, idlePolls * 2), maxSkippedPolls);
+      }
+      poll = awaitPollRequest(deadline);
+      if (!poll) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Requests HMS to be polled right away by {@link #runAdaptively()}.
+   */
+  void requestPoll() {
+    synchronized (pollSignal) {
+      pollRequested = true;
+      pollSignal.notifyAll();
+    }
+  }
+
+  private boolean takePollRequest() {
+    synchronized (pollSignal) {
+      boolean requested = pollRequested;
+      pollRequested = false;
+      return requested;
+    }
+  }
+
+  /**
+   * Waits until HMS is requested to be polled or the deadline is reached.
+   *
+   * @return true if HMS is requested to be polled
+   */
+  private boolean awaitPollRequest(long deadlineMs) {
+    synchronized (pollSignal) {
+      long now = System.currentTimeMillis();
+      while (!pollRequested && now < deadlineMs) {
+        try {
+          pollSignal.wait(deadlineMs - now);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+        now = System.currentTimeMillis();
+      }
+      return takePollRequest();
+    }
+  }
+
+  /**
+   * @return true if notifications or a full snapshot were processed
+   */
+  private boolean runOnce() {
     SentryStateBank.enableState(HMSFollowerState.COMPONENT,HMSFollowerState.STARTED);
     long lastProcessedNotificationId;
     try {
@@ -179,7 +302,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
       } catch (Exception e) {
         LOGGER.error("Failed to get the last processed notification id from sentry store, "
             + "Skipping the processing", e);
-        return;
+        return false;
       }
       // Wake any clients connected to this service waiting for HMS already processed notifications.
       wakeUpWaitingClientsForSync(lastProcessedNotificationId);
@@ -187,9 +310,9 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
       if (!isLeader()) {
         // Close any outstanding connections to HMS
         close();
-        return;
+        return false;
       }
-      syncupWithHms(lastProcessedNotificationId);
+      return syncupWithHms(lastProcessedNotificationId);
     } finally {
       SentryStateBank.disableState(HMSFollowerState.COMPONENT,HMSFollowerState.STARTED);
     }
@@ -213,15 +336,18 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
    *
    * <p>Clients connections waiting for an event notification will be
    * woken up afterwards.
+   *
+   * @return true if notifications or a full snapshot were processed, so that more
+   * notifications may follow
    */
-   void syncupWithHms(long notificationId) {
+   boolean syncupWithHms(long notificationId) {
     try {
       client.connect();
       connectedToHms = true;
       SentryStateBank.enableState(HMSFollowerState.COMPONENT,HMSFollowerState.CONNECTED);
     } catch (Throwable e) {
       LOGGER.error("HMSFollower cannot connect to HMS!!", e);
-      return;
+      return false;
     }
 
     try {
@@ -229,7 +355,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
         // Before getting notifications, checking if a full HMS snapshot is required.
         if (isFullSnapshotRequired(notificationId)) {
           createFullSnapshot();
-          return;
+          return true;
         }
       } else if (isSentryOutOfSync(notificationId)) {
         // Out-of-sync, fetching all the notifications
@@ -252,7 +378,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
               areNotificationsOutOfSync(notifications, notificationId)) {
         // Out-of-sync, taking a HMS full snapshot.
         createFullSnapshot();
-        return;
+        return true;
       }
 
       if (!readyToServe) {
@@ -264,6 +390,8 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
 
       // Continue with processing new notifications if no snapshots are done.
       processNotifications(notifications);
+      return !notifications.isEmpty()
+          && sentryStore.getLastProcessedNotificationID() > notificationId;
     } catch (TException e) {
       LOGGER.error("An error occurred while fetching HMS notifications: ", e);
       close();
@@ -273,6 +401,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
 
       close();
     }
+    return false;
   }
 
   /**
@@ -459,18 +588,78 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
    * @throws Exception if the complete notification list is not processed because of JDO Exception
    */
   public void processNotifications(Collection<NotificationEvent> events) throws Exception {
-    boolean isNotificationProcessed;
     if (events.isEmpty()) {
       return;
     }
+    if (notificationBatchSize == 1) {
+      processNotificationsOneByOne(events);
+      return;
+    }
+
+    List<NotificationEvent> batch = new ArrayList<>(Math.min(events.size(), notificationBatchSize));
+    for (NotificationEvent event : events) {
+      batch.add(event);
+      if (batch.size() == notificationBatchSize) {
+        if (!processNotificationsBatch(batch)) {
+          return;
+        }
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      processNotificationsBatch(batch);
+    }
+  }
+
+  /**
+   * Processes the notifications in one transaction. If any of them fails, none is
+   * committed and they are processed again one by one, so that the failure is handled
+   * for that notification only.
+   *
+   * @return false if the following notifications must not be processed
+   */
+  private boolean processNotificationsBatch(List<NotificationEvent> batch) throws Exception {
+    // Only the leader should process the notifications
+    if (!isLeader()) {
+      LOGGER.debug("Not processing notifications since not a leader");
+      return false;
+    }
+    long firstEventId = batch.get(0).getEventId();
+    long lastEventId = batch.get(batch.size() - 1).getEventId();
+    sentryStore.beginBatch();
+    try {
+      for (NotificationEvent event : batch) {
+        if (!notificationProcessor.processNotificationEvent(event)) {
+          sentryStore.persistLastProcessedNotificationID(event.getEventId());
+        }
+      }
+      sentryStore.commitBatch();
+    } catch (Exception e) {
+      sentryStore.abortBatch();
+      LOGGER.info("Processing the notifications with ID:{} to {} in one transaction failed, "
+          + "processing them one by one", firstEventId, lastEventId, e);
+      return processNotificationsOneByOne(batch);
+    }
+    // Wake up any HMS waiters that are waiting for these IDs.
+    wakeUpWaitingClientsForSync(lastEventId);
+    return true;
+  }
 
+  /**
+   * Processes every notification in its own transactions.
+   *
+   * @return false if the following notifications must not be processed
+   */
+  private boolean processNotificationsOneByOne(Collection<NotificationEvent> events)
+      throws Exception {
+    boolean isNotificationProcessed;
     for (NotificationEvent event : events) {
       isNotificationProcessed = false;
       try {
         // Only the leader should process the notifications
         if (!isLeader()) {
           LOGGER.debug("Not processing notifications since not a leader");
-          return;
+          return false;
         }
         isNotificationProcessed = notificationProcessor.processNotificationEvent(event);
       } catch (Exception e) {
@@ -481,7 +670,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
             // Rest of the notifications need not be processed.
             LOGGER.error("Received event with Id: {} which is smaller then the ID "
                 + "persisted in store", event.getEventId());
-            break;
+            return false;
           }
         } else {
           LOGGER.error("Processing the notification with ID:{} failed with exception {}",
@@ -503,6 +692,7 @@ public class HMSFollower implements Runnable, AutoCloseable, PubSub.Subscriber {
       // Wake up any HMS waiters that are waiting for this ID.
       wakeUpWaitingClientsForSync(event.getEventId());
     }
+    return true;
   }
 
   /**
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.jdo.JDOHelper;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Transaction;
+import javax.jdo.listener.DeleteLifecycleListener;
+import javax.jdo.listener.InstanceLifecycleEvent;
+import javax.jdo.listener.StoreLifecycleListener;
+import javax.transaction.Synchronization;
+
+/**
+ * Counts the changes of the policy made through a {@link SentryStore}.
+ * <p>
+ * The listener is registered for the policy classes of the PersistenceManagerFactory of
+ * the store. Every transaction which stores or deletes a role, group, user or privilege
+ * bumps the change version, once when the change is made and once when the transaction
+ * completes, so that anything read in between is invalidated again. Changes made by other
+ * Sentry servers sharing the database are not seen.
+ */
+final class PolicyChangeListener implements StoreLifecycleListener, DeleteLifecycleListener {
+  // Only compared within this server, the policy version sent to clients is read from the
+  // change IDs in the database
+  private final AtomicLong changeVersion = new AtomicLong();
+
+  // Bumps the change version once the transaction which changed the policy commits
+  private final Synchronization commitListener = new Synchronization() {
+    @Override
+    public void beforeCompletion() {
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      changeVersion.incrementAndGet();
+    }
+  };
+
+  /**
+   * @return the change version, which increases with every change of the policy
+   */
+  long getChangeVersion() {
+    return changeVersion.get();
+  }
+
+  private void onChange(InstanceLifecycleEvent event) {
+    changeVersion.incrementAndGet();
+    PersistenceManager pm = JDOHelper.getPersistenceManager(event.getPersistentInstance());
+    if (pm == null) {
+      return;
+    }
+    // The change is not visible to other transactions before it commits, so what they
+    // read in between must be invalidated again after the commit.
+    Transaction transaction = pm.currentTransaction();
+    if (transaction.isActive() && transaction.getSynchronization() == null) {
+      transaction.setSynchronization(commitListener);
+    }
+  }
+
+  @Override
+  public void preStore(InstanceLifecycleEvent event) {
+  }
+
+  @Override
+  public void postStore(InstanceLifecycleEvent event) {
+    onChange(event);
+  }
+
+  @Override
+  public void preDelete(InstanceLifecycleEvent event) {
+  }
+
+  @Override
+  public void postDelete(InstanceLifecycleEvent event) {
+    onChange(event);
+  }
+}
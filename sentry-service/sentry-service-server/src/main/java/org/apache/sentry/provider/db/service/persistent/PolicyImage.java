@@ -0,0 +1,269 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.apache.sentry.core.common.utils.SentryUtils.isNULL;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sentry.api.service.thrift.TSentryActiveRoleSet;
+import org.apache.sentry.api.service.thrift.TSentryAuthorizable;
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.provider.db.service.model.MSentryPrivilege;
+
+/**
+ * An in-memory snapshot of the roles of groups and users and of the privileges of roles
+ * and users, which answers provider privilege lookups without the database.
+ * <p>
+ * Lookups have the same semantics as
+ * {@link SentryStore#getPrivilegesForProvider(Set, Set, TSentryActiveRoleSet,
+ * TSentryAuthorizable)}: privileges are matched against the authorizable hierarchy like
+ * the JDOQL filter of the store does. The privilege strings are rendered once when the
+ * image is loaded.
+ * <p>
+ * The image is populated by the loader before it is published and is immutable after.
+ */
+final class PolicyImage {
+
+  /** The fields of a privilege the lookups filter on, and its rendered string */
+  private static final class Privilege {
+    private final String serverName;
+    private final String dbName;
+    private final String tableName;
+    private final String columnName;
+    private final String uri;
+    private final String authorizable;
+
+    private Privilege(MSentryPrivilege privilege) {
+      serverName = privilege.getServerName();
+      dbName = privilege.getDbName();
+      tableName = privilege.getTableName();
+      columnName = privilege.getColumnName();
+      uri = privilege.getURI();
+      authorizable = SentryStore.toAuthorizable(privilege);
+    }
+  }
+
+  // group name to lower case role names
+  private final Map<String, Set<String>> groupRoles = new HashMap<>();
+  // user name to lower case role names
+  private final Map<String, Set<String>> userRoles = new HashMap<>();
+  // lower case role name to privileges
+  private final Map<String, List<Privilege>> rolePrivileges = new HashMap<>();
+  // user name to privileges
+  private final Map<String, List<Privilege>> userPrivileges = new HashMap<>();
+  private int privilegeCount;
+  // policy version of the database the image was loaded from
+  private final long policyVersion;
+
+  PolicyImage(long policyVersion) {
+    this.policyVersion = policyVersion;
+  }
+
+  long getPolicyVersion() {
+    return policyVersion;
+  }
+
+  void addGroupRole(String groupName, String roleName) {
+    add(groupRoles, groupName, SentryStore.safeTrimLower(roleName));
+  }
+
+  void addUserRole(String userName, String roleName) {
+    add(userRoles, userName, SentryStore.safeTrimLower(roleName));
+  }
+
+  /**
+   * Adds the privilege to the given roles and users
+   */
+  void addPrivilege(MSentryPrivilege mPrivilege, Iterable<String> roleNames,
+      Iterable<String> userNames) {
+    Privilege privilege = new Privilege(mPrivilege);
+    for (String roleName : roleNames) {
+      add(rolePrivileges, SentryStore.safeTrimLower(roleName), privilege);
+    }
+    for (String userName : userNames) {
+      add(userPrivileges, userName, privilege);
+    }
+    privilegeCount++;
+  }
+
+  private static void add(Map<String, Set<String>> map, String key, String value) {
+    Set<String> values = map.get(key);
+    if (values == null) {
+      values = new HashSet<>();
+      map.put(key, values);
+    }
+    values.add(value);
+  }
+
+  private static void add(Map<String, List<Privilege>> map, String key, Privilege value) {
+    List<Privilege> values = map.get(key);
+    if (values == null) {
+      values = new ArrayList<>();
+      map.put(key, values);
+    }
+    values.add(value);
+  }
+
+  int getPrivilegeCount() {
+    return privilegeCount;
+  }
+
+  /**
+   * @return the privileges of the given groups and users on the authorizable hierarchy or
+   *         {@link SentryStoreInterface#ANY_SERVER_PRIVILEGE} if they have none there but
+   *         some on its server
+   */
+  Set<String> getPrivilegesForProvider(Set<String> groups, Set<String> users,
+      TSentryActiveRoleSet roleSet, TSentryAuthorizable authHierarchy) {
+    Set<String> roles = getRolesToQuery(groups, users, roleSet);
+    Set<String> trimmedUsers = new HashSet<>();
+    if (users != null) {
+      for (String user : users) {
+        trimmedUsers.add(SentryStore.safeTrim(user));
+      }
+    }
+
+    Set<String> result = new HashSet<>();
+    for (String role : roles) {
+      addMatching(rolePrivileges.get(role), authHierarchy, result);
+    }
+    for (String user : trimmedUsers) {
+      addMatching(userPrivileges.get(user), authHierarchy, result);
+    }
+    if (result.isEmpty() && authHierarchy != null) {
+      String server = SentryStore.toNULLCol(SentryStore.safeTrimLower(authHierarchy.getServer()));
+      if (hasServerPrivilege(rolePrivileges, roles, server)
+          || hasServerPrivilege(userPrivileges, trimmedUsers, server)) {
+        result.add(SentryStoreInterface.ANY_SERVER_PRIVILEGE);
+      }
+    }
+    return result;
+  }
+
+  private Set<String> getRolesToQuery(Set<String> groups, Set<String> users,
+      TSentryActiveRoleSet roleSet) {
+    Set<String> roles = new HashSet<>();
+    addAll(groupRoles, groups, roles);
+    addAll(userRoles, users, roles);
+    if (!roleSet.isAll()) {
+      Set<String> activeRoles = new HashSet<>();
+      for (String role : roleSet.getRoles()) {
+        activeRoles.add(SentryStore.safeTrimLower(role));
+      }
+      roles.retainAll(activeRoles);
+    }
+    return roles;
+  }
+
+  private static void addAll(Map<String, Set<String>> map, Set<String> keys,
+      Set<String> result) {
+    if (keys == null) {
+      return;
+    }
+    for (String key : keys) {
+      Set<String> values = map.get(key);
+      if (values != null) {
+        result.addAll(values);
+      }
+    }
+  }
+
+  private static boolean hasServerPrivilege(Map<String, List<Privilege>> map,
+      Set<String> principals, String server) {
+    for (String principal : principals) {
+      List<Privilege> privileges = map.get(principal);
+      if (privileges == null) {
+        continue;
+      }
+      for (Privilege privilege : privileges) {
+        if (server.equals(privilege.serverName)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static void addMatching(List<Privilege> privileges,
+      TSentryAuthorizable authHierarchy, Set<String> result) {
+    if (privileges == null) {
+      return;
+    }
+    for (Privilege privilege : privileges) {
+      if (matches(privilege, authHierarchy)) {
+        result.add(privilege.authorizable);
+      }
+    }
+  }
+
+  /**
+   * In-memory equivalent of the authorizable hierarchy filter of
+   * {@link SentryStore#getPrivilegesForProvider}
+   */
+  private static boolean matches(Privilege privilege, TSentryAuthorizable authHierarchy) {
+    if (authHierarchy == null || authHierarchy.getServer() == null) {
+      return true;
+    }
+    if (!equalsNormalized(privilege.serverName, authHierarchy.getServer())) {
+      return false;
+    }
+    if (authHierarchy.getDb() != null) {
+      if (!isNULL(privilege.uri) || !matchesOrNULL(privilege.dbName, authHierarchy.getDb())) {
+        return false;
+      }
+      String table = authHierarchy.getTable();
+      if (table != null && !AccessConstants.ALL.equalsIgnoreCase(table)) {
+        if (!AccessConstants.SOME.equalsIgnoreCase(table)
+            && !matchesOrNULL(privilege.tableName, table)) {
+          return false;
+        }
+        String column = authHierarchy.getColumn();
+        if (column != null
+            && !AccessConstants.ALL.equalsIgnoreCase(column)
+            && !AccessConstants.SOME.equalsIgnoreCase(column)
+            && !matchesOrNULL(privilege.columnName, column)) {
+          return false;
+        }
+      }
+    }
+    if (authHierarchy.getUri() != null) {
+      if (!isNULL(privilege.dbName)) {
+        return false;
+      }
+      if (!isNULL(privilege.uri) && !authHierarchy.getUri().startsWith(privilege.uri)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean matchesOrNULL(String value, String requested) {
+    return isNULL(value) || equalsNormalized(value, requested);
+  }
+
+  private static boolean equalsNormalized(String value, String requested) {
+    return SentryStore.toNULLCol(SentryStore.safeTrimLower(requested)).equals(value);
+  }
+}
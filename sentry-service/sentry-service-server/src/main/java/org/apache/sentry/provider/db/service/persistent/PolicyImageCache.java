@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.sentry.api.service.thrift.SentryMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.Timer.Context;
+
+/**
+ * Keeps the {@link PolicyImage} of the store current. Only the provider privilege lookups
+ * ({@link SentryStore#getPrivilegesForProvider} and
+ * {@link SentryStore#getVersionedPrivilegesForProvider}) are served from the image, the
+ * other reads of the policy always go to the database.
+ * <p>
+ * The image is reloaded in full by the next lookup once the {@link PolicyChangeListener}
+ * of the store has seen a change of the policy, so a client always reads its own writes.
+ * This suits read-mostly policies: every change made through the store costs a reload.
+ * Changes made by other Sentry servers sharing the database are not seen by the listener,
+ * they are picked up once the image is older than the configured maximum age: that age
+ * bounds how long they stay invisible. Only one thread reloads the image at a time and
+ * the lookups never wait for it: while the image misses a change or is expired they get
+ * no image and have to read the database.
+ */
+final class PolicyImageCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PolicyImageCache.class);
+
+  private static final class Entry {
+    private final PolicyImage image;
+    private final long version;
+    private final long loadTime;
+
+    private Entry(PolicyImage image, long version, long loadTime) {
+      this.image = image;
+      this.version = version;
+      this.loadTime = loadTime;
+    }
+  }
+
+  private final TransactionManager tm;
+  private final TransactionBlock<PolicyImage> loader;
+  private final long maxAgeNanos;
+  private final PolicyChangeListener changes;
+  private final ReentrantLock loadLock = new ReentrantLock();
+  private volatile Entry current;
+
+  private final Timer loadTimer = SentryMetrics.getInstance().getTimer(
+      name(PolicyImageCache.class, "load"));
+
+  PolicyImageCache(TransactionManager tm, TransactionBlock<PolicyImage> loader,
+      long maxAgeMs, PolicyChangeListener changes) {
+    this.tm = tm;
+    this.loader = loader;
+    this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+    this.changes = changes;
+  }
+
+  /**
+   * @return the current image, or null if the policy changed since it was loaded or it
+   *         expired and another thread is reloading it
+   */
+  PolicyImage get() throws Exception {
+    Entry entry = current;
+    long version = changes.getChangeVersion();
+    if (entry != null && entry.version == version
+        && System.nanoTime() - entry.loadTime < maxAgeNanos) {
+      return entry.image;
+    }
+    // Let one thread reload, the others read the database meanwhile
+    if (!loadLock.tryLock()) {
+      return null;
+    }
+    try {
+      entry = current;
+      version = changes.getChangeVersion();
+      long now = System.nanoTime();
+      if (entry != null && entry.version == version && now - entry.loadTime < maxAgeNanos) {
+        return entry.image;
+      }
+      PolicyImage image;
+      try (Context context = loadTimer.time()) {
+        image = tm.executeTransaction(loader);
+      }
+      LOGGER.debug("Loaded policy image version {} with {} privileges", version,
+          image.getPrivilegeCount());
+      current = new Entry(image, version, now);
+      return image;
+    } finally {
+      loadLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.google.common.util.concurrent.Striped;
+
+/**
+ * Locks serializing the policy changes of a {@link SentryStore}.
+ * <p>
+ * A change of the privileges on a database, its tables or columns only holds the lock
+ * of that database, so changes of different databases run in parallel. Any other change,
+ * like a change of the server or URI privileges or of the roles themselves, holds all
+ * the locks. With no stripes, every change holds all the locks, which serializes the
+ * changes as before.
+ * <p>
+ * The locks only order the changes made through this server. Transactions still
+ * conflicting in the database are retried by the {@link TransactionManager}.
+ * <p>
+ * With HDFS sync, the store holds all the locks for every change, so the stripes give
+ * no parallelism at all, see {@link SentryStore#lockPrivileges}.
+ */
+@ThreadSafe
+final class PrivilegeLocks {
+  private final ReentrantReadWriteLock allLock = new ReentrantReadWriteLock();
+  // null when every change holds all the locks
+  private final Striped<Lock> dbLocks;
+
+  /**
+   * Held locks, released by {@link #close()}.
+   */
+  interface Held extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /**
+   * @param stripes the number of database locks, 0 to serialize all the changes
+   */
+  PrivilegeLocks(int stripes) {
+    dbLocks = stripes > 0 ? Striped.lock(stripes) : null;
+  }
+
+  /**
+   * Holds all the locks, for a change not limited to databases.
+   */
+  Held lockAll() {
+    Lock lock = allLock.writeLock();
+    lock.lock();
+    return lock::unlock;
+  }
+
+  /**
+   * Holds the locks of the given databases.
+   *
+   * @param dbNames the database names; a null or blank name stands for a change not
+   *                limited to databases, which holds all the locks
+   */
+  Held lockDatabases(Collection<String> dbNames) {
+    if (dbLocks == null || dbNames.isEmpty()) {
+      return lockAll();
+    }
+    List<String> keys = new ArrayList<>(dbNames.size());
+    for (String dbName : dbNames) {
+      if (StringUtils.isBlank(dbName)) {
+        return lockAll();
+      }
+      keys.add(dbName.trim().toLowerCase());
+    }
+
+    final Lock shared = allLock.readLock();
+    shared.lock();
+    // bulkGet returns the locks in a consistent order, so no two changes deadlock
+    final List<Lock> locked = new ArrayList<>(keys.size());
+    try {
+      for (Lock lock : dbLocks.bulkGet(keys)) {
+        lock.lock();
+        locked.add(lock);
+      }
+    } catch (RuntimeException | Error e) {
+      unlock(locked, shared);
+      throw e;
+    }
+    return () -> unlock(locked, shared);
+  }
+
+  private static void unlock(List<Lock> locked, Lock shared) {
+    for (int i = locked.size() - 1; i >= 0; i--) {
+      locked.get(i).unlock();
+    }
+    shared.unlock();
+  }
+}
@@ -35,11 +35,18 @@ import static org.apache.sentry.core.common.utils.SentryConstants.SERVER_NAME;
 import static org.apache.sentry.core.common.utils.SentryConstants.TABLE_NAME;
 import static org.apache.sentry.core.common.utils.SentryConstants.URI;
 import static org.apache.sentry.core.common.utils.SentryUtils.isNULL;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_COMPACT_PATHS;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HDFS_COMPACT_PATHS_DEFAULT;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE_DEFAULT;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_SNAPSHOT_PERSIST_THREADS;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_SNAPSHOT_PERSIST_THREADS_DEFAULT;
 import static org.apache.sentry.hdfs.Updateable.Update;
 import static org.apache.sentry.service.common.ServiceConstants.ServerConfig.SENTRY_STATEMENT_BATCH_LIMIT;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -48,6 +55,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.jdo.FetchGroup;
@@ -79,14 +91,17 @@ import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.core.model.db.AccessConstants;
 import org.apache.sentry.core.model.db.DBModelAuthorizable.AuthorizableType;
 import org.apache.sentry.hdfs.PathsUpdate;
+import org.apache.sentry.hdfs.PermissionsUpdate;
 import org.apache.sentry.hdfs.UniquePathsUpdate;
 import org.apache.sentry.hdfs.UpdateableAuthzPaths;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
 import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
 import org.apache.sentry.provider.db.service.model.MAuthzPathsMapping;
+import org.apache.sentry.provider.db.service.model.MAuthzPathsMapping.MPathToPersist;
 import org.apache.sentry.provider.db.service.model.MAuthzPathsSnapshotId;
 import org.apache.sentry.provider.db.service.model.MPath;
 import org.apache.sentry.provider.db.service.model.MSentryChange;
+import org.apache.sentry.provider.db.service.model.MSentryGMPermChange;
 import org.apache.sentry.provider.db.service.model.MSentryGMPrivilege;
 import org.apache.sentry.provider.db.service.model.MSentryGroup;
 import org.apache.sentry.provider.db.service.model.MSentryHmsNotification;
@@ -111,9 +126,13 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * SentryStore is the data access object for Sentry data. Strings
@@ -169,6 +188,9 @@ public class SentryStore implements SentryStoreInterface {
   // to make query usable post-commit
   private static final String LOAD_RESULTS_AT_COMMIT = "datanucleus.query.loadResultsAtCommit";
 
+  // number of authorization objects whose paths are deleted by one query, bounds the IN list
+  private static final int AUTHZ_OBJECTS_DELETE_BATCH_SIZE = 1000;
+
   private final PersistenceManagerFactory pmf;
   private Configuration conf;
   private final TransactionManager tm;
@@ -176,6 +198,8 @@ public class SentryStore implements SentryStoreInterface {
   // When it is true, execute DeltaTransactionBlock to persist delta changes.
   // When it is false, do not execute DeltaTransactionBlock
   private boolean persistUpdateDeltas;
+  // Persist the delta changes compressed instead of in JSON
+  private final boolean compressDeltas;
 
   /**
    * counterWait is used to synchronize notifications between Thrift and HMSFollower.
@@ -192,6 +216,19 @@ public class SentryStore implements SentryStoreInterface {
   private final long printSnapshotPersistTimeInterval = 300000;
 
   private final boolean ownerPrivilegeWithGrant;
+
+  // Counts the policy changes made through this store
+  private final PolicyChangeListener policyChanges = new PolicyChangeListener();
+  // In-memory image serving provider privilege lookups, null when disabled
+  private final PolicyImageCache policyImageCache;
+  // Transaction blocks deferred by the current thread until commitBatch(), null if the
+  // thread is not in a batch
+  private final ThreadLocal<List<TransactionBlock<Object>>> batchBlocks = new ThreadLocal<>();
+  // Serializes the policy changes made through this store
+  private final PrivilegeLocks privilegeLocks;
+  // Commits concurrent grants and revokes together, null when disabled
+  private final GroupCommitter<PrivilegeChange> privilegeCommitter;
+
   public static Properties getDataNucleusProperties(Configuration conf)
           throws SentrySiteConfigurationException, IOException {
     Properties prop = new Properties();
@@ -285,6 +322,30 @@ public class SentryStore implements SentryStoreInterface {
     counterWait = new CounterWait(notificationTimeout, TimeUnit.MILLISECONDS);
 
     ownerPrivilegeWithGrant = SentryOwnerPrivilegeType.ALL_WITH_GRANT.isConfSet(conf);
+    compressDeltas = conf.getBoolean(ServerConfig.SENTRY_STORE_DELTA_COMPRESSION_ENABLED,
+        ServerConfig.SENTRY_STORE_DELTA_COMPRESSION_ENABLED_DEFAULT);
+    privilegeLocks = new PrivilegeLocks(conf.getInt(ServerConfig.SENTRY_STORE_PRIVILEGE_LOCK_STRIPES,
+        ServerConfig.SENTRY_STORE_PRIVILEGE_LOCK_STRIPES_DEFAULT));
+    long groupCommitWindowMs = conf.getLong(ServerConfig.SENTRY_STORE_GROUP_COMMIT_WINDOW_MS,
+        ServerConfig.SENTRY_STORE_GROUP_COMMIT_WINDOW_MS_DEFAULT);
+    if (groupCommitWindowMs > 0) {
+      privilegeCommitter = new GroupCommitter<>(new PrivilegeChangeCommitter(),
+          groupCommitWindowMs, conf.getInt(ServerConfig.SENTRY_STORE_GROUP_COMMIT_MAX_SIZE,
+              ServerConfig.SENTRY_STORE_GROUP_COMMIT_MAX_SIZE_DEFAULT));
+    } else {
+      privilegeCommitter = null;
+    }
+
+    pmf.addInstanceLifecycleListener(policyChanges, new Class[] {MSentryRole.class,
+        MSentryGroup.class, MSentryUser.class, MSentryPrivilege.class});
+    if (conf.getBoolean(ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED,
+        ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED_DEFAULT)) {
+      policyImageCache = new PolicyImageCache(tm, this::retrievePolicyImageCore,
+          conf.getLong(ServerConfig.SENTRY_STORE_POLICY_IMAGE_MAX_AGE_MS,
+              ServerConfig.SENTRY_STORE_POLICY_IMAGE_MAX_AGE_MS_DEFAULT), policyChanges);
+    } else {
+      policyImageCache = null;
+    }
   }
 
   public void setPersistUpdateDeltas(boolean persistUpdateDeltas) {
@@ -606,6 +667,7 @@ public class SentryStore implements SentryStoreInterface {
                 pm.newQuery(MSentryUser.class).deletePersistentAll();
                 pm.newQuery(MSentryPrivilege.class).deletePersistentAll();
                 pm.newQuery(MSentryPermChange.class).deletePersistentAll();
+                pm.newQuery(MSentryGMPermChange.class).deletePersistentAll();
                 pm.newQuery(MSentryPathChange.class).deletePersistentAll();
                 pm.newQuery(MAuthzPathsMapping.class).deletePersistentAll();
                 pm.newQuery(MPath.class).deletePersistentAll();
@@ -694,8 +756,8 @@ public class SentryStore implements SentryStoreInterface {
   }
 
   /**
-   * Purge delta change tables, {@link MSentryPermChange} and {@link MSentryPathChange}.
-   * The number of deltas to keep is configurable
+   * Purge delta change tables, {@link MSentryPermChange}, {@link MSentryGMPermChange} and
+   * {@link MSentryPathChange}. The number of deltas to keep is configurable
    */
   public void purgeDeltaChangeTables() {
     final int changesToKeep = conf.getInt(ServerConfig.SENTRY_DELTA_KEEP_COUNT,
@@ -707,6 +769,8 @@ public class SentryStore implements SentryStoreInterface {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         purgeDeltaChangeTableCore(MSentryPermChange.class, pm, changesToKeep);
         LOGGER.info("MSentryPermChange table has been purged.");
+        purgeDeltaChangeTableCore(MSentryGMPermChange.class, pm, changesToKeep);
+        LOGGER.info("MSentryGMPermChange table has been purged.");
         purgeDeltaChangeTableCore(MSentryPathChange.class, pm, changesToKeep);
         LOGGER.info("MSentryPathUpdate table has been purged.");
         return null;
@@ -754,11 +818,11 @@ public class SentryStore implements SentryStoreInterface {
    * @param updatesToPersist
    * @throws Exception
    */
-  synchronized void alterSentryGrantPrivileges(SentryPrincipalType type, final String name,
+  void alterSentryGrantPrivileges(SentryPrincipalType type, final String name,
     final Set<TSentryPrivilege> privileges,
     final List<Update>updatesToPersist) throws Exception {
 
-    execute(updatesToPersist, pm -> {
+    executePrivilegeChange(getDbNames(privileges), updatesToPersist, pm -> {
       pm.setDetachAllOnCommit(false); // No need to detach objects
       String trimmedEntityName = trimAndLower(name);
 
@@ -1045,10 +1109,10 @@ public class SentryStore implements SentryStoreInterface {
    * @param updatesToDelete
    * @throws Exception
    */
-  synchronized void alterSentryRevokePrivileges(SentryPrincipalType type, final String principalName,
+  void alterSentryRevokePrivileges(SentryPrincipalType type, final String principalName,
     final Set<TSentryPrivilege> privileges,
     final List<Update> updatesToDelete) throws Exception {
-    execute(updatesToDelete, pm -> {
+    executePrivilegeChange(getDbNames(privileges), updatesToDelete, pm -> {
       pm.setDetachAllOnCommit(false); // No need to detach objects
       String trimmedEntityName = safeTrimLower(principalName);
 
@@ -1405,9 +1469,9 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void dropSentryUser(final String userName,
+  public void dropSentryUser(final String userName,
       final Update update) throws Exception {
-    execute(update, new TransactionBlock<Object>() {
+    executeLocked(privilegeLocks.lockAll(), update, new TransactionBlock<Object>() {
       public Object execute(PersistenceManager pm) throws Exception {
         pm.setDetachAllOnCommit(false); // No need to detach objects
         dropSentryUserCore(pm, userName);
@@ -1561,9 +1625,9 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void dropSentryRole(final String roleName,
+  public void dropSentryRole(final String roleName,
       final Update update) throws Exception {
-    execute(update, pm -> {
+    executeLocked(privilegeLocks.lockAll(), update, pm -> {
       pm.setDetachAllOnCommit(false); // No need to detach objects
       dropSentryRoleCore(pm, roleName);
       return null;
@@ -1577,6 +1641,7 @@ public class SentryStore implements SentryStoreInterface {
     if (sentryRole == null) {
       throw noSuchRole(lRoleName);
     }
+    persistGMPermChangesCore(pm, sentryRole);
     removePrivileges(pm, sentryRole);
     pm.deletePersistent(sentryRole);
   }
@@ -1653,11 +1718,11 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void alterSentryRoleAddGroups(final String grantorPrincipal,
+  public void alterSentryRoleAddGroups(final String grantorPrincipal,
       final String roleName, final Set<TSentryGroup> groupNames,
       final Update update) throws Exception {
 
-    execute(update, pm -> {
+    executeLocked(privilegeLocks.lockAll(), update, pm -> {
       pm.setDetachAllOnCommit(false); // No need to detach objects
       alterSentryRoleAddGroupsCore(pm, roleName, groupNames);
       return null;
@@ -1689,6 +1754,7 @@ public class SentryStore implements SentryStoreInterface {
       groups.add(group);
     }
     pm.makePersistentAll(groups);
+    persistGMPermChangesCore(pm, role);
   }
 
   public void alterSentryRoleAddUsers(final String roleName,
@@ -1790,6 +1856,7 @@ public class SentryStore implements SentryStoreInterface {
                 }
               }
               pm.makePersistentAll(groups);
+              persistGMPermChangesCore(pm, role);
               return null;
             });
   }
@@ -1803,10 +1870,10 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update
    * @throws Exception
    */
-  public synchronized void alterSentryRoleDeleteGroups(final String roleName,
+  public void alterSentryRoleDeleteGroups(final String roleName,
       final Set<TSentryGroup> groupNames, final Update update)
           throws Exception {
-    execute(update, pm -> {
+    executeLocked(privilegeLocks.lockAll(), update, pm -> {
       pm.setDetachAllOnCommit(false); // No need to detach objects
       String trimmedRoleName = trimAndLower(roleName);
       MSentryRole role = getRole(pm, trimmedRoleName);
@@ -1828,6 +1895,7 @@ public class SentryStore implements SentryStoreInterface {
         }
       }
       pm.makePersistentAll(groups);
+      persistGMPermChangesCore(pm, role);
       return null;
     });
   }
@@ -1891,17 +1959,31 @@ public class SentryStore implements SentryStoreInterface {
     return tm.executeTransaction(
             pm -> {
               pm.setDetachAllOnCommit(false); // No need to detach objects
-              Query query = pm.newQuery(MSentryPrivilege.class);
-              query.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
-              QueryParamBuilder paramBuilder = QueryParamBuilder.addRolesFilter(query,null, roleNames);
-              paramBuilder.add(SERVER_NAME, serverName);
-              query.setFilter(paramBuilder.toString());
-              query.setResult("count(this)");
-              Long numPrivs = (Long) query.executeWithMap(paramBuilder.getArguments());
-              return numPrivs > 0;
+              return hasAnyServerPrivilegesCore(pm, SentryPrincipalType.ROLE, roleNames,
+                  serverName);
             });
   }
 
+  /**
+   * @return true if any of the given roles or users has a privilege on the server
+   */
+  private boolean hasAnyServerPrivilegesCore(PersistenceManager pm,
+      SentryPrincipalType entityType, Set<String> entityNames, String serverName) {
+    if (entityNames == null || entityNames.isEmpty()) {
+      return false;
+    }
+    Query query = pm.newQuery(MSentryPrivilege.class);
+    query.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+    QueryParamBuilder paramBuilder = entityType == SentryPrincipalType.ROLE
+        ? QueryParamBuilder.addRolesFilter(query, null, entityNames)
+        : QueryParamBuilder.addUsersFilter(query, null, entityNames);
+    paramBuilder.add(SERVER_NAME, serverName);
+    query.setFilter(paramBuilder.toString());
+    query.setResult("count(this)");
+    Long numPrivs = (Long) query.executeWithMap(paramBuilder.getArguments());
+    return numPrivs > 0;
+  }
+
   private List<MSentryPrivilege> getMSentryPrivileges(final SentryPrincipalType entityType, final Set<String> entityNames,
       final TSentryAuthorizable authHierarchy, boolean enableFetchPlan)
       throws Exception {
@@ -1910,71 +1992,80 @@ public class SentryStore implements SentryStoreInterface {
     }
 
     return tm.executeTransaction(
-        pm -> {
-          Query query = pm.newQuery(MSentryPrivilege.class);
-          QueryParamBuilder paramBuilder = null;
-          if (entityType == SentryPrincipalType.ROLE) {
-            paramBuilder = QueryParamBuilder.addRolesFilter(query, null, entityNames);
-          } else if (entityType == SentryPrincipalType.USER) {
-            paramBuilder = QueryParamBuilder.addUsersFilter(query, null, entityNames);
-          } else {
-            throw new SentryInvalidInputException("entityType" + entityType + " is not valid");
-          }
+        pm -> getMSentryPrivilegesCore(pm, entityType, entityNames, authHierarchy,
+            enableFetchPlan));
+  }
 
-          if (authHierarchy != null && authHierarchy.getServer() != null) {
-            paramBuilder.add(SERVER_NAME, authHierarchy.getServer());
-            if (authHierarchy.getDb() != null) {
-              paramBuilder.addNull(URI)
-                  .newChild()
-                  .add(DB_NAME, authHierarchy.getDb())
-                  .addNull(DB_NAME);
-              if (authHierarchy.getTable() != null
-                  && !AccessConstants.ALL.equalsIgnoreCase(authHierarchy.getTable())) {
-                if (!AccessConstants.SOME.equalsIgnoreCase(authHierarchy.getTable())) {
-                  paramBuilder.addNull(URI)
-                      .newChild()
-                      .add(TABLE_NAME, authHierarchy.getTable())
-                      .addNull(TABLE_NAME);
-                }
-                if (authHierarchy.getColumn() != null
-                    && !AccessConstants.ALL.equalsIgnoreCase(authHierarchy.getColumn())
-                    && !AccessConstants.SOME.equalsIgnoreCase(authHierarchy.getColumn())) {
-                  paramBuilder.addNull(URI)
-                      .newChild()
-                      .add(COLUMN_NAME, authHierarchy.getColumn())
-                      .addNull(COLUMN_NAME);
-                }
-              }
-            }
-            if (authHierarchy.getUri() != null) {
-              paramBuilder.addNull(DB_NAME)
-                  .newChild()
-                  .addNull(URI)
-                  .newChild()
-                  .addNotNull(URI)
-                  .addCustomParam("(:authURI.startsWith(URI))", "authURI", authHierarchy.getUri());
-            }
-          }
+  private List<MSentryPrivilege> getMSentryPrivilegesCore(PersistenceManager pm,
+      SentryPrincipalType entityType, Set<String> entityNames,
+      TSentryAuthorizable authHierarchy, boolean enableFetchPlan)
+      throws SentryInvalidInputException {
+    if (entityNames == null || entityNames.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Query query = pm.newQuery(MSentryPrivilege.class);
+    QueryParamBuilder paramBuilder = null;
+    if (entityType == SentryPrincipalType.ROLE) {
+      paramBuilder = QueryParamBuilder.addRolesFilter(query, null, entityNames);
+    } else if (entityType == SentryPrincipalType.USER) {
+      paramBuilder = QueryParamBuilder.addUsersFilter(query, null, entityNames);
+    } else {
+      throw new SentryInvalidInputException("entityType" + entityType + " is not valid");
+    }
 
-          if(enableFetchPlan) {
-              if (entityType == SentryPrincipalType.ROLE) {
-                  FetchGroup grp = pm.getFetchGroup(MSentryPrivilege.class, "fetchRoles");
-                  grp.addMember("roles");
-                  pm.getFetchPlan().addGroup("fetchRoles");
-              } else if (entityType == SentryPrincipalType.USER) {
-                  FetchGroup grp = pm.getFetchGroup(MSentryPrivilege.class, "fetchUsers");
-                  grp.addMember("users");
-                  pm.getFetchPlan().addGroup("fetchUsers");
-              }
+    if (authHierarchy != null && authHierarchy.getServer() != null) {
+      paramBuilder.add(SERVER_NAME, authHierarchy.getServer());
+      if (authHierarchy.getDb() != null) {
+        paramBuilder.addNull(URI)
+            .newChild()
+            .add(DB_NAME, authHierarchy.getDb())
+            .addNull(DB_NAME);
+        if (authHierarchy.getTable() != null
+            && !AccessConstants.ALL.equalsIgnoreCase(authHierarchy.getTable())) {
+          if (!AccessConstants.SOME.equalsIgnoreCase(authHierarchy.getTable())) {
+            paramBuilder.addNull(URI)
+                .newChild()
+                .add(TABLE_NAME, authHierarchy.getTable())
+                .addNull(TABLE_NAME);
           }
+          if (authHierarchy.getColumn() != null
+              && !AccessConstants.ALL.equalsIgnoreCase(authHierarchy.getColumn())
+              && !AccessConstants.SOME.equalsIgnoreCase(authHierarchy.getColumn())) {
+            paramBuilder.addNull(URI)
+                .newChild()
+                .add(COLUMN_NAME, authHierarchy.getColumn())
+                .addNull(COLUMN_NAME);
+          }
+        }
+      }
+      if (authHierarchy.getUri() != null) {
+        paramBuilder.addNull(DB_NAME)
+            .newChild()
+            .addNull(URI)
+            .newChild()
+            .addNotNull(URI)
+            .addCustomParam("(:authURI.startsWith(URI))", "authURI", authHierarchy.getUri());
+      }
+    }
 
-          query.setFilter(paramBuilder.toString());
-          @SuppressWarnings("unchecked")
-          List<MSentryPrivilege> result =
-              (List<MSentryPrivilege>)
-                  query.executeWithMap(paramBuilder.getArguments());
-          return result;
-        });
+    if(enableFetchPlan) {
+        if (entityType == SentryPrincipalType.ROLE) {
+            FetchGroup grp = pm.getFetchGroup(MSentryPrivilege.class, "fetchRoles");
+            grp.addMember("roles");
+            pm.getFetchPlan().addGroup("fetchRoles");
+        } else if (entityType == SentryPrincipalType.USER) {
+            FetchGroup grp = pm.getFetchGroup(MSentryPrivilege.class, "fetchUsers");
+            grp.addMember("users");
+            pm.getFetchPlan().addGroup("fetchUsers");
+        }
+    }
+
+    query.setFilter(paramBuilder.toString());
+    @SuppressWarnings("unchecked")
+    List<MSentryPrivilege> result =
+        (List<MSentryPrivilege>)
+            query.executeWithMap(paramBuilder.getArguments());
+    return result;
   }
 
   private List<MSentryPrivilege> getMSentryPrivilegesByAuth(
@@ -2458,6 +2549,99 @@ public class SentryStore implements SentryStoreInterface {
     return privilegeSet;
   }
 
+  @Override
+  public Set<String> getPrivilegesForProvider(final Set<String> groups, final Set<String> users,
+      final TSentryActiveRoleSet roleSet, final TSentryAuthorizable authHierarchy)
+      throws Exception {
+    PolicyImage policyImage = (policyImageCache != null) ? policyImageCache.get() : null;
+    if (policyImage != null) {
+      return policyImage.getPrivilegesForProvider(groups, users, roleSet, authHierarchy);
+    }
+    return tm.executeTransaction(
+        pm -> {
+          pm.setDetachAllOnCommit(false); // No need to detach objects
+          return getPrivilegesForProviderCore(pm, groups, users, roleSet, authHierarchy);
+        });
+  }
+
+  /**
+   * The privileges and their version come from the same policy image or transaction, so
+   * the version describes the privileges returned.
+   */
+  @Override
+  public VersionedPrivileges getVersionedPrivilegesForProvider(final Set<String> groups,
+      final Set<String> users, final TSentryActiveRoleSet roleSet,
+      final TSentryAuthorizable authHierarchy) throws Exception {
+    PolicyImage policyImage = (policyImageCache != null) ? policyImageCache.get() : null;
+    if (policyImage != null) {
+      return new VersionedPrivileges(
+          policyImage.getPrivilegesForProvider(groups, users, roleSet, authHierarchy),
+          policyImage.getPolicyVersion());
+    }
+    return tm.executeTransaction(
+        pm -> {
+          pm.setDetachAllOnCommit(false); // No need to detach objects
+          return new VersionedPrivileges(
+              getPrivilegesForProviderCore(pm, groups, users, roleSet, authHierarchy),
+              getPolicyVersionCore(pm));
+        });
+  }
+
+  private Set<String> getPrivilegesForProviderCore(PersistenceManager pm, Set<String> groups,
+      Set<String> users, TSentryActiveRoleSet roleSet, TSentryAuthorizable authHierarchy)
+      throws Exception {
+    Set<String> rolesToQuery = getRolesToQueryCore(pm, groups, users, roleSet);
+    Set<String> result = Sets.newHashSet();
+    // Privileges are rendered before commit, so nothing needs to be detached
+    for (MSentryPrivilege priv : getMSentryPrivilegesCore(pm, SentryPrincipalType.ROLE,
+        rolesToQuery, authHierarchy, false)) {
+      result.add(toAuthorizable(priv));
+    }
+    for (MSentryPrivilege priv : getMSentryPrivilegesCore(pm, SentryPrincipalType.USER,
+        users, authHierarchy, false)) {
+      result.add(toAuthorizable(priv));
+    }
+    if (result.isEmpty() && authHierarchy != null
+        && (hasAnyServerPrivilegesCore(pm, SentryPrincipalType.ROLE, rolesToQuery,
+            authHierarchy.getServer())
+        || hasAnyServerPrivilegesCore(pm, SentryPrincipalType.USER, users,
+            authHierarchy.getServer()))) {
+      result.add(ANY_SERVER_PRIVILEGE);
+    }
+    return result;
+  }
+
+  @VisibleForTesting
+  long getPolicyVersion() throws Exception {
+    return tm.executeTransaction(pm -> {
+      pm.setDetachAllOnCommit(false); // No need to detach objects
+      return getPolicyVersionCore(pm);
+    });
+  }
+
+  /**
+   * The version is derived from what is written anyway, nothing is written or locked to
+   * track it: it is the sum of the last permission change ID and of the last generic model
+   * permission change ID. Both are stored in the database and only increase, so all the
+   * servers sharing the database read the same version, it changes with any change and
+   * stays the same while nothing changes.
+   * <p>
+   * Privilege changes are only recorded as permission changes when the permission deltas
+   * are persisted (HDFS sync). Otherwise the version is 0: the changes are not tracked and
+   * clients must not keep privileges by version.
+   * Always executed in the transaction context.
+   *
+   * @param pm The PersistenceManager object.
+   * @return the policy version, or 0 if the policy changes are not tracked
+   */
+  private long getPolicyVersionCore(PersistenceManager pm) {
+    if (!persistUpdateDeltas) {
+      return 0;
+    }
+    return getLastProcessedChangeIDCore(pm, MSentryPermChange.class)
+        + getLastProcessedGMPermChangeIDCore(pm);
+  }
+
   public boolean hasAnyServerPrivileges(Set<String> groups, Set<String> users,
       TSentryActiveRoleSet roleSet, String server) throws Exception {
     Set<String> rolesToQuery = getRolesToQuery(groups, users, roleSet);
@@ -2476,14 +2660,8 @@ public class SentryStore implements SentryStoreInterface {
         new TransactionBlock<Boolean>() {
           public Boolean execute(PersistenceManager pm) throws Exception {
             pm.setDetachAllOnCommit(false); // No need to detach objects
-            Query query = pm.newQuery(MSentryPrivilege.class);
-            query.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
-            QueryParamBuilder paramBuilder = QueryParamBuilder.addUsersFilter(query,null, userNames);
-            paramBuilder.add(SERVER_NAME, serverName);
-            query.setFilter(paramBuilder.toString());
-            query.setResult("count(this)");
-            Long numPrivs = (Long) query.executeWithMap(paramBuilder.getArguments());
-            return numPrivs > 0;
+            return hasAnyServerPrivilegesCore(pm, SentryPrincipalType.USER, userNames,
+                serverName);
           }
         });
   }
@@ -2493,16 +2671,21 @@ public class SentryStore implements SentryStoreInterface {
       return tm.executeTransaction(
               pm -> {
                 pm.setDetachAllOnCommit(false); // No need to detach objects
-                Set<String> activeRoleNames = toTrimedLower(roleSet.getRoles());
-
-                Set<String> roleNames = Sets.newHashSet();
-                roleNames.addAll(toTrimedLower(getRoleNamesForGroupsCore(pm, groups)));
-                roleNames.addAll(toTrimedLower(getRoleNamesForUsersCore(pm, users)));
-                return roleSet.isAll() ? roleNames : Sets.intersection(activeRoleNames,
-                    roleNames);
+                return getRolesToQueryCore(pm, groups, users, roleSet);
               });
   }
 
+  private Set<String> getRolesToQueryCore(PersistenceManager pm, Set<String> groups,
+      Set<String> users, TSentryActiveRoleSet roleSet) {
+    Set<String> activeRoleNames = toTrimedLower(roleSet.getRoles());
+
+    Set<String> roleNames = Sets.newHashSet();
+    roleNames.addAll(toTrimedLower(getRoleNamesForGroupsCore(pm, groups)));
+    roleNames.addAll(toTrimedLower(getRoleNamesForUsersCore(pm, users)));
+    return roleSet.isAll() ? roleNames : Sets.intersection(activeRoleNames,
+        roleNames);
+  }
+
   @VisibleForTesting
   static String toAuthorizable(MSentryPrivilege privilege) {
     List<String> authorizable = new ArrayList<>(4);
@@ -2753,9 +2936,10 @@ public class SentryStore implements SentryStoreInterface {
    * @param update the corresponding permission delta update.
    * @throws Exception
    */
-  public synchronized void dropPrivilege(final TSentryAuthorizable tAuthorizable,
+  public void dropPrivilege(final TSentryAuthorizable tAuthorizable,
       final Update update) throws Exception {
-    execute(update, pm -> {
+    executeLocked(lockPrivileges(Collections.singleton(tAuthorizable.getDb())),
+        update, pm -> {
       pm.setDetachAllOnCommit(false); // No need to detach objects
 
       dropPrivilegeCore(pm, tAuthorizable);
@@ -2794,10 +2978,11 @@ public class SentryStore implements SentryStoreInterface {
    * @param updates Delta Updates.
    * @throws Exception
    */
-  public synchronized void updateOwnerPrivilege(final TSentryAuthorizable tAuthorizable,
+  public void updateOwnerPrivilege(final TSentryAuthorizable tAuthorizable,
       String ownerName,  SentryPrincipalType principalType,
       final List<Update> updates) throws Exception {
-    execute(updates, pm -> {
+    executeLocked(lockPrivileges(Collections.singleton(tAuthorizable.getDb())),
+        updates, pm -> {
       if(principalType == null) {
         LOGGER.info("Invalid principal Type");
       }
@@ -2887,11 +3072,12 @@ public class SentryStore implements SentryStoreInterface {
    * @throws SentryNoSuchObjectException
    * @throws SentryInvalidInputException
    */
-  public synchronized void renamePrivilege(final TSentryAuthorizable oldTAuthorizable,
+  public void renamePrivilege(final TSentryAuthorizable oldTAuthorizable,
       final TSentryAuthorizable newTAuthorizable, final Update update)
         throws Exception {
 
-    execute(update, pm -> {
+    executeLocked(lockPrivileges(
+        Arrays.asList(oldTAuthorizable.getDb(), newTAuthorizable.getDb())), update, pm -> {
       pm.setDetachAllOnCommit(false); // No need to detach objects
 
       renamePrivilegeCore(pm, oldTAuthorizable, newTAuthorizable);
@@ -3121,6 +3307,64 @@ public class SentryStore implements SentryStoreInterface {
             });
   }
 
+  /**
+   * Retrieves the roles of all groups and users and the privileges of all roles and users
+   * for the in-memory {@link PolicyImage}.
+   *
+   * @param pm PersistenceManager
+   * @return the policy image
+   */
+  private PolicyImage retrievePolicyImageCore(PersistenceManager pm) {
+    pm.setDetachAllOnCommit(false); // No need to detach objects
+    PolicyImage image = new PolicyImage(getPolicyVersionCore(pm));
+
+    Query groupQuery = pm.newQuery(MSentryGroup.class);
+    groupQuery.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+    FetchGroup groupGrp = pm.getFetchGroup(MSentryGroup.class, "fetchRoles");
+    groupGrp.addMember("roles");
+    pm.getFetchPlan().addGroup("fetchRoles");
+    @SuppressWarnings("unchecked")
+    List<MSentryGroup> groups = (List<MSentryGroup>) groupQuery.execute();
+    for (MSentryGroup group : groups) {
+      for (MSentryRole role : group.getRoles()) {
+        image.addGroupRole(group.getGroupName(), role.getRoleName());
+      }
+    }
+
+    Query userQuery = pm.newQuery(MSentryUser.class);
+    userQuery.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+    FetchGroup userGrp = pm.getFetchGroup(MSentryUser.class, "fetchRoles");
+    userGrp.addMember("roles");
+    pm.getFetchPlan().addGroup("fetchRoles");
+    @SuppressWarnings("unchecked")
+    List<MSentryUser> users = (List<MSentryUser>) userQuery.execute();
+    for (MSentryUser user : users) {
+      for (MSentryRole role : user.getRoles()) {
+        image.addUserRole(user.getUserName(), role.getRoleName());
+      }
+    }
+
+    Query privilegeQuery = pm.newQuery(MSentryPrivilege.class);
+    privilegeQuery.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+    FetchGroup privilegeGrp = pm.getFetchGroup(MSentryPrivilege.class, "fetchRolesUsers");
+    privilegeGrp.addMember("roles").addMember("users");
+    pm.getFetchPlan().addGroup("fetchRolesUsers");
+    @SuppressWarnings("unchecked")
+    List<MSentryPrivilege> privileges = (List<MSentryPrivilege>) privilegeQuery.execute();
+    for (MSentryPrivilege privilege : privileges) {
+      List<String> roleNames = new ArrayList<>(privilege.getRoles().size());
+      for (MSentryRole role : privilege.getRoles()) {
+        roleNames.add(role.getRoleName());
+      }
+      List<String> userNames = new ArrayList<>(privilege.getUsers().size());
+      for (MSentryUser user : privilege.getUsers()) {
+        userNames.add(user.getUserName());
+      }
+      image.addPrivilege(privilege, roleNames, userNames);
+    }
+    return image;
+  }
+
   /**
    * Retrieves an up-to-date sentry privileges snapshot from {@code MSentryPrivilege} table.
    * The snapshot is represented by mapping of hiveObj to role privileges.
@@ -3254,7 +3498,8 @@ public class SentryStore implements SentryStoreInterface {
               long curChangeID = getLastProcessedChangeIDCore(pm, MSentryPathChange.class);
               PathsUpdate pathUpdate = new PathsUpdate(curChangeID, curImageID, true);
               // We ignore anything in the update and set it later to the assembled PathsDump
-              UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(prefixes);
+              UpdateableAuthzPaths authzPaths = new UpdateableAuthzPaths(prefixes, false,
+                  conf.getBoolean(SENTRY_HDFS_COMPACT_PATHS, SENTRY_HDFS_COMPACT_PATHS_DEFAULT));
               // Extract all paths and put them into authzPaths
               retrieveFullPathsImageCore(pm, curImageID, authzPaths);
               pathUpdate.toThrift().setPathsDump(authzPaths.getPathsDump().createPathsDump(true));
@@ -3319,8 +3564,10 @@ public class SentryStore implements SentryStoreInterface {
   }
 
   /**
-   * Persist an up-to-date HMS snapshot into Sentry DB in a single transaction with its latest
-   * notification ID
+   * Persist an up-to-date HMS snapshot into Sentry DB with its latest notification ID.
+   * <p>
+   * Snapshots with more authorization objects than the configured chunk size are persisted
+   * in several transactions, see {@link #persistFullPathsImageInChunks(Map, long, int, int)}.
    *
    * @param authzPaths paths to be be persisted
    * @param notificationID the latest notificationID associated with the snapshot
@@ -3328,6 +3575,15 @@ public class SentryStore implements SentryStoreInterface {
    */
   public void persistFullPathsImage(final Map<String, Collection<String>> authzPaths,
       final long notificationID) throws Exception {
+    int chunkSize = conf.getInt(SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE,
+        SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE_DEFAULT);
+    if (chunkSize > 0 && authzPaths.size() > chunkSize) {
+      int threads = Math.max(1, conf.getInt(SENTRY_HMS_SNAPSHOT_PERSIST_THREADS,
+          SENTRY_HMS_SNAPSHOT_PERSIST_THREADS_DEFAULT));
+      persistFullPathsImageInChunks(authzPaths, notificationID, chunkSize, threads);
+      return;
+    }
+
     tm.executeTransactionWithRetry(
             pm -> {
 
@@ -3345,6 +3601,7 @@ public class SentryStore implements SentryStoreInterface {
 
               // persist the full snapshot
               long snapshotID = getCurrentAuthzPathsSnapshotID(pm);
+              deleteIncompleteAuthzPathsSnapshotCore(pm, snapshotID);
               long nextObjectId = getNextAuthzObjectID(pm);
               long nextSnapshotID = snapshotID + 1;
               pm.makePersistent(new MAuthzPathsSnapshotId(nextSnapshotID));
@@ -3372,6 +3629,160 @@ public class SentryStore implements SentryStoreInterface {
             });
   }
 
+  /**
+   * Persist an up-to-date HMS snapshot into Sentry DB in chunks of authorization objects,
+   * each in its own transaction, and in parallel if more than one thread is given.
+   * <p>
+   * The chunks are persisted with the next snapshot ID, which is only persisted with the
+   * notification ID once all the chunks are, so the snapshot becomes the current one
+   * atomically. The chunks of a snapshot that could not be completed are deleted by the
+   * next snapshot.
+   *
+   * @param authzPaths paths to be be persisted
+   * @param notificationID the latest notificationID associated with the snapshot
+   * @param chunkSize number of authorization objects persisted per transaction
+   * @param threads number of threads persisting the chunks
+   * @throws Exception
+   */
+  private void persistFullPathsImageInChunks(Map<String, Collection<String>> authzPaths,
+      long notificationID, int chunkSize, int threads) throws Exception {
+    long[] ids = tm.executeTransactionWithRetry(
+            pm -> {
+              pm.setDetachAllOnCommit(false); // No need to detach objects
+              long snapshotID = getCurrentAuthzPathsSnapshotID(pm);
+              deleteIncompleteAuthzPathsSnapshotCore(pm, snapshotID);
+              return new long[] {snapshotID + 1, getNextAuthzObjectID(pm)};
+            });
+    final long nextSnapshotID = ids[0];
+    long nextObjectId = ids[1];
+    int totalNumberOfObjectsToPersist = authzPaths.size();
+    int totalNumberOfPathsToPersist = authzPaths.values().stream().mapToInt(Collection::size).sum();
+    LOGGER.info("Attempting to persist new HMS snapshot with ID = {} in chunks of {} objects",
+        nextSnapshotID, chunkSize);
+
+    ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("hms-snapshot-persist-%d")
+            .setDaemon(true).build()) : MoreExecutors.sameThreadExecutor();
+    List<Future<Integer>> chunks = new ArrayList<>();
+    try {
+      List<Map.Entry<String, Collection<String>>> chunk = new ArrayList<>(chunkSize);
+      for (Map.Entry<String, Collection<String>> authzPath : authzPaths.entrySet()) {
+        chunk.add(authzPath);
+        if (chunk.size() == chunkSize) {
+          chunks.add(executor.submit(
+              persistAuthzPathsChunk(nextSnapshotID, nextObjectId, chunk)));
+          nextObjectId += chunk.size();
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+      if (!chunk.isEmpty()) {
+        chunks.add(executor.submit(persistAuthzPathsChunk(nextSnapshotID, nextObjectId, chunk)));
+      }
+
+      int objectsPersistedCount = 0, pathsPersistedCount = 0;
+      long lastProgressTime = System.currentTimeMillis();
+      for (Future<Integer> persisted : chunks) {
+        try {
+          pathsPersistedCount += persisted.get();
+        } catch (ExecutionException e) {
+          throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+        objectsPersistedCount = Math.min(objectsPersistedCount + chunkSize,
+            totalNumberOfObjectsToPersist);
+        long currentTime = System.currentTimeMillis();
+        if ((currentTime - lastProgressTime) > printSnapshotPersistTimeInterval) {
+          logPersistingFullSnapshotState(totalNumberOfObjectsToPersist,
+              totalNumberOfPathsToPersist, objectsPersistedCount, pathsPersistedCount);
+          lastProgressTime = currentTime;
+        }
+      }
+
+      tm.executeTransactionWithRetry(
+              pm -> {
+                pm.setDetachAllOnCommit(false); // No need to detach objects
+                long snapshotID = getCurrentAuthzPathsSnapshotID(pm);
+                if (snapshotID + 1 != nextSnapshotID) {
+                  throw new IllegalStateException("HMS snapshot with ID = " + snapshotID
+                      + " was persisted while persisting the snapshot with ID = " + nextSnapshotID);
+                }
+                deleteNotificationsSince(pm, notificationID + 1);
+                // persist the notification ID
+                persistUniqueNotificationIDCore(pm, notificationID);
+                pm.makePersistent(new MAuthzPathsSnapshotId(nextSnapshotID));
+                return null;
+              });
+      LOGGER.info("Committed new HMS snapshot with ID = {}", nextSnapshotID);
+    } catch (Exception e) {
+      for (Future<Integer> persisted : chunks) {
+        persisted.cancel(true);
+      }
+      throw e;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * @return the transaction persisting the chunk of a snapshot, which returns the
+   * number of paths persisted
+   */
+  private Callable<Integer> persistAuthzPathsChunk(long snapshotID, long firstObjectId,
+      List<Map.Entry<String, Collection<String>>> chunk) {
+    return () -> tm.executeTransactionWithRetry(
+            pm -> {
+              pm.setDetachAllOnCommit(false); // No need to detach objects
+              long objectId = firstObjectId;
+              int pathsPersistedCount = 0;
+              for (Map.Entry<String, Collection<String>> authzPath : chunk) {
+                MAuthzPathsMapping mapping = new MAuthzPathsMapping(snapshotID, objectId++,
+                    authzPath.getKey(), authzPath.getValue());
+                mapping.makePersistent(pm);
+                pathsPersistedCount += authzPath.getValue().size();
+              }
+              return pathsPersistedCount;
+            });
+  }
+
+  /**
+   * Deletes the authorization objects persisted with a snapshot ID greater than the current
+   * one, by a snapshot that could not be completed, with their paths.
+   * Always executed in the transaction context.
+   * <p>
+   * The paths are deleted explicitly, like clearAllTables() does, as a bulk delete of the
+   * objects does not cascade to their dependent paths.
+   *
+   * @param pm The PersistenceManager object.
+   * @param currentSnapshotID the current snapshot ID
+   */
+  @SuppressWarnings("unchecked")
+  private static void deleteIncompleteAuthzPathsSnapshotCore(PersistenceManager pm,
+      long currentSnapshotID) {
+    Query idQuery = pm.newQuery(MAuthzPathsMapping.class);
+    idQuery.setFilter("this.authzSnapshotID > currentSnapshotID");
+    idQuery.declareParameters("long currentSnapshotID");
+    idQuery.setResult("authzObjectId");
+    List<Long> authzObjectIds = new ArrayList<>((List<Long>) idQuery.execute(currentSnapshotID));
+    if (authzObjectIds.isEmpty()) {
+      return;
+    }
+
+    long numPathsDeleted = 0;
+    for (List<Long> batch : Lists.partition(authzObjectIds, AUTHZ_OBJECTS_DELETE_BATCH_SIZE)) {
+      Query pathQuery = pm.newQuery(MPathToPersist.class);
+      pathQuery.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+      pathQuery.setFilter(":p1.contains(this.authzObjectId)");
+      numPathsDeleted += pathQuery.deletePersistentAll(batch);
+    }
+
+    Query query = pm.newQuery(MAuthzPathsMapping.class);
+    query.addExtension(LOAD_RESULTS_AT_COMMIT, "false");
+    query.setFilter("this.authzSnapshotID > currentSnapshotID");
+    query.declareParameters("long currentSnapshotID");
+    long numDeleted = query.deletePersistentAll(currentSnapshotID);
+    LOGGER.info("Deleted {} authorization objects and {} paths of an incomplete HMS snapshot",
+        numDeleted, numPathsDeleted);
+  }
+
   public void logPersistingFullSnapshotState(int totalNumberOfObjectsToPersist,
       int totalNumberOfPathsToPersist, int objectsPersistedCount, int pathsPersistedCount) {
 
@@ -4502,6 +4913,11 @@ public class SentryStore implements SentryStoreInterface {
    */
   public void persistLastProcessedNotificationID(final Long notificationId) throws Exception {
     LOGGER.debug("Persisting Last Processed Notification ID {}", notificationId);
+    List<TransactionBlock<Object>> batch = batchBlocks.get();
+    if (batch != null) {
+      batch.add(pm -> persistUniqueNotificationIDCore(pm, notificationId));
+      return;
+    }
     tm.executeTransaction(
             pm -> persistUniqueNotificationIDCore(pm, notificationId));
   }
@@ -4782,6 +5198,66 @@ public class SentryStore implements SentryStoreInterface {
     });
   }
 
+  /**
+   * Gets a list of MSentryGMPermChange objects greater than or equal to the given changeID
+   * within an existing transaction. If there is any delta missing in
+   * {@link MSentryGMPermChange} table, an empty list is returned.
+   *
+   * @param pm the PersistenceManager
+   * @param changeID Requested changeID
+   * @return a list of MSentryGMPermChange objects. May be empty.
+   * @throws Exception
+   */
+  public List<MSentryGMPermChange> getMSentryGMPermChangesCore(PersistenceManager pm,
+      final long changeID) throws Exception {
+    List<MSentryGMPermChange> gmPermChanges =
+        getMSentryChangesCore(pm, MSentryGMPermChange.class, changeID);
+    if (validateDeltaChanges(changeID, gmPermChanges)) {
+      return gmPermChanges;
+    }
+    return Collections.emptyList();
+  }
+
+  /**
+   * Gets the last generic model permission change ID within an existing transaction.
+   *
+   * @param pm the PersistenceManager
+   * @return the last changeID of {@link MSentryGMPermChange}, or 0 if there are no changes.
+   */
+  public static long getLastProcessedGMPermChangeIDCore(PersistenceManager pm) {
+    return getLastProcessedChangeIDCore(pm, MSentryGMPermChange.class);
+  }
+
+  /**
+   * Persist generic model permission changes within an existing transaction, so
+   * clients of a component can refresh only the roles which were changed.
+   *
+   * @param pm the PersistenceManager
+   * @param changes component name to the names of the roles changed in the component
+   */
+  public static void persistGMPermChangesCore(PersistenceManager pm,
+      SetMultimap<String, String> changes) {
+    if (changes.isEmpty()) {
+      return;
+    }
+    long changeID = getLastProcessedGMPermChangeIDCore(pm);
+    List<MSentryGMPermChange> gmPermChanges = new ArrayList<>(changes.size());
+    for (Map.Entry<String, String> change : changes.entries()) {
+      gmPermChanges.add(new MSentryGMPermChange(++changeID, change.getKey(), change.getValue()));
+    }
+    pm.makePersistentAll(gmPermChanges);
+  }
+
+  /**
+   * Record a generic model permission change of the given role for all the components.
+   * Roles without generic model privileges are recorded as well, since generic model
+   * clients list the groups of every role.
+   */
+  private static void persistGMPermChangesCore(PersistenceManager pm, MSentryRole role) {
+    persistGMPermChangesCore(pm,
+        ImmutableSetMultimap.of(MSentryGMPermChange.ALL_COMPONENTS, role.getRoleName()));
+  }
+
   /**
    * Validate if the delta changes are consistent with the requested changeID.
    * <p>
@@ -4858,13 +5334,188 @@ public class SentryStore implements SentryStoreInterface {
     List<TransactionBlock<Object>> tbs = new ArrayList<>(3);
     if (persistUpdateDeltas && updates != null && updates.size() > 0) {
       for (Update update : updates) {
-        tbs.add(new DeltaTransactionBlock(update));
+        tbs.add(new DeltaTransactionBlock(update, compressDeltas));
       }
     }
     tbs.add(transactionBlock);
+    List<TransactionBlock<Object>> batch = batchBlocks.get();
+    if (batch != null) {
+      batch.addAll(tbs);
+      return;
+    }
     tm.executeTransactionBlocksWithRetry(tbs);
   }
 
+  /**
+   * Holds the locks of the privileges of the given databases.
+   * <p>
+   * When the permission deltas are persisted (HDFS sync) all the locks are held, so the
+   * database locks are of no use: the changes are serialized as if there were no stripes.
+   * Each delta takes the last change ID + 1, and the NameNodes fetch the deltas by
+   * consecutive change IDs in commit order, so the changes of different databases would
+   * conflict on it and be retried while holding their locks. Taking the IDs from a
+   * sequence instead would leave gaps from rolled back transactions and commit IDs out of
+   * order, which the NameNodes would take for missing deltas.
+   *
+   * @param dbNames the database names, see {@link PrivilegeLocks#lockDatabases(Collection)}
+   */
+  private PrivilegeLocks.Held lockPrivileges(Collection<String> dbNames) {
+    return persistUpdateDeltas ? privilegeLocks.lockAll() : privilegeLocks.lockDatabases(dbNames);
+  }
+
+  /**
+   * Same as {@link #execute(Update, TransactionBlock)}, releasing the given locks
+   * once done.
+   *
+   * @param held the locks of the privileges changed by the transaction
+   */
+  private void executeLocked(PrivilegeLocks.Held held, Update update,
+      TransactionBlock<Object> transactionBlock) throws Exception {
+    try (PrivilegeLocks.Held ignored = held) {
+      execute(update, transactionBlock);
+    }
+  }
+
+  /**
+   * Same as {@link #execute(List, TransactionBlock)}, releasing the given locks
+   * once done.
+   *
+   * @param held the locks of the privileges changed by the transaction
+   */
+  private void executeLocked(PrivilegeLocks.Held held, List<Update> updates,
+      TransactionBlock<Object> transactionBlock) throws Exception {
+    try (PrivilegeLocks.Held ignored = held) {
+      execute(updates, transactionBlock);
+    }
+  }
+
+  /**
+   * Grant or revoke of privileges, committed with the concurrent ones when group commit
+   * is enabled.
+   */
+  private static final class PrivilegeChange {
+    private final List<String> dbNames;
+    private final List<Update> updates;
+    private final TransactionBlock<Object> transactionBlock;
+
+    PrivilegeChange(List<String> dbNames, List<Update> updates,
+        TransactionBlock<Object> transactionBlock) {
+      this.dbNames = dbNames;
+      this.updates = updates != null ? updates : Collections.<Update>emptyList();
+      this.transactionBlock = transactionBlock;
+    }
+  }
+
+  /**
+   * Commits a group of privilege changes in a single transaction. Their permission
+   * updates are merged as far as it keeps their effect, so the group usually persists
+   * a single delta.
+   */
+  private final class PrivilegeChangeCommitter implements GroupCommitter.Committer<PrivilegeChange> {
+    @Override
+    public void commitGroup(List<PrivilegeChange> changes) throws Exception {
+      Set<String> dbNames = new HashSet<>();
+      List<Update> updates = new ArrayList<>();
+      List<TransactionBlock<Object>> blocks = new ArrayList<>(changes.size());
+      PermissionsUpdate merged = null;
+      for (PrivilegeChange change : changes) {
+        dbNames.addAll(change.dbNames);
+        blocks.add(change.transactionBlock);
+        for (Update update : change.updates) {
+          if (!(update instanceof PermissionsUpdate)) {
+            updates.add(update);
+            merged = null;
+            continue;
+          }
+          if (merged == null || !merged.merge((PermissionsUpdate) update)) {
+            // The changes are merged into a new update, the ones of the change are kept
+            // for the case the group fails
+            merged = new PermissionsUpdate();
+            if (!merged.merge((PermissionsUpdate) update)) {
+              updates.add(update);
+              merged = null;
+              continue;
+            }
+            updates.add(merged);
+          }
+        }
+      }
+
+      List<TransactionBlock<Object>> tbs = new ArrayList<>(updates.size() + blocks.size());
+      if (persistUpdateDeltas) {
+        for (Update update : updates) {
+          tbs.add(new DeltaTransactionBlock(update, compressDeltas));
+        }
+      }
+      tbs.addAll(blocks);
+      try (PrivilegeLocks.Held ignored = lockPrivileges(dbNames)) {
+        tm.executeTransactionBlocksWithRetry(tbs);
+      }
+      LOGGER.debug("Committed {} privilege changes with {} delta updates",
+          changes.size(), updates.size());
+    }
+
+    @Override
+    public void commit(PrivilegeChange change) throws Exception {
+      executeLocked(lockPrivileges(change.dbNames), change.updates,
+          change.transactionBlock);
+    }
+  }
+
+  /**
+   * Executes a grant or revoke, together with the concurrent ones when group commit
+   * is enabled.
+   *
+   * @param dbNames the database names of the privileges, see {@link #getDbNames(Collection)}
+   */
+  private void executePrivilegeChange(List<String> dbNames, List<Update> updates,
+      TransactionBlock<Object> transactionBlock) throws Exception {
+    PrivilegeChange change = new PrivilegeChange(dbNames, updates, transactionBlock);
+    // Changes of a batch are committed by commitBatch()
+    if (privilegeCommitter == null || batchBlocks.get() != null) {
+      executeLocked(lockPrivileges(dbNames), change.updates, transactionBlock);
+    } else {
+      privilegeCommitter.submit(change);
+    }
+  }
+
+  /**
+   * @return the database names of the given privileges, blank for the privileges which
+   *         are not on a database, like server or URI privileges
+   */
+  private static List<String> getDbNames(Collection<TSentryPrivilege> privileges) {
+    List<String> dbNames = new ArrayList<>(privileges.size());
+    for (TSentryPrivilege privilege : privileges) {
+      dbNames.add(isNULL(privilege.getDbName()) ? null : privilege.getDbName());
+    }
+    return dbNames;
+  }
+
+  @Override
+  public void beginBatch() {
+    Preconditions.checkState(batchBlocks.get() == null, "A batch is already in progress");
+    batchBlocks.set(new ArrayList<>());
+  }
+
+  @Override
+  public void commitBatch() throws Exception {
+    List<TransactionBlock<Object>> batch = batchBlocks.get();
+    Preconditions.checkState(batch != null, "No batch in progress");
+    batchBlocks.remove();
+    if (batch.isEmpty()) {
+      return;
+    }
+    // The privilege changes of the batch are serialized with the other ones
+    try (PrivilegeLocks.Held ignored = privilegeLocks.lockAll()) {
+      tm.executeTransactionBlocksWithRetry(batch);
+    }
+  }
+
+  @Override
+  public void abortBatch() {
+    batchBlocks.remove();
+  }
+
   /**
    * Checks if a notification was already processed by searching for the hash value
    * on the MSentryPathChange table.
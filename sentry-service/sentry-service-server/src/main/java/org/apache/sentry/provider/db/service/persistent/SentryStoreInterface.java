@@ -55,6 +55,13 @@ import org.apache.sentry.service.common.ServiceConstants.SentryPrincipalType;
 @Private
 public interface SentryStoreInterface {
 
+  /**
+   * Privilege returned to the provider when the requestor has no privilege on the requested
+   * objects but some privilege on their server. It makes the 'default' database accessible
+   * to any user with privileges on at least one object of the server.
+   */
+  String ANY_SERVER_PRIVILEGE = "server=+";
+
   /**
    * Assign a given role to a set of groups.
    *
@@ -240,6 +247,44 @@ public interface SentryStoreInterface {
                                               TSentryAuthorizable authHierarchy)
     throws Exception;
 
+  /**
+   * Gets the privileges for the provider like {@link #listSentryPrivilegesForProvider(Set,
+   * Set, TSentryActiveRoleSet, TSentryAuthorizable)}. If no privilege matches the
+   * authorizable hierarchy but the users and groups have any privilege on its server,
+   * {@link #ANY_SERVER_PRIVILEGE} is returned instead. Roles and privileges are resolved
+   * in a single transaction.
+   * @param groups the set of group names
+   * @param users the set of user names
+   * @param roleSet the active roleSet
+   * @param authHierarchy filter push down based on auth hierarchy (optional)
+   * @return a set of sentry privilege strings for the provider
+   * @throws Exception
+   */
+  Set<String> getPrivilegesForProvider(Set<String> groups,
+                                       Set<String> users,
+                                       TSentryActiveRoleSet roleSet,
+                                       TSentryAuthorizable authHierarchy)
+    throws Exception;
+
+  /**
+   * Gets the privileges like
+   * {@link #getPrivilegesForProvider(Set, Set, TSentryActiveRoleSet, TSentryAuthorizable)},
+   * with the policy version they were read at. The version is read from the database with
+   * the privileges, it only increases and is the same for all the servers sharing the
+   * database. It is 0 if the store does not track the policy changes.
+   * @param groups the set of group names
+   * @param users the set of user names
+   * @param roleSet the active roleSet
+   * @param authHierarchy filter push down based on auth hierarchy (optional)
+   * @return the sentry privilege strings for the provider and their policy version
+   * @throws Exception
+   */
+  VersionedPrivileges getVersionedPrivilegesForProvider(Set<String> groups,
+                                                        Set<String> users,
+                                                        TSentryActiveRoleSet roleSet,
+                                                        TSentryAuthorizable authHierarchy)
+    throws Exception;
+
   /**
    * Similar to {@link SentryStoreInterface#listSentryPrivilegesForProvider(Set, Set,
    * TSentryActiveRoleSet, TSentryAuthorizable)}, but returns a set of thrift sentry
@@ -438,6 +483,25 @@ public interface SentryStoreInterface {
    */
   CounterWait getCounterWait();
 
+  /**
+   * Starts a batch: the delta updates of the current thread and the notification IDs it
+   * persists are not committed until {@link #commitBatch()}, where they are committed in
+   * one transaction.
+   */
+  void beginBatch();
+
+  /**
+   * Commits the changes made since {@link #beginBatch()} in one transaction and ends
+   * the batch. If the commit fails, none of the changes is committed.
+   * @throws Exception
+   */
+  void commitBatch() throws Exception;
+
+  /**
+   * Drops the changes made since {@link #beginBatch()} and ends the batch.
+   */
+  void abortBatch();
+
   // Metrics
 
   /**
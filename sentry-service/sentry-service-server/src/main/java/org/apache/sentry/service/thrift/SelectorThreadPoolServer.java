@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.service.thrift;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.server.ServerContext;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.transport.TNonblockingServerTransport;
+import org.apache.thrift.transport.TNonblockingSocket;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Thrift server running the requests of its clients on a bounded pool of worker threads,
+ * which parks the idle client connections on a few selector threads instead of holding a
+ * worker thread per connection like {@link org.apache.thrift.server.TThreadPoolServer}.
+ * <p>
+ * A new connection is parked like an idle one, so it only gets a worker once the client
+ * has sent something. A worker serves a connection through a blocking socket, so the
+ * transport factory may negotiate SASL when the connection is opened, and the processors
+ * see the client socket; the client timeout of the server transport bounds how long it
+ * waits for the rest of the handshake or request. Thrift clients only send the next
+ * request of a connection once they have read the response to the previous one: the
+ * worker serves a single request, then parks the connection until its next request
+ * arrives.
+ */
+final class SelectorThreadPoolServer extends TServer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SelectorThreadPoolServer.class);
+
+  private static final String SELECTOR_THREAD_NAME = "sentry-service-selector-";
+  private static final long STOP_TIMEOUT_SECONDS = 60;
+
+  static final class Args extends AbstractServerArgs<Args> {
+    private int selectorThreads = 2;
+    private ExecutorService executorService;
+
+    Args(TNonblockingServerTransport transport) {
+      super(transport);
+    }
+
+    Args selectorThreads(int selectorThreads) {
+      this.selectorThreads = selectorThreads;
+      return this;
+    }
+
+    /**
+     * @param executorService the workers running the requests, which should bound their
+     *        queue: the connections whose requests are rejected are closed
+     */
+    Args executorService(ExecutorService executorService) {
+      this.executorService = executorService;
+      return this;
+    }
+  }
+
+  private final TNonblockingServerTransport serverTransport;
+  private final ExecutorService workers;
+  private final Selector acceptSelector;
+  private final List<SelectorThread> selectorThreads;
+  private volatile boolean stopped = false;
+
+  SelectorThreadPoolServer(Args args) throws IOException {
+    super(args);
+    Preconditions.checkArgument(args.selectorThreads > 0,
+        "At least one selector thread is required");
+    serverTransport = (TNonblockingServerTransport) serverTransport_;
+    workers = Preconditions.checkNotNull(args.executorService, "executorService is required");
+    acceptSelector = Selector.open();
+    selectorThreads = new ArrayList<>(args.selectorThreads);
+    for (int i = 0; i < args.selectorThreads; i++) {
+      selectorThreads.add(new SelectorThread(SELECTOR_THREAD_NAME + i));
+    }
+  }
+
+  @Override
+  public void serve() {
+    try {
+      serverTransport.listen();
+      serverTransport.registerSelector(acceptSelector);
+    } catch (TTransportException e) {
+      LOGGER.error("Error occurred during listening.", e);
+      return;
+    }
+    // The threads inherit the access control context, i.e. the kerberos subject, of the
+    // thread serving
+    for (SelectorThread selectorThread : selectorThreads) {
+      selectorThread.start();
+    }
+    if (eventHandler_ != null) {
+      eventHandler_.preServe();
+    }
+    setServing(true);
+    try {
+      acceptConnections();
+    } finally {
+      shutdown();
+      setServing(false);
+    }
+  }
+
+  @Override
+  public void stop() {
+    stopped = true;
+    serverTransport.close();
+    acceptSelector.wakeup();
+    for (SelectorThread selectorThread : selectorThreads) {
+      selectorThread.selector.wakeup();
+    }
+  }
+
+  private void acceptConnections() {
+    int next = 0;
+    while (!stopped) {
+      try {
+        acceptSelector.select();
+        Iterator<SelectionKey> keys = acceptSelector.selectedKeys().iterator();
+        while (!stopped && keys.hasNext()) {
+          keys.next();
+          keys.remove();
+          // The accepted channel is non blocking, ready to be parked
+          TNonblockingSocket client = (TNonblockingSocket) serverTransport.accept();
+          SelectorThread selectorThread = selectorThreads.get(next);
+          next = (next + 1) % selectorThreads.size();
+          // Idle connections must not hold a worker, new ones included
+          selectorThread.park(new Connection(client.getSocketChannel(), selectorThread));
+        }
+      } catch (TTransportException e) {
+        // The connection was closed by the client before it got accepted
+        LOGGER.debug("Failed to accept a connection", e);
+      } catch (IOException e) {
+        if (!stopped) {
+          LOGGER.warn("Failed to accept a connection", e);
+        }
+      }
+    }
+  }
+
+  private void shutdown() {
+    try {
+      acceptSelector.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to close the accept selector", e);
+    }
+    for (SelectorThread selectorThread : selectorThreads) {
+      try {
+        selectorThread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warn("Worker threads still running after {} seconds", STOP_TIMEOUT_SECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // Connections parked by the workers after their selector thread stopped
+    for (SelectorThread selectorThread : selectorThreads) {
+      selectorThread.closeParked();
+    }
+  }
+
+  /**
+   * Client connection, run by a worker thread to serve its next request.
+   */
+  private final class Connection implements Runnable {
+    private final SocketChannel channel;
+    private final SelectorThread selectorThread;
+    private TTransport inputTransport;
+    private TTransport outputTransport;
+    private TProtocol inputProtocol;
+    private TProtocol outputProtocol;
+    private TProcessor processor;
+    private ServerContext context;
+
+    Connection(SocketChannel channel, SelectorThread selectorThread) {
+      this.channel = channel;
+      this.selectorThread = selectorThread;
+    }
+
+    void dispatch() {
+      try {
+        workers.execute(this);
+      } catch (RejectedExecutionException e) {
+        LOGGER.warn("Closing the connection from {}, too many requests are waiting",
+            channel.socket().getRemoteSocketAddress());
+        close();
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        channel.configureBlocking(true);
+        if (processor == null) {
+          open();
+        }
+        if (eventHandler_ != null) {
+          eventHandler_.processContext(context, inputTransport, outputTransport);
+        }
+        if (stopped || !processor.process(inputProtocol, outputProtocol)) {
+          close();
+          return;
+        }
+        channel.configureBlocking(false);
+        selectorThread.park(this);
+      } catch (TTransportException e) {
+        // Assume the client died and continue silently
+        close();
+      } catch (Exception e) {
+        LOGGER.error("Error occurred during processing of message.", e);
+        close();
+      }
+    }
+
+    private void open() throws Exception {
+      TSocket socket = new TSocket(channel.socket());
+      // Negotiates SASL, if any
+      inputTransport = inputTransportFactory_.getTransport(socket);
+      outputTransport = outputTransportFactory_.getTransport(socket);
+      processor = processorFactory_.getProcessor(inputTransport);
+      inputProtocol = inputProtocolFactory_.getProtocol(inputTransport);
+      outputProtocol = outputProtocolFactory_.getProtocol(outputTransport);
+      if (eventHandler_ != null) {
+        context = eventHandler_.createContext(inputProtocol, outputProtocol);
+      }
+    }
+
+    void close() {
+      if (eventHandler_ != null && processor != null) {
+        eventHandler_.deleteContext(context, inputProtocol, outputProtocol);
+      }
+      if (inputTransport != null) {
+        inputTransport.close();
+      }
+      if (outputTransport != null) {
+        outputTransport.close();
+      }
+      try {
+        channel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Failed to close the connection", e);
+      }
+    }
+  }
+
+  /**
+   * Selector thread watching the new and idle connections, which hands them to the
+   * workers once their first or next request arrives.
+   */
+  private final class SelectorThread extends Thread {
+    private final Selector selector;
+    private final Queue<Connection> parked = new ConcurrentLinkedQueue<>();
+
+    SelectorThread(String name) throws IOException {
+      super(name);
+      setDaemon(true);
+      selector = Selector.open();
+    }
+
+    void park(Connection connection) {
+      parked.add(connection);
+      selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!stopped) {
+          if (selector.selectedKeys().isEmpty()) {
+            selector.select();
+          }
+          registerParked();
+          dispatchReady();
+        }
+      } catch (IOException e) {
+        LOGGER.error("Selector thread failed", e);
+      } finally {
+        for (SelectionKey key : selector.keys()) {
+          ((Connection) key.attachment()).close();
+        }
+        closeParked();
+        try {
+          selector.close();
+        } catch (IOException e) {
+          LOGGER.warn("Failed to close the selector", e);
+        }
+      }
+    }
+
+    private void registerParked() {
+      Connection connection;
+      while ((connection = parked.poll()) != null) {
+        try {
+          connection.channel.register(selector, SelectionKey.OP_READ, connection);
+        } catch (IOException e) {
+          connection.close();
+        }
+      }
+    }
+
+    private void dispatchReady() throws IOException {
+      Set<SelectionKey> selected = selector.selectedKeys();
+      if (selected.isEmpty()) {
+        return;
+      }
+      List<Connection> ready = new ArrayList<>(selected.size());
+      for (SelectionKey key : selected) {
+        key.cancel();
+        ready.add((Connection) key.attachment());
+      }
+      selected.clear();
+      // Deregisters the cancelled keys, so that the workers can make the channels blocking
+      // again. The keys selected meanwhile are dispatched by the next iteration.
+      selector.selectNow();
+      for (Connection connection : ready) {
+        connection.dispatch();
+      }
+    }
+
+    void closeParked() {
+      Connection connection;
+      while ((connection = parked.poll()) != null) {
+        connection.close();
+      }
+    }
+  }
+}
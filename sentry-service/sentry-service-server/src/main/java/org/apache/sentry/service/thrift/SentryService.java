@@ -59,6 +59,7 @@ import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.server.TServer;
 import org.apache.thrift.server.TServerEventHandler;
 import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
 import org.apache.thrift.transport.TSaslServerTransport;
 import org.apache.thrift.transport.TServerSocket;
 import org.apache.thrift.transport.TServerTransport;
@@ -81,6 +82,8 @@ public class SentryService implements Callable, SigUtils.SigListener {
   private static final String HMSFOLLOWER_THREAD_NAME = "hms-follower";
   private static final String STORE_CLEANER_THREAD_NAME = "store-cleaner";
   private static final String SERVICE_SHUTDOWN_THREAD_NAME = "service-shutdown";
+  private static final String SERVICE_WORKER_THREAD_NAME = "sentry-service-worker-%d";
+  private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
 
   private enum Status {
     NOT_STARTED,
@@ -91,6 +94,10 @@ public class SentryService implements Callable, SigUtils.SigListener {
   private final InetSocketAddress address;
   private final int maxThreads;
   private final int minThreads;
+  private final boolean threadedSelector;
+  private final int selectorThreads;
+  private final int workerQueueSize;
+  private final int clientTimeoutMs;
   private final boolean kerberos;
   private final String principal;
   private final String[] principalParts;
@@ -132,6 +139,18 @@ public class SentryService implements Callable, SigUtils.SigListener {
         ServerConfig.RPC_MIN_THREADS_DEFAULT);
     maxMessageSize = conf.getLong(ServerConfig.SENTRY_POLICY_SERVER_THRIFT_MAX_MESSAGE_SIZE,
         ServerConfig.SENTRY_POLICY_SERVER_THRIFT_MAX_MESSAGE_SIZE_DEFAULT);
+    String serverType = conf.get(ServerConfig.RPC_SERVER_TYPE,
+        ServerConfig.RPC_SERVER_TYPE_DEFAULT).trim();
+    threadedSelector = ServerConfig.RPC_SERVER_TYPE_THREADED_SELECTOR.equalsIgnoreCase(serverType);
+    Preconditions.checkArgument(threadedSelector
+        || ServerConfig.RPC_SERVER_TYPE_THREAD_POOL.equalsIgnoreCase(serverType),
+        "Unknown %s: %s", ServerConfig.RPC_SERVER_TYPE, serverType);
+    selectorThreads = conf.getInt(ServerConfig.RPC_SELECTOR_THREADS,
+        ServerConfig.RPC_SELECTOR_THREADS_DEFAULT);
+    workerQueueSize = conf.getInt(ServerConfig.RPC_WORKER_QUEUE_SIZE,
+        ServerConfig.RPC_WORKER_QUEUE_SIZE_DEFAULT);
+    clientTimeoutMs = conf.getInt(ServerConfig.RPC_CLIENT_TIMEOUT_MS,
+        ServerConfig.RPC_CLIENT_TIMEOUT_MS_DEFAULT);
     if (kerberos) {
       // Use Hadoop libraries to translate the _HOST placeholder with actual hostname
       try {
@@ -272,23 +291,11 @@ public class SentryService implements Callable, SigUtils.SigListener {
           "Failed to register any processors from " + processorFactories);
     }
     addSentryServiceGauge();
-    TServerTransport serverTransport = new TServerSocket(address);
-    TTransportFactory transportFactory = null;
-    if (kerberos) {
-      TSaslServerTransport.Factory saslTransportFactory = new TSaslServerTransport.Factory();
-      saslTransportFactory.addServerDefinition(AuthMethod.KERBEROS
-          .getMechanismName(), principalParts[0], principalParts[1],
-              ServerConfig.SASL_PROPERTIES, new GSSCallback(conf));
-      transportFactory = saslTransportFactory;
+    if (threadedSelector) {
+      thriftServer = createThreadedSelectorServer(processor);
     } else {
-      transportFactory = new TTransportFactory();
+      thriftServer = createThreadPoolServer(processor);
     }
-    TThreadPoolServer.Args args = new TThreadPoolServer.Args(
-        serverTransport).processor(processor)
-        .transportFactory(transportFactory)
-        .protocolFactory(new TBinaryProtocol.Factory(true, true, maxMessageSize, maxMessageSize))
-        .minWorkerThreads(minThreads).maxWorkerThreads(maxThreads);
-    thriftServer = new TThreadPoolServer(args);
     LOGGER.info("Serving on {}", address);
     startSentryWebServer();
 
@@ -302,6 +309,57 @@ public class SentryService implements Callable, SigUtils.SigListener {
     thriftServer.serve();
   }
 
+  /**
+   * Creates the server holding a worker thread per client connection.
+   */
+  private TServer createThreadPoolServer(TMultiplexedProcessor processor) throws Exception {
+    TServerTransport serverTransport = new TServerSocket(address);
+    TThreadPoolServer.Args args = new TThreadPoolServer.Args(
+        serverTransport).processor(processor)
+        .transportFactory(createTransportFactory())
+        .protocolFactory(new TBinaryProtocol.Factory(true, true, maxMessageSize, maxMessageSize))
+        .minWorkerThreads(minThreads).maxWorkerThreads(maxThreads);
+    return new TThreadPoolServer(args);
+  }
+
+  /**
+   * Creates the server parking the idle client connections on the selector threads, so
+   * that they do not hold a worker thread.
+   */
+  private TServer createThreadedSelectorServer(TMultiplexedProcessor processor)
+      throws Exception {
+    ThreadFactory workerThreadFactory = new ThreadFactoryBuilder()
+        .setNameFormat(SERVICE_WORKER_THREAD_NAME)
+        .setDaemon(true)
+        .build();
+    // Requests beyond the queue are rejected and their connections closed, rather than
+    // piling up while the workers are busy
+    ThreadPoolExecutor workers = new ThreadPoolExecutor(maxThreads, maxThreads,
+        WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<Runnable>(workerQueueSize), workerThreadFactory);
+    workers.allowCoreThreadTimeOut(true);
+    SelectorThreadPoolServer.Args args = new SelectorThreadPoolServer.Args(
+        new TNonblockingServerSocket(address, clientTimeoutMs)).processor(processor)
+        .transportFactory(createTransportFactory())
+        .protocolFactory(new TBinaryProtocol.Factory(true, true, maxMessageSize, maxMessageSize))
+        .selectorThreads(selectorThreads)
+        .executorService(workers);
+    LOGGER.info("Using {} selector threads, {} worker threads, {} queued requests and a "
+        + "client timeout of {}ms", selectorThreads, maxThreads, workerQueueSize, clientTimeoutMs);
+    return new SelectorThreadPoolServer(args);
+  }
+
+  private TTransportFactory createTransportFactory() {
+    if (!kerberos) {
+      return new TTransportFactory();
+    }
+    TSaslServerTransport.Factory saslTransportFactory = new TSaslServerTransport.Factory();
+    saslTransportFactory.addServerDefinition(AuthMethod.KERBEROS
+        .getMechanismName(), principalParts[0], principalParts[1],
+            ServerConfig.SASL_PROPERTIES, new GSSCallback(conf));
+    return saslTransportFactory;
+  }
+
   private void startHMSFollower(Configuration conf) throws Exception {
     boolean syncPolicyStore = SentryServiceUtil.isSyncPolicyStoreEnabled(conf);
 
@@ -334,7 +392,7 @@ public class SentryService implements Callable, SigUtils.SigListener {
           .setNameFormat(HMSFOLLOWER_THREAD_NAME)
           .build();
       hmsFollowerExecutor = Executors.newScheduledThreadPool(1, hmsFollowerThreadFactory);
-      hmsFollowerExecutor.scheduleAtFixedRate(hmsFollower,
+      hmsFollowerExecutor.scheduleAtFixedRate(hmsFollower::runAdaptively,
               initDelay, period, TimeUnit.MILLISECONDS);
     } catch (IllegalArgumentException e) {
       LOGGER.error(String.format("Could not start HMSFollower due to illegal argument. period is %s ms",
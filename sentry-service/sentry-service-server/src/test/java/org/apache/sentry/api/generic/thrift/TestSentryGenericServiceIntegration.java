@@ -18,17 +18,24 @@
 package org.apache.sentry.api.generic.thrift;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.api.common.ApiConstants.ClientConfig;
 import org.apache.sentry.core.common.exception.SentryUserException;
 import org.apache.sentry.core.common.ActiveRoleSet;
 import org.apache.sentry.core.common.Authorizable;
+import org.apache.sentry.core.common.transport.SentryPolicyClientTransportConfig;
+import org.apache.sentry.core.common.transport.SentryTransportFactory;
+import org.apache.sentry.core.common.transport.SentryTransportPool;
 import org.apache.sentry.core.model.solr.Collection;
 import org.apache.sentry.core.model.solr.Field;
 import org.apache.sentry.core.model.solr.SolrConstants;
@@ -493,6 +500,77 @@ public class TestSentryGenericServiceIntegration extends SentryGenericServiceInt
       }});
   }
 
+  @Test
+  public void testListAllRolePrivilegesInPages() throws Exception {
+    runTestAsSubject(new TestOperation(){
+      @Override
+      public void runTestAsSubject() throws Exception {
+        String requestorUserName = ADMIN_USER;
+        Set<String> requestorUserGroupNames = Sets.newHashSet(ADMIN_GROUP);
+        setLocalGroupMapping(requestorUserName, requestorUserGroupNames);
+        writePolicyFile();
+
+        // More roles than a page holds, the last page is not full
+        int pageSize = 2;
+        int numRoles = 2 * pageSize + 1;
+        Set<String> roleNames = new HashSet<>();
+        for (int i = 0; i < numRoles; i++) {
+          String roleName = "paged_r" + i;
+          roleNames.add(roleName);
+          client.createRole(requestorUserName, roleName, SOLR);
+          client.grantRoleToGroups(requestorUserName, roleName, SOLR,
+              Sets.newHashSet("group" + i));
+          client.grantPrivilege(requestorUserName, roleName, SOLR,
+              new TSentryPrivilege(SOLR, "service1",
+                  fromAuthorizable(Arrays.asList(new Collection("c" + i))),
+                  SolrConstants.QUERY));
+        }
+
+        Configuration pagingConf = new Configuration(conf);
+        pagingConf.setInt(ClientConfig.LIST_ROLE_PRIVILEGES_PAGE_SIZE, pageSize);
+        SentryPolicyClientTransportConfig transportConfig =
+            new SentryPolicyClientTransportConfig();
+        SentryTransportPool transportPool = new SentryTransportPool(pagingConf,
+            transportConfig, new SentryTransportFactory(pagingConf, transportConfig));
+        SentryGenericServiceClientDefaultImpl pagingClient =
+            new SentryGenericServiceClientDefaultImpl(pagingConf, transportPool);
+        TListSentryRolePrivilegesResponse response;
+        try {
+          pagingClient.connect();
+          response = pagingClient.listAllRolePrivileges(requestorUserName, SOLR, "service1");
+        } finally {
+          pagingClient.close();
+          transportPool.close();
+        }
+
+        // Every role is returned once with its own groups and privileges
+        assertEquals(numRoles, response.getRolesSize());
+        Set<String> pagedRoleNames = new HashSet<>();
+        for (TSentryRole role : response.getRoles()) {
+          assertTrue("Duplicate role " + role.getRoleName(),
+              pagedRoleNames.add(role.getRoleName()));
+          String suffix = role.getRoleName().substring("paged_r".length());
+          assertEquals(Sets.newHashSet("group" + suffix), role.getGroups());
+        }
+        assertEquals(roleNames, pagedRoleNames);
+        assertEquals(roleNames, response.getPrivilegesMapByRole().keySet());
+        for (Map.Entry<String, Set<TSentryPrivilege>> entry :
+            response.getPrivilegesMapByRole().entrySet()) {
+          String suffix = entry.getKey().substring("paged_r".length());
+          assertEquals(1, entry.getValue().size());
+          TSentryPrivilege privilege = entry.getValue().iterator().next();
+          assertEquals("c" + suffix, privilege.getAuthorizables().get(0).getName());
+        }
+        assertFalse(response.isHasMore());
+
+        // The same roles and privileges as a single page
+        TListSentryRolePrivilegesResponse unpaged =
+            client.listAllRolePrivileges(requestorUserName, SOLR, "service1");
+        assertEquals(unpaged.getRoles(), response.getRoles());
+        assertEquals(unpaged.getPrivilegesMapByRole(), response.getPrivilegesMapByRole());
+      }});
+  }
+
   private List<TAuthorizable> fromAuthorizable(List<? extends Authorizable> authorizables) {
     List<TAuthorizable> tAuthorizables = Lists.newArrayList();
     for (Authorizable authorizable : authorizables) {
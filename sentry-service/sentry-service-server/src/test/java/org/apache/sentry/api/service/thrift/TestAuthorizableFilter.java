@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.api.service.thrift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+public class TestAuthorizableFilter {
+  private static final Set<String> ANY_ACTION = Sets.newHashSet("select", "insert", "alter",
+      "create", "drop", "index", "lock");
+  private static final Set<String> SELECT = Collections.singleton("select");
+
+  private static TSentryAuthorizable db(String db) {
+    TSentryAuthorizable authorizable = new TSentryAuthorizable("server1");
+    authorizable.setDb(db);
+    return authorizable;
+  }
+
+  private static TSentryAuthorizable table(String db, String table) {
+    TSentryAuthorizable authorizable = db(db);
+    authorizable.setTable(table);
+    return authorizable;
+  }
+
+  @Test
+  public void testDatabaseAndTablePrivileges() {
+    AuthorizableFilter filter = new AuthorizableFilter(Arrays.asList(
+        "server=server1->db=db1->table=t1->action=insert",
+        "server=server1->db=DB2->table=t2->column=c1->action=select",
+        "server=server1->db=db3"));
+
+    assertTrue(filter.isAuthorized(db("db1"), ANY_ACTION));
+    assertFalse(filter.isAuthorized(db("db1"), SELECT));
+    assertTrue(filter.isAuthorized(table("db1", "t1"), ANY_ACTION));
+    assertFalse(filter.isAuthorized(table("db1", "t2"), ANY_ACTION));
+
+    // A column privilege shows its table and database, names are case insensitive
+    assertTrue(filter.isAuthorized(db("db2"), SELECT));
+    assertTrue(filter.isAuthorized(table("Db2", "T2"), SELECT));
+    assertFalse(filter.isAuthorized(table("db2", "t1"), SELECT));
+
+    // All the actions are granted on db3
+    assertTrue(filter.isAuthorized(table("db3", "t1"), SELECT));
+    assertFalse(filter.isAuthorized(db("db4"), ANY_ACTION));
+    assertFalse(filter.isAuthorized(db(null), ANY_ACTION));
+  }
+
+  @Test
+  public void testServerAndWildcardPrivileges() {
+    AuthorizableFilter filter = new AuthorizableFilter(Arrays.asList(
+        "server=server1->uri=hdfs://namenode:9000/path",
+        "server=server1->db=*->table=t1->action=select"));
+    assertTrue(filter.isAuthorized(table("db1", "t1"), SELECT));
+    assertFalse(filter.isAuthorized(table("db1", "t2"), SELECT));
+
+    filter = new AuthorizableFilter(Collections.singleton("server=server1"));
+    assertTrue(filter.isAuthorized(table("db1", "t1"), SELECT));
+    TSentryAuthorizable otherServer = table("db1", "t1");
+    otherServer.setServer("server2");
+    assertFalse(filter.isAuthorized(otherServer, SELECT));
+  }
+
+  @Test
+  public void testFilterIsReusedWhileThePrivilegesAreUnchanged() throws Exception {
+    AuthorizableFilterCache filters = new AuthorizableFilterCache(60000);
+    Set<String> groups = Collections.singleton("group1");
+    Set<String> users = Collections.singleton("user1");
+    TSentryActiveRoleSet roleSet = new TSentryActiveRoleSet(true, Collections.<String>emptySet());
+    Set<String> privileges = Collections.singleton("server=server1->db=db1");
+
+    AuthorizableFilter filter = filters.get(groups, users, roleSet, privileges);
+    assertTrue(filter.isAuthorized(db("db1"), SELECT));
+    assertSame(filter, filters.get(Sets.newHashSet(groups), Sets.newHashSet(users),
+        new TSentryActiveRoleSet(true, Collections.<String>emptySet()),
+        Sets.newHashSet(privileges)));
+
+    // Another user or changed privileges build another filter
+    assertNotSame(filter, filters.get(groups, Collections.singleton("user2"), roleSet,
+        privileges));
+    AuthorizableFilter changed = filters.get(groups, users, roleSet,
+        Collections.singleton("server=server1->db=db2"));
+    assertNotSame(filter, changed);
+    assertFalse(changed.isAuthorized(db("db1"), SELECT));
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.api.service.thrift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.core.common.exception.SentryGroupNotFoundException;
+import org.apache.sentry.provider.common.GroupMappingService;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.MoreExecutors;
+
+public class TestCachedGroupMappingService {
+  private final Map<String, Set<String>> userGroups = new HashMap<>();
+  private int lookups;
+  private long now;
+  private CachedGroupMappingService groupMapping;
+
+  @Before
+  public void setup() {
+    GroupMappingService backend = new GroupMappingService() {
+      @Override
+      public Set<String> getGroups(String user) throws SentryGroupNotFoundException {
+        lookups++;
+        Set<String> groups = userGroups.get(user);
+        if (groups == null) {
+          throw new SentryGroupNotFoundException("Unable to obtain groups for " + user);
+        }
+        return groups;
+      }
+    };
+    Ticker ticker = new Ticker() {
+      @Override
+      public long read() {
+        return now;
+      }
+    };
+    // 10 minutes TTL, refresh after 1 minute, forget missing users after 30 seconds
+    groupMapping = new CachedGroupMappingService(backend, 600000, 60000, 30000, 100, ticker,
+        MoreExecutors.sameThreadExecutor());
+    userGroups.put("user1", Sets.newHashSet("group1"));
+  }
+
+  private void advanceSeconds(long seconds) {
+    now += TimeUnit.SECONDS.toNanos(seconds);
+  }
+
+  @Test
+  public void testGroupsAreCached() throws Exception {
+    assertEquals(Sets.newHashSet("group1"), groupMapping.getGroups("user1"));
+    assertEquals(Sets.newHashSet("group1"), groupMapping.getGroups("user1"));
+    assertEquals(1, lookups);
+
+    // Callers can not modify the cached groups
+    groupMapping.getGroups("user1").add("group2");
+    assertEquals(Sets.newHashSet("group1"), groupMapping.getGroups("user1"));
+  }
+
+  @Test
+  public void testRefresh() throws Exception {
+    groupMapping.getGroups("user1");
+    userGroups.put("user1", Sets.newHashSet("group2"));
+    advanceSeconds(30);
+    assertEquals(Sets.newHashSet("group1"), groupMapping.getGroups("user1"));
+    assertEquals(1, lookups);
+
+    // The access after the refresh interval reloads the groups
+    advanceSeconds(31);
+    groupMapping.getGroups("user1");
+    assertEquals(2, lookups);
+    assertEquals(Sets.newHashSet("group2"), groupMapping.getGroups("user1"));
+  }
+
+  @Test
+  public void testNegativeCaching() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      try {
+        groupMapping.getGroups("user2");
+        fail("Expected SentryGroupNotFoundException");
+      } catch (SentryGroupNotFoundException e) {
+        assertEquals("Unable to obtain groups for user2", e.getMessage());
+      }
+    }
+    assertEquals(1, lookups);
+
+    userGroups.put("user2", Sets.newHashSet("group2"));
+    advanceSeconds(31);
+    assertEquals(Sets.newHashSet("group2"), groupMapping.getGroups("user2"));
+    assertEquals(2, lookups);
+  }
+
+  @Test
+  public void testSharedPerConfiguration() throws Exception {
+    Configuration conf = new Configuration(false);
+    conf.set(ServerConfig.SENTRY_STORE_GROUP_MAPPING, MockGroupMappingService.class.getName());
+    // Not cached by default, the group mapping is still created only once
+    GroupMappingService groupMapping = CachedGroupMappingService.get(conf);
+    assertEquals(MockGroupMappingService.class, groupMapping.getClass());
+    assertSame(groupMapping, CachedGroupMappingService.get(conf));
+
+    conf.setLong(ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_SECONDS, 300);
+    GroupMappingService cached = CachedGroupMappingService.get(conf);
+    assertEquals(CachedGroupMappingService.class, cached.getClass());
+    assertSame(cached, CachedGroupMappingService.get(conf));
+    // Another configuration, whose other settings may differ
+    Configuration otherConf = new Configuration(conf);
+    GroupMappingService otherCached = CachedGroupMappingService.get(otherConf);
+    assertNotSame(cached, otherCached);
+    assertSame(otherCached, CachedGroupMappingService.get(otherConf));
+
+    // Settings changed after the first lookup are not ignored
+    conf.setLong(ServerConfig.SENTRY_STORE_GROUP_MAPPING_CACHE_TTL_SECONDS, 600);
+    assertNotSame(cached, CachedGroupMappingService.get(conf));
+    otherConf.set(ServerConfig.SENTRY_STORE_GROUP_MAPPING_RESOURCE, "other-resource");
+    assertNotSame(otherCached, CachedGroupMappingService.get(otherConf));
+  }
+}
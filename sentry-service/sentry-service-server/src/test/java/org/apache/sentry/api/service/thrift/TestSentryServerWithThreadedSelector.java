@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sentry.api.service.thrift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.Socket;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.sentry.provider.db.log.appender.AuditLoggerTestAppender;
+import org.apache.sentry.provider.db.log.util.CommandUtil;
+import org.apache.sentry.provider.db.log.util.Constants;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.apache.sentry.service.thrift.SentryServiceClientFactory;
+import org.apache.sentry.service.thrift.SentryServiceIntegrationBase;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Test the sentry service with the threaded selector server.
+ */
+public class TestSentryServerWithThreadedSelector extends SentryServiceIntegrationBase {
+  private static final int WORKER_THREADS = 2;
+  private static final int WORKER_QUEUE_SIZE = 2;
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    kerberos = false;
+    setupThreadedSelector();
+  }
+
+  protected static void setupThreadedSelector() throws Exception {
+    Logger logger = Logger.getLogger("sentry.hive.authorization.ddl.logger");
+    logger.addAppender(new AuditLoggerTestAppender());
+    logger.setLevel(Level.INFO);
+    beforeSetup();
+    conf.set(ServerConfig.RPC_SERVER_TYPE, ServerConfig.RPC_SERVER_TYPE_THREADED_SELECTOR);
+    conf.setInt(ServerConfig.RPC_MAX_THREADS, WORKER_THREADS);
+    conf.setInt(ServerConfig.RPC_WORKER_QUEUE_SIZE, WORKER_QUEUE_SIZE);
+    setupConf();
+    startSentryService();
+    afterSetup();
+  }
+
+  @Test
+  public void testCreateRoleAndGrant() throws Exception {
+    String requestorUserName = ADMIN_USER;
+    setLocalGroupMapping(requestorUserName, Sets.newHashSet(ADMIN_GROUP));
+    writePolicyFile();
+    String roleName = "admin_r";
+    client.dropRoleIfExists(requestorUserName, roleName);
+    client.createRole(requestorUserName, roleName);
+    client.grantTablePrivilege(requestorUserName, roleName, "server", "db1", "table1", "ALL");
+
+    Set<TSentryPrivilege> privileges = client.listAllPrivilegesByRoleName(requestorUserName,
+        roleName);
+    assertEquals(1, privileges.size());
+    assertEquals("table1", privileges.iterator().next().getTableName());
+    client.dropRole(requestorUserName, roleName);
+  }
+
+  @Test
+  public void testMoreConnectionsThanWorkerThreads() throws Exception {
+    String requestorUserName = ADMIN_USER;
+    setLocalGroupMapping(requestorUserName, Sets.newHashSet(ADMIN_GROUP));
+    writePolicyFile();
+
+    // Each connection stays open between the requests without holding a worker thread
+    List<SentryPolicyServiceClient> clients = new ArrayList<>();
+    try {
+      for (int i = 0; i < WORKER_THREADS * 3; i++) {
+        SentryPolicyServiceClient connection = connect();
+        clients.add(connection);
+        connection.listAllRoles(requestorUserName);
+      }
+      for (SentryPolicyServiceClient connection : clients) {
+        connection.listAllRoles(requestorUserName);
+      }
+    } finally {
+      for (SentryPolicyServiceClient connection : clients) {
+        connection.close();
+      }
+    }
+  }
+
+  @Test
+  public void testIdleNewConnectionsDoNotHoldWorkers() throws Exception {
+    String requestorUserName = ADMIN_USER;
+    setLocalGroupMapping(requestorUserName, Sets.newHashSet(ADMIN_GROUP));
+    writePolicyFile();
+
+    // Connections which never send anything, more than the workers and their queue
+    List<Socket> idleConnections = new ArrayList<>();
+    try {
+      for (int i = 0; i < (WORKER_THREADS + WORKER_QUEUE_SIZE) * 2; i++) {
+        idleConnections.add(new Socket(server.getAddress().getHostName(),
+            server.getAddress().getPort()));
+      }
+      // Let the server accept them
+      Thread.sleep(500);
+
+      SentryPolicyServiceClient connection = connect();
+      try {
+        connection.listAllRoles(requestorUserName);
+      } finally {
+        connection.close();
+      }
+    } finally {
+      for (Socket idleConnection : idleConnections) {
+        idleConnection.close();
+      }
+    }
+  }
+
+  @Test
+  public void testClientAddressIsAudited() throws Exception {
+    String requestorUserName = ADMIN_USER;
+    setLocalGroupMapping(requestorUserName, Sets.newHashSet(ADMIN_GROUP));
+    writePolicyFile();
+    String roleName = "audited_r";
+    client.createRole(requestorUserName, roleName);
+
+    JSONObject jsonObject = new JSONObject(AuditLoggerTestAppender.getLastLogEvent());
+    assertEquals(Constants.OPERATION_CREATE_ROLE,
+        jsonObject.get(Constants.LOG_FIELD_OPERATION).toString());
+    assertTrue(CommandUtil.assertIPInAuditLog(
+        jsonObject.get(Constants.LOG_FIELD_IP_ADDRESS).toString()));
+    client.dropRole(requestorUserName, roleName);
+  }
+
+  private static SentryPolicyServiceClient connect() throws Exception {
+    if (!kerberos) {
+      return SentryServiceClientFactory.create(conf);
+    }
+    return clientUgi.doAs(new PrivilegedExceptionAction<SentryPolicyServiceClient>() {
+      @Override
+      public SentryPolicyServiceClient run() throws Exception {
+        return SentryServiceClientFactory.create(conf);
+      }
+    });
+  }
+}
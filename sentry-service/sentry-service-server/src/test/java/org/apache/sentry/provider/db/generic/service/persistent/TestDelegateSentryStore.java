@@ -18,13 +18,20 @@
 package org.apache.sentry.provider.db.generic.service.persistent;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.Set;
 
 import org.apache.sentry.api.generic.thrift.TSentryRole;
 import org.apache.sentry.core.common.exception.SentryAlreadyExistsException;
 import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
+import org.apache.sentry.core.model.solr.Collection;
+import org.apache.sentry.core.model.solr.SolrConstants;
+import org.apache.sentry.provider.db.generic.service.persistent.PrivilegeObject.Builder;
 import org.apache.sentry.provider.file.PolicyFile;
 import org.junit.Before;
 import org.junit.Test;
@@ -33,6 +40,7 @@ import com.google.common.collect.Sets;
 
 public class TestDelegateSentryStore extends SentryStoreIntegrationBase{
   private static final String SEARCH = "solr";
+  private static final String SERVICE = "service";
 
   @Before
   public void configure() throws Exception {
@@ -242,4 +250,130 @@ public class TestDelegateSentryStore extends SentryStoreIntegrationBase{
     groups.clear();
     assertEquals(0, sentryStore.getRolesByGroups(SEARCH, groups).size());
   }
+
+  @Test
+  public void testGetRoleChanges() throws Exception {
+    String role1 = "r1", role2 = "r2";
+    String grantor = "admin";
+    PrivilegeObject queryPrivilege = new Builder()
+        .setComponent(SEARCH)
+        .setAction(SolrConstants.QUERY)
+        .setService(SERVICE)
+        .setAuthorizables(Arrays.asList(new Collection("c1")))
+        .withGrantOption(false)
+        .build();
+
+    // Nothing known yet, a full update is required
+    RoleChanges changes = sentryStore.getRoleChanges(SEARCH, SERVICE, -1);
+    assertTrue(changes.isFullUpdateRequired());
+    long changeID = changes.getChangeID();
+
+    sentryStore.createRole(SEARCH, role1, grantor);
+    sentryStore.createRole(SEARCH, role2, grantor);
+    sentryStore.alterRoleAddGroups(SEARCH, role1, Sets.newHashSet("g1"), grantor);
+    // Group changes are recorded for roles without privileges of the component as well
+    changes = sentryStore.getRoleChanges(SEARCH, SERVICE, changeID);
+    assertFalse(changes.isFullUpdateRequired());
+    assertEquals(changeID + 1, changes.getChangeID());
+    assertEquals(Sets.newHashSet(role1), changes.getChangedRoles());
+    assertEquals(Sets.newHashSet(new TSentryRole(role1, Sets.newHashSet("g1"))),
+        changes.getRoles());
+    assertTrue(changes.getPrivileges().get(role1).isEmpty());
+    assertEquals(changes.getChangedRoles(),
+        sentryStore.getRoleChanges("sqoop", SERVICE, changeID).getChangedRoles());
+    changeID = changes.getChangeID();
+
+    sentryStore.alterRoleGrantPrivilege(SEARCH, role1, queryPrivilege, grantor);
+    sentryStore.alterRoleGrantPrivilege(SEARCH, role2, queryPrivilege, grantor);
+    changes = sentryStore.getRoleChanges(SEARCH, SERVICE, changeID);
+    assertFalse(changes.isFullUpdateRequired());
+    assertEquals(Sets.newHashSet(role1, role2), changes.getChangedRoles());
+    assertEquals(Sets.newHashSet(new TSentryRole(role1, Sets.newHashSet("g1")),
+        new TSentryRole(role2, Sets.<String>newHashSet())), changes.getRoles());
+    assertEquals(Sets.newHashSet(queryPrivilege), changes.getPrivileges().get(role1));
+    changeID = changes.getChangeID();
+
+    // Other components do not see the changes
+    assertTrue(sentryStore.getRoleChanges("sqoop", SERVICE, changeID - 2)
+        .getChangedRoles().isEmpty());
+
+    sentryStore.alterRoleAddGroups(SEARCH, role2, Sets.newHashSet("g2"), grantor);
+    sentryStore.dropRole(SEARCH, role1, grantor);
+    changes = sentryStore.getRoleChanges(SEARCH, SERVICE, changeID);
+    assertEquals(Sets.newHashSet(role1, role2), changes.getChangedRoles());
+    assertEquals(Sets.newHashSet(new TSentryRole(role2, Sets.newHashSet("g2"))),
+        changes.getRoles());
+    changeID = changes.getChangeID();
+
+    sentryStore.dropPrivilege(SEARCH, queryPrivilege, grantor);
+    changes = sentryStore.getRoleChanges(SEARCH, SERVICE, changeID);
+    assertEquals(Sets.newHashSet(role2), changes.getChangedRoles());
+    assertTrue(changes.getPrivileges().get(role2).isEmpty());
+
+    // Unknown change IDs require a full update
+    assertTrue(sentryStore.getRoleChanges(SEARCH, SERVICE, changes.getChangeID() + 1)
+        .isFullUpdateRequired());
+  }
+
+  @Test
+  public void testGetRolePrivileges() throws Exception {
+    String role1 = "r1", role2 = "r2", role3 = "r3";
+    String grantor = "admin";
+    PrivilegeObject queryPrivilege = new Builder()
+        .setComponent(SEARCH)
+        .setAction(SolrConstants.QUERY)
+        .setService(SERVICE)
+        .setAuthorizables(Arrays.asList(new Collection("c1")))
+        .withGrantOption(false)
+        .build();
+    PrivilegeObject updatePrivilege = new Builder(queryPrivilege)
+        .setAction(SolrConstants.UPDATE)
+        .build();
+
+    sentryStore.createRole(SEARCH, role1, grantor);
+    sentryStore.createRole(SEARCH, role2, grantor);
+    sentryStore.createRole(SEARCH, role3, grantor);
+    sentryStore.alterRoleAddGroups(SEARCH, role1, Sets.newHashSet("g1"), grantor);
+    sentryStore.alterRoleGrantPrivilege(SEARCH, role1, queryPrivilege, grantor);
+    sentryStore.alterRoleGrantPrivilege(SEARCH, role1, updatePrivilege, grantor);
+    sentryStore.alterRoleGrantPrivilege(SEARCH, role3, queryPrivilege, grantor);
+
+    // All roles at once
+    RolePrivilegesPage page = sentryStore.getRolePrivileges(SEARCH, SERVICE, null, 0);
+    assertFalse(page.hasMore());
+    assertEquals(sentryStore.getRoleChanges(SEARCH, SERVICE, -1).getChangeID(),
+        page.getChangeID());
+    assertEquals(Sets.newHashSet(new TSentryRole(role1, Sets.newHashSet("g1")),
+        new TSentryRole(role2, Sets.<String>newHashSet()),
+        new TSentryRole(role3, Sets.<String>newHashSet())), page.getRoles());
+    assertEquals(Sets.newHashSet(queryPrivilege, updatePrivilege), page.getPrivileges().get(role1));
+    assertFalse(page.getPrivileges().containsKey(role2));
+    assertEquals(Sets.newHashSet(queryPrivilege), page.getPrivileges().get(role3));
+
+    // Pages of roles ordered by name
+    page = sentryStore.getRolePrivileges(SEARCH, SERVICE, null, 2);
+    assertTrue(page.hasMore());
+    assertEquals(Sets.newHashSet(new TSentryRole(role1, Sets.newHashSet("g1")),
+        new TSentryRole(role2, Sets.<String>newHashSet())), page.getRoles());
+    assertEquals(Sets.newHashSet(role1), page.getPrivileges().keySet());
+    assertEquals(role2, page.getLastRoleName());
+
+    page = sentryStore.getRolePrivileges(SEARCH, SERVICE, page.getLastRoleName(), 2);
+    assertFalse(page.hasMore());
+    assertEquals(role3, page.getLastRoleName());
+    assertEquals(Sets.newHashSet(new TSentryRole(role3, Sets.<String>newHashSet())),
+        page.getRoles());
+    assertEquals(Sets.newHashSet(queryPrivilege), page.getPrivileges().get(role3));
+
+    page = sentryStore.getRolePrivileges(SEARCH, SERVICE, role3, 2);
+    assertFalse(page.hasMore());
+    assertTrue(page.getRoles().isEmpty());
+    assertTrue(page.getPrivileges().isEmpty());
+    assertNull(page.getLastRoleName());
+
+    // Other services do not see the privileges
+    page = sentryStore.getRolePrivileges(SEARCH, "service1", null, 0);
+    assertEquals(3, page.getRoles().size());
+    assertTrue(page.getPrivileges().isEmpty());
+  }
 }
@@ -24,6 +24,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -37,6 +38,28 @@ public class TestCounterWait {
   // Used to verify that wakeups happen in the right order
   private final BlockingDeque<Long> outSyncQueue = new LinkedBlockingDeque<>();
 
+  @Test
+  public void testWaitListener() throws Exception {
+    final CounterWait waiter = new CounterWait();
+    final BlockingDeque<Long> waitedFor = new LinkedBlockingDeque<>();
+    waiter.setWaitListener(waitedFor::add);
+
+    // Reached values are not reported
+    waiter.update(1);
+    assertEquals(1, waiter.waitFor(1));
+    assertTrue(waitedFor.isEmpty());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Long> result = executor.submit(() -> waiter.waitFor(3));
+      assertEquals(3L, (long) waitedFor.poll(10, TimeUnit.SECONDS));
+      waiter.update(3);
+      assertEquals(3L, (long) result.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testWaitFor() throws Exception {
     // Create a thread for each waiter
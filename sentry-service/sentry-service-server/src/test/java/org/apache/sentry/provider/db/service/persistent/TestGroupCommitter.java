@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestGroupCommitter {
+  private static final int CHANGES = 8;
+
+  private ExecutorService executor;
+
+  /**
+   * Records the committed changes, fails the ones which are negative.
+   */
+  private static final class RecordingCommitter implements GroupCommitter.Committer<Integer> {
+    private final List<List<Integer>> groups = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> committed = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void commitGroup(List<Integer> changes) throws Exception {
+      for (Integer change : changes) {
+        if (change < 0) {
+          throw new SentryNoSuchObjectException("Change " + change);
+        }
+      }
+      groups.add(changes);
+      committed.addAll(changes);
+    }
+
+    @Override
+    public void commit(Integer change) throws Exception {
+      commitGroup(Collections.singletonList(change));
+    }
+  }
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(CHANGES);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private List<Future<?>> submitAll(GroupCommitter<Integer> groupCommitter, int... changes) {
+    List<Future<?>> futures = new ArrayList<>(changes.length);
+    for (final int change : changes) {
+      futures.add(executor.submit(() -> {
+        groupCommitter.submit(change);
+        return null;
+      }));
+    }
+    return futures;
+  }
+
+  @Test
+  public void testConcurrentChangesAreCommittedTogether() throws Exception {
+    RecordingCommitter committer = new RecordingCommitter();
+    // A long window, the group is committed once full
+    GroupCommitter<Integer> groupCommitter = new GroupCommitter<>(committer, 60000, CHANGES);
+    int[] changes = new int[CHANGES];
+    for (int i = 0; i < CHANGES; i++) {
+      changes[i] = i;
+    }
+    for (Future<?> future : submitAll(groupCommitter, changes)) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(1, committer.groups.size());
+    assertEquals(CHANGES, committer.groups.get(0).size());
+  }
+
+  @Test
+  public void testFailedChangeDoesNotFailTheOthers() throws Exception {
+    RecordingCommitter committer = new RecordingCommitter();
+    GroupCommitter<Integer> groupCommitter = new GroupCommitter<>(committer, 60000, 4);
+    List<Future<?>> futures = submitAll(groupCommitter, 1, -1, 2, 3);
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        futures.get(i).get(10, TimeUnit.SECONDS);
+        assertTrue(i != 1);
+      } catch (ExecutionException e) {
+        assertEquals(1, i);
+        assertTrue(e.getCause() instanceof SentryNoSuchObjectException);
+      }
+    }
+    // The group failed, its changes were committed one by one
+    assertEquals(3, committer.groups.size());
+    assertEquals(3, committer.committed.size());
+  }
+
+  @Test
+  public void testSingleChangeIsCommittedAfterWindow() throws Exception {
+    RecordingCommitter committer = new RecordingCommitter();
+    GroupCommitter<Integer> groupCommitter = new GroupCommitter<>(committer, 10, CHANGES);
+    groupCommitter.submit(1);
+    groupCommitter.submit(2);
+    assertEquals(2, committer.groups.size());
+    assertEquals(Collections.singletonList(2), committer.groups.get(1));
+  }
+}
@@ -17,6 +17,7 @@
 package  org.apache.sentry.provider.db.service.persistent;
 
 import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_FETCH_SIZE;
+import static org.apache.sentry.hdfs.ServiceConstants.ServerConfig.SENTRY_HMS_NOTIFICATION_BATCH_SIZE;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,6 +32,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.Assert;
 import org.apache.hadoop.conf.Configuration;
@@ -53,6 +58,7 @@ import org.apache.sentry.binding.metastore.messaging.json.SentryJSONMessageFacto
 import org.apache.sentry.core.common.utils.PubSub;
 import org.apache.sentry.core.common.utils.SentryConstants;
 import org.apache.sentry.hdfs.UniquePathsUpdate;
+import org.apache.sentry.hdfs.Updateable.Update;
 import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
 import org.apache.sentry.service.thrift.SentryHMSClient;
 import org.apache.sentry.service.thrift.HiveConnectionFactory;
@@ -720,6 +726,81 @@ public class TestHMSFollower {
         .dropPrivilege(authorizable, NotificationProcessor.getPermUpdatableOnDrop(authorizable));
   }
 
+  /**
+   * Constructs drop database events and makes sure that they are processed in batches,
+   * and processed again one by one when a batch fails.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testDropDatabasesInBatches() throws Exception {
+    List<NotificationEvent> events = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      events.add(new NotificationEvent(i, 0, EventMessage.EventType.DROP_DATABASE.toString(),
+          messageFactory.buildDropDatabaseMessage(new Database("db" + i, null, "hdfs:///db" + i, null))
+              .toString()));
+    }
+    Configuration batchConfiguration = new Configuration(configuration);
+    batchConfiguration.setInt(SENTRY_HMS_NOTIFICATION_BATCH_SIZE, 2);
+    HMSFollower hmsFollower = new HMSFollower(batchConfiguration, sentryStore, null,
+        hiveConnectionFactory, hiveInstance);
+    hmsFollower.processNotifications(events);
+
+    verify(sentryStore, times(2)).beginBatch();
+    verify(sentryStore, times(2)).commitBatch();
+    verify(sentryStore, times(0)).abortBatch();
+    verify(sentryStore, times(3)).dropPrivilege(Mockito.any(TSentryAuthorizable.class),
+        Mockito.any(Update.class));
+
+    // The failed batch is processed again without a batch
+    reset(sentryStore);
+    Mockito.doThrow(new Exception("Commit failed")).when(sentryStore).commitBatch();
+    hmsFollower.processNotifications(events.subList(0, 2));
+
+    verify(sentryStore, times(1)).beginBatch();
+    verify(sentryStore, times(1)).abortBatch();
+    verify(sentryStore, times(4)).dropPrivilege(Mockito.any(TSentryAuthorizable.class),
+        Mockito.any(Update.class));
+  }
+
+  /**
+   * Makes sure that HMS is polled again before the next interval when a client waits
+   * for a notification that is not processed yet.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testPollAgainWhenClientWaitsForNotification() throws Exception {
+    CounterWait counterWait = new CounterWait(10, TimeUnit.SECONDS);
+    when(sentryStore.getCounterWait()).thenReturn(counterWait);
+    when(sentryStore.getLastProcessedNotificationID()).thenReturn(0L);
+    when(hmsClientMock.getCurrentNotificationEventId())
+        .thenReturn(new CurrentNotificationEventId(0L));
+
+    Configuration configuration = new Configuration();
+    configuration.setLong(ServerConfig.SENTRY_HMSFOLLOWER_INTERVAL_MILLS, 2000);
+    HMSFollower hmsFollower = new HMSFollower(configuration, sentryStore, null,
+        hmsConnectionMock, hiveInstance);
+    hmsFollower.setSentryHmsClient(Mockito.mock(SentryHMSClient.class));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> follower = executor.submit(hmsFollower::runAdaptively);
+      verify(hmsClientMock, Mockito.timeout(1000).times(1)).getNextNotification(Mockito.eq(0L),
+          Mockito.eq(Integer.MAX_VALUE), Mockito.anyObject());
+
+      // The notification is fetched by the next poll, without waiting for the next interval
+      Future<Long> client = executor.submit(() -> counterWait.waitFor(1L));
+      verify(hmsClientMock, Mockito.timeout(1000).times(2)).getNextNotification(Mockito.eq(0L),
+          Mockito.eq(Integer.MAX_VALUE), Mockito.anyObject());
+      counterWait.update(1L);
+      Assert.assertEquals(1L, (long) client.get(10, TimeUnit.SECONDS));
+      follower.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Constructs create table event and makes sure that appropriate sentry store API's
    * are invoke when the event is processed by hms follower.
@@ -0,0 +1,243 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.jdo.PersistenceManager;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.api.service.thrift.TSentryActiveRoleSet;
+import org.apache.sentry.api.service.thrift.TSentryAuthorizable;
+import org.apache.sentry.api.service.thrift.TSentryGroup;
+import org.apache.sentry.api.service.thrift.TSentryPrivilege;
+import org.apache.sentry.provider.db.service.model.MSentryPrivilege;
+import org.apache.sentry.service.common.ServiceConstants.SentryPrincipalType;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+public class TestPolicyImage {
+  private static final TSentryActiveRoleSet ALL_ROLES =
+      new TSentryActiveRoleSet(true, new HashSet<String>());
+  private static final Set<String> NO_USERS = Collections.emptySet();
+
+  private static File dataDir;
+  private static SentryStore sentryStore;
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    dataDir = new File(Files.createTempDir(), "sentry_policy_db");
+    Configuration conf = new Configuration(true);
+    conf.set(ServerConfig.SENTRY_VERIFY_SCHEM_VERSION, "false");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_URL, "jdbc:derby:;databaseName=" + dataDir.getPath()
+        + ";create=true");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_PASS, "sentry");
+    conf.setBoolean(ServerConfig.SENTRY_STORE_POLICY_IMAGE_ENABLED, true);
+    // Only local changes may refresh the image
+    conf.setLong(ServerConfig.SENTRY_STORE_POLICY_IMAGE_MAX_AGE_MS, Long.MAX_VALUE / 2);
+    sentryStore = new SentryStore(conf);
+  }
+
+  @AfterClass
+  public static void teardown() {
+    if (sentryStore != null) {
+      sentryStore.stop();
+    }
+    if (dataDir != null) {
+      FileUtils.deleteQuietly(dataDir);
+    }
+  }
+
+  private static TSentryAuthorizable authorizable(String server, String db, String table) {
+    TSentryAuthorizable authorizable = new TSentryAuthorizable(server);
+    authorizable.setDb(db);
+    authorizable.setTable(table);
+    return authorizable;
+  }
+
+  private static MSentryPrivilege privilege(String scope, String db, String table,
+      String uri, String action) {
+    return new MSentryPrivilege(scope, "server1", db, table, "", uri, action);
+  }
+
+  @Test
+  public void testAuthorizableFilter() {
+    PolicyImage image = new PolicyImage(0);
+    image.addGroupRole("group1", "Role1");
+    image.addUserRole("user1", "role2");
+    image.addPrivilege(privilege("TABLE", "db1", "tbl1", "", "select"),
+        Collections.singleton("role1"), NO_USERS);
+    image.addPrivilege(privilege("DATABASE", "db2", "", "", "all"),
+        Collections.singleton("role1"), NO_USERS);
+    image.addPrivilege(privilege("URI", "", "", "hdfs://nn/data", "all"),
+        Collections.singleton("role2"), NO_USERS);
+    image.addPrivilege(privilege("TABLE", "db1", "tbl2", "", "insert"),
+        Collections.<String>emptySet(), Collections.singleton("user2"));
+    Set<String> groups = Sets.newHashSet("group1");
+
+    assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl1->action=select"),
+        image.getPrivilegesForProvider(groups, NO_USERS, ALL_ROLES,
+            authorizable("server1", "db1", "tbl1")));
+    // Database privileges cover their tables, the server only gets the marker
+    assertEquals(Sets.newHashSet("server=server1->db=db2"),
+        image.getPrivilegesForProvider(groups, NO_USERS, ALL_ROLES,
+            authorizable("server1", "DB2", "tbl1")));
+    assertEquals(Sets.newHashSet(SentryStoreInterface.ANY_SERVER_PRIVILEGE),
+        image.getPrivilegesForProvider(groups, NO_USERS, ALL_ROLES,
+            authorizable("server1", "db3", null)));
+    assertTrue(image.getPrivilegesForProvider(groups, NO_USERS, ALL_ROLES,
+        authorizable("server2", "db1", "tbl1")).isEmpty());
+
+    // URIs match by prefix, roles of users apply
+    TSentryAuthorizable uri = new TSentryAuthorizable("server1");
+    uri.setUri("hdfs://nn/data/part1");
+    assertEquals(Sets.newHashSet("server=server1->uri=hdfs://nn/data"),
+        image.getPrivilegesForProvider(null, Sets.newHashSet("user1"), ALL_ROLES, uri));
+
+    // Inactive roles and privileges of other principals do not apply
+    TSentryActiveRoleSet role2 = new TSentryActiveRoleSet(false, Sets.newHashSet("ROLE2"));
+    assertTrue(image.getPrivilegesForProvider(groups, NO_USERS, role2,
+        authorizable("server1", "db1", "tbl1")).isEmpty());
+    assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl2->action=insert"),
+        image.getPrivilegesForProvider(null, Sets.newHashSet(" user2"), ALL_ROLES,
+            authorizable("server1", "db1", null)));
+  }
+
+  @Test
+  public void testReadsOwnWrites() throws Exception {
+    TSentryAuthorizable table = authorizable("server1", "db1", "tbl1");
+    Set<String> groups = Sets.newHashSet("group1");
+    assertTrue(sentryStore.getPrivilegesForProvider(groups, NO_USERS, ALL_ROLES, table)
+        .isEmpty());
+
+    sentryStore.createSentryRole("role1");
+    sentryStore.alterSentryRoleAddGroups("admin", "role1",
+        Sets.newHashSet(new TSentryGroup("group1")));
+    TSentryPrivilege privilege = new TSentryPrivilege("TABLE", "server1", "SELECT");
+    privilege.setDbName("db1");
+    privilege.setTableName("tbl1");
+    sentryStore.alterSentryGrantPrivileges(SentryPrincipalType.ROLE, "role1",
+        Sets.newHashSet(privilege), null);
+    assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl1->action=select"),
+        sentryStore.getPrivilegesForProvider(groups, NO_USERS, ALL_ROLES, table));
+
+    sentryStore.alterSentryRevokePrivileges(SentryPrincipalType.ROLE, "role1",
+        Sets.newHashSet(privilege), null);
+    assertTrue(sentryStore.getPrivilegesForProvider(groups, NO_USERS, ALL_ROLES, table)
+        .isEmpty());
+  }
+
+  @Test
+  public void testPolicyVersion() throws Exception {
+    Set<String> groups = Collections.singleton("group2");
+    sentryStore.createSentryRole("role2");
+    try {
+      // The version of the image is the one of the database it was loaded from
+      sentryStore.setPersistUpdateDeltas(true);
+      sentryStore.alterSentryRoleAddGroups("admin", "role2",
+          Sets.newHashSet(new TSentryGroup("group1")));
+      long version = sentryStore.getPolicyVersion();
+      assertTrue(version > 0);
+      assertEquals(version, sentryStore.getVersionedPrivilegesForProvider(groups, NO_USERS,
+          ALL_ROLES, null).getPolicyVersion());
+
+      sentryStore.alterSentryRoleAddGroups("admin", "role2",
+          Sets.newHashSet(new TSentryGroup("group2")));
+      VersionedPrivileges privileges = sentryStore.getVersionedPrivilegesForProvider(groups,
+          NO_USERS, ALL_ROLES, null);
+      assertTrue(privileges.getPolicyVersion() > version);
+      assertEquals(sentryStore.getPolicyVersion(), privileges.getPolicyVersion());
+    } finally {
+      sentryStore.setPersistUpdateDeltas(false);
+      sentryStore.dropSentryRole("role2");
+    }
+
+    // The changes are not tracked without the deltas
+    assertEquals(0, sentryStore.getVersionedPrivilegesForProvider(groups, NO_USERS,
+        ALL_ROLES, null).getPolicyVersion());
+  }
+
+  /** Loads empty images, once blocked until it is released */
+  private static final class BlockingLoader implements TransactionBlock<PolicyImage> {
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean block;
+
+    @Override
+    public PolicyImage execute(PersistenceManager pm) throws Exception {
+      if (block) {
+        loading.countDown();
+        release.await();
+      }
+      return new PolicyImage(0);
+    }
+  }
+
+  @Test
+  public void testLookupsDoNotWaitForReload() throws Exception {
+    TransactionManager tm = sentryStore.getTransactionManager();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    BlockingLoader loader = new BlockingLoader();
+    try {
+      // Every lookup finds the image expired
+      PolicyImageCache cache = new PolicyImageCache(tm, loader, 0, new PolicyChangeListener());
+      PolicyImage image = cache.get();
+
+      // An expired image is not served while another thread reloads it
+      loader.block = true;
+      Future<PolicyImage> reload = executor.submit(cache::get);
+      assertTrue(loader.loading.await(10, TimeUnit.SECONDS));
+      assertNull(cache.get());
+      loader.release.countDown();
+      assertTrue(reload.get(10, TimeUnit.SECONDS) != image);
+
+      // Without an image the lookup gets none while another thread loads it
+      loader = new BlockingLoader();
+      loader.block = true;
+      cache = new PolicyImageCache(tm, loader, 0, new PolicyChangeListener());
+      Future<PolicyImage> load = executor.submit(cache::get);
+      assertTrue(loader.loading.await(10, TimeUnit.SECONDS));
+      assertNull(cache.get());
+      loader.release.countDown();
+      assertNotNull(load.get(10, TimeUnit.SECONDS));
+    } finally {
+      loader.release.countDown();
+      executor.shutdownNow();
+    }
+  }
+}
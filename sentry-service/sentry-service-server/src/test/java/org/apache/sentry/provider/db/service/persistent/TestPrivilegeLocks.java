@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestPrivilegeLocks {
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private boolean canLock(final PrivilegeLocks locks, final String... dbNames) throws Exception {
+    Future<?> future = executor.submit(() -> {
+      PrivilegeLocks.Held held = dbNames.length == 0 ? locks.lockAll() :
+          locks.lockDatabases(Arrays.asList(dbNames));
+      held.close();
+    });
+    try {
+      future.get(200, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      // The waiting thread takes and releases the locks once they are free
+      executor.shutdown();
+      executor = Executors.newSingleThreadExecutor();
+      return false;
+    }
+  }
+
+  @Test
+  public void testDatabasesAreLockedSeparately() throws Exception {
+    // One stripe per database is not guaranteed, use enough stripes for no collision
+    PrivilegeLocks locks = new PrivilegeLocks(1024);
+    try (PrivilegeLocks.Held ignored = locks.lockDatabases(Collections.singleton("db1"))) {
+      assertTrue(canLock(locks, "db2"));
+      assertFalse(canLock(locks, "DB1"));
+      assertFalse(canLock(locks, "db2", "db1"));
+      assertFalse(canLock(locks));
+      // A blank database stands for a server or URI privilege
+      assertFalse(canLock(locks, ""));
+    }
+    assertTrue(canLock(locks, "db1"));
+
+    try (PrivilegeLocks.Held ignored = locks.lockAll()) {
+      assertFalse(canLock(locks, "db2"));
+    }
+    assertTrue(canLock(locks, "db2"));
+  }
+
+  @Test
+  public void testNoStripesSerializeAllChanges() throws Exception {
+    PrivilegeLocks locks = new PrivilegeLocks(0);
+    try (PrivilegeLocks.Held ignored = locks.lockDatabases(Collections.singleton("db1"))) {
+      assertFalse(canLock(locks, "db2"));
+    }
+    assertTrue(canLock(locks, "db2"));
+  }
+}
@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -337,6 +338,118 @@ public class TestSentryStore extends org.junit.Assert {
     assertTrue(privs.contains("server=server1->uri=" + uri2 + "->action=all"));
   }
 
+  @Test
+  public void testGetPrivilegesForProvider() throws Exception {
+    String roleName = "test-provider-role";
+    String grantor = "g1";
+    createRole(roleName);
+    TSentryPrivilege rolePrivilege = new TSentryPrivilege("TABLE", "server1", "SELECT");
+    rolePrivilege.setDbName("db1");
+    rolePrivilege.setTableName("tbl1");
+    sentryStore.alterSentryGrantPrivileges(SentryPrincipalType.ROLE, roleName,
+        Sets.newHashSet(rolePrivilege), null);
+    sentryStore.alterSentryRoleAddGroups(grantor, roleName,
+        Sets.newHashSet(new TSentryGroup("group1")));
+    TSentryPrivilege userPrivilege = new TSentryPrivilege("TABLE", "server1", "INSERT");
+    userPrivilege.setDbName("db1");
+    userPrivilege.setTableName("tbl2");
+    sentryStore.alterSentryGrantPrivileges(SentryPrincipalType.USER, "user1",
+        Sets.newHashSet(userPrivilege), null);
+
+    TSentryActiveRoleSet allRoles = new TSentryActiveRoleSet(true, new HashSet<String>());
+    TSentryAuthorizable db1 = new TSentryAuthorizable("server1");
+    db1.setDb("db1");
+    Set<String> groups = Sets.newHashSet("group1");
+    Set<String> users = Sets.newHashSet("user1");
+
+    // Role and user privileges come back together
+    assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl1->action=select",
+        "server=server1->db=db1->table=tbl2->action=insert"),
+        sentryStore.getPrivilegesForProvider(groups, users, allRoles, db1));
+    assertEquals(sentryStore.listSentryPrivilegesForProvider(groups, users, allRoles, db1),
+        sentryStore.getPrivilegesForProvider(groups, users, allRoles, db1));
+
+    // Privileges on other objects of the server are reported as a server privilege
+    TSentryAuthorizable db2 = new TSentryAuthorizable("server1");
+    db2.setDb("db2");
+    assertEquals(Sets.newHashSet(SentryStoreInterface.ANY_SERVER_PRIVILEGE),
+        sentryStore.getPrivilegesForProvider(groups, new HashSet<String>(), allRoles, db2));
+    assertEquals(Sets.newHashSet(SentryStoreInterface.ANY_SERVER_PRIVILEGE),
+        sentryStore.getPrivilegesForProvider(new HashSet<String>(), users, allRoles, db2));
+
+    // but not on other servers
+    TSentryAuthorizable server2 = new TSentryAuthorizable("server2");
+    server2.setDb("db1");
+    assertTrue(sentryStore.getPrivilegesForProvider(groups, users, allRoles, server2).isEmpty());
+  }
+
+  @Test
+  public void testPolicyVersion() throws Exception {
+    String roleName = "test-version-role";
+    createRole(roleName);
+    Set<String> groups = Collections.singleton("test-version-group");
+    Set<String> users = Collections.emptySet();
+    TSentryActiveRoleSet allRoles = new TSentryActiveRoleSet(true, new HashSet<String>());
+
+    try {
+      // The changes are not tracked without the deltas
+      sentryStore.setPersistUpdateDeltas(false);
+      assertEquals(0, sentryStore.getPolicyVersion());
+      assertEquals(0, sentryStore.getVersionedPrivilegesForProvider(groups, users, allRoles,
+          null).getPolicyVersion());
+
+      sentryStore.setPersistUpdateDeltas(true);
+      long version = sentryStore.getPolicyVersion();
+      assertEquals(version, sentryStore.getPolicyVersion());
+
+      sentryStore.alterSentryRoleAddGroups("g1", roleName,
+          Sets.newHashSet(new TSentryGroup("test-version-group")));
+      grantWithUpdate(sentryStore, roleName, "tbl1");
+      VersionedPrivileges privileges = sentryStore.getVersionedPrivilegesForProvider(groups,
+          users, allRoles, null);
+      assertEquals(Sets.newHashSet("server=server1->db=db1->table=tbl1->action=select"),
+          privileges.getPrivileges());
+      assertTrue(privileges.getPolicyVersion() > version);
+      assertEquals(privileges.getPolicyVersion(), sentryStore.getPolicyVersion());
+    } finally {
+      sentryStore.setPersistUpdateDeltas(SentryServiceUtil.isHDFSSyncEnabled(conf));
+    }
+  }
+
+  @Test
+  public void testPolicyVersionSharedDatabase() throws Exception {
+    String roleName = "test-shared-version-role";
+    createRole(roleName);
+    TSentryGroup group = new TSentryGroup("test-shared-version-group");
+
+    // Changes made through another store sharing the database change the version when
+    // they are recorded as change deltas
+    SentryStore otherSentryStore = new SentryStore(conf);
+    try {
+      sentryStore.setPersistUpdateDeltas(true);
+      otherSentryStore.setPersistUpdateDeltas(true);
+      long version = sentryStore.getPolicyVersion();
+
+      grantWithUpdate(otherSentryStore, roleName, "tbl1");
+      long newVersion = sentryStore.getPolicyVersion();
+      assertTrue(newVersion > version);
+      assertEquals(newVersion, otherSentryStore.getPolicyVersion());
+
+      version = newVersion;
+      otherSentryStore.alterSentryRoleAddGroups("g1", roleName, Sets.newHashSet(group));
+      newVersion = sentryStore.getPolicyVersion();
+      assertTrue(newVersion > version);
+      assertEquals(newVersion, otherSentryStore.getPolicyVersion());
+
+      // Reading the policy does not change the version
+      otherSentryStore.getAllTSentryPrivilegesByRoleName(roleName);
+      assertEquals(newVersion, sentryStore.getPolicyVersion());
+    } finally {
+      sentryStore.setPersistUpdateDeltas(SentryServiceUtil.isHDFSSyncEnabled(conf));
+      otherSentryStore.stop();
+    }
+  }
+
   @Test
   public void testURIGrantRevokeOnEmptyPath() throws Exception {
     String roleName = "test-empty-uri-role";
@@ -2673,6 +2786,87 @@ public class TestSentryStore extends org.junit.Assert {
     assertEquals(notificationID, savedNotificationID);
   }
 
+  @Test
+  public void testPersistFullPathsImageInChunks() throws Exception {
+    String[] prefixes = {"/user/hive/warehouse"};
+    conf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+        .SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE, 2);
+    conf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+        .SENTRY_HMS_SNAPSHOT_PERSIST_THREADS, 2);
+    try {
+      for (long snapshotID = 1; snapshotID <= 2; snapshotID++) {
+        Map<String, Collection<String>> authzPaths = new HashMap<>();
+        for (int i = 1; i <= 5; i++) {
+          authzPaths.put("db1.table" + i + snapshotID, Sets.newHashSet(
+              "/user/hive/warehouse/db1.db/table" + i + snapshotID + ".1",
+              "/user/hive/warehouse/db1.db/table" + i + snapshotID + ".2"));
+        }
+        sentryStore.persistFullPathsImage(authzPaths, 10 + snapshotID);
+
+        assertEquals(snapshotID, sentryStore.getCurrentAuthzPathsSnapshotID());
+        assertEquals(10 + snapshotID, sentryStore.getLastProcessedNotificationID());
+        PathsUpdate pathsUpdate = sentryStore.retrieveFullPathsImageUpdate(prefixes);
+        assertEquals(snapshotID, pathsUpdate.getImgNum());
+        TPathsDump pathDump = pathsUpdate.toThrift().getPathsDump();
+        Map<String, Collection<String>> pathImage = new HashMap<>();
+        buildPathsImageMap(pathDump.getNodeMap(), pathDump.getNodeMap().get(pathDump.getRootId()),
+            "", pathImage, true);
+        assertEquals(authzPaths.keySet(), pathImage.keySet());
+        for (Map.Entry<String, Collection<String>> entry : authzPaths.entrySet()) {
+          assertTrue(CollectionUtils.isEqualCollection(entry.getValue(),
+              pathImage.get(entry.getKey())));
+        }
+      }
+    } finally {
+      conf.unset(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+          .SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE);
+      conf.unset(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+          .SENTRY_HMS_SNAPSHOT_PERSIST_THREADS);
+    }
+  }
+
+  @Test
+  public void testIncompleteChunkedSnapshotIsDeletedWithItsPaths() throws Exception {
+    conf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+        .SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE, 2);
+    conf.setInt(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+        .SENTRY_HMS_SNAPSHOT_PERSIST_THREADS, 1);
+    try {
+      long snapshotID = sentryStore.getCurrentAuthzPathsSnapshotID();
+      long objects = sentryStore.getAuthzObjectsCountGauge().getValue();
+      long paths = sentryStore.getPathCount();
+
+      // The first chunk is persisted, the second fails on a path too long for AUTHZ_PATH
+      Map<String, Collection<String>> authzPaths = new LinkedHashMap<>();
+      authzPaths.put("db1.table1", Sets.newHashSet("/user/hive/warehouse/db1.db/table1"));
+      authzPaths.put("db1.table2", Sets.newHashSet("/user/hive/warehouse/db1.db/table2"));
+      authzPaths.put("db1.table3", Sets.newHashSet("/user/hive/warehouse/db1.db/table3"));
+      authzPaths.put("db1.table4", Sets.newHashSet(
+          "/user/hive/warehouse/db1.db/" + StringUtils.repeat("x", 4001)));
+      try {
+        sentryStore.persistFullPathsImage(authzPaths, 2);
+        fail("Expected the snapshot to fail");
+      } catch (Exception e) {
+        // expected
+      }
+      assertEquals(snapshotID, sentryStore.getCurrentAuthzPathsSnapshotID());
+      assertEquals(objects + 2, (long) sentryStore.getAuthzObjectsCountGauge().getValue());
+      assertEquals(paths + 2, sentryStore.getPathCount());
+
+      // The next snapshot deletes the objects of the incomplete one with their paths
+      authzPaths.remove("db1.table4");
+      sentryStore.persistFullPathsImage(authzPaths, 2);
+      assertEquals(snapshotID + 1, sentryStore.getCurrentAuthzPathsSnapshotID());
+      assertEquals(objects + 3, (long) sentryStore.getAuthzObjectsCountGauge().getValue());
+      assertEquals(paths + 3, sentryStore.getPathCount());
+    } finally {
+      conf.unset(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+          .SENTRY_HMS_SNAPSHOT_PERSIST_CHUNK_SIZE);
+      conf.unset(org.apache.sentry.hdfs.ServiceConstants.ServerConfig
+          .SENTRY_HMS_SNAPSHOT_PERSIST_THREADS);
+    }
+  }
+
   @Test
   public void testAddAuthzPathsMapping() throws Exception {
     Set<MPath> paths;
@@ -2944,6 +3138,87 @@ public class TestSentryStore extends org.junit.Assert {
 
   }
 
+  @Test
+  public void testBatchCommitsChangesTogether() throws Exception {
+    // Persist an empty image so that we can add paths to it.
+    sentryStore.persistFullPathsImage(new HashMap<String, Collection<String>>(), 0);
+    long lastPathChangeID = sentryStore.getLastProcessedPathChangeID();
+    long lastPermChangeID = sentryStore.getLastProcessedPermChangeID();
+
+    TSentryAuthorizable table1 = tableAuthorizable("db1", "tbl1");
+    TSentryAuthorizable table2 = tableAuthorizable("db1", "tbl2");
+    UniquePathsUpdate addUpdate1 = new UniquePathsUpdate("u1", 1, false);
+    addUpdate1.newPathChange("db1.tbl1").addToAddPaths(Arrays.asList("db1", "tbl1"));
+    UniquePathsUpdate addUpdate2 = new UniquePathsUpdate("u2", 2, false);
+    addUpdate2.newPathChange("db1.tbl2").addToAddPaths(Arrays.asList("db1", "tbl2"));
+    Updateable.Update dropUpdate1 = NotificationProcessor.getPermUpdatableOnDrop(table1);
+    Updateable.Update dropUpdate2 = NotificationProcessor.getPermUpdatableOnDrop(table2);
+
+    sentryStore.beginBatch();
+    sentryStore.addAuthzPathsMapping("db1.tbl1", Sets.newHashSet("db1/tbl1"), addUpdate1);
+    sentryStore.dropPrivilege(table1, dropUpdate1);
+    sentryStore.addAuthzPathsMapping("db1.tbl2", Sets.newHashSet("db1/tbl2"), addUpdate2);
+    sentryStore.dropPrivilege(table2, dropUpdate2);
+    sentryStore.persistLastProcessedNotificationID(3L);
+
+    // Nothing is persisted before the batch commits
+    assertEquals(lastPathChangeID, sentryStore.getLastProcessedPathChangeID().longValue());
+    assertEquals(lastPermChangeID, sentryStore.getLastProcessedPermChangeID().longValue());
+    assertEquals(0, sentryStore.getMPaths().size());
+
+    sentryStore.commitBatch();
+
+    // Each change got its own delta, with consecutive change IDs
+    assertEquals(lastPathChangeID + 2, sentryStore.getLastProcessedPathChangeID().longValue());
+    assertEquals(addUpdate1.JSONSerialize(),
+        sentryStore.getMSentryPathChangeByID(lastPathChangeID + 1).getPathChange());
+    assertEquals(addUpdate2.JSONSerialize(),
+        sentryStore.getMSentryPathChangeByID(lastPathChangeID + 2).getPathChange());
+    assertEquals(lastPermChangeID + 2, sentryStore.getLastProcessedPermChangeID().longValue());
+    assertEquals(dropUpdate1.JSONSerialize(),
+        sentryStore.getMSentryPermChangeByID(lastPermChangeID + 1).getPermChange());
+    assertEquals(dropUpdate2.JSONSerialize(),
+        sentryStore.getMSentryPermChangeByID(lastPermChangeID + 2).getPermChange());
+    assertEquals(3, sentryStore.getLastProcessedNotificationID().longValue());
+    assertEquals(2, sentryStore.getMPaths().size());
+  }
+
+  @Test
+  public void testAbortedBatchPersistsNothing() throws Exception {
+    // Persist an empty image so that we can add paths to it.
+    sentryStore.persistFullPathsImage(new HashMap<String, Collection<String>>(), 0);
+    long lastPathChangeID = sentryStore.getLastProcessedPathChangeID();
+    long lastPermChangeID = sentryStore.getLastProcessedPermChangeID();
+    long lastNotificationID = sentryStore.getLastProcessedNotificationID();
+
+    TSentryAuthorizable table1 = tableAuthorizable("db1", "tbl1");
+    UniquePathsUpdate addUpdate = new UniquePathsUpdate("u1", 1, false);
+    addUpdate.newPathChange("db1.tbl1").addToAddPaths(Arrays.asList("db1", "tbl1"));
+
+    sentryStore.beginBatch();
+    sentryStore.addAuthzPathsMapping("db1.tbl1", Sets.newHashSet("db1/tbl1"), addUpdate);
+    sentryStore.dropPrivilege(table1, NotificationProcessor.getPermUpdatableOnDrop(table1));
+    sentryStore.persistLastProcessedNotificationID(2L);
+    sentryStore.abortBatch();
+
+    assertEquals(lastPathChangeID, sentryStore.getLastProcessedPathChangeID().longValue());
+    assertEquals(lastPermChangeID, sentryStore.getLastProcessedPermChangeID().longValue());
+    assertEquals(lastNotificationID, sentryStore.getLastProcessedNotificationID().longValue());
+    assertEquals(0, sentryStore.getMPaths().size());
+
+    // Changes made after the aborted batch are committed at once
+    sentryStore.addAuthzPathsMapping("db1.tbl1", Sets.newHashSet("db1/tbl1"), addUpdate);
+    assertEquals(lastPathChangeID + 1, sentryStore.getLastProcessedPathChangeID().longValue());
+    assertEquals(1, sentryStore.getMPaths().size());
+  }
+
+  private static TSentryAuthorizable tableAuthorizable(String db, String table) {
+    TSentryAuthorizable authorizable = new TSentryAuthorizable("server1");
+    authorizable.setDb(db);
+    authorizable.setTable(table);
+    return authorizable;
+  }
+
   @Test
   public void testDeleteAuthzPathsMapping() throws Exception {
 
@@ -3684,6 +3959,57 @@ public class TestSentryStore extends org.junit.Assert {
   }
 
 
+  /**
+   * Verifies that the permission deltas persisted in JSON are still read once the deltas
+   * are persisted compressed, as after an upgrade of the servers sharing the database.
+   */
+  @Test
+  public void testReadJSONDeltasWithCompressionEnabled() throws Exception {
+    String roleName = "test-compression";
+    createRole(roleName);
+    PermissionsUpdate jsonUpdate = grantWithUpdate(sentryStore, roleName, "tbl1");
+
+    Configuration compressedConf = new Configuration(conf);
+    compressedConf.setBoolean(ServerConfig.SENTRY_STORE_DELTA_COMPRESSION_ENABLED, true);
+    SentryStore compressedStore = new SentryStore(compressedConf);
+    try {
+      compressedStore.setPersistUpdateDeltas(true);
+      PermissionsUpdate compressedUpdate = grantWithUpdate(compressedStore, roleName, "tbl2");
+
+      List<MSentryPermChange> changes = compressedStore.getMSentryPermChanges(1);
+      assertEquals(2, changes.size());
+      assertEquals(jsonUpdate.JSONSerialize(), changes.get(0).getPermChange());
+      assertFalse(changes.get(1).getPermChange().startsWith("{"));
+      PermissionsUpdate read = new PermissionsUpdate();
+      read.deserializeFromString(changes.get(0).getPermChange());
+      assertEquals(jsonUpdate, read);
+      read = new PermissionsUpdate();
+      read.deserializeFromString(changes.get(1).getPermChange());
+      assertEquals(compressedUpdate, read);
+    } finally {
+      compressedStore.stop();
+    }
+  }
+
+  /**
+   * Grants SELECT on the table of db1 to the role, with the permission update persisted
+   * as delta.
+   */
+  private static PermissionsUpdate grantWithUpdate(SentryStore store, String roleName,
+      String table) throws Exception {
+    TSentryPrivilege privilege = new TSentryPrivilege("TABLE", "server1", AccessConstants.SELECT);
+    privilege.setDbName("db1");
+    privilege.setTableName(table);
+    PermissionsUpdate update = new PermissionsUpdate(0, false);
+    update.addPrivilegeUpdate("db1." + table).putToAddPrivileges(
+        new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, roleName),
+        AccessConstants.SELECT.toUpperCase());
+    Map<TSentryPrivilege, Updateable.Update> updates = Maps.newHashMap();
+    updates.put(privilege, update);
+    store.alterSentryRoleGrantPrivileges(roleName, Sets.newHashSet(privilege), updates);
+    return update;
+  }
+
   /**
    * This test verifies that in the case of concurrently updating delta change tables, no gap
    * between change ID was made. All the change IDs must be consecutive ({@see SENTRY-1643}).
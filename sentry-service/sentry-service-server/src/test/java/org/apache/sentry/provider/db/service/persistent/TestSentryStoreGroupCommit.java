@@ -0,0 +1,235 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.sentry.provider.db.service.persistent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.sentry.api.service.thrift.TSentryPrivilege;
+import org.apache.sentry.core.common.exception.SentryNoSuchObjectException;
+import org.apache.sentry.core.model.db.AccessConstants;
+import org.apache.sentry.hdfs.PermissionsUpdate;
+import org.apache.sentry.hdfs.Updateable.Update;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegeChanges;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipal;
+import org.apache.sentry.hdfs.service.thrift.TPrivilegePrincipalType;
+import org.apache.sentry.service.common.ServiceConstants.ServerConfig;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+/**
+ * Test the grants and revokes of privileges committed together by the group commit of
+ * {@link SentryStore}.
+ */
+public class TestSentryStoreGroupCommit {
+  // Each test submits a full group, so the group is committed without waiting for the window
+  private static final int GROUP_SIZE = 3;
+  private static final long WINDOW_MS = 10000;
+  // Delay between the submissions which must join the group in order
+  private static final long SUBMIT_DELAY_MS = 500;
+  private static final String ROLE1 = "role1";
+  private static final String ROLE2 = "role2";
+
+  private static File dataDir;
+  private static SentryStore sentryStore;
+  private ExecutorService executor;
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    dataDir = new File(Files.createTempDir(), "sentry_policy_db");
+    Configuration conf = new Configuration(true);
+    conf.set(ServerConfig.SENTRY_VERIFY_SCHEM_VERSION, "false");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_URL, "jdbc:derby:;databaseName=" + dataDir.getPath()
+        + ";create=true");
+    conf.set(ServerConfig.SENTRY_STORE_JDBC_PASS, "sentry");
+    conf.setLong(ServerConfig.SENTRY_STORE_GROUP_COMMIT_WINDOW_MS, WINDOW_MS);
+    conf.setInt(ServerConfig.SENTRY_STORE_GROUP_COMMIT_MAX_SIZE, GROUP_SIZE);
+    sentryStore = new SentryStore(conf);
+    sentryStore.setPersistUpdateDeltas(true);
+  }
+
+  @AfterClass
+  public static void teardown() {
+    if (sentryStore != null) {
+      sentryStore.stop();
+    }
+    if (dataDir != null) {
+      FileUtils.deleteQuietly(dataDir);
+    }
+  }
+
+  @Before
+  public void before() throws Exception {
+    executor = Executors.newFixedThreadPool(GROUP_SIZE);
+    sentryStore.createSentryRole(ROLE1);
+    sentryStore.createSentryRole(ROLE2);
+  }
+
+  @After
+  public void after() throws Exception {
+    executor.shutdownNow();
+    executor.awaitTermination(1, TimeUnit.MINUTES);
+    sentryStore.clearAllTables();
+  }
+
+  private static TSentryPrivilege privilege(String table, String action) {
+    TSentryPrivilege privilege = new TSentryPrivilege("TABLE", "server1", action);
+    privilege.setDbName("db1");
+    privilege.setTableName(table);
+    return privilege;
+  }
+
+  private static PermissionsUpdate permissionsUpdate(String role, String table, String action,
+      boolean grant) {
+    PermissionsUpdate update = new PermissionsUpdate(0, false);
+    TPrivilegeChanges changes = update.addPrivilegeUpdate("db1." + table);
+    TPrivilegePrincipal principal = new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, role);
+    if (grant) {
+      changes.putToAddPrivileges(principal, action.toUpperCase());
+    } else {
+      changes.putToDelPrivileges(principal, action.toUpperCase());
+    }
+    return update;
+  }
+
+  private Future<Void> grant(final String role, final String table, final String action) {
+    return executor.submit(() -> {
+      TSentryPrivilege privilege = privilege(table, action);
+      Map<TSentryPrivilege, Update> updates = Collections.<TSentryPrivilege, Update>singletonMap(
+          privilege, permissionsUpdate(role, table, action, true));
+      sentryStore.alterSentryRoleGrantPrivileges(role, Sets.newHashSet(privilege), updates);
+      return null;
+    });
+  }
+
+  private Future<Void> revoke(final String role, final String table, final String action) {
+    return executor.submit(() -> {
+      TSentryPrivilege privilege = privilege(table, action);
+      Map<TSentryPrivilege, Update> updates = Collections.<TSentryPrivilege, Update>singletonMap(
+          privilege, permissionsUpdate(role, table, action, false));
+      sentryStore.alterSentryRoleRevokePrivileges(role, Sets.newHashSet(privilege), updates);
+      return null;
+    });
+  }
+
+  /**
+   * @return the persisted permission delta with the given change ID
+   */
+  private static TPrivilegeChanges getPermChange(long changeID, String table) throws Exception {
+    PermissionsUpdate update = new PermissionsUpdate();
+    update.JSONDeserialize(sentryStore.getMSentryPermChangeByID(changeID).getPermChange());
+    return update.addPrivilegeUpdate("db1." + table);
+  }
+
+  private static TPrivilegePrincipal role(String role) {
+    return new TPrivilegePrincipal(TPrivilegePrincipalType.ROLE, role);
+  }
+
+  @Test
+  public void testConcurrentGrantsShareOneDelta() throws Exception {
+    long lastChangeID = sentryStore.getLastProcessedPermChangeID();
+
+    String[] actions = {AccessConstants.SELECT, AccessConstants.INSERT, AccessConstants.ALTER};
+    Future<?>[] grants = new Future<?>[actions.length];
+    for (int i = 0; i < actions.length; i++) {
+      grants[i] = grant(ROLE1, "tbl1", actions[i]);
+    }
+    for (Future<?> grant : grants) {
+      grant.get();
+    }
+
+    assertEquals(actions.length, sentryStore.getAllTSentryPrivilegesByRoleName(ROLE1).size());
+    // A single delta holds the union of the granted actions
+    assertEquals(lastChangeID + 1, sentryStore.getLastProcessedPermChangeID().longValue());
+    String merged = getPermChange(lastChangeID + 1, "tbl1").getAddPrivileges().get(role(ROLE1));
+    assertNotNull(merged);
+    assertEquals(Sets.newHashSet("SELECT", "INSERT", "ALTER"),
+        new HashSet<>(Arrays.asList(merged.split(","))));
+  }
+
+  @Test
+  public void testGrantAndRevokeOfPrincipalKeepTheirOrder() throws Exception {
+    long lastChangeID = sentryStore.getLastProcessedPermChangeID();
+
+    // The grant leads the group, the revoke of the same principal and an unrelated grant
+    // join it in this order
+    Future<Void> grant = grant(ROLE1, "tbl1", AccessConstants.SELECT);
+    Thread.sleep(SUBMIT_DELAY_MS);
+    Future<Void> revoke = revoke(ROLE1, "tbl1", AccessConstants.SELECT);
+    Thread.sleep(SUBMIT_DELAY_MS);
+    Future<Void> otherGrant = grant(ROLE2, "tbl2", AccessConstants.SELECT);
+    grant.get();
+    revoke.get();
+    otherGrant.get();
+
+    assertTrue(sentryStore.getAllTSentryPrivilegesByRoleName(ROLE1).isEmpty());
+    assertEquals(1, sentryStore.getAllTSentryPrivilegesByRoleName(ROLE2).size());
+    // The revoke does not commute with the grant, so both deltas are kept in order
+    assertEquals(lastChangeID + 2, sentryStore.getLastProcessedPermChangeID().longValue());
+    TPrivilegeChanges first = getPermChange(lastChangeID + 1, "tbl1");
+    assertEquals("SELECT", first.getAddPrivileges().get(role(ROLE1)));
+    assertTrue(first.getDelPrivileges().isEmpty());
+    TPrivilegeChanges second = getPermChange(lastChangeID + 2, "tbl1");
+    assertEquals("SELECT", second.getDelPrivileges().get(role(ROLE1)));
+    assertTrue(second.getAddPrivileges().isEmpty());
+  }
+
+  @Test
+  public void testFailingGrantDoesNotFailTheGroup() throws Exception {
+    long lastChangeID = sentryStore.getLastProcessedPermChangeID();
+
+    Future<Void> grant = grant(ROLE1, "tbl1", AccessConstants.SELECT);
+    Future<Void> failing = grant("missing_role", "tbl1", AccessConstants.SELECT);
+    Future<Void> otherGrant = grant(ROLE2, "tbl2", AccessConstants.SELECT);
+    grant.get();
+    otherGrant.get();
+    try {
+      failing.get();
+      fail("The grant to a missing role should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause().toString(), e.getCause() instanceof SentryNoSuchObjectException);
+    }
+
+    assertEquals(1, sentryStore.getAllTSentryPrivilegesByRoleName(ROLE1).size());
+    assertEquals(1, sentryStore.getAllTSentryPrivilegesByRoleName(ROLE2).size());
+    // The changes were committed one by one, the failed one has no delta
+    assertEquals(lastChangeID + 2, sentryStore.getLastProcessedPermChangeID().longValue());
+  }
+}